@@ -14,6 +14,7 @@ import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.Ordered;
 import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -29,7 +30,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableScheduling
 @EnableAspectJAutoProxy(proxyTargetClass = true)
 @EnableRetry
-@EnableSchedulerLock(defaultLockAtMostFor = "PT14M")
+@EnableSchedulerLock(defaultLockAtMostFor = "PT14M", order = Ordered.HIGHEST_PRECEDENCE)
 public class SttwebApplication extends SpringBootServletInitializer {
 	private static final Logger log = LoggerFactory.getLogger(SttwebApplication.class);
 
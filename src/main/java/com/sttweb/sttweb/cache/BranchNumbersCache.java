@@ -0,0 +1,54 @@
+// src/main/java/com/sttweb/sttweb/cache/BranchNumbersCache.java
+package com.sttweb.sttweb.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sttweb.sttweb.event.BranchChangedEvent;
+import com.sttweb.sttweb.event.MemberChangedEvent;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 지사별 소속 회원 내선번호 목록 캐시 (branchSeq 키, 정규화된 불변 리스트).
+ * 회원은 지사/내선이 바뀔 수 있어 어느 지사가 영향받는지 이벤트만으로 알 수 없으므로 회원 변경 시 전체를 비운다.
+ */
+@Component
+public class BranchNumbersCache implements CacheStatsSource {
+
+  private static final Duration TTL = Duration.ofMinutes(10);   // 이벤트 누락 대비 안전망
+
+  private final Cache<Integer, List<String>> byBranch = Caffeine.newBuilder()
+      .maximumSize(1_000).expireAfterWrite(TTL).recordStats().build();
+
+  public List<String> get(Integer branchSeq, Function<Integer, List<String>> loader) {
+    return byBranch.get(branchSeq, bs -> List.copyOf(loader.apply(bs)));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onMemberChanged(MemberChangedEvent e) {
+    byBranch.invalidateAll();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBranchChanged(BranchChangedEvent e) {
+    if (e.branchSeq() == null) {
+      byBranch.invalidateAll();
+      return;
+    }
+    byBranch.invalidate(e.branchSeq());
+  }
+
+  @Override
+  public String cacheName() {
+    return "branchNumbers";
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    return MemberInfoCache.toMap(byBranch.stats(), byBranch.estimatedSize());
+  }
+}
@@ -0,0 +1,14 @@
+// src/main/java/com/sttweb/sttweb/cache/CacheStatsSource.java
+package com.sttweb.sttweb.cache;
+
+import java.util.Map;
+
+/**
+ * /api/cache/stats 에 노출할 캐시 통계 제공자
+ */
+public interface CacheStatsSource {
+
+  String cacheName();
+
+  Map<String, Object> stats();
+}
@@ -0,0 +1,75 @@
+// src/main/java/com/sttweb/sttweb/cache/LinePermCache.java
+package com.sttweb.sttweb.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sttweb.sttweb.entity.UserPermission;
+import com.sttweb.sttweb.event.MemberChangedEvent;
+import com.sttweb.sttweb.event.PermissionChangedEvent;
+import com.sttweb.sttweb.repository.UserPermissionRepository;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 회원별 회선 권한 캐시 (memberSeq → lineId → perm_level, tuser_permission 기준).
+ * 권한/회원 변경 이벤트는 커밋 이후에 무효화한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LinePermCache implements CacheStatsSource {
+
+  private static final Duration TTL = Duration.ofMinutes(10);   // 이벤트 누락 대비 안전망
+
+  private final UserPermissionRepository repo;
+
+  private final Cache<Integer, Map<Integer, Integer>> byMember = Caffeine.newBuilder()
+      .maximumSize(10_000).expireAfterWrite(TTL).recordStats().build();
+
+  /** 회원의 회선별 권한 레벨 (읽기 전용, 같은 회선 중복 행은 높은 레벨) */
+  public Map<Integer, Integer> levels(Integer memberSeq) {
+    if (memberSeq == null) return Map.of();
+    return byMember.get(memberSeq, this::load);
+  }
+
+  private Map<Integer, Integer> load(Integer memberSeq) {
+    Map<Integer, Integer> m = new HashMap<>();
+    for (UserPermission p : repo.findByMemberSeq(memberSeq)) {
+      if (p.getLineId() == null || p.getPermLevel() == null) continue;
+      m.merge(p.getLineId(), p.getPermLevel(), Math::max);
+    }
+    return Collections.unmodifiableMap(m);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPermissionChanged(PermissionChangedEvent e) {
+    if (e.memberSeqs() == null) {
+      byMember.invalidateAll();
+      return;
+    }
+    byMember.invalidateAll(e.memberSeqs());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onMemberChanged(MemberChangedEvent e) {
+    if (e.memberSeq() == null) {
+      byMember.invalidateAll();
+      return;
+    }
+    byMember.invalidate(e.memberSeq());
+  }
+
+  @Override
+  public String cacheName() {
+    return "linePerm";
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    return MemberInfoCache.toMap(byMember.stats(), byMember.estimatedSize());
+  }
+}
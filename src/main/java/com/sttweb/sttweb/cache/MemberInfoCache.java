@@ -0,0 +1,95 @@
+// src/main/java/com/sttweb/sttweb/cache/MemberInfoCache.java
+package com.sttweb.sttweb.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sttweb.sttweb.dto.TmemberDto.Info;
+import com.sttweb.sttweb.event.BranchChangedEvent;
+import com.sttweb.sttweb.event.MemberChangedEvent;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 회원 Info 스냅샷 캐시 (userId / memberSeq 키).
+ * 캐시에는 원본을 보관하고 호출자에게는 복사본을 돌려줘 외부 수정이 캐시에 새지 않게 한다.
+ * 회원/지점 변경 이벤트는 커밋 이후에 무효화한다.
+ */
+@Component
+public class MemberInfoCache implements CacheStatsSource {
+
+  private static final long MAX_SIZE = 10_000;
+  private static final Duration TTL = Duration.ofMinutes(10);   // 이벤트 누락 대비 안전망
+
+  private final Cache<String, Info> byUserId = Caffeine.newBuilder()
+      .maximumSize(MAX_SIZE).expireAfterWrite(TTL).recordStats().build();
+  private final Cache<Integer, Info> byMemberSeq = Caffeine.newBuilder()
+      .maximumSize(MAX_SIZE).expireAfterWrite(TTL).recordStats().build();
+
+  public Info getByUserId(String userId, Function<String, Info> loader) {
+    return copy(byUserId.get(userId, loader));
+  }
+
+  public Info getByMemberSeq(Integer memberSeq, Function<Integer, Info> loader) {
+    return copy(byMemberSeq.get(memberSeq, loader));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onMemberChanged(MemberChangedEvent e) {
+    if (e.memberSeq() == null) {
+      invalidateAll();
+      return;
+    }
+    byMemberSeq.invalidate(e.memberSeq());
+    byUserId.asMap().values().removeIf(i -> e.memberSeq().equals(i.getMemberSeq()));
+  }
+
+  /** branchName 등 지점 정보가 스냅샷에 들어 있으므로 해당 지점 소속만 비움 */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBranchChanged(BranchChangedEvent e) {
+    if (e.branchSeq() == null) {
+      invalidateAll();
+      return;
+    }
+    byMemberSeq.asMap().values().removeIf(i -> Objects.equals(e.branchSeq(), i.getBranchSeq()));
+    byUserId.asMap().values().removeIf(i -> Objects.equals(e.branchSeq(), i.getBranchSeq()));
+  }
+
+  public void invalidateAll() {
+    byUserId.invalidateAll();
+    byMemberSeq.invalidateAll();
+  }
+
+  @Override
+  public String cacheName() {
+    return "memberInfo";
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    Map<String, Object> m = new LinkedHashMap<>();
+    m.put("byUserId", toMap(byUserId.stats(), byUserId.estimatedSize()));
+    m.put("byMemberSeq", toMap(byMemberSeq.stats(), byMemberSeq.estimatedSize()));
+    return m;
+  }
+
+  static Map<String, Object> toMap(CacheStats s, long size) {
+    Map<String, Object> m = new LinkedHashMap<>();
+    m.put("size", size);
+    m.put("hits", s.hitCount());
+    m.put("misses", s.missCount());
+    m.put("hitRate", s.hitRate());
+    m.put("evictions", s.evictionCount());
+    m.put("avgLoadMs", s.averageLoadPenalty() / 1_000_000.0);
+    return m;
+  }
+
+  private static Info copy(Info i) {
+    return i == null ? null : i.toBuilder().build();
+  }
+}
@@ -1,10 +1,12 @@
 package com.sttweb.sttweb.cache;
 
 import com.sttweb.sttweb.entity.TrecordTelListEntity;
+import com.sttweb.sttweb.event.TelListChangedEvent;
 import com.sttweb.sttweb.repository.TrecordTelListRepository;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -31,6 +33,12 @@ public class TelListCache {
         ));
   }
 
+  /** INI 동기화 등으로 회선 목록이 바뀌면 커밋 이후 다시 로딩 */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTelListChanged(TelListChangedEvent e) {
+    reload();
+  }
+
   /** ID로 전화번호 조회 (없으면 null) */
   public String getCallNum(Integer lineId) {
     return cache.get(lineId);
@@ -0,0 +1,194 @@
+// src/main/java/com/sttweb/sttweb/config/ActivityLogSchemaInitializer.java
+package com.sttweb.sttweb.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * tactivitylog 검색용 스키마 보정 (ddl-auto=update 는 타입 변경/FULLTEXT 를 하지 않으므로 직접 처리).
+ *  - crtime VARCHAR(19) → DATETIME, user_id TEXT → VARCHAR(50)
+ *  - (branch_seq, crtime), (user_id, crtime), (crtime) 인덱스
+ *  - contents FULLTEXT (ngram 파서 지원 시 ngram, 아니면 기본 파서)
+ * 이미 적용된 항목은 건너뛴다.
+ * 큰 테이블의 ALTER 는 잠금/재작성이 길어 기본은 <b>점검만</b> 하고 남은 DDL 을 경고로 남긴다
+ * (db/activitylog-search.sql 을 점검 시간에 직접 실행). activitylog.schema.auto-migrate=true 일 때만 직접 적용.
+ */
+@Slf4j
+@Component
+public class ActivityLogSchemaInitializer implements CommandLineRunner {
+
+  private static final String TABLE       = "tactivitylog";
+  private static final String FT_INDEX    = "ft_actlog_contents";
+  private static final int    USER_ID_LEN = 50;
+
+  private final JdbcTemplate jdbc;
+  private final boolean      fulltextEnabled;
+  private final boolean      autoMigrate;
+  private final List<String> pending = new ArrayList<>();
+
+  private volatile Boolean crtimeDatetime;
+  private volatile boolean fulltextReady;
+  private volatile boolean ngram;
+  private volatile int     minTokenSize = 3;
+
+  public ActivityLogSchemaInitializer(
+      DataSource dataSource,
+      @Value("${activitylog.search.fulltext:true}") boolean fulltextEnabled,
+      @Value("${activitylog.schema.auto-migrate:false}") boolean autoMigrate
+  ) {
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.fulltextEnabled = fulltextEnabled;
+    this.autoMigrate = autoMigrate;
+  }
+
+  /**
+   * crtime 이 DATETIME 으로 바뀌었는지. 아직 VARCHAR(19) 면 writer 는 'yyyy-MM-dd HH:mm:ss' 문자열로 넣어야 한다
+   * (auto-migrate=false 기본값에서는 db/activitylog-search.sql 을 실행하기 전까지 VARCHAR 로 남음).
+   * 테이블이 없으면 Hibernate 가 엔티티대로(DATETIME) 만드는 경우이므로 true.
+   */
+  public boolean crtimeDatetime() {
+    Boolean b = crtimeDatetime;
+    if (b == null) {
+      String type = columnType("crtime");
+      b = type == null || "datetime".equals(type) || "timestamp".equals(type);
+      crtimeDatetime = b;
+    }
+    return b;
+  }
+
+  /** contents FULLTEXT 인덱스 사용 가능 여부 */
+  public boolean fulltextReady() { return fulltextReady; }
+
+  /** ngram 파서 여부 (접두 와일드카드 대신 구문 검색) */
+  public boolean ngram() { return ngram; }
+
+  /** 이보다 짧은 검색어는 FULLTEXT 에 잡히지 않으므로 LIKE 로 대체 */
+  public int minTokenSize() { return minTokenSize; }
+
+  @Override
+  public void run(String... args) {
+    if (columnType("crtime") == null) {
+      log.warn("[ActivityLogSchema] {} 테이블 없음 - 건너뜀", TABLE);
+      return;
+    }
+
+    if (!"datetime".equals(columnType("crtime"))) {
+      if (exec("crtime → DATETIME", "ALTER TABLE " + TABLE + " MODIFY crtime DATETIME NOT NULL")) {
+        crtimeDatetime = true;
+      } else {
+        log.warn("[ActivityLogSchema] crtime 이 아직 {} - 감사 로그는 문자열(초 단위)로 기록", columnType("crtime"));
+      }
+    }
+
+    String userIdType = columnType("user_id");
+    if (userIdType != null && userIdType.endsWith("text")) {
+      Integer maxLen = jdbc.queryForObject(
+          "SELECT COALESCE(MAX(CHAR_LENGTH(user_id)), 0) FROM " + TABLE, Integer.class);
+      if (maxLen != null && maxLen <= USER_ID_LEN) {
+        exec("user_id → VARCHAR", "ALTER TABLE " + TABLE + " MODIFY user_id VARCHAR(" + USER_ID_LEN + ") NULL");
+      } else {
+        log.warn("[ActivityLogSchema] user_id 최대 길이 {} > {} - 타입 변경 보류", maxLen, USER_ID_LEN);
+      }
+    }
+
+    createIndex("idx_actlog_branch_crtime", "branch_seq, crtime");
+    createIndex("idx_actlog_crtime", "crtime");
+    // TEXT 컬럼은 접두 길이 없이 인덱싱 불가 → VARCHAR 전환된 경우에만
+    String uidType = columnType("user_id");
+    if (uidType != null && !uidType.endsWith("text")) {
+      createIndex("idx_actlog_user_crtime", "user_id, crtime");
+    }
+
+    if (fulltextEnabled) initFulltext();
+    if (!pending.isEmpty()) {
+      log.warn("[ActivityLogSchema] 미적용 DDL {}건 (activitylog.schema.auto-migrate=false) — "
+          + "db/activitylog-search.sql 을 점검 시간에 실행하세요:\n  {}", pending.size(), String.join(";\n  ", pending));
+    }
+    log.info("[ActivityLogSchema] ready (fulltext={}, ngram={}, minToken={})", fulltextReady, ngram, minTokenSize);
+  }
+
+  private void initFulltext() {
+    // MySQL 계열만 ngram 파서 보유, MariaDB 는 기본 파서로 대체
+    Integer ngramSize = queryIntOrNull("SELECT @@ngram_token_size");
+    ngram = ngramSize != null;
+
+    if (indexExists(FT_INDEX)) {
+      // 이미 있는 인덱스의 파서 기준 (서버가 ngram 을 지원해도 기본 파서로 만들어졌을 수 있음)
+      ngram = ngram && showCreateTable().contains("ngram");
+    } else if (!autoMigrate) {
+      String ddl = "ALTER TABLE " + TABLE + " ADD FULLTEXT INDEX " + FT_INDEX + " (contents)";
+      pending.add(ngram ? ddl + " WITH PARSER ngram" : ddl);
+      return;                                  // 인덱스 생길 때까지 LIKE 검색
+    } else {
+      String ddl = "ALTER TABLE " + TABLE + " ADD FULLTEXT INDEX " + FT_INDEX + " (contents)";
+      boolean ok = ngram && exec("FULLTEXT(ngram)", ddl + " WITH PARSER ngram");
+      if (!ok) {
+        ngram = false;
+        if (!exec("FULLTEXT", ddl)) return;
+      }
+    }
+    Integer min = ngram ? ngramSize : queryIntOrNull("SELECT @@innodb_ft_min_token_size");
+    if (min != null) minTokenSize = min;
+    fulltextReady = true;
+  }
+
+  private void createIndex(String name, String columns) {
+    if (indexExists(name)) return;
+    exec("index " + name, "CREATE INDEX " + name + " ON " + TABLE + " (" + columns + ")");
+  }
+
+  private boolean indexExists(String name) {
+    Integer n = jdbc.queryForObject(
+        "SELECT COUNT(*) FROM information_schema.STATISTICS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ?",
+        Integer.class, TABLE, name);
+    return n != null && n > 0;
+  }
+
+  private String columnType(String column) {
+    List<String> types = jdbc.queryForList(
+        "SELECT LOWER(DATA_TYPE) FROM information_schema.COLUMNS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?",
+        String.class, TABLE, column);
+    return types.isEmpty() ? null : types.get(0);
+  }
+
+  private String showCreateTable() {
+    try {
+      return jdbc.queryForObject("SHOW CREATE TABLE " + TABLE, (rs, i) -> rs.getString(2)).toLowerCase();
+    } catch (Exception e) {
+      return "";
+    }
+  }
+
+  private Integer queryIntOrNull(String sql) {
+    try {
+      return jdbc.queryForObject(sql, Integer.class);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /** auto-migrate 가 꺼져 있으면 실행하지 않고 미적용 목록에만 남김 (false 반환) */
+  private boolean exec(String what, String ddl) {
+    if (!autoMigrate) {
+      pending.add(ddl);
+      return false;
+    }
+    long t0 = System.currentTimeMillis();
+    try {
+      jdbc.execute(ddl);
+      log.info("[ActivityLogSchema] {} 적용 ({} ms)", what, System.currentTimeMillis() - t0);
+      return true;
+    } catch (Exception e) {
+      log.warn("[ActivityLogSchema] {} 실패: {}", what, e.getMessage());
+      return false;
+    }
+  }
+}
@@ -0,0 +1,21 @@
+// src/main/java/com/sttweb/sttweb/config/MariaDbFunctionContributor.java
+package com.sttweb.sttweb.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Criteria/HQL 에서 쓸 MariaDB 전용 함수 등록 (META-INF/services 로 로딩).
+ * match_against(col, q) → MATCH(col) AGAINST(q IN BOOLEAN MODE)
+ */
+public class MariaDbFunctionContributor implements FunctionContributor {
+
+  @Override
+  public void contributeFunctions(FunctionContributions fc) {
+    fc.getFunctionRegistry().registerPattern(
+        "match_against",
+        "match(?1) against(?2 in boolean mode)",
+        fc.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+  }
+}
@@ -1,6 +1,7 @@
 // src/main/java/com/sttweb/sttweb/config/OpenSearchConfig.java
 package com.sttweb.sttweb.config;
 
+import lombok.RequiredArgsConstructor;
 import org.apache.http.HttpHost;
 import org.opensearch.client.RestClient;
 import org.opensearch.client.RestHighLevelClient;
@@ -8,12 +9,29 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@RequiredArgsConstructor
 public class OpenSearchConfig {
 
-  @Bean
+  private final OpenSearchProperties props;
+
+  @Bean(destroyMethod = "close")
   public RestHighLevelClient openSearchClient() {
+    HttpHost[] hosts = props.getHosts().stream()
+        .map(String::trim)
+        .filter(h -> !h.isEmpty())
+        .map(HttpHost::create)
+        .toArray(HttpHost[]::new);
+
     return new RestHighLevelClient(
-        RestClient.builder(new HttpHost("localhost", 9200, "http"))
+        RestClient.builder(hosts)
+            .setCompressionEnabled(props.isCompression())
+            .setRequestConfigCallback(rc -> rc
+                .setConnectTimeout(props.getConnectTimeoutMs())
+                .setSocketTimeout(props.getSocketTimeoutMs())
+                .setConnectionRequestTimeout(props.getConnectionRequestTimeoutMs()))
+            .setHttpClientConfigCallback(hc -> hc
+                .setMaxConnPerRoute(props.getMaxConnPerRoute())
+                .setMaxConnTotal(props.getMaxConnTotal()))
     );
   }
 }
@@ -0,0 +1,51 @@
+// src/main/java/com/sttweb/sttweb/config/OpenSearchProperties.java
+package com.sttweb.sttweb.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * opensearch.* 설정 (클라이언트 풀/타임아웃 + 검색 보호 장치)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "opensearch")
+public class OpenSearchProperties {
+
+  /** 접속 대상 (scheme://host:port) */
+  private List<String> hosts = new ArrayList<>(List.of("http://localhost:9200"));
+
+  // ── 커넥션 풀 ──
+  private int maxConnPerRoute = 20;
+  private int maxConnTotal = 50;
+
+  // ── 타임아웃(ms) ──
+  private int connectTimeoutMs = 1000;
+  private int socketTimeoutMs = 5000;
+  /** 풀에서 커넥션을 빌려오기까지 대기 한도 */
+  private int connectionRequestTimeoutMs = 500;
+
+  /** 요청/응답 gzip 압축 */
+  private boolean compression = true;
+
+  // ── bulkhead: 동시 검색 수 제한 ──
+  private int maxConcurrentSearches = 16;
+  private long bulkheadWaitMs = 100;
+
+  // ── circuit breaker ──
+  /** 연속 실패 N회 → OPEN */
+  private int breakerFailureThreshold = 5;
+  /** OPEN 유지 시간, 이후 1건 시험 호출(HALF_OPEN) */
+  private long breakerOpenMs = 30000;
+
+  // ── 재시도 (멱등 조회만) ──
+  /** 첫 시도 이후 추가 시도 횟수 (0 = 재시도 없음) */
+  private int retryMax = 1;
+  /** 첫 재시도 전 대기, 이후 2배씩 */
+  private long retryBackoffMs = 100;
+}
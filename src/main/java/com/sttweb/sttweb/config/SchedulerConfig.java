@@ -0,0 +1,41 @@
+// src/main/java/com/sttweb/sttweb/config/SchedulerConfig.java
+package com.sttweb.sttweb.config;
+
+import com.sttweb.sttweb.scheduler.SchedulerLanes;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * 스케줄 lane 별 전용 TaskScheduler.
+ * 녹취 스캔(수 분 소요)이 헬스체크/알림을 밀어내지 않도록 lane 마다 스레드 풀을 따로 둔다.
+ * 같은 작업이 겹쳐 실행되지는 않는다 (Spring 은 한 작업의 다음 실행을 이전 실행 종료 뒤에 잡음, 노드 간은 ShedLock).
+ */
+@Configuration
+public class SchedulerConfig {
+
+  @Bean(name = SchedulerLanes.INGEST)
+  public ThreadPoolTaskScheduler ingestScheduler(SchedulerProperties props) {
+    return lane(props, "ingest");
+  }
+
+  @Bean(name = SchedulerLanes.MONITORING)
+  public ThreadPoolTaskScheduler monitoringScheduler(SchedulerProperties props) {
+    return lane(props, "monitoring");
+  }
+
+  /** lane 미지정 @Scheduled 도 이 풀로 오도록 taskScheduler 별칭 */
+  @Bean(name = {SchedulerLanes.MAINTENANCE, SchedulerLanes.DEFAULT})
+  public ThreadPoolTaskScheduler maintenanceScheduler(SchedulerProperties props) {
+    return lane(props, "maintenance");
+  }
+
+  private static ThreadPoolTaskScheduler lane(SchedulerProperties props, String name) {
+    ThreadPoolTaskScheduler ts = new ThreadPoolTaskScheduler();
+    ts.setPoolSize(Math.max(1, props.lane(name).getPoolSize()));
+    ts.setThreadNamePrefix("sched-" + name + "-");
+    ts.setRemoveOnCancelPolicy(true);
+    ts.setWaitForTasksToCompleteOnShutdown(false);
+    return ts;
+  }
+}
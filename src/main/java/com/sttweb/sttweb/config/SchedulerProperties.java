@@ -0,0 +1,66 @@
+// src/main/java/com/sttweb/sttweb/config/SchedulerProperties.java
+package com.sttweb.sttweb.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * scheduler.* 설정 (lane 별 스레드 풀 / 실행시간 초과 정책, 실행 이력 보존)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "scheduler")
+public class SchedulerProperties {
+
+  /** 실행시간(max-duration-ms) 초과 시 처리 */
+  public enum OverrunPolicy {
+    /** 경고 로그 + overrun 카운트만 */
+    WARN,
+    /**
+     * 경고 후 협조적 취소 요청 (JobCancellation). 작업이 안전한 지점에서 스스로 멈춘다.
+     * 스레드 interrupt 는 진행 중인 JDBC 호출/커넥션을 깨뜨릴 수 있어 쓰지 않음.
+     */
+    CANCEL
+  }
+
+  @Getter
+  @Setter
+  public static class Lane {
+    private int poolSize = 1;
+    private long maxDurationMs = 600_000;
+    private OverrunPolicy overrun = OverrunPolicy.WARN;
+    /** false 면 tjob_run 에 성공 실행은 남기지 않음 (실패/건너뜀/overrun 만). 수 초 간격 tick 용 */
+    private boolean recordSuccess = true;
+
+    public Lane() {}
+
+    Lane(int poolSize, long maxDurationMs, OverrunPolicy overrun, boolean recordSuccess) {
+      this.poolSize = poolSize;
+      this.maxDurationMs = maxDurationMs;
+      this.overrun = overrun;
+      this.recordSuccess = recordSuccess;
+    }
+  }
+
+  /**
+   * key = ingest / monitoring / maintenance.
+   * maintenance 는 2시간까지 도는 감사 로그 보존 작업과 매시 다운샘플/lane 미지정 작업이 같이 쓰므로 2 스레드.
+   */
+  private Map<String, Lane> lanes = new LinkedHashMap<>(Map.of(
+      "ingest",      new Lane(1, 14 * 60_000L, OverrunPolicy.WARN, true),
+      "monitoring",  new Lane(2, 60_000L, OverrunPolicy.CANCEL, false),
+      "maintenance", new Lane(2, 2 * 3_600_000L, OverrunPolicy.WARN, true)
+  ));
+
+  // ── 실행 이력(tjob_run) ──
+  private int historyRetentionDays = 14;
+
+  public Lane lane(String name) {
+    return lanes.getOrDefault(name, new Lane());
+  }
+}
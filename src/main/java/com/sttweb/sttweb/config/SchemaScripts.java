@@ -0,0 +1,91 @@
+// src/main/java/com/sttweb/sttweb/config/SchemaScripts.java
+package com.sttweb.sttweb.config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA 엔티티가 아닌 보조 테이블(tprobe_*, tjob_run, tmigration_job) 스키마 점검.
+ * 소유 컴포넌트가 기동 시 스크립트(db/*.sql)와 필요한 컬럼을 넘기면 사용 가능 여부를 돌려준다.
+ * tactivitylog 와 같은 방식으로 기본은 <b>점검만</b> 하고, 빠진 항목은 실행할 스크립트와 함께 경고로 남긴다.
+ * schema.auto-migrate=true 일 때만 스크립트를 직접 실행 (IF NOT EXISTS 문장이라 반복 실행해도 된다).
+ */
+@Slf4j
+@Component
+public class SchemaScripts {
+
+  private final DataSource   dataSource;
+  private final JdbcTemplate jdbc;
+  private final boolean      autoMigrate;
+
+  public SchemaScripts(
+      DataSource dataSource,
+      @Value("${schema.auto-migrate:false}") boolean autoMigrate
+  ) {
+    this.dataSource = dataSource;
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.autoMigrate = autoMigrate;
+  }
+
+  /**
+   * required(테이블 → 필요한 컬럼)가 모두 있으면 true.
+   * 빠진 게 있으면 auto-migrate 일 때 db/{script} 실행 후 다시 점검, 아니면 경고 후 false.
+   */
+  public boolean ensure(String script, Map<String, List<String>> required) {
+    List<String> missing = missing(required);
+    if (missing.isEmpty()) return true;
+
+    if (!autoMigrate) {
+      log.warn("[Schema] {} 없음 (schema.auto-migrate=false) — db/{} 를 점검 시간에 실행하세요. 실행 전까지 해당 기능은 꺼짐",
+          missing, script);
+      return false;
+    }
+    long t0 = System.currentTimeMillis();
+    try {
+      new ResourceDatabasePopulator(new ClassPathResource("db/" + script)).execute(dataSource);
+      log.info("[Schema] db/{} 적용 ({} ms)", script, System.currentTimeMillis() - t0);
+    } catch (Exception e) {
+      log.warn("[Schema] db/{} 실행 실패: {}", script, e.getMessage());
+    }
+    missing = missing(required);
+    if (!missing.isEmpty()) log.warn("[Schema] db/{} 실행 후에도 {} 없음 — 해당 기능은 꺼짐", script, missing);
+    return missing.isEmpty();
+  }
+
+  private List<String> missing(Map<String, List<String>> required) {
+    List<String> out = new ArrayList<>();
+    required.forEach((table, cols) -> {
+      Set<String> have = columns(table);
+      if (have.isEmpty()) {
+        out.add(table);
+        return;
+      }
+      for (String c : cols) {
+        if (!have.contains(c)) out.add(table + "." + c);
+      }
+    });
+    return out;
+  }
+
+  private Set<String> columns(String table) {
+    try {
+      return new HashSet<>(jdbc.queryForList(
+          "SELECT LOWER(COLUMN_NAME) FROM information_schema.COLUMNS "
+              + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+          String.class, table));
+    } catch (Exception e) {
+      log.warn("[Schema] {} 컬럼 조회 실패: {}", table, e.getMessage());
+      return Set.of();
+    }
+  }
+}
@@ -2,11 +2,12 @@ package com.sttweb.sttweb.config;
 
 import com.sttweb.sttweb.filter.BranchGuardFilter;
 import com.sttweb.sttweb.filter.LoginAccessFilter;
+import com.sttweb.sttweb.jwt.AuthContextResolver;
 import com.sttweb.sttweb.jwt.CustomAccessDeniedHandler;
 import com.sttweb.sttweb.jwt.JwtAuthenticationEntryPoint;
 import com.sttweb.sttweb.jwt.JwtAuthenticationFilter;
 import com.sttweb.sttweb.jwt.JwtTokenProvider;
-import com.sttweb.sttweb.service.TbranchService;
+import com.sttweb.sttweb.service.BranchTopology;
 import com.sttweb.sttweb.service.TmemberService;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.List;
@@ -30,14 +31,15 @@ public class SecurityConfig {
   private final JwtTokenProvider jwtTokenProvider;
   private final JwtAuthenticationEntryPoint jwtEntryPoint;
   private final CustomAccessDeniedHandler accessDeniedHandler;
-  private final TbranchService branchSvc;
+  private final BranchTopology branchTopology;
   private final TmemberService memberSvc;
+  private final AuthContextResolver authContextResolver;
 
   @Bean
   public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-    var loginFilter  = new LoginAccessFilter(branchSvc, memberSvc);
-    var jwtFilter    = new JwtAuthenticationFilter(jwtTokenProvider, jwtEntryPoint);
-    var branchFilter = new BranchGuardFilter(jwtTokenProvider, branchSvc);
+    var loginFilter  = new LoginAccessFilter(branchTopology, memberSvc);
+    var jwtFilter    = new JwtAuthenticationFilter(jwtTokenProvider, jwtEntryPoint, authContextResolver);
+    var branchFilter = new BranchGuardFilter(branchTopology);
 
     http
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -57,6 +59,8 @@ public class SecurityConfig {
                 "/api/records/**",
                 "/records/**"
             ).permitAll()
+            // EventSource 는 헤더를 못 붙임 → 컨트롤러에서 단기 스트림 토큰으로 검증
+            .requestMatchers(HttpMethod.GET, "/api/migrate/jobs/*/events").permitAll()
             .anyRequest().authenticated()
         )
         .exceptionHandling(ex -> ex
@@ -0,0 +1,67 @@
+// src/main/java/com/sttweb/sttweb/context/AuthContext.java
+package com.sttweb.sttweb.context;
+
+import com.sttweb.sttweb.dto.TmemberDto.Info;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 요청 단위 인증 정보. 필터 체인에서 토큰을 한 번만 검증/파싱해 request attribute 로 보관하고,
+ * 필터·컨트롤러·ActivityLogAspect 가 같은 인스턴스를 읽는다.
+ */
+@Getter
+public class AuthContext {
+
+  public static final String ATTR = AuthContext.class.getName();
+
+  private final String token;
+  private final Claims claims;
+
+  @Getter(AccessLevel.NONE)
+  private final Function<String, Info> memberLoader;
+  @Getter(AccessLevel.NONE)
+  private Info member;
+  @Getter(AccessLevel.NONE)
+  private boolean memberLoaded;
+
+  public AuthContext(String token, Claims claims, Function<String, Info> memberLoader) {
+    this.token = token;
+    this.claims = claims;
+    this.memberLoader = memberLoader;
+  }
+
+  public String getUserId()        { return claims.getSubject(); }
+  public Integer getBranchSeq()    { return claims.get("branchSeq", Integer.class); }
+  public String getUserLevel()     { return claims.get("userLevel", String.class); }
+
+  /** 회원 스냅샷 — 요청당 최초 1회만 조회 */
+  public Info getMember() {
+    if (!memberLoaded) {
+      member = memberLoader.apply(getUserId());
+      memberLoaded = true;
+    }
+    return member;
+  }
+
+  public static AuthContext from(HttpServletRequest req) {
+    Object o = req.getAttribute(ATTR);
+    return o instanceof AuthContext a ? a : null;
+  }
+
+  /** 현재 요청 스레드의 컨텍스트 (없으면 null) */
+  public static AuthContext current() {
+    RequestAttributes ra = RequestContextHolder.getRequestAttributes();
+    if (ra == null) return null;
+    Object o = ra.getAttribute(ATTR, RequestAttributes.SCOPE_REQUEST);
+    return o instanceof AuthContext a ? a : null;
+  }
+
+  public void bind(HttpServletRequest req) {
+    req.setAttribute(ATTR, this);
+  }
+}
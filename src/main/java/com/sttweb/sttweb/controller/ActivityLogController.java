@@ -2,13 +2,24 @@ package com.sttweb.sttweb.controller;
 
 import com.sttweb.sttweb.dto.TactivitylogDto;
 import com.sttweb.sttweb.exception.ForbiddenException;
-import com.sttweb.sttweb.jwt.JwtTokenProvider;
+import com.sttweb.sttweb.context.AuthContext;
+import com.sttweb.sttweb.jwt.AuthContextResolver;
+import com.sttweb.sttweb.logging.ActivityLogArchiver;
+import com.sttweb.sttweb.logging.ActivityLogArchiver.ArchiveFile;
+import com.sttweb.sttweb.logging.ActivityLogWriter;
 import com.sttweb.sttweb.service.TactivitylogService;
-import com.sttweb.sttweb.service.TmemberService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.*;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/activitylogs")
@@ -16,13 +27,9 @@ import org.springframework.web.bind.annotation.*;
 public class ActivityLogController {
 
   private final TactivitylogService logService;
-  private final TmemberService     memberService;
-  private final JwtTokenProvider   jwt;
-
-  private String extractToken(String header){
-    return (header!=null && header.startsWith("Bearer "))
-        ? header.substring(7).trim() : null;
-  }
+  private final AuthContextResolver authContexts;
+  private final ActivityLogWriter   logWriter;
+  private final ActivityLogArchiver archiver;
 
   /* ─────────── 목록 조회 ─────────── */
   @GetMapping
@@ -36,17 +43,17 @@ public class ActivityLogController {
       @RequestParam(required=false) String keyword,
       @RequestHeader(value="Authorization", required=false) String authHeader
   ){
-    String token = extractToken(authHeader);
-    if(token==null || !jwt.validateToken(token))
+    AuthContext auth = authContexts.resolve(authHeader);
+    if(auth==null)
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
-    String userId    = jwt.getUserId(token);
-    String userLevel = jwt.getUserLevel(token);
+    String userId    = auth.getUserId();
+    String userLevel = auth.getUserLevel();
 
     /* 지점관리자면 자기 branchSeq 추출 */
     Integer branchSeq = null;
     if("1".equals(userLevel)){
-      branchSeq = memberService.getMyInfoByUserId(userId).getBranchSeq();
+      branchSeq = auth.getMember().getBranchSeq();
     }
 
     Pageable pageable = PageRequest.of(page,size,Sort.by("crtime").descending());
@@ -61,18 +68,69 @@ public class ActivityLogController {
     return ResponseEntity.ok(result);
   }
 
+  /* ─────────── writer 상태 (큐 깊이/드롭 건수) ─────────── (HQ 전용) */
+  @GetMapping("/writer/stats")
+  public ResponseEntity<Map<String, Object>> writerStats(
+      @RequestHeader(value="Authorization",required=false) String authHeader
+  ){
+    AuthContext auth = authContexts.resolve(authHeader);
+    if(auth==null)
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    if(!"0".equals(auth.getUserLevel()))
+      throw new ForbiddenException("본사 관리자만 조회 가능합니다.");
+
+    return ResponseEntity.ok(logWriter.stats());
+  }
+
+  /* ─────────── 보존기간 지난 월별 아카이브 목록 ─────────── (HQ 전용) */
+  @GetMapping("/archives")
+  public ResponseEntity<List<ArchiveFile>> archives(
+      @RequestHeader(value="Authorization",required=false) String authHeader
+  ) throws IOException {
+    AuthContext auth = authContexts.resolve(authHeader);
+    if(auth==null)
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    if(!"0".equals(auth.getUserLevel()))
+      throw new ForbiddenException("본사 관리자만 조회 가능합니다.");
+
+    return ResponseEntity.ok(archiver.list());
+  }
+
+  /* ─────────── 월별 아카이브 다운로드 (gzip NDJSON) ─────────── (HQ 전용) */
+  @GetMapping("/archives/{month}")
+  public ResponseEntity<Resource> downloadArchive(
+      @PathVariable String month,
+      @RequestHeader(value="Authorization",required=false) String authHeader
+  ){
+    AuthContext auth = authContexts.resolve(authHeader);
+    if(auth==null)
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    if(!"0".equals(auth.getUserLevel()))
+      throw new ForbiddenException("본사 관리자만 다운로드 가능합니다.");
+
+    Path file = archiver.resolve(month);
+    if(file==null)
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "아카이브가 없습니다: " + month);
+
+    ContentDisposition cd = ContentDisposition.attachment().filename(file.getFileName().toString()).build();
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/gzip"))
+        .header(HttpHeaders.CONTENT_DISPOSITION, cd.toString())
+        .body(new FileSystemResource(file));
+  }
+
   /* ─────────── 단건 조회 ─────────── */
   @GetMapping("/{id}")
   public ResponseEntity<TactivitylogDto> get(
       @PathVariable Integer id,
       @RequestHeader(value="Authorization",required=false) String authHeader
   ){
-    String token = extractToken(authHeader);
-    if(token==null || !jwt.validateToken(token))
+    AuthContext auth = authContexts.resolve(authHeader);
+    if(auth==null)
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
-    String userId    = jwt.getUserId(token);
-    String userLevel = jwt.getUserLevel(token);
+    String userId    = auth.getUserId();
+    String userLevel = auth.getUserLevel();
 
     TactivitylogDto dto = logService.getLog(id);
 
@@ -81,7 +139,7 @@ public class ActivityLogController {
       return ResponseEntity.ok(dto);
     }
     if("1".equals(userLevel)){
-      Integer myBranch = memberService.getMyInfoByUserId(userId).getBranchSeq();
+      Integer myBranch = auth.getMember().getBranchSeq();
       if(myBranch!=null && myBranch.equals(dto.getBranchSeq()))
         return ResponseEntity.ok(dto);
     }
@@ -97,11 +155,11 @@ public class ActivityLogController {
       @PathVariable Integer id,
       @RequestHeader(value="Authorization",required=false) String authHeader
   ){
-    String token = extractToken(authHeader);
-    if(token==null || !jwt.validateToken(token))
+    AuthContext auth = authContexts.resolve(authHeader);
+    if(auth==null)
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
-    if(!"0".equals(jwt.getUserLevel(token)))
+    if(!"0".equals(auth.getUserLevel()))
       throw new ForbiddenException("본사 관리자만 삭제 가능합니다.");
 
     logService.deleteLog(id);
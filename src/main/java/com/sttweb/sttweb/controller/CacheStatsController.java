@@ -0,0 +1,40 @@
+// src/main/java/com/sttweb/sttweb/controller/CacheStatsController.java
+package com.sttweb.sttweb.controller;
+
+import com.sttweb.sttweb.cache.CacheStatsSource;
+import com.sttweb.sttweb.exception.ForbiddenException;
+import com.sttweb.sttweb.jwt.AuthContextResolver;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 애플리케이션 캐시 적중률/크기 조회 (본사 관리자 전용)
+ */
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+  private final List<CacheStatsSource> sources;
+  private final AuthContextResolver authContexts;
+
+  @GetMapping("/stats")
+  public ResponseEntity<Map<String, Object>> stats(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader
+  ) {
+    if (!"0".equals(authContexts.require(authHeader).getUserLevel()))
+      throw new ForbiddenException("본사 관리자만 조회 가능합니다.");
+
+    Map<String, Object> body = new LinkedHashMap<>();
+    for (CacheStatsSource s : sources) body.put(s.cacheName(), s.stats());
+    return ResponseEntity.ok(body);
+  }
+}
@@ -1,11 +1,17 @@
 package com.sttweb.sttweb.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sttweb.sttweb.dto.BulkLinePermDto;
 import com.sttweb.sttweb.dto.GrantLineDto;
 import com.sttweb.sttweb.dto.GrantDto;
 import com.sttweb.sttweb.dto.MemberLinePermDto;
 import com.sttweb.sttweb.dto.UserPermissionViewDto;
 import com.sttweb.sttweb.dto.TmemberDto.Info;
-import com.sttweb.sttweb.jwt.JwtTokenProvider;
+import com.sttweb.sttweb.jwt.AuthContextResolver;
+import com.sttweb.sttweb.logging.AuditAttributes;
 import com.sttweb.sttweb.logging.LogActivity;
 import com.sttweb.sttweb.service.MemberLinePermService;
 import com.sttweb.sttweb.service.PermissionService;
@@ -13,9 +19,10 @@ import com.sttweb.sttweb.service.TmemberService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -28,22 +35,11 @@ public class MemberLinePermController {
   private final MemberLinePermService service;
   private final PermissionService permService;
   private final TmemberService memberSvc;
-  private final JwtTokenProvider jwtTokenProvider;
-
-  private String extractToken(String authHeader) {
-    if (!StringUtils.hasText(authHeader) || !authHeader.startsWith("Bearer ")) {
-      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "토큰이 없습니다.");
-    }
-    String token = authHeader.substring(7).trim();
-    if (!jwtTokenProvider.validateToken(token)) {
-      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰입니다.");
-    }
-    return token;
-  }
+  private final AuthContextResolver authContextResolver;
+  private final ObjectMapper objectMapper;
 
   private Info requireLogin(String authHeader) {
-    String token = extractToken(authHeader);
-    return memberSvc.getMyInfoByUserId(jwtTokenProvider.getUserId(token));
+    return authContextResolver.requireMember(authHeader);
   }
 
   // 0) 전체 회선 매핑 조회
@@ -75,13 +71,38 @@ public class MemberLinePermController {
     return ResponseEntity.ok(service.getAllLinesWithPerm(memberSeq));
   }
 
-  // 1-2) 모든 회원 × 전체 회선 조합 조회
+  // 1-2) 모든 회원 × 전체 회선 조합 조회 (JSON 스트리밍)
+  //   page 미지정 : 전체 회원, 기존과 같은 배열
+  //   page 지정   : 회원 기준 페이지 {page, size, totalMembers, totalPages, content:[...]}
   @GetMapping("/all-members-lines")
-  public ResponseEntity<List<MemberLinePermDto>> getAllMembersAllLinesPerm(
-      @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader
+  public ResponseEntity<StreamingResponseBody> getAllMembersAllLinesPerm(
+      @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader,
+      @RequestParam(value = "page", required = false) Integer page,
+      @RequestParam(value = "size", defaultValue = "50") int size
   ) {
     requireLogin(authHeader);
-    return ResponseEntity.ok(service.getAllMembersAllLinesPerm());
+    MemberLinePermService.PermMatrix matrix = service.loadPermMatrix(page, size);
+    ObjectWriter rowWriter = objectMapper.writerFor(MemberLinePermDto.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    StreamingResponseBody body = out -> {
+      try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+        if (page != null) {
+          int pageSize = Math.min(Math.max(size, 1), 500);
+          gen.writeStartObject();
+          gen.writeNumberField("page", Math.max(page, 0));
+          gen.writeNumberField("size", pageSize);
+          gen.writeNumberField("totalMembers", matrix.totalMembers());
+          gen.writeNumberField("totalPages", (matrix.totalMembers() + pageSize - 1) / pageSize);
+          gen.writeFieldName("content");
+        }
+        gen.writeStartArray();
+        matrix.forEachRow(row -> rowWriter.writeValue(gen, row));
+        gen.writeEndArray();
+        if (page != null) gen.writeEndObject();
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
   }
 
   // 2) 회선별 매핑 조회
@@ -114,6 +135,25 @@ public class MemberLinePermController {
         : ResponseEntity.badRequest().body("잘못된 요청입니다.");
   }
 
+  // 3-1) 회선 권한 일괄 부여/회수 (본사0, 지사1만) — 한 트랜잭션, 감사 로그 1건
+  @LogActivity(type = "perm", activity = "일괄변경", contents = "#{#audit['summary']}")
+  @PostMapping("/bulk-lines")
+  public ResponseEntity<BulkLinePermDto.Result> bulkLinePermissions(
+      @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader,
+      @RequestBody BulkLinePermDto.Request req
+  ) {
+    Info me = requireLogin(authHeader);
+    String lvl = me.getUserLevel();
+    if (!"0".equals(lvl) && !"1".equals(lvl)) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "권한이 없습니다.");
+    }
+    BulkLinePermDto.Result r = permService.applyBulk(req == null ? null : req.getChanges());
+    AuditAttributes.put(AuditAttributes.SUMMARY, String.format(
+        "회선 권한 일괄변경 %d건 (부여 %d, 변경 %d, 유지 %d, 회수 %d)",
+        r.getDistinct(), r.getInserted(), r.getUpdated(), r.getUnchanged(), r.getRevoked()));
+    return ResponseEntity.ok(r);
+  }
+
   // 4) 회선 권한 회수 (본사0, 지사1만)
   @LogActivity(type = "perm", activity = "회수", contents = "회선 권한 회수")
   @DeleteMapping("/revoke-line")
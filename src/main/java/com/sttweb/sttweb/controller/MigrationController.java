@@ -1,45 +1,48 @@
 package com.sttweb.sttweb.controller;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.sttweb.sttweb.dto.TmemberDto.Info;
+import com.sttweb.sttweb.exception.ForbiddenException;
+import com.sttweb.sttweb.exception.ResourceNotFoundException;
+import com.sttweb.sttweb.exception.UnauthorizedException;
+import com.sttweb.sttweb.jwt.AuthContextResolver;
+import com.sttweb.sttweb.jwt.JwtTokenProvider;
+import com.sttweb.sttweb.service.MigrationJobService;
+import com.sttweb.sttweb.service.MigrationJobService.JobStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.*;
-import java.sql.*;
 import java.util.*;
 
 /**
  * SQLite DB 파일을 업로드받아 MySQL DB로 데이터와 구조를 마이그레이션하는 컨트롤러
- * 파일 업로드는 POST /migrate 엔드포인트에서 처리
+ * 파일 업로드는 POST /migrate 에서 받아 작업으로 등록하고, 진행 상황은 /migrate/jobs/** 로 조회
+ * 모든 엔드포인트는 본사 관리자(userLevel 0) 전용.
  */
 @RestController
 @RequestMapping("/api")
+@RequiredArgsConstructor
 public class MigrationController {
 
-  // application.properties에서 MySQL 접속 정보를 주입받음
-  @Value("${migration.mysql.url}")
-  private String MYSQL_URL;
-  @Value("${migration.mysql.user}")
-  private String MYSQL_USER;
-  @Value("${migration.mysql.pass}")
-  private String MYSQL_PASS;
-
-  // SQLite 타입 → MySQL 타입 매핑 표
-  private static final Map<String, String> TYPE_MAP = new HashMap<>();
-
-  static {
-    TYPE_MAP.put("INTEGER", "INT(11)");
-    TYPE_MAP.put("REAL", "DOUBLE");
-    TYPE_MAP.put("TEXT", "TEXT");
-    TYPE_MAP.put("BLOB", "BLOB");
-  }
+  private final MigrationJobService migrationJobs;
+  private final AuthContextResolver authContexts;
+  private final JwtTokenProvider jwtTokenProvider;
 
   /**
-   * [POST] /migrate
+   * [POST] /migrate — 업로드 후 작업 등록, 202 + 작업 상태
    */
   @PostMapping(value = "/migrate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-  public String migrateSqliteToMysql(@RequestParam("dbfile") MultipartFile dbfile) throws Exception {
+  public ResponseEntity<JobStatus> migrateSqliteToMysql(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+      @RequestParam("dbfile") MultipartFile dbfile,
+      @RequestParam(value = "restart", defaultValue = "false") boolean restart) throws Exception {
+    String operatorId = requireHq(authHeader).getUserId();
     File tempFile = null;
     IOException lastException = null;
 
@@ -67,188 +70,93 @@ public class MigrationController {
       dbfile.transferTo(tempFile);
     }
 
-    String resultMsg;
-    try {
-      resultMsg = doMigrate(tempFile.getAbsolutePath(), dbfile.getOriginalFilename());
-    } finally {
-      tempFile.delete();
-    }
-    return resultMsg;
+    // 복사는 백그라운드 작업으로 → 즉시 202 + 작업 id (임시 파일은 작업이 끝나면 삭제)
+    JobStatus job = migrationJobs.submit(tempFile, dbfile.getOriginalFilename(), restart, operatorId);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
   }
 
+  /** 최근 작업 목록 */
+  @GetMapping("/migrate/jobs")
+  public ResponseEntity<List<JobStatus>> recentJobs(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+      @RequestParam(defaultValue = "20") int limit) {
+    requireHq(authHeader);
+    return ResponseEntity.ok(migrationJobs.recent(limit));
+  }
 
-  /**
-   * SQLite DB에서 테이블/컬럼/데이터를 읽어 MySQL로 복사
-   */
-  private String doMigrate(String sqliteDbPath, String displayName) {
-    StringBuilder log = new StringBuilder();
-    log.append("마이그레이션 시작! (파일: ").append(displayName).append(")\n");
-
-    // 1. JDBC 드라이버 확인
-    try {
-      Class.forName("org.sqlite.JDBC");
-    } catch (ClassNotFoundException e) {
-      log.append("[마이그레이션 오류]\nSQLite JDBC 드라이버를 찾을 수 없습니다.\n");
-      StringWriter sw = new StringWriter();
-      e.printStackTrace(new PrintWriter(sw));
-      log.append(sw.toString());
-      return log.toString();
-    }
-
-    // 2. 실제 DB 연결 및 마이그레이션
-    try (
-        Connection src = DriverManager.getConnection("jdbc:sqlite:" + sqliteDbPath);
-        Connection dst = DriverManager.getConnection(MYSQL_URL, MYSQL_USER, MYSQL_PASS)
-    ) {
-      src.setAutoCommit(false);
-      dst.setAutoCommit(true);
-
-      List<String> tables = getSqliteTables(src);
-      log.append("총 ").append(tables.size()).append("개 테이블 발견: ").append(tables).append("\n");
-
-      for (String tbl : tables) {
-        log.append("\n>>> 테이블 처리: ").append(tbl).append("\n");
-        if (!mysqlTableExists(dst, tbl)) {
-          String ddl = getSqliteDDL(src, tbl);
-          if (ddl == null) {
-            log.append("  ! ").append(tbl).append(" 테이블 DDL 없음. PASS.\n");
-            continue;
-          }
-          ddl = convertSqliteDDLtoMysql(ddl, tbl);
-          log.append("  + CREATE SQL: ").append(ddl).append("\n");
-          try (Statement st = dst.createStatement()) {
-            st.execute(ddl);
-          }
-        } else {
-          log.append("  - 기존 테이블 사용: ").append(tbl).append("\n");
-        }
-        List<String[]> sqliteCols = getSqliteColumns(src, tbl);
-        Set<String> mysqlCols = getMysqlColumns(dst, tbl);
-
-        for (String[] col : sqliteCols) {
-          String colName = col[0];
-          String colType = col[1];
-          if (!mysqlCols.contains(colName.toLowerCase())) {
-            String mysqlType = TYPE_MAP.getOrDefault(colType, "TEXT");
-            String sql = "ALTER TABLE `" + tbl + "` ADD COLUMN `" + colName + "` " + mysqlType + " NULL";
-            log.append("  + 컬럼 추가: ").append(sql).append("\n");
-            try (Statement st = dst.createStatement()) {
-              st.execute(sql);
-            }
-            mysqlCols.add(colName.toLowerCase());
-          }
-        }
-        int rowCount = copyData(src, dst, tbl, sqliteCols);
-        log.append("  * 총 ").append(rowCount).append("개 행 (중복 무시)\n");
-      }
-      log.append("\n마이그레이션 완료! XAMPP를 재시작 해주세요.\n");
-    } catch (Exception e) {
-      log.append("[마이그레이션 오류]\n").append(e.getMessage()).append("\n");
-      StringWriter sw = new StringWriter();
-      e.printStackTrace(new PrintWriter(sw));
-      log.append(sw.toString());
-    }
-    return log.toString();
+  /** 작업 상태 (테이블/행 진행률, rows/s, ETA) */
+  @GetMapping("/migrate/jobs/{jobId}")
+  public ResponseEntity<JobStatus> jobStatus(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+      @PathVariable String jobId) {
+    requireHq(authHeader);
+    return ResponseEntity.ok(requireJob(jobId));
   }
 
-  private List<String> getSqliteTables(Connection src) throws SQLException {
-    List<String> tables = new ArrayList<>();
-    try (Statement st = src.createStatement();
-        ResultSet rs = st.executeQuery("SELECT name FROM sqlite_master WHERE type='table' AND name NOT LIKE 'sqlite_%';")) {
-      while (rs.next()) tables.add(rs.getString(1));
-    }
-    return tables;
+  /** 로그 tail (최근 200줄) */
+  @GetMapping(value = "/migrate/jobs/{jobId}/log", produces = MediaType.TEXT_PLAIN_VALUE)
+  public ResponseEntity<String> jobLog(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+      @PathVariable String jobId) {
+    requireHq(authHeader);
+    requireJob(jobId);
+    return ResponseEntity.ok(migrationJobs.logTail(jobId));
   }
 
-  private boolean mysqlTableExists(Connection dst, String tbl) throws SQLException {
-    try (PreparedStatement ps = dst.prepareStatement(
-        "SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA=? AND TABLE_NAME=?")) {
-      ps.setString(1, "recordon"); // 실제 사용 DB명
-      ps.setString(2, tbl);
-      try (ResultSet rs = ps.executeQuery()) {
-        return rs.next() && rs.getInt(1) > 0;
-      }
-    }
+  /**
+   * SSE 접속용 단기 토큰 발급 — EventSource 는 Authorization 헤더를 못 붙이므로
+   * 발급받은 토큰을 /events?token=... 으로 넘긴다 (1분 유효, 해당 작업 전용, 재접속 시 재발급)
+   */
+  @PostMapping("/migrate/jobs/{jobId}/events-token")
+  public ResponseEntity<Map<String, Object>> jobEventsToken(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+      @PathVariable String jobId) {
+    Info me = requireHq(authHeader);
+    requireJob(jobId);
+    return ResponseEntity.ok(Map.of(
+        "token", jwtTokenProvider.createStreamToken(me.getUserId(), streamScope(jobId)),
+        "expiresInSec", jwtTokenProvider.getStreamTokenTtlSec()));
   }
 
-  private String getSqliteDDL(Connection src, String tbl) throws SQLException {
-    try (PreparedStatement ps = src.prepareStatement(
-        "SELECT sql FROM sqlite_master WHERE type='table' AND name=?")) {
-      ps.setString(1, tbl);
-      try (ResultSet rs = ps.executeQuery()) {
-        if (rs.next()) return rs.getString(1);
-      }
+  /** 진행 상황 SSE (event: progress / log). Authorization 헤더 또는 events-token 의 token 파라미터 */
+  @GetMapping(value = "/migrate/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter jobEvents(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+      @RequestParam(value = "token", required = false) String token,
+      @PathVariable String jobId) {
+    if (authHeader != null) {
+      requireHq(authHeader);
+    } else if (jwtTokenProvider.validateStreamToken(token, streamScope(jobId)) == null) {
+      throw new UnauthorizedException("유효하지 않은 스트림 토큰입니다.");
     }
-    return null;
+    SseEmitter emitter = migrationJobs.subscribe(jobId);
+    if (emitter == null) throw new ResourceNotFoundException("마이그레이션 작업을 찾을 수 없습니다: " + jobId);
+    return emitter;
   }
 
-  private String convertSqliteDDLtoMysql(String ddl, String tbl) {
-    ddl = ddl.replaceAll("AUTOINCREMENT", "AUTO_INCREMENT");
-    ddl = ddl.replaceAll("\\bINTEGER\\b", "INT(11)");
-    ddl = ddl.replaceAll("\\bREAL\\b", "DOUBLE");
-    ddl = ddl.replaceAll("\\bTEXT\\b", "TEXT");
-    ddl = ddl.replaceAll("\\bBLOB\\b", "BLOB");
-    ddl = ddl.replaceAll("\"([A-Za-z0-9_]+)\"", "`$1`");
-    ddl = ddl.replaceAll("\\);?$", ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;");
-    return ddl;
+  /** 취소 (commit 된 배치까지는 유지, 같은 파일로 다시 실행하면 이어서 복사) */
+  @PostMapping("/migrate/jobs/{jobId}/cancel")
+  public ResponseEntity<JobStatus> cancelJob(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+      @PathVariable String jobId) {
+    requireHq(authHeader);
+    requireJob(jobId);
+    return ResponseEntity.ok(migrationJobs.cancel(jobId));
   }
 
-  private List<String[]> getSqliteColumns(Connection src, String tbl) throws SQLException {
-    List<String[]> cols = new ArrayList<>();
-    try (Statement st = src.createStatement();
-        ResultSet rs = st.executeQuery("PRAGMA table_info('" + tbl + "');")) {
-      while (rs.next()) {
-        cols.add(new String[]{rs.getString("name"), rs.getString("type").toUpperCase()});
-      }
-    }
-    return cols;
+  private Info requireHq(String authHeader) {
+    Info me = authContexts.requireMember(authHeader);
+    if (!"0".equals(me.getUserLevel())) throw new ForbiddenException("본사 관리자만 사용할 수 있습니다.");
+    return me;
   }
 
-  private Set<String> getMysqlColumns(Connection dst, String tbl) throws SQLException {
-    Set<String> cols = new HashSet<>();
-    try (PreparedStatement ps = dst.prepareStatement(
-        "SELECT COLUMN_NAME FROM information_schema.COLUMNS WHERE TABLE_SCHEMA=? AND TABLE_NAME=?")) {
-      ps.setString(1, "recordon");
-      ps.setString(2, tbl);
-      try (ResultSet rs = ps.executeQuery()) {
-        while (rs.next()) cols.add(rs.getString(1).toLowerCase());
-      }
-    }
-    return cols;
+  private static String streamScope(String jobId) {
+    return "migration:" + jobId;
   }
 
-  private int copyData(Connection src, Connection dst, String tbl, List<String[]> sqliteCols) throws SQLException {
-    List<String> cols = new ArrayList<>();
-    for (String[] arr : sqliteCols) cols.add(arr[0]);
-    String colList = String.join("`, `", cols);
-    String placeholders = String.join(", ", Collections.nCopies(cols.size(), "?"));
-    String insertSql = "INSERT IGNORE INTO `" + tbl + "` (`" + colList + "`) VALUES (" + placeholders + ")";
-    String selectSql = "SELECT * FROM `" + tbl + "`";
-
-    int total = 0;
-    try (Statement st = src.createStatement();
-        ResultSet rs = st.executeQuery(selectSql)) {
-      List<Object[]> batch = new ArrayList<>();
-      while (rs.next()) {
-        Object[] row = new Object[cols.size()];
-        for (int i = 0; i < cols.size(); ++i) {
-          row[i] = rs.getObject(cols.get(i));
-        }
-        batch.add(row);
-      }
-      total = batch.size();
-      if (!batch.isEmpty()) {
-        try (PreparedStatement ps = dst.prepareStatement(insertSql)) {
-          for (Object[] row : batch) {
-            for (int i = 0; i < row.length; ++i) {
-              ps.setObject(i + 1, row[i]);
-            }
-            ps.addBatch();
-          }
-          ps.executeBatch();
-        }
-      }
-    }
-    return total;
+  private JobStatus requireJob(String jobId) {
+    JobStatus st = migrationJobs.status(jobId);
+    if (st == null) throw new ResourceNotFoundException("마이그레이션 작업을 찾을 수 없습니다: " + jobId);
+    return st;
   }
 }
@@ -0,0 +1,89 @@
+// src/main/java/com/sttweb/sttweb/controller/MonitorStatsController.java
+package com.sttweb.sttweb.controller;
+
+import com.sttweb.sttweb.exception.ForbiddenException;
+import com.sttweb.sttweb.jwt.AuthContextResolver;
+import com.sttweb.sttweb.monitor.AlertDispatcher;
+import com.sttweb.sttweb.scheduler.JobRunHistory;
+import com.sttweb.sttweb.scheduler.SchedulerLanes;
+import com.sttweb.sttweb.service.PasswordHashGuard;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 알림 발송 큐 / 스케줄 작업 / 로그인 해시 풀 상태 조회 (본사 관리자 전용)
+ */
+@RestController
+@RequestMapping("/api/monitor")
+@RequiredArgsConstructor
+public class MonitorStatsController {
+
+  private final AlertDispatcher alertDispatcher;
+  private final JobRunHistory jobRunHistory;
+  private final Map<String, ThreadPoolTaskScheduler> schedulers;
+  private final PasswordHashGuard passwordHashGuard;
+  private final AuthContextResolver authContexts;
+
+  @GetMapping("/alerts/stats")
+  public ResponseEntity<Map<String, Object>> alertStats(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader
+  ) {
+    requireHq(authHeader);
+    return ResponseEntity.ok(alertDispatcher.stats());
+  }
+
+  /** 로그인 지연시간 히스토그램 + BCrypt 풀 포화/거절 현황 */
+  @GetMapping("/login/stats")
+  public ResponseEntity<Map<String, Object>> loginStats(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader
+  ) {
+    requireHq(authHeader);
+    return ResponseEntity.ok(passwordHashGuard.stats());
+  }
+
+  /** lane 별 스레드 풀 상태 + 작업별 실행 메트릭 */
+  @GetMapping("/jobs")
+  public ResponseEntity<Map<String, Object>> jobStats(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader
+  ) {
+    requireHq(authHeader);
+    Map<String, Object> lanes = new LinkedHashMap<>();
+    schedulers.forEach((bean, ts) -> {
+      Map<String, Object> l = new LinkedHashMap<>();
+      l.put("poolSize", ts.getPoolSize());
+      l.put("active", ts.getActiveCount());
+      l.put("queued", ts.getScheduledThreadPoolExecutor().getQueue().size());
+      lanes.put(SchedulerLanes.laneOf(bean), l);
+    });
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("lanes", lanes);
+    body.put("jobs", jobRunHistory.stats());
+    return ResponseEntity.ok(body);
+  }
+
+  /** 최근 실행 이력 (job 미지정 시 전체) */
+  @GetMapping("/jobs/runs")
+  public ResponseEntity<List<JobRunHistory.JobRun>> jobRuns(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+      @RequestParam(value = "job", required = false) String job,
+      @RequestParam(value = "limit", defaultValue = "50") int limit
+  ) {
+    requireHq(authHeader);
+    return ResponseEntity.ok(jobRunHistory.recent(job, limit));
+  }
+
+  private void requireHq(String authHeader) {
+    if (!"0".equals(authContexts.require(authHeader).getUserLevel()))
+      throw new ForbiddenException("본사 관리자만 조회 가능합니다.");
+  }
+}
@@ -3,6 +3,8 @@ package com.sttweb.sttweb.controller;
 
 import com.sttweb.sttweb.dto.IniNameExtDto;
 import com.sttweb.sttweb.service.RecordTelService;
+import com.sttweb.sttweb.service.RecordTelService.SyncResult;
+import com.sttweb.sttweb.service.TelListIniWatcher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +19,7 @@ import java.util.Map;
 public class RecordTelController {
 
   private final RecordTelService service;
+  private final TelListIniWatcher iniWatcher;
 
   // ──────────────────────────────────────────────────────────────────
   // 1) GET /api/ini/list 으로도 동기화 + 결과 반환
@@ -24,41 +27,41 @@ public class RecordTelController {
 
   /**
    * GET  /api/ini/list
-   *  → INI 파일을 파싱 → DB 동기화 →
-   *    DB에 저장된 전체 레코드(id, callNum, userName, critime) 반환
+   *  → DB에 저장된 활성 레코드(id, callNum, userName, critime) 반환 (조회 전용)
    *
-   * ※ 기존에 POST로만 되어 있던 부분을 GET으로 바꿨습니다.
+   * ※ 동기화는 TelListIniWatcher 가 INI 변경 시 자동으로, 수동은 POST /api/ini/sync
    */
   @GetMapping("/api/ini/list")
   public ResponseEntity<List<IniNameExtDto>> parseAndSyncAll() {
-    try {
-      // 1) 파일 파싱 → 2) 중복 검사 후 DB에 신규 INSERT →
-      // 3) DB에 저장된 전체 목록 조회하는 service.getAll()
-      //    ("파일 파싱 결과만" 반환하는 것이 아니라, "DB에 실제 저장된 값"을 반환)
-      service.syncFromIni();        // 신규 항목만 INSERT
-      List<IniNameExtDto> all = service.getAll();
-      return ResponseEntity.ok(all);
-
-    } catch (IOException e) {
-      return ResponseEntity.status(500).build();
-    }
+    return ResponseEntity.ok(service.getAll());
   }
 
   /**
    * POST  /api/ini/sync
-   *  → INI 파일 파싱 후 DB 동기화(신규 INSERT) → 삽입된 DTO 리스트 반환
+   *  → INI 파일 파싱 후 DB 동기화(추가/수정/제거/복구) → 건수 반환
+   *  (평소에는 TelListIniWatcher 가 INI 변경 시 자동 동기화)
+   *  제거 비율 초과로 보류된 경우 409 + 사유, 확인 후 force=true 로 다시 호출하면 반영
    */
   @PostMapping("/api/ini/sync")
-  public ResponseEntity<Map<String, Object>> syncIniToDb() {
+  public ResponseEntity<Map<String, Object>> syncIniToDb(
+      @RequestParam(value = "force", defaultValue = "false") boolean force) {
     Map<String, Object> resp = new HashMap<>();
 
     try {
-      // 서비스가 List<RecordTelDto>를 반환하도록 짜여 있다면 .size()로 건수를 구할 수 있습니다.
-      List<IniNameExtDto> insertedList = service.syncFromIni();
-      int insertedCount = insertedList.size();
+      SyncResult r = service.syncFromIni(force);
+      if (r.skipped() != null) {
+        resp.put("inserted", 0);
+        resp.put("message", r.skipped());
+        return ResponseEntity.status(409).body(resp);
+      }
+      int insertedCount = r.inserted().size();
 
       resp.put("inserted", insertedCount);
-      resp.put("message", "새로운 계정 " + insertedCount + "건이 추가되었습니다.");
+      resp.put("updated", r.updated());
+      resp.put("removed", r.removed());
+      resp.put("restored", r.restored());
+      resp.put("message", "새로운 계정 " + insertedCount + "건 추가, "
+          + r.updated() + "건 수정, " + r.removed() + "건 제거, " + r.restored() + "건 복구되었습니다.");
 
       return ResponseEntity.ok(resp);
 
@@ -69,6 +72,15 @@ public class RecordTelController {
     }
   }
 
+  /**
+   * GET  /api/ini/sync/status
+   *  → INI 자동 동기화(파일 감시) 상태: 감시 중인 파일, 마지막 동기화 시각/결과/오류
+   */
+  @GetMapping("/api/ini/sync/status")
+  public ResponseEntity<Map<String, Object>> syncStatus() {
+    return ResponseEntity.ok(iniWatcher.status());
+  }
+
   // ──────────────────────────────────────────────────────────────────
   // 2) DB 조회 전용 (이미 저장된 모든 레코드 → JSON)
   // ──────────────────────────────────────────────────────────────────
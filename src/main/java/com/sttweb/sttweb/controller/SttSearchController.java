@@ -1,23 +1,31 @@
 package com.sttweb.sttweb.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sttweb.sttweb.dto.SttSearchDtos.FileHits;
+import com.sttweb.sttweb.dto.SttSearchDtos.Transcript;
+import com.sttweb.sttweb.exception.ResourceNotFoundException;
 import com.sttweb.sttweb.dto.TmemberDto.Info;
 import com.sttweb.sttweb.dto.TrecordDto;
-import com.sttweb.sttweb.jwt.JwtTokenProvider;
+import com.sttweb.sttweb.jwt.AuthContextResolver;
+import com.sttweb.sttweb.service.OpenSearchGuard;
 import com.sttweb.sttweb.service.RecOnDataService;
 import com.sttweb.sttweb.service.SttSearchService;
-import com.sttweb.sttweb.service.TmemberService;
 import com.sttweb.sttweb.service.TrecordService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/stt")
@@ -27,21 +35,13 @@ public class SttSearchController {
   private final SttSearchService sttSearchService;
   private final TrecordService trecordService;
   private final RecOnDataService recOnDataService;   // STT/JSON 후처리
-  private final JwtTokenProvider jwtTokenProvider;   // 권한 확인용
-  private final TmemberService memberService;        // 권한 확인용
+  private final AuthContextResolver authContextResolver; // 권한 확인용 (요청당 1회 파싱)
+  private final ObjectMapper objectMapper;
+  private final OpenSearchGuard openSearchGuard;
 
   // ── auth 동일화 ──
   private Info requireLogin(String authHeader) {
-    if (authHeader == null || !authHeader.startsWith("Bearer "))
-      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "토큰이 없습니다.");
-    String token = authHeader.substring(7).trim();
-    if (!jwtTokenProvider.validateToken(token))
-      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰입니다.");
-    String userId = jwtTokenProvider.getUserId(token);
-    Info me = memberService.getMyInfoByUserId(userId);
-    if (me == null)
-      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "사용자 정보를 찾을 수 없습니다.");
-    return me;
+    return authContextResolver.requireMember(authHeader);
   }
 
   // ── ES filenames → DB 조인 ──
@@ -68,19 +68,13 @@ public class SttSearchController {
     @SuppressWarnings("unchecked")
     List<String> esNames = (List<String>) fnPage.getOrDefault("filenames", Collections.emptyList());
 
-    // 2) 소문자 basename.wav 로 정규화
-    Set<String> baseSet = new LinkedHashSet<>();
+    // 2) 소문자 basename.wav 로 정규화 (하이라이트 매칭용으로 원본 filename 보관)
+    Map<String, String> baseToEsName = new LinkedHashMap<>();
     for (String s : esNames) {
-      if (s == null) continue;
-      String t = s.trim();
-      if (t.isEmpty()) continue;
-      t = t.replace('\\','/');
-      int i = t.lastIndexOf('/');
-      String name = (i >= 0 ? t.substring(i + 1) : t).toLowerCase();
-      if (!name.endsWith(".wav")) name = name + ".wav";
-      baseSet.add(name);
+      if (s == null || s.isBlank()) continue;
+      baseToEsName.putIfAbsent(toWavBasename(s), s);
     }
-    List<String> basenames = new ArrayList<>(baseSet);
+    List<String> basenames = new ArrayList<>(baseToEsName.keySet());
 
     // 3) 기간 파싱
     DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
@@ -159,6 +153,7 @@ public class SttSearchController {
     // 11) 응답
     Map<String, Object> body = buildPageResponse(recordPage); // 페이지 메타 + (페이지 기준) inbound/outbound 포함
     body.put("filenames", esNames);
+    body.put("highlights", pageHighlights(terms, recordPage.getContent(), baseToEsName));
 
     // 페이지 카운트 보존
     long pageInbound   = ((Number) body.getOrDefault("inboundCount", 0)).longValue();
@@ -222,6 +217,76 @@ public class SttSearchController {
     return ResponseEntity.ok(sttSearchService.searchFilenamesArray(queries, page, size));
   }
 
+  /** filename 별 매칭 문장 + start/end (전체 transcript 조회 없이 스니펫/구간 재생용) */
+  @GetMapping("/search/highlights")
+  public ResponseEntity<Map<String, FileHits>> searchHighlights(
+      @RequestParam(name = "s") List<String> queries,
+      @RequestParam(name = "filename") List<String> filenames,
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader
+  ) {
+    requireLogin(authHeader);
+    return ResponseEntity.ok(sttSearchService.searchHitSentences(queries, filenames));
+  }
+
+  /** OpenSearch 호출 상태 (breaker/bulkhead/지연시간 분포) */
+  @GetMapping("/stats")
+  public ResponseEntity<Map<String, Object>> stats(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader
+  ) {
+    requireLogin(authHeader);
+    return ResponseEntity.ok(openSearchGuard.snapshot());
+  }
+
+  /**
+   * 경량 transcript (최종 문장 + 채널). ETag = 문서 버전 → 변경 없으면 304,
+   * 클라이언트가 gzip 을 받으면 압축 스트림으로 내려준다 (표현이 다르므로 ETag 에 -gzip 접미사).
+   * 검색 서버 장애는 404 가 아니라 502/503.
+   */
+  @GetMapping("/{id}/transcript")
+  public ResponseEntity<StreamingResponseBody> getTranscript(
+      @PathVariable String id,
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      HttpServletRequest request
+  ) {
+    requireLogin(authHeader);
+
+    String acceptEnc = Optional.ofNullable(request.getHeader(HttpHeaders.ACCEPT_ENCODING)).orElse("");
+    boolean gzip = acceptEnc.toLowerCase().contains("gzip");
+
+    // If-None-Match 가 오면 _source 없이 버전만 먼저 확인
+    if (ifNoneMatch != null && !ifNoneMatch.isBlank()) {
+      Long version = sttSearchService.getVersion(id);
+      if (version != null && ifNoneMatch.contains(transcriptEtag(id, version, gzip))) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(transcriptEtag(id, version, gzip))
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .build();
+      }
+    }
+
+    Transcript t = sttSearchService.getTranscript(id);
+    if (t == null) throw new ResourceNotFoundException("STT 문서를 찾을 수 없습니다: " + id);
+
+    ResponseEntity.BodyBuilder rb = ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .eTag(transcriptEtag(id, t.version(), gzip))
+        .cacheControl(CacheControl.noCache().cachePrivate())
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) rb.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+    StreamingResponseBody body = out -> {
+      if (gzip) {
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+          objectMapper.writeValue(gz, t);
+        }
+      } else {
+        objectMapper.writeValue(out, t);
+      }
+    };
+    return rb.body(body);
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<?> getById(@PathVariable String id) {
     return ResponseEntity.ok(sttSearchService.getById(id));
@@ -229,6 +294,38 @@ public class SttSearchController {
 
   // ───────── helpers ─────────
 
+  /** gzip 표현은 바이트가 다르므로 별도 strong ETag */
+  private static String transcriptEtag(String id, long version, boolean gzip) {
+    return "\"" + id + "-v" + version + (gzip ? "-gzip" : "") + "\"";
+  }
+
+  /** 경로/대소문자/확장자 차이를 없앤 basename.wav */
+  private static String toWavBasename(String path) {
+    String t = path.trim().replace('\\', '/');
+    int i = t.lastIndexOf('/');
+    String name = (i >= 0 ? t.substring(i + 1) : t).toLowerCase();
+    return name.endsWith(".wav") ? name : name + ".wav";
+  }
+
+  /** 현재 페이지 녹취에 해당하는 ES filename 만 골라 하이라이트 조회 (key: audioFileDir basename) */
+  private Map<String, FileHits> pageHighlights(List<String> terms, List<TrecordDto> records,
+      Map<String, String> baseToEsName) {
+    Map<String, String> esToBase = new LinkedHashMap<>();
+    for (TrecordDto rec : records) {
+      String afd = rec.getAudioFileDir();
+      if (afd == null || afd.isBlank()) continue;
+      String base = toWavBasename(afd);
+      String esName = baseToEsName.get(base);
+      if (esName != null) esToBase.put(esName, base);
+    }
+    if (esToBase.isEmpty()) return Map.of();
+
+    Map<String, FileHits> byEsName = sttSearchService.searchHitSentences(terms, esToBase.keySet());
+    Map<String, FileHits> out = new LinkedHashMap<>();
+    byEsName.forEach((esName, hits) -> out.put(esToBase.getOrDefault(esName, esName), hits));
+    return out;
+  }
+
   private Map<String, Object> buildEmptyPageResponse(int page, int size, List<String> esNames) {
     Map<String, Object> m = new LinkedHashMap<>();
     m.put("content", List.of());
@@ -4,7 +4,7 @@ import com.sttweb.sttweb.dto.TmemberDto.Info;
 import com.sttweb.sttweb.entity.TbranchEntity;
 import com.sttweb.sttweb.jwt.JwtTokenProvider;
 import com.sttweb.sttweb.service.BranchSwitchService;
-import com.sttweb.sttweb.service.TbranchService;
+import com.sttweb.sttweb.service.BranchTopology;
 import com.sttweb.sttweb.service.TmemberService;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
@@ -30,7 +30,7 @@ public class SwitchLoginController {
   private final BranchSwitchService switchService;
   private final TmemberService memberSvc;
   private final JwtTokenProvider jwtTokenProvider;
-  private final TbranchService branchSvc;
+  private final BranchTopology branchTopology;
   private final HttpServletRequest request;
 
   @GetMapping("/auth/switchLogin")
@@ -51,7 +51,7 @@ public class SwitchLoginController {
     }
 
     // 지점 검증
-    List<TbranchEntity> cands = branchSvc.findByIpAndPort(host, String.valueOf(port));
+    List<TbranchEntity> cands = branchTopology.byIpAndPort(host, String.valueOf(port));
     TbranchEntity selfBranch = cands.isEmpty() ? null : cands.get(0);
     if (selfBranch == null || !selfBranch.getBranchSeq().equals(payload.targetBranchSeq())) {
       return redirectWithError(baseUrl, "forbidden"); // 대상불일치
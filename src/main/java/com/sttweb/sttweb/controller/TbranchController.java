@@ -5,6 +5,9 @@ import com.sttweb.sttweb.dto.TmemberDto.Info;
 import com.sttweb.sttweb.entity.TbranchEntity;
 import com.sttweb.sttweb.jwt.JwtTokenProvider;
 import com.sttweb.sttweb.logging.LogActivity;
+import com.sttweb.sttweb.monitor.ProbeEngine;
+import com.sttweb.sttweb.monitor.ProbeHistoryStore;
+import com.sttweb.sttweb.monitor.ProbeKind;
 import com.sttweb.sttweb.repository.TbranchRepository;
 import com.sttweb.sttweb.service.TbranchService;
 import com.sttweb.sttweb.service.TmemberService;
@@ -14,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -33,6 +37,8 @@ public class TbranchController {
   private final TmemberService memberSvc;
   private final JwtTokenProvider jwtTokenProvider;
   private final TbranchRepository branchRepository;
+  private final ProbeEngine probeEngine;
+  private final ProbeHistoryStore probeHistory;
 
 
   /**
@@ -361,6 +367,54 @@ public class TbranchController {
     return ResponseEntity.ok(result);
   }
 
+  /**
+   * 지점/서비스 probe 통계 (엔드포인트별 마지막 결과, 다음 점검, 지연시간 분포) — 본사 관리자 전용
+   *
+   * GET /api/branches/health/stats
+   */
+  @GetMapping("/health/stats")
+  public ResponseEntity<?> healthStats(
+      @RequestHeader(value = "Authorization", required = false) String authHeader
+  ) {
+    ResponseEntity<String> err = checkToken(authHeader);
+    if (err != null) return err;
+    if (!"0".equals(getMe(authHeader).getUserLevel())) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body("권한이 없습니다.");
+    }
+    return ResponseEntity.ok(probeEngine.snapshot());
+  }
+
+  /**
+   * 지점/서비스별 가용률(%), 장애 구간, probe 지연시간 p50/p95/p99
+   * - 본사 관리자(0): 전체 또는 branchSeq 지정
+   * - 지사 관리자(1): 자기 지점만
+   *
+   * GET /api/branches/health/history?from=2025-01-01T00:00:00&to=...&branchSeq=&kind=TOMCAT
+   */
+  @GetMapping("/health/history")
+  public ResponseEntity<?> healthHistory(
+      @RequestHeader(value = "Authorization", required = false) String authHeader,
+      @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(value = "to",   required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+      @RequestParam(value = "branchSeq", required = false) Integer branchSeq,
+      @RequestParam(value = "kind",      required = false) ProbeKind kind
+  ) {
+    ResponseEntity<String> err = checkToken(authHeader);
+    if (err != null) return err;
+    Info me = getMe(authHeader);
+    if ("1".equals(me.getUserLevel())) {
+      branchSeq = me.getBranchSeq();
+    } else if (!"0".equals(me.getUserLevel())) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body("권한이 없습니다.");
+    }
+
+    if (to == null) to = LocalDateTime.now();
+    if (from == null) from = to.minusDays(1);
+    if (!from.isBefore(to)) {
+      return ResponseEntity.badRequest().body("from 은 to 보다 이전이어야 합니다.");
+    }
+    return ResponseEntity.ok(probeHistory.summarize(from, to, branchSeq, kind));
+  }
 
   /**
    * 회사에 지사가 없고(only HQ) 본사만 있으면 true,
@@ -6,15 +6,15 @@ import com.sttweb.sttweb.entity.TmemberEntity;
 import com.sttweb.sttweb.dto.GrantDto;
 import com.sttweb.sttweb.jwt.JwtTokenProvider;
 import com.sttweb.sttweb.logging.LogActivity;
-import com.sttweb.sttweb.service.TbranchService;
+import com.sttweb.sttweb.service.BranchTopology;
+import com.sttweb.sttweb.service.PasswordHashGuard;
+import com.sttweb.sttweb.service.PasswordResetJobService;
+import com.sttweb.sttweb.service.PasswordResetJobService.JobStatus;
 import com.sttweb.sttweb.service.TmemberService;
 import com.sttweb.sttweb.service.PermissionService;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
-import java.net.InetAddress;
-import java.net.NetworkInterface;
-import java.net.SocketException;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -25,7 +25,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -48,8 +47,9 @@ public class TmemberController {
   private final TmemberService    svc;
   private final PermissionService permSvc;
   private final JwtTokenProvider  jwtTokenProvider;
-  private final TbranchService    branchSvc;
-  private final PasswordEncoder   passwordEncoder;
+  private final BranchTopology    branchTopology;
+  private final PasswordHashGuard passwordHashGuard;
+  private final PasswordResetJobService passwordResetJobs;
   private final HttpServletRequest request;
 
   // -----------------------------------------------------------------
@@ -185,14 +185,10 @@ public class TmemberController {
      // ① 기본 home 세팅 (일반 사용자는 자신의 branchSeq, 슈퍼유저는 HQ 브랜치)
     TbranchEntity home = null;
      if (!isSuperUser && user.getBranchSeq() != null) {
-           home = branchSvc.findEntityBySeq(user.getBranchSeq());
+           home = branchTopology.bySeq(user.getBranchSeq());
        } else if (isSuperUser) {
-           // 슈퍼유저는 ip_type==HQ_ONLY_TYPE 인 본사(=HQ) 브랜치로 세팅
-       home = branchSvc.findAllEntities().stream()
-                    // hqYn 컬럼이 "0" 이면 본사
-                      .filter(b -> "0".equals(b.getHqYn()))
-                      .findFirst()
-                      .orElse(null);
+           // 슈퍼유저는 본사(hqYn=0) 브랜치로 세팅
+       home = branchTopology.hq().orElse(null);
        }
     boolean isHqUser = home != null && "0".equals(home.getHqYn());
 
@@ -206,10 +202,10 @@ public class TmemberController {
         .orElse(String.valueOf(request.getServerPort()));   // 프록시 없으면 39090
 
 // 3) 지사 조회 (IP+Port → IP만 fallback)
-    List<TbranchEntity> candidates = branchSvc.findByIpAndPort(hostIp, portStr);
+    List<TbranchEntity> candidates = new ArrayList<>(branchTopology.byIpAndPort(hostIp, portStr));
     if (candidates.isEmpty()) {
-      branchSvc.findBypIp(hostIp).ifPresent(candidates::add);
-      branchSvc.findByPbIp(hostIp).ifPresent(candidates::add);
+      branchTopology.byPIp(hostIp).ifPresent(candidates::add);
+      branchTopology.byPbIp(hostIp).ifPresent(candidates::add);
     }
     TbranchEntity srvBr = candidates.isEmpty() ? null : candidates.get(0);
 
@@ -247,7 +243,8 @@ public class TmemberController {
          info.setCurrentBranchName(home.getCompanyName());
        }
 
-    boolean isTempPassword = passwordEncoder.matches("1234", user.getUserPass());
+    // 기본 비밀번호 여부는 저장된 플래그로 (BCrypt 재검증 없음)
+    boolean isTempPassword = Boolean.TRUE.equals(user.getMustChangePassword());
     info.setMustChangePassword(isTempPassword);
 
     boolean finalHqYn = isHqUser && srvBr == null;
@@ -292,28 +289,7 @@ public class TmemberController {
   // 127.0.0.1 보정용 NIC 탐색
   // -----------------------------------------------------------------
   private String detectBranchIpFromLocalNics() {
-    try {
-      Enumeration<NetworkInterface> nics = NetworkInterface.getNetworkInterfaces();
-      while (nics.hasMoreElements()) {
-        NetworkInterface ni = nics.nextElement();
-        if (ni.isLoopback() || !ni.isUp()) continue;
-
-        Enumeration<InetAddress> addrs = ni.getInetAddresses();
-        while (addrs.hasMoreElements()) {
-          InetAddress addr = addrs.nextElement();
-          if (addr.isLoopbackAddress()) continue;
-
-          String ip = addr.getHostAddress();
-          if (!ip.contains(".")) continue;
-
-          if (branchSvc.findBypIp(ip).isPresent()) return ip;
-          if (branchSvc.findByPbIp(ip).isPresent()) return ip;
-        }
-      }
-    } catch (SocketException e) {
-      e.printStackTrace();
-    }
-    return null;
+    return branchTopology.localBranchIp();
   }
 
   // -----------------------------------------------------------------
@@ -352,7 +328,7 @@ public class TmemberController {
     if (!("0".equals(me.getUserLevel()) || "1".equals(me.getUserLevel()) || "3".equals(me.getUserLevel())))
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "본사 및 지사 관리자만 접근 가능합니다.");
 
-    svc.resetPassword(memberSeq, "1234", me.getUserId());
+    svc.resetPassword(memberSeq, TmemberService.DEFAULT_PASSWORD, me.getUserId());
     return ResponseEntity.ok(
         "사용자 " + memberSeq + " 비밀번호가 초기화되었습니다. 기본(1234)로 로그인 후 변경하세요."
     );
@@ -367,7 +343,7 @@ public class TmemberController {
       contents = "사용자 #{#userId}가 사용자들 #{#memberSeqs}의 비밀번호를 일괄 초기화"
   )
   @PutMapping("/changpass/bulk")
-  public ResponseEntity<String> resetPasswordsBulk(
+  public ResponseEntity<JobStatus> resetPasswordsBulk(
       @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader,
       @RequestBody List<Integer> memberSeqs) {
 
@@ -376,8 +352,9 @@ public class TmemberController {
     if (!("0".equals(me.getUserLevel()) || "1".equals(me.getUserLevel()) || "3".equals(me.getUserLevel())))
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "본사 및 지사 관리자만 접근 가능합니다.");
 
-    svc.resetPasswords(memberSeqs, "1234", me.getUserId());
-    return ResponseEntity.ok("사용자 " + memberSeqs + "의 비밀번호가 모두 초기화되었습니다.");
+    // 해시/저장은 백그라운드 작업으로 → 202 + 작업 상태, 진행률은 /changpass/jobs/{jobId}
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(passwordResetJobs.submit(memberSeqs, TmemberService.DEFAULT_PASSWORD, me.getUserId()));
   }
 
   // -----------------------------------------------------------------
@@ -389,7 +366,7 @@ public class TmemberController {
       contents = "사용자 #{#userId}가 전체 사용자의 비밀번호 초기화"
   )
   @PutMapping("/changpass/all")
-  public ResponseEntity<String> resetAllPasswords(
+  public ResponseEntity<JobStatus> resetAllPasswords(
       @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
 
     Info me = requireLogin(authHeader);
@@ -397,8 +374,25 @@ public class TmemberController {
     if (!("0".equals(me.getUserLevel()) || "1".equals(me.getUserLevel()) || "3".equals(me.getUserLevel())))
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "본사 및 지사 관리자만 접근 가능합니다.");
 
-    svc.resetAllPasswords("1234", me.getUserId());
-    return ResponseEntity.ok("전체 사용자 비밀번호가 초기화되었습니다.");
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(passwordResetJobs.submitAll(TmemberService.DEFAULT_PASSWORD, me.getUserId()));
+  }
+
+  // -----------------------------------------------------------------
+  // 비밀번호 일괄 초기화 작업 진행 상황
+  // -----------------------------------------------------------------
+  @GetMapping("/changpass/jobs/{jobId}")
+  public ResponseEntity<JobStatus> resetPasswordJobStatus(
+      @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader,
+      @PathVariable String jobId) {
+
+    Info me = requireLogin(authHeader);
+    if (!("0".equals(me.getUserLevel()) || "1".equals(me.getUserLevel()) || "3".equals(me.getUserLevel())))
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "본사 및 지사 관리자만 접근 가능합니다.");
+
+    JobStatus st = passwordResetJobs.status(jobId);
+    if (st == null) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "작업을 찾을 수 없습니다: " + jobId);
+    return ResponseEntity.ok(st);
   }
 
   // -----------------------------------------------------------------
@@ -590,7 +584,7 @@ public class TmemberController {
 
     Info me = getCurrentUserFromToken(authHeader);
     TmemberEntity user = svc.findEntityByUserId(me.getUserId());
-    if (!passwordEncoder.matches(req.getPassword(), user.getUserPass()))
+    if (!passwordHashGuard.matches(req.getPassword(), user.getUserPass()))
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "비밀번호가 틀렸습니다.");
 
     String token = jwtTokenProvider.createReAuthToken(me.getUserId());
@@ -1,14 +1,16 @@
 package com.sttweb.sttweb.controller;
 
+import com.sttweb.sttweb.cache.LinePermCache;
 import com.sttweb.sttweb.crypto.CryptoProperties;
 import com.sttweb.sttweb.crypto.CryptoUtil;
 import com.sttweb.sttweb.dto.TrecordDto;
 import com.sttweb.sttweb.dto.TmemberDto.Info;
 import com.sttweb.sttweb.entity.TbranchEntity;
-import com.sttweb.sttweb.entity.UserPermission;
+import com.sttweb.sttweb.jwt.AuthContextResolver;
+import com.sttweb.sttweb.logging.AuditAttributes;
 import com.sttweb.sttweb.logging.LogActivity;
 import com.sttweb.sttweb.repository.TrecordTelListRepository;
-import com.sttweb.sttweb.repository.UserPermissionRepository;
+import com.sttweb.sttweb.service.ExtensionNumbers;
 import com.sttweb.sttweb.service.RecOnDataService;
 import com.sttweb.sttweb.service.SttSearchService;
 import com.sttweb.sttweb.service.TbranchService;
@@ -51,8 +53,8 @@ public class TrecordController {
 
   private final TrecordService recordSvc;
   private final TmemberService memberSvc;
-  private final com.sttweb.sttweb.jwt.JwtTokenProvider jwtTokenProvider;
-  private final UserPermissionRepository userPermRepo;
+  private final AuthContextResolver authContextResolver;
+  private final LinePermCache linePermCache;
   private final TrecordTelListRepository trecordTelListRepository;
   private final TbranchService branchSvc;
   private final RestTemplate restTemplate;
@@ -94,17 +96,7 @@ public class TrecordController {
   }
 
   private Info requireLogin(String authHeader) {
-    if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "토큰이 없습니다.");
-    }
-    String token = authHeader.substring(7).trim();
-    if (!jwtTokenProvider.validateToken(token)) {
-      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰입니다.");
-    }
-    String userId = jwtTokenProvider.getUserId(token);
-    Info info = memberSvc.getMyInfoByUserId(userId);
-    if (info == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "사용자 정보를 찾을 수 없습니다.");
-    return info;
+    return authContextResolver.requireMember(authHeader);
   }
 
   private Info requireLogin(HttpServletRequest req) {
@@ -118,14 +110,6 @@ public class TrecordController {
     return requireLogin(authHeader);
   }
 
-  private String normalizeToFourDigit(String n) {
-    if (n == null) return null;
-    String d = n.replaceAll("[^0-9]", "");
-    if (d.length() == 3) return "0" + d;
-    if (d.length() > 4) return d.substring(d.length() - 4);
-    return d.length() == 4 ? d : null;
-  }
-
   private List<String> makeExtensions(String num) {
     if (num == null) return Collections.emptyList();
     String d = num.replaceAll("[^0-9]", "");
@@ -156,17 +140,17 @@ public class TrecordController {
     Info me = memberSvc.getMyInfoByUserId(userId);
 
     if (StringUtils.hasText(me.getNumber())) {
-      String n = normalizeToFourDigit(me.getNumber());
+      String n = ExtensionNumbers.normalizeToFourDigit(me.getNumber());
       if (n != null) numbers.add(n);
     }
 
     Map<Integer, String> lineMap = trecordTelListRepository.findAll().stream()
         .collect(Collectors.toMap(TrecordTelListEntity::getId, TrecordTelListEntity::getCallNum));
 
-    for (UserPermission perm : userPermRepo.findByMemberSeq(me.getMemberSeq())) {
-      if (perm.getPermLevel() >= 2 && perm.getLineId() != null) {
-        String ext = lineMap.get(perm.getLineId());
-        String n = normalizeToFourDigit(ext);
+    for (Map.Entry<Integer, Integer> perm : linePermCache.levels(me.getMemberSeq()).entrySet()) {
+      if (perm.getValue() >= 2) {
+        String ext = lineMap.get(perm.getKey());
+        String n = ExtensionNumbers.normalizeToFourDigit(ext);
         if (n != null) numbers.add(n);
       }
     }
@@ -179,16 +163,16 @@ public class TrecordController {
     Info me = memberSvc.getMyInfoByUserId(userId);
 
     if (me.getNumber() != null) {
-      String mine = normalizeToFourDigit(me.getNumber());
+      String mine = ExtensionNumbers.normalizeToFourDigit(me.getNumber());
       if (mine != null && target.contains(mine)) return true;
     }
 
     Map<Integer, String> lineMap = trecordTelListRepository.findAll().stream()
         .collect(Collectors.toMap(TrecordTelListEntity::getId, TrecordTelListEntity::getCallNum));
 
-    for (UserPermission perm : userPermRepo.findByMemberSeq(me.getMemberSeq())) {
-      if (perm.getPermLevel() >= reqLevel && perm.getLineId() != null) {
-        String grantedExt = lineMap.get(perm.getLineId());
+    for (Map.Entry<Integer, Integer> perm : linePermCache.levels(me.getMemberSeq()).entrySet()) {
+      if (perm.getValue() >= reqLevel) {
+        String grantedExt = lineMap.get(perm.getKey());
         if (grantedExt != null) {
           for (String ext : makeExtensions(grantedExt)) if (target.contains(ext)) return true;
         }
@@ -325,9 +309,7 @@ public class TrecordController {
         }
       } else {
         List<String> accessibleNumbers = ("1".equals(lvl))
-            ? memberSvc.listUsersInBranch(me.getBranchSeq(), PageRequest.of(0, Integer.MAX_VALUE))
-            .getContent().stream().map(Info::getNumber).filter(StringUtils::hasText)
-            .map(this::normalizeToFourDigit).filter(Objects::nonNull).toList()
+            ? memberSvc.listExtensionNumbersInBranch(me.getBranchSeq())
             : getAccessibleNumbers(me.getUserId());
 
         if (accessibleNumbers.isEmpty() && !StringUtils.hasText(searchQuery)) {
@@ -535,7 +517,7 @@ public class TrecordController {
   }
 
   // 재생
-  @LogActivity(type = "record", activity = "청취",     contents = "#{#recordSvc.getFile(#id).filename}")
+  @LogActivity(type = "record", activity = "청취",     contents = "#{#audit['filename']}")
   @GetMapping("/{id}/listen")
   public ResponseEntity<StreamingResponseBody> listen(
       HttpServletRequest request,
@@ -557,6 +539,8 @@ public class TrecordController {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "파일 없음: " + id);
 
     String filename = audio.getFilename();
+    AuditAttributes.put(AuditAttributes.FILENAME, auditFileName(filename));
+    AuditAttributes.put(AuditAttributes.RECORD, recDto);
     boolean isEncMp3 = filename != null && filename.toLowerCase().endsWith("_enc.mp3");
 
     // enc.mp3 → 임시 mp3로 완전 복호화 + Range 지원
@@ -645,7 +629,7 @@ public class TrecordController {
         .body(fullBody);
   }
 
-  @LogActivity(type = "record", activity = "다운로드", contents = "#{#recordSvc.getLocalFile(#id).filename}")
+  @LogActivity(type = "record", activity = "다운로드", contents = "#{#audit['filename']}")
   @GetMapping("/{id}/download")
   public ResponseEntity<StreamingResponseBody> downloadById(HttpServletRequest request, @PathVariable Integer id) throws Exception {
     Info me = requireLogin(request);
@@ -661,6 +645,8 @@ public class TrecordController {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "파일을 찾을 수 없습니다: " + id);
 
     String raw = audio.getFilename();
+    AuditAttributes.put(AuditAttributes.FILENAME, auditFileName(raw));
+    AuditAttributes.put(AuditAttributes.RECORD, rec);
     boolean isAes    = raw != null && raw.toLowerCase().endsWith(".aes");
     boolean isEncMp3 = raw != null && raw.toLowerCase().endsWith("_enc.mp3");
 
@@ -761,13 +747,24 @@ public class TrecordController {
   @LogActivity(
       type     = "record",
       activity = "STT 변환",
-      contents = "#{ '사용자 ' + #userId + '이(가) 녹취파일 ' + #recordSvc.getLocalFile(#recordId).filename + ' 텍스트 변환' }"
+      contents = "#{ '사용자 ' + #userId + '이(가) 녹취파일 ' + #audit['filename'] + ' 텍스트 변환' }"
   )
   @PostMapping("/{recordId}/stt-click")
   public ResponseEntity<Void> logSttClick(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader, @PathVariable Long recordId) {
+    // 파일 탐색 없이 레코드의 저장 경로에서 파일명만 추출. 레코드가 없어도 클릭 로그는 남기고 200 (id 로 대체)
+    Optional<TrecordDto> rec = recordSvc.findOptionalById(recordId.intValue());
+    String name = rec.map(TrecordDto::getAudioFileDir).map(TrecordController::auditFileName).orElse(null);
+    AuditAttributes.put(AuditAttributes.FILENAME, name != null ? name : "record#" + recordId);
+    rec.ifPresent(r -> AuditAttributes.put(AuditAttributes.RECORD, r));
     return ResponseEntity.ok().build();
   }
 
+  /** 감사 로그용 파일명 — 경로(\\ 또는 /)를 떼고 파일명만 (청취/다운로드/STT 클릭 공통) */
+  private static String auditFileName(String pathOrName) {
+    if (pathOrName == null || pathOrName.isBlank()) return null;
+    return StringUtils.getFilename(StringUtils.cleanPath(pathOrName));
+  }
+
   private boolean isEncryptedName(String name) {
     String n = name.toLowerCase(Locale.ROOT);
     return n.endsWith("_enc.mp3") || n.endsWith(".aes") || n.contains("_enc.");
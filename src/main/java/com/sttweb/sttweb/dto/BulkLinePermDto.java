@@ -0,0 +1,43 @@
+// src/main/java/com/sttweb/sttweb/dto/BulkLinePermDto.java
+package com.sttweb.sttweb.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 회선 권한 일괄 부여/회수
+ *   • changes[].permLevel : 2=조회, 3=조회+청취, 4=조회+청취+다운로드, 1(이하)=회수
+ *   • 같은 (memberSeq, lineId) 가 여러 번 오면 마지막 값 적용
+ */
+public class BulkLinePermDto {
+
+  @Data
+  @NoArgsConstructor
+  public static class Request {
+    private List<Change> changes;
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Change {
+    private Integer memberSeq;
+    private Integer lineId;
+    private Integer permLevel;
+  }
+
+  @Getter
+  @Builder
+  public static class Result {
+    private int requested;   // 요청 건수
+    private int distinct;    // 중복 제거 후 건수
+    private int inserted;    // 새로 부여
+    private int updated;     // 레벨 변경
+    private int unchanged;   // 같은 레벨 (그대로)
+    private int revoked;     // 회수된 (회원, 회선) 수
+  }
+}
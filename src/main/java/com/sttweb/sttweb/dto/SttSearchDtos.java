@@ -12,6 +12,37 @@ public class SttSearchDtos {
       Double score
   ) {}
 
+  /** 검색어가 걸린 문장 1건 (channel: rx/tx/merged, start/end 는 원본 오프셋 그대로) */
+  public record SentenceHit(
+      String channel,
+      String text,
+      String highlighted,   // <em> 태그 포함 하이라이트 문장
+      Double start,
+      Double end
+  ) {}
+
+  /** filename 단위 하이라이트 묶음 */
+  public record FileHits(
+      String filename,
+      List<SentenceHit> sentences
+  ) {}
+
+  /** 화면 표시용 최종 문장 (channel: rx/tx) */
+  public record Sentence(
+      String channel,
+      Double start,
+      Double end,
+      String text
+  ) {}
+
+  /** 경량 transcript — 최종 문장 + 채널만 (hypothesis 대안/단어 정보 제외) */
+  public record Transcript(
+      String id,
+      String filename,
+      long version,
+      List<Sentence> sentences
+  ) {}
+
   public record Page(
       List<Hit> content,
       long totalHits,
@@ -16,7 +16,7 @@ public class TmemberDto {
   @Data
   @NoArgsConstructor
   @AllArgsConstructor
-  @Builder
+  @Builder(toBuilder = true)
   public static class Info {
     private Integer memberSeq;
     private Integer branchSeq;
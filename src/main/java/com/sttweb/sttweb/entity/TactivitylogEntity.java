@@ -1,10 +1,12 @@
 package com.sttweb.sttweb.entity;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import lombok.*;
 
 /**
  * Entity mapping for activity logs.
+ * 검색 인덱스(branch_seq/user_id + crtime, contents FULLTEXT)는 ActivityLogSchemaInitializer 가 관리.
  */
 @Entity
 @Table(name = "tactivitylog")
@@ -31,8 +33,7 @@ public class TactivitylogEntity {
   @Column(name = "member_seq")
   private Integer memberSeq;
 
-  @Lob
-  @Column(name = "user_id", columnDefinition = "TEXT")
+  @Column(name = "user_id", length = 50)
   private String userId;
 
   @Column(name = "activity", nullable = false, length = 20)
@@ -55,8 +56,8 @@ public class TactivitylogEntity {
   private String pvIp;
 
 
-  @Column(name = "crtime", nullable = false, length = 19)
-  private String crtime;
+  @Column(name = "crtime", nullable = false, columnDefinition = "DATETIME")
+  private LocalDateTime crtime;
 
   @Column(name = "worker_seq", nullable = false)
   private Integer workerSeq;
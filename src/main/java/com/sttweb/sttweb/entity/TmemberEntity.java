@@ -96,6 +96,13 @@ public class TmemberEntity {
   @Column(name = "mask_flag", nullable = false, columnDefinition = "TINYINT(1) default 0")
   private Integer maskFlag = 0;
 
+  /**
+   * 기본 비밀번호 사용 중 → 로그인 후 변경 필요 (초기화 시 1, 변경 시 0)
+   * NULL = 컬럼 추가 이전 계정, 다음 로그인 때 채움
+   */
+  @Column(name = "must_change_pw", columnDefinition = "TINYINT(1) NULL")
+  private Boolean mustChangePassword;
+
 
   /**
    * ▶ 회원 한 명이 여러 회선에 권한을 가질 수 있으므로 OneToMany 매핑
@@ -10,6 +10,10 @@ import java.time.LocalDateTime;
 // 등록된 회원이 각각의 회선들에 대해 어떤 권한을 갖고 있는지
 
 @Entity
+@NamedEntityGraph(
+    name = TmemberLinePermEntity.GRAPH_DETAIL,
+    attributeNodes = { @NamedAttributeNode("member"), @NamedAttributeNode("line"), @NamedAttributeNode("role") }
+)
 @Table(
     name = "tmember_line_perm",
     uniqueConstraints = @UniqueConstraint(name = "uk_member_line", columnNames = { "member_seq", "line_id" })
@@ -18,6 +22,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class TmemberLinePermEntity {
 
+  /** 회원·회선·권한을 한 번에 읽는 fetch plan (DTO 변환용 조회) */
+  public static final String GRAPH_DETAIL = "TmemberLinePerm.detail";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Integer id;
@@ -42,6 +42,14 @@ public class TrecordTelListEntity {
   @Column(name = "critime", nullable = false, updatable = false)
   private LocalDateTime critime;
 
+  /**
+   * INI 에서 빠진 시각 (null = 활성)
+   *  • 행을 지우지 않아 line id 와 권한 매핑이 그대로 남고, 다시 INI 에 나타나면 null 로 복구된다
+   *  • 녹취 목록의 회선 번호 표시는 제거된 회선도 계속 사용한다
+   */
+  @Column(name = "removed_at")
+  private LocalDateTime removedAt;
+
   /**
    * ▶ 하나의 회선에 여러 회원이 권한을 가질 수 있으므로 OneToMany 매핑
    */
@@ -0,0 +1,8 @@
+// src/main/java/com/sttweb/sttweb/event/BranchChangedEvent.java
+package com.sttweb.sttweb.event;
+
+/**
+ * 지점 생성/수정/활성 변경 알림
+ */
+public record BranchChangedEvent(Integer branchSeq) {
+}
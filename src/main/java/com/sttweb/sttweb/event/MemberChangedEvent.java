@@ -0,0 +1,12 @@
+// src/main/java/com/sttweb/sttweb/event/MemberChangedEvent.java
+package com.sttweb.sttweb.event;
+
+/**
+ * 회원 정보/상태/권한/비밀번호 변경 알림. memberSeq 가 null 이면 전체 회원 대상
+ */
+public record MemberChangedEvent(Integer memberSeq) {
+
+  public static MemberChangedEvent all() {
+    return new MemberChangedEvent(null);
+  }
+}
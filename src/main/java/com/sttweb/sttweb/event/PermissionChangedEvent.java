@@ -0,0 +1,18 @@
+// src/main/java/com/sttweb/sttweb/event/PermissionChangedEvent.java
+package com.sttweb.sttweb.event;
+
+import java.util.Set;
+
+/**
+ * 회선 권한(tuser_permission / tmember_line_perm) 변경 알림. memberSeqs 가 null 이면 전체 회원 대상
+ */
+public record PermissionChangedEvent(Set<Integer> memberSeqs) {
+
+  public static PermissionChangedEvent all() {
+    return new PermissionChangedEvent(null);
+  }
+
+  public static PermissionChangedEvent of(Integer memberSeq) {
+    return new PermissionChangedEvent(memberSeq == null ? null : Set.of(memberSeq));
+  }
+}
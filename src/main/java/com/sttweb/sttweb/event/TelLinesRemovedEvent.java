@@ -0,0 +1,13 @@
+// src/main/java/com/sttweb/sttweb/event/TelLinesRemovedEvent.java
+package com.sttweb.sttweb.event;
+
+import java.util.List;
+
+/**
+ * INI 동기화로 제거 표시(removed_at)된 회선 목록 (커밋 이후 감사 로그용)
+ */
+public record TelLinesRemovedEvent(List<Line> lines, boolean force) {
+
+  public record Line(String callNum, String userName, Integer lineId) {
+  }
+}
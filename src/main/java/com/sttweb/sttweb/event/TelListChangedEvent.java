@@ -0,0 +1,8 @@
+// src/main/java/com/sttweb/sttweb/event/TelListChangedEvent.java
+package com.sttweb.sttweb.event;
+
+/**
+ * 녹취 회선 목록(trecord_tel_list) 변경 알림 (INI 동기화 결과 건수)
+ */
+public record TelListChangedEvent(int inserted, int updated, int removed) {
+}
@@ -0,0 +1,14 @@
+// src/main/java/com/sttweb/sttweb/exception/BadGatewayException.java
+package com.sttweb.sttweb.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 외부 의존 서비스(OpenSearch 등)가 오류 응답/예외를 낸 경우 502 반환
+ */
+public class BadGatewayException extends ResponseStatusException {
+  public BadGatewayException(String reason, Throwable cause) {
+    super(HttpStatus.BAD_GATEWAY, reason, cause);
+  }
+}
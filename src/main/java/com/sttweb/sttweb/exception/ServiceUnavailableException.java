@@ -0,0 +1,14 @@
+// src/main/java/com/sttweb/sttweb/exception/ServiceUnavailableException.java
+package com.sttweb.sttweb.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 외부 의존 서비스(OpenSearch 등) 차단/포화 시 503 반환
+ */
+public class ServiceUnavailableException extends ResponseStatusException {
+  public ServiceUnavailableException(String reason) {
+    super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+  }
+}
@@ -1,8 +1,8 @@
 package com.sttweb.sttweb.filter;
 
+import com.sttweb.sttweb.context.AuthContext;
 import com.sttweb.sttweb.context.BranchContext;
 import com.sttweb.sttweb.service.TmemberService;
-import com.sttweb.sttweb.jwt.JwtTokenProvider;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,12 +18,9 @@ import java.io.IOException;
 
 public class BranchContextFilter extends OncePerRequestFilter {
 
-  private final JwtTokenProvider jwtProvider;
   private final TmemberService memberSvc;
 
-  public BranchContextFilter(JwtTokenProvider jwtProvider,
-      TmemberService memberSvc) {
-    this.jwtProvider = jwtProvider;
+  public BranchContextFilter(TmemberService memberSvc) {
     this.memberSvc  = memberSvc;
   }
   @Override
@@ -35,19 +32,13 @@ public class BranchContextFilter extends OncePerRequestFilter {
     String branch = req.getHeader("X-Branch-Id");
 
     if (auth != null && auth.startsWith("Bearer ") && branch != null) {
-      String token = auth.substring(7).trim();
-      if (!jwtProvider.validateToken(token)) {
-        res.setStatus(HttpStatus.UNAUTHORIZED.value());
-        return;
-      }
-
-      String userId;
-      try {
-        userId = jwtProvider.getUserId(token);
-      } catch (Exception e) {
+      // JwtAuthenticationFilter 가 만든 검증 컨텍스트 사용
+      AuthContext ctx = AuthContext.from(req);
+      if (ctx == null) {
         res.setStatus(HttpStatus.UNAUTHORIZED.value());
         return;
       }
+      String userId = ctx.getUserId();
 
       Integer branchId;
       try {
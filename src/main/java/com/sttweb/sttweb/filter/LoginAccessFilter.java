@@ -4,7 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sttweb.sttweb.entity.TbranchEntity;
 import com.sttweb.sttweb.entity.TmemberEntity;
-import com.sttweb.sttweb.service.TbranchService;
+import com.sttweb.sttweb.service.BranchTopology;
 import com.sttweb.sttweb.service.TmemberService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -14,38 +14,15 @@ import org.springframework.http.HttpMethod;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.net.InetAddress;
-import java.net.NetworkInterface;
 import java.util.*;
 
 @RequiredArgsConstructor
 public class LoginAccessFilter extends OncePerRequestFilter {
 
-  private final TbranchService branchSvc;
+  private final BranchTopology topology;
   private final TmemberService memberSvc;
   private final ObjectMapper objectMapper = new ObjectMapper();
 
-  private static Set<String> getAllLocalIps() {
-    Set<String> ips = new HashSet<>();
-    try {
-      Enumeration<NetworkInterface> nics = NetworkInterface.getNetworkInterfaces();
-      while (nics.hasMoreElements()) {
-        NetworkInterface nic = nics.nextElement();
-        Enumeration<InetAddress> addrs = nic.getInetAddresses();
-        while (addrs.hasMoreElements()) {
-          InetAddress addr = addrs.nextElement();
-          if (!addr.isLoopbackAddress() && addr.getHostAddress().contains(".")) {
-            ips.add(addr.getHostAddress());
-          }
-        }
-      }
-    } catch (Exception e) {
-      // 실제 프로덕션에서는 로깅 프레임워크 사용 권장
-      e.printStackTrace();
-    }
-    return ips;
-  }
-
   // ▼▼▼ 이 메서드의 주석을 해제하여 활성화합니다. ▼▼▼
   @Override
   protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
@@ -81,7 +58,7 @@ public class LoginAccessFilter extends OncePerRequestFilter {
     MultiReadHttpServletRequest wrap = new MultiReadHttpServletRequest(request);
 
     // 2) 서버 IP/포트 로그
-    Set<String> localIps = getAllLocalIps();
+    Set<String> localIps = topology.localIps();
     int serverPort    = wrap.getServerPort();
     System.out.println("[DEBUG] 서버 NIC IP 목록: " + localIps + ", 서버 포트: " + serverPort);
 
@@ -122,7 +99,7 @@ public class LoginAccessFilter extends OncePerRequestFilter {
          }
 
 
-    TbranchEntity home = branchSvc.findEntityBySeq(user.getBranchSeq());
+    TbranchEntity home = topology.bySeq(user.getBranchSeq());
     // home이 null일 경우를 대비한 방어 코드 추가
     if (home == null) {
       // 혹은 적절한 예외 처리
@@ -137,34 +114,11 @@ public class LoginAccessFilter extends OncePerRequestFilter {
       return;
     }
 
-    // 7) 지사 매칭 검사
-    boolean matched = false;
-    Integer matchedBranchSeq = null;
-    for (TbranchEntity b : branchSvc.findAllEntities()) {
-      String pip  = Optional.ofNullable(b.getPIp()).orElse("").trim();
-      String pbip = Optional.ofNullable(b.getPbIp()).orElse("").trim();
-
-      // 포트 번호가 null이거나 비어있을 경우를 대비
-      int pPort   = -1;
-      int pbPort  = -1;
-      try {
-        if(b.getPPort() != null && !b.getPPort().isEmpty()) pPort = Integer.parseInt(b.getPPort());
-        if(b.getPbPort() != null && !b.getPbPort().isEmpty()) pbPort = Integer.parseInt(b.getPbPort());
-      } catch (NumberFormatException e) {
-        // 포트 번호 형식이 잘못된 경우 로그 남기기
-        System.out.println("[ERROR] 잘못된 포트 번호 형식: " + b.getBranchSeq());
-      }
-
-
-      if ((localIps.contains(pip) && pPort == serverPort) ||
-          (localIps.contains(pbip) && pbPort == serverPort)) {
-        matched = true;
-        matchedBranchSeq = b.getBranchSeq();
-        System.out.printf("[DEBUG] 매칭 성공 - 지점[%d] (IP=%s,%s  PORT=%d)%n",
-            b.getBranchSeq(), pip, pbip, serverPort);
-        break;
-      }
-    }
+    // 7) 지사 매칭 검사 (로컬 NIC IP + 서버 포트 → 지점)
+    Integer matchedBranchSeq = topology.localBranch(serverPort)
+        .map(TbranchEntity::getBranchSeq)
+        .orElse(null);
+    boolean matched = matchedBranchSeq != null;
     System.out.printf("[DEBUG] 최종 매칭 결과 - matched=%b, 내지사=%d, 서버지사=%s%n",
         matched, home.getBranchSeq(), matchedBranchSeq);
 
@@ -0,0 +1,69 @@
+// src/main/java/com/sttweb/sttweb/jwt/AuthContextResolver.java
+package com.sttweb.sttweb.jwt;
+
+import com.sttweb.sttweb.context.AuthContext;
+import com.sttweb.sttweb.dto.TmemberDto.Info;
+import com.sttweb.sttweb.service.TmemberService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * AuthContext 생성/조회. 필터에서 만든 컨텍스트가 있으면 재사용하고,
+ * 필터를 거치지 않은 경로(쿠키 토큰 등)만 여기서 한 번 파싱해 요청에 묶는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthContextResolver {
+
+  private final JwtTokenProvider jwtTokenProvider;
+  private final TmemberService memberSvc;
+
+  /** 검증된 Claims 로 컨텍스트 생성 (만료/위조 시 JwtException 그대로 전파, SSE 전용 토큰도 거부) */
+  public AuthContext build(String token) {
+    Claims claims = jwtTokenProvider.parseClaims(token);
+    if (claims.get("stream") != null) throw new JwtException("SSE 전용 토큰은 API 인증에 사용할 수 없습니다.");
+    return new AuthContext(token, claims, memberSvc::getMyInfoByUserId);
+  }
+
+  /** Authorization 헤더 기준 컨텍스트. 없거나 유효하지 않으면 null */
+  public AuthContext resolve(String authHeader) {
+    if (authHeader == null || !authHeader.startsWith("Bearer ")) return null;
+    String token = authHeader.substring(7).trim();
+
+    AuthContext ctx = AuthContext.current();
+    if (ctx != null && ctx.getToken().equals(token)) return ctx;
+
+    try {
+      ctx = build(token);
+    } catch (JwtException | IllegalArgumentException e) {
+      return null;
+    }
+    RequestAttributes ra = RequestContextHolder.getRequestAttributes();
+    if (ra != null) ra.setAttribute(AuthContext.ATTR, ctx, RequestAttributes.SCOPE_REQUEST);
+    return ctx;
+  }
+
+  public AuthContext require(String authHeader) {
+    if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "토큰이 없습니다.");
+    }
+    AuthContext ctx = resolve(authHeader);
+    if (ctx == null) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰입니다.");
+    }
+    return ctx;
+  }
+
+  /** 컨트롤러 requireLogin 공통 — 로그인 사용자 스냅샷 */
+  public Info requireMember(String authHeader) {
+    Info me = require(authHeader).getMember();
+    if (me == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "사용자 정보를 찾을 수 없습니다.");
+    return me;
+  }
+}
@@ -1,5 +1,6 @@
 package com.sttweb.sttweb.jwt;
 
+import com.sttweb.sttweb.context.AuthContext;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -22,6 +23,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtTokenProvider              jwtTokenProvider;
   private final JwtAuthenticationEntryPoint   entryPoint;
+  private final AuthContextResolver           authContextResolver;
 
   /** 필터를 타지 않을 URL 패턴 */
   private static final List<String> WHITELIST = List.of(
@@ -33,9 +35,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
   private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
   public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
-      JwtAuthenticationEntryPoint entryPoint) {
-    this.jwtTokenProvider = jwtTokenProvider;
-    this.entryPoint       = entryPoint;
+      JwtAuthenticationEntryPoint entryPoint,
+      AuthContextResolver authContextResolver) {
+    this.jwtTokenProvider    = jwtTokenProvider;
+    this.entryPoint          = entryPoint;
+    this.authContextResolver = authContextResolver;
   }
 
   /** 로그인·회원가입·OPTIONS 등은 필터를 건너뜀 */
@@ -60,7 +64,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
 
         //  parseClaims()는 ExpiredJwtException을 그대로 throw 한다
-        var claims = jwtTokenProvider.parseClaims(token);
+        //  검증된 결과는 AuthContext 로 요청에 묶어 이후 필터/컨트롤러/Aspect 가 재사용
+        AuthContext ctx = authContextResolver.build(token);
+        ctx.bind(request);
+        var claims = ctx.getClaims();
 
         String userId    = claims.getSubject();
         String userLevel = claims.get("userLevel", String.class);
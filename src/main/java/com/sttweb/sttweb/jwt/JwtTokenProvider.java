@@ -26,6 +26,7 @@ public class JwtTokenProvider {
   private long validityInMs;                       // 일반 JWT 유효시간 (ms)
 
   private static final long REAUTH_EXPIRE_MS = 30 * 60 * 1000L; // 재인증: 30분
+  private static final long STREAM_EXPIRE_MS = 60 * 1000L;      // SSE 접속용: 1분
 
   /*────────────────────────── INIT ──────────────────────────*/
   @PostConstruct
@@ -94,6 +95,39 @@ public class JwtTokenProvider {
         .compact();
   }
 
+  /*────────────────── 2-1) SSE 접속 토큰 ───────────────────*/
+  /**
+   * EventSource 는 헤더를 못 붙이므로 쿼리스트링으로 넘길 단기 토큰.
+   * scope(예: "migration:{jobId}") 하나에만 유효하고 일반 API 인증에는 쓸 수 없다.
+   */
+  public String createStreamToken(String userId, String scope) {
+    Date now    = new Date();
+    Date expiry = new Date(now.getTime() + STREAM_EXPIRE_MS);
+
+    return Jwts.builder()
+        .setSubject(userId)
+        .claim("stream", scope)
+        .setIssuedAt(now)
+        .setExpiration(expiry)
+        .signWith(secretKey, SignatureAlgorithm.HS256)
+        .compact();
+  }
+
+  public long getStreamTokenTtlSec() {
+    return STREAM_EXPIRE_MS / 1000;
+  }
+
+  /** scope 가 일치하는 만료 전 SSE 토큰이면 userId, 아니면 null */
+  public String validateStreamToken(String token, String scope) {
+    if (token == null || token.isBlank()) return null;
+    try {
+      Claims claims = parseClaims(token);
+      return scope.equals(claims.get("stream", String.class)) ? claims.getSubject() : null;
+    } catch (JwtException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
   /*────────────────── 3) 토큰 검증 메서드 ───────────────────*/
   /** 일반 토큰 유효성 검사 */
   public boolean validateToken(String token) {
@@ -0,0 +1,259 @@
+// src/main/java/com/sttweb/sttweb/logging/ActivityLogArchiver.java
+package com.sttweb.sttweb.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 감사 로그 보존 정책.
+ * 보존 기간(개월)이 지난 행을 월 단위 gzip NDJSON 파일(activitylog-YYYY-MM.ndjson.gz)로 옮긴 뒤 삭제한다.
+ *  - 배치마다 gzip 멤버 하나를 append + fsync 후 해당 id 만 DELETE (중단되어도 다음 실행이 이어감)
+ *  - append 전에 .inflight 에 배치 id 와 월별 파일 길이를 fsync 로 남겨, append 후 DELETE 전에 죽으면
+ *    다음 실행이 파일을 append 전 길이로 잘라낸 뒤 다시 처리 → 같은 행이 아카이브에 두 번 들어가지 않음
+ *  - 배치 사이 pause 로 DB 부하 조절, 1회 실행 최대 행 수 제한
+ * 스케줄/분산 락은 ActivityLogRetentionScheduler 가 담당.
+ */
+@Slf4j
+@Component
+public class ActivityLogArchiver {
+
+  private static final String FILE_PREFIX = "activitylog-";
+  private static final String FILE_SUFFIX = ".ndjson.gz";
+  private static final String INFLIGHT    = ".inflight";
+  private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  private final JdbcTemplate jdbc;
+  private final ObjectMapper mapper;
+  private final int  retentionMonths;
+  /** 설정 안 됐으면 null */
+  private final Path archiveDir;
+  private final int  batchSize;
+  private final long pauseMs;
+  private final int  maxRowsPerRun;
+
+  public ActivityLogArchiver(
+      DataSource dataSource,
+      ObjectMapper mapper,
+      @Value("${activitylog.retention.months:12}") int retentionMonths,
+      @Value("${activitylog.retention.archive-dir:}") String archiveDir,
+      @Value("${activitylog.retention.batch-size:1000}") int batchSize,
+      @Value("${activitylog.retention.pause-ms:200}") long pauseMs,
+      @Value("${activitylog.retention.max-rows-per-run:200000}") int maxRowsPerRun
+  ) {
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.mapper = mapper;
+    this.retentionMonths = Math.max(1, retentionMonths);
+    this.archiveDir = archiveDir == null || archiveDir.isBlank() ? null : Paths.get(archiveDir).normalize();
+    this.batchSize = Math.max(1, batchSize);
+    this.pauseMs = Math.max(0, pauseMs);
+    this.maxRowsPerRun = Math.max(this.batchSize, maxRowsPerRun);
+  }
+
+  /**
+   * 보존 처리 사용 전 점검 — 아카이브 폴더는 절대 경로여야 하고(작업 디렉터리에 따라 위치가 바뀌지 않게) 쓰기 가능해야 함.
+   * 아니면 IllegalStateException (기동 실패).
+   */
+  public void validateArchiveDir() {
+    if (archiveDir == null) {
+      throw new IllegalStateException("activitylog.retention.archive-dir 가 비어 있습니다 (보존 처리를 켜려면 절대 경로 필요)");
+    }
+    if (!archiveDir.isAbsolute()) {
+      throw new IllegalStateException("activitylog.retention.archive-dir 는 절대 경로여야 합니다: " + archiveDir);
+    }
+    try {
+      Files.createDirectories(archiveDir);
+    } catch (IOException e) {
+      throw new IllegalStateException("아카이브 폴더를 만들 수 없습니다: " + archiveDir, e);
+    }
+    if (!Files.isWritable(archiveDir)) {
+      throw new IllegalStateException("아카이브 폴더에 쓸 수 없습니다: " + archiveDir);
+    }
+  }
+
+  /** 아카이브 파일 1개 정보 */
+  public record ArchiveFile(String month, String filename, long sizeBytes, LocalDateTime modified) {}
+
+  /** 이 시각 이전 행이 아카이브 대상 (이번 달 1일 - 보존 개월) */
+  public LocalDateTime cutoff() {
+    return LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths).atStartOfDay();
+  }
+
+  /**
+   * 보존 기간 지난 행을 오래된 달부터 아카이브 + 삭제.
+   * @return 이번 실행에서 옮긴 행 수
+   */
+  public int runOnce() throws IOException {
+    validateArchiveDir();
+    LocalDateTime cutoff = cutoff();
+    recoverInflight();
+
+    int moved = 0;
+    while (moved < maxRowsPerRun) {
+      List<Map<String, Object>> rows = jdbc.queryForList(
+          "SELECT * FROM tactivitylog WHERE crtime < ? ORDER BY crtime, activity_seq LIMIT ?",
+          Timestamp.valueOf(cutoff), Math.min(batchSize, maxRowsPerRun - moved));
+      if (rows.isEmpty()) break;
+
+      // 한 배치가 월 경계를 넘으면 월별로 나눠 append
+      Map<YearMonth, List<Map<String, Object>>> byMonth = new LinkedHashMap<>();
+      for (Map<String, Object> r : rows) {
+        byMonth.computeIfAbsent(YearMonth.from(toLocal(r.get("crtime"))), k -> new ArrayList<>()).add(r);
+      }
+      List<Object> ids = new ArrayList<>(rows.size());
+      for (Map<String, Object> r : rows) ids.add(r.get("activity_seq"));
+
+      writeInflight(ids, byMonth.keySet());
+      for (var e : byMonth.entrySet()) {
+        appendMonth(e.getKey(), e.getValue());
+      }
+      String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+      moved += jdbc.update("DELETE FROM tactivitylog WHERE activity_seq IN (" + in + ")", ids.toArray());
+      Files.deleteIfExists(archiveDir.resolve(INFLIGHT));
+
+      if (rows.size() < batchSize) break;
+      if (pauseMs > 0) {
+        try {
+          Thread.sleep(pauseMs);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    }
+    if (moved > 0) log.info("[ActivityLogArchiver] {}건 아카이브/삭제 (cutoff={})", moved, cutoff.format(FMT));
+    return moved;
+  }
+
+  /** 배치 id + append 전 월별 파일 길이 기록 (fsync) */
+  private void writeInflight(List<Object> ids, Iterable<YearMonth> months) throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.add(ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    for (YearMonth ym : months) {
+      Path f = fileOf(ym);
+      lines.add(ym + " " + (Files.exists(f) ? Files.size(f) : 0L));
+    }
+    Files.write(archiveDir.resolve(INFLIGHT), lines, StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE,
+        StandardOpenOption.SYNC);
+  }
+
+  /**
+   * 이전 실행이 배치 도중 중단된 경우 정리.
+   * 배치 행이 DB 에 남아 있으면 DELETE 가 커밋되지 않은 것 → 아카이브 파일을 append 전 길이로 잘라 다시 처리.
+   * 모두 지워졌으면 append 도 끝난 것 → 그대로 둔다.
+   */
+  private void recoverInflight() throws IOException {
+    Path inflight = archiveDir.resolve(INFLIGHT);
+    if (!Files.exists(inflight)) return;
+    List<String> lines = Files.readAllLines(inflight, StandardCharsets.UTF_8);
+    if (!lines.isEmpty() && !lines.get(0).isBlank()) {
+      Object[] ids = Arrays.stream(lines.get(0).split(",")).map(String::trim).map(Long::valueOf).toArray();
+      String in = String.join(",", Collections.nCopies(ids.length, "?"));
+      Integer left = jdbc.queryForObject(
+          "SELECT COUNT(*) FROM tactivitylog WHERE activity_seq IN (" + in + ")", Integer.class, ids);
+      if (left != null && left > 0) {
+        for (String line : lines.subList(1, lines.size())) {
+          String[] p = line.trim().split(" ");
+          if (p.length != 2) continue;
+          Path f = fileOf(YearMonth.parse(p[0]));
+          long len = Long.parseLong(p[1]);
+          if (Files.exists(f) && Files.size(f) > len) {
+            try (FileChannel ch = FileChannel.open(f, StandardOpenOption.WRITE)) {
+              ch.truncate(len);
+              ch.force(true);
+            }
+            log.warn("[ActivityLogArchiver] 중단된 배치 정리: {} → {} bytes 로 되돌림", f.getFileName(), len);
+          }
+        }
+      }
+    }
+    Files.delete(inflight);
+  }
+
+  /** 아카이브된 달 목록 (최근 달 먼저) */
+  public List<ArchiveFile> list() throws IOException {
+    if (archiveDir == null || !Files.isDirectory(archiveDir)) return List.of();
+    List<ArchiveFile> out = new ArrayList<>();
+    try (Stream<Path> s = Files.list(archiveDir)) {
+      for (Path p : (Iterable<Path>) s::iterator) {
+        String name = p.getFileName().toString();
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) continue;
+        String month = name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+        out.add(new ArchiveFile(month, name, Files.size(p),
+            LocalDateTime.ofInstant(Files.getLastModifiedTime(p).toInstant(), ZoneId.systemDefault())));
+      }
+    }
+    out.sort((a, b) -> b.month().compareTo(a.month()));
+    return out;
+  }
+
+  /** 해당 달 아카이브 파일 (YYYY-MM 형식만 허용, 없으면 null) */
+  public Path resolve(String month) {
+    if (archiveDir == null) return null;
+    YearMonth ym;
+    try {
+      ym = YearMonth.parse(month);
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+    Path p = fileOf(ym);
+    return Files.isRegularFile(p) ? p : null;
+  }
+
+  private Path fileOf(YearMonth ym) {
+    return archiveDir.resolve(FILE_PREFIX + ym + FILE_SUFFIX);
+  }
+
+  /** gzip 멤버 하나를 파일 끝에 붙인다 (연결된 gzip 멤버는 일반 gunzip/GZIPInputStream 으로 그대로 읽힘) */
+  private void appendMonth(YearMonth ym, List<Map<String, Object>> rows) throws IOException {
+    try (FileOutputStream fos = new FileOutputStream(fileOf(ym).toFile(), true)) {
+      GZIPOutputStream gz = new GZIPOutputStream(fos, 64 * 1024);
+      BufferedWriter w = new BufferedWriter(new OutputStreamWriter(gz, StandardCharsets.UTF_8));
+      for (Map<String, Object> r : rows) {
+        Map<String, Object> line = new LinkedHashMap<>(r);
+        line.computeIfPresent("crtime", (k, v) -> toLocal(v).format(FMT));
+        w.write(mapper.writeValueAsString(line));
+        w.newLine();
+      }
+      w.flush();
+      gz.finish();
+      fos.getChannel().force(true);   // 삭제 전에 디스크 반영
+    }
+  }
+
+  private static LocalDateTime toLocal(Object v) {
+    if (v instanceof Timestamp t) return t.toLocalDateTime();
+    if (v instanceof LocalDateTime l) return l;
+    return LocalDateTime.parse(String.valueOf(v), FMT);
+  }
+}
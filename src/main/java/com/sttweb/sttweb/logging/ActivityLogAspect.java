@@ -1,22 +1,19 @@
 package com.sttweb.sttweb.logging;
 
-import com.sttweb.sttweb.dto.TactivitylogDto;
+import com.sttweb.sttweb.context.AuthContext;
 import com.sttweb.sttweb.dto.TmemberDto.Info;
 import com.sttweb.sttweb.dto.TmemberDto.LoginRequest;
 import com.sttweb.sttweb.dto.TmemberDto.SignupRequest;
 import com.sttweb.sttweb.jwt.JwtTokenProvider;
-import com.sttweb.sttweb.service.TactivitylogService;
-import com.sttweb.sttweb.service.TbranchService;
+import com.sttweb.sttweb.service.BranchTopology;
 import com.sttweb.sttweb.service.TmemberService;
 import com.sttweb.sttweb.service.TrecordService;
 import jakarta.servlet.http.HttpServletRequest;
-import java.net.Inet4Address;
-import java.net.InetAddress;
-import java.net.NetworkInterface;
-import java.net.SocketException;
+import java.lang.reflect.Method;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -28,10 +25,17 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectiveMethodResolver;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
-import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -44,16 +48,25 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 @RequiredArgsConstructor
 public class ActivityLogAspect {
 
-  private static final Logger            log = LoggerFactory.getLogger(ActivityLogAspect.class);
-  private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+  private static final Logger log = LoggerFactory.getLogger(ActivityLogAspect.class);
 
-  private final SpelExpressionParser    parser   = new SpelExpressionParser();
+  // MIXED: 몇 번 해석 실행 후 바이트코드로 컴파일, 컴파일 불가/실패 시 해석 모드로 복귀
+  private final SpelExpressionParser    parser   = new SpelExpressionParser(
+      new SpelParserConfiguration(SpelCompilerMode.MIXED, ActivityLogAspect.class.getClassLoader()));
   private final TemplateParserContext   template = new TemplateParserContext();
   private final ParameterNameDiscoverer pd       = new DefaultParameterNameDiscoverer();
 
-  private final TactivitylogService logSvc;
+  /** Method 별 파싱된 표현식 + 파라미터 이름 (최초 호출 시 1회 생성) */
+  private final Map<Method, CompiledAudit> compiled = new ConcurrentHashMap<>();
+
+  // 평가 컨텍스트 템플릿: 리플렉션 캐시를 가진 accessor/resolver 를 호출 간에 공유
+  private final List<PropertyAccessor> sharedAccessors = List.of(new ReflectivePropertyAccessor());
+  private final List<MethodResolver>   sharedResolvers = List.of(new ReflectiveMethodResolver());
+  private volatile BeanFactoryResolver beanResolver;
+
+  private final ActivityLogWriter   logWriter;
   private final TmemberService      memberSvc;
-  private final TbranchService      branchSvc;
+  private final BranchTopology      branchTopology;
   private final TrecordService      recordSvc;
   private final JwtTokenProvider    jwt;
   private final BeanFactory         beanFactory;
@@ -81,15 +94,14 @@ public class ActivityLogAspect {
       String rt = req.getHeader("X-ReAuth-Token");
       if (rt != null && jwt.validateReAuthToken(rt)) operatorUserId = jwt.getUserId(rt);
     }
-    if (operatorUserId.isEmpty()) {
-      String ah = req.getHeader(HttpHeaders.AUTHORIZATION);
-      if (ah != null && ah.startsWith("Bearer ")) {
-        String tok = ah.substring(7).trim();
-        if (jwt.validateToken(tok)) operatorUserId = jwt.getUserId(tok);
-      }
-    }
+    // 필터 체인에서 검증된 컨텍스트 재사용 (토큰 재파싱/회원 재조회 없음)
+    AuthContext authCtx = AuthContext.from(req);
+    if (operatorUserId.isEmpty() && authCtx != null) operatorUserId = authCtx.getUserId();
 
-    Info me = operatorUserId.isBlank() ? null : memberSvc.getMyInfoByUserId(operatorUserId);
+    Info me;
+    if (operatorUserId.isBlank()) me = null;
+    else if (authCtx != null && operatorUserId.equals(authCtx.getUserId())) me = authCtx.getMember();
+    else me = memberSvc.getMyInfoByUserId(operatorUserId);
     int    opSeq    = me != null ? me.getMemberSeq() : 0;
     String opUserId = me != null ? me.getUserId()    : "anonymous";
 
@@ -102,7 +114,7 @@ public class ActivityLogAspect {
     try {
       if (me != null) {
         brSeq = me.getBranchSeq();
-        var b = branchSvc.findById(brSeq);
+        var b = branchTopology.bySeq(brSeq);
         if (b != null) {
           company = b.getCompanyName();
           pubIp   = normalizeV4(b.getPbIp());
@@ -118,7 +130,7 @@ public class ActivityLogAspect {
     }
     // 사설 IP 비어있으면 NIC에서 site-local IPv4 선택 → 없으면 로컬주소
     if (isBlank(prvIp)) {
-      prvIp = detectLocalPrivateIPv4();
+      prvIp = branchTopology.localPrivateIp();
       if (isBlank(prvIp)) prvIp = normalizeV4(req.getLocalAddr());
     }
     // IPv6 루프백 치환
@@ -128,17 +140,15 @@ public class ActivityLogAspect {
     // ── SpEL 컨텍스트 ────────────────────────────────────────────────────────────────
     MethodSignature sig = (MethodSignature) jp.getSignature();
     Object[] args = jp.getArgs();
-    String[] names = pd.getParameterNames(sig.getMethod());
+    CompiledAudit ca = compiled.computeIfAbsent(sig.getMethod(), m -> compile(m, logActivity));
+    String[] names = ca.paramNames();
 
     Integer idValue = null;
-    if (names != null) {
-      for (int i = 0; i < names.length && i < args.length; i++) {
-        if (("memberSeq".equals(names[i]) || "id".equals(names[i])) && args[i] instanceof Integer v) { idValue = v; break; }
-      }
+    if (ca.idParamIndex() >= 0 && ca.idParamIndex() < args.length && args[ca.idParamIndex()] instanceof Integer v) {
+      idValue = v;
     }
 
-    StandardEvaluationContext ctx = new StandardEvaluationContext();
-    ctx.setBeanResolver(new BeanFactoryResolver(beanFactory));
+    StandardEvaluationContext ctx = newContext();
     for (int i = 0; i < args.length; i++) ctx.setVariable("p" + i, args[i]);
     if (args.length > 0 && args[0] instanceof java.util.List<?> list) ctx.setVariable("grants", list);
     if (names != null) for (int i = 0; i < names.length && i < args.length; i++) ctx.setVariable(names[i], args[i]);
@@ -150,14 +160,16 @@ public class ActivityLogAspect {
     ctx.setVariable("principal", auth != null ? auth.getPrincipal() : null);
     ctx.setVariable("recordSvc", recordSvc);
     ctx.setVariable("tmemberService", memberSvc);
+    // 컨트롤러가 AuditAttributes.put 으로 남긴 값 (#audit['filename'] 등)
+    ctx.setVariable("audit", AuditAttributes.from(req));
 
-    String contents = evalOrLiteral(logActivity.contents(), ctx);
-    String dir      = evalOrLiteral(logActivity.dir(), ctx);
-    String type     = evalOrLiteral(logActivity.type(), ctx);
-    String activity = evalOrLiteral(logActivity.activity(), ctx);
+    String contents = ca.contents().eval(ctx);
+    String dir      = ca.dir().eval(ctx);
+    String type     = ca.type().eval(ctx);
+    String activity = ca.activity().eval(ctx);
 
-    // 저장
-    logSvc.createLog(TactivitylogDto.builder()
+    // 저장 — 큐에 적재만 하고 INSERT 는 ActivityLogWriter 가 일괄 처리
+    logWriter.enqueue(ActivityLogEvent.builder()
         .type        (type     != null ? type     : logActivity.type())
         .activity    (activity != null ? activity : logActivity.activity())
         .contents    (contents)
@@ -169,7 +181,7 @@ public class ActivityLogAspect {
         .employeeId  (0)
         .pbIp        (pubIp)     // 공인 IP
         .pvIp        (prvIp)     // 사설 IP
-        .crtime      (LocalDateTime.now().format(FMT))
+        .crtime      (LocalDateTime.now())
         .workerSeq   (opSeq)
         .workerId    (opUserId)
         .build());
@@ -178,21 +190,70 @@ public class ActivityLogAspect {
   }
 
   // ───────────────────────────── helpers ─────────────────────────────
-  private String evalOrLiteral(String expr, StandardEvaluationContext ctx) {
-    if (expr == null) return null;
+  /** 파싱된 @LogActivity 속성 하나: 표현식이거나 리터럴 */
+  private record Evaluator(String literal, Expression expr) {
+    static final Evaluator EMPTY = new Evaluator(null, null);
+
+    String eval(EvaluationContext ctx) {
+      if (expr == null) return literal;
+      try {
+        return expr.getValue(ctx, String.class);
+      } catch (Exception e) {
+        log.warn("LogActivity evaluation failed, fallback to literal. expr={}", literal, e);
+        return literal;
+      }
+    }
+  }
+
+  private record CompiledAudit(
+      String[] paramNames,
+      int idParamIndex,
+      Evaluator contents,
+      Evaluator dir,
+      Evaluator type,
+      Evaluator activity
+  ) {}
+
+  private CompiledAudit compile(Method method, LogActivity la) {
+    String[] names = pd.getParameterNames(method);
+    int idIdx = -1;
+    if (names != null) {
+      Class<?>[] types = method.getParameterTypes();
+      for (int i = 0; i < names.length; i++) {
+        if (("memberSeq".equals(names[i]) || "id".equals(names[i])) && (types[i] == Integer.class || types[i] == int.class)) { idIdx = i; break; }
+      }
+    }
+    return new CompiledAudit(names, idIdx,
+        parseOrLiteral(la.contents()), parseOrLiteral(la.dir()),
+        parseOrLiteral(la.type()), parseOrLiteral(la.activity()));
+  }
+
+  private Evaluator parseOrLiteral(String expr) {
+    if (expr == null) return Evaluator.EMPTY;
     String s = expr.trim();
-    if (s.isEmpty()) return null;
+    if (s.isEmpty()) return Evaluator.EMPTY;
     try {
-      if (s.contains("#{")) return parser.parseExpression(s, template).getValue(ctx, String.class);
+      if (s.contains("#{")) return new Evaluator(s, parser.parseExpression(s, template));
       boolean seemsSpel = s.startsWith("'") || s.startsWith("\"") || s.startsWith("T(") || s.contains("#");
-      if (seemsSpel) return parser.parseExpression(s).getValue(ctx, String.class);
-      return s;
+      if (seemsSpel) return new Evaluator(s, parser.parseExpression(s));
+      return new Evaluator(s, null);
     } catch (Exception e) {
-      log.warn("LogActivity evaluation failed, fallback to literal. expr={}", s, e);
-      return s;
+      log.warn("LogActivity parse failed, fallback to literal. expr={}", s, e);
+      return new Evaluator(s, null);
     }
   }
 
+  /** 공유 accessor/resolver 를 꽂은 새 컨텍스트 (변수만 호출마다 다름) */
+  private StandardEvaluationContext newContext() {
+    BeanFactoryResolver br = beanResolver;
+    if (br == null) beanResolver = br = new BeanFactoryResolver(beanFactory);
+    StandardEvaluationContext ctx = new StandardEvaluationContext();
+    ctx.setBeanResolver(br);
+    ctx.setPropertyAccessors(sharedAccessors);
+    ctx.setMethodResolvers(sharedResolvers);
+    return ctx;
+  }
+
   private String firstXff(HttpServletRequest req) {
     String xff = req.getHeader("X-Forwarded-For");
     if (isBlank(xff)) return null;
@@ -200,24 +261,6 @@ public class ActivityLogAspect {
     return normalizeV4(ip);
   }
 
-  private String detectLocalPrivateIPv4() {
-    try {
-      Enumeration<NetworkInterface> nics = NetworkInterface.getNetworkInterfaces();
-      while (nics.hasMoreElements()) {
-        NetworkInterface ni = nics.nextElement();
-        if (!ni.isUp() || ni.isLoopback()) continue;
-        Enumeration<InetAddress> addrs = ni.getInetAddresses();
-        while (addrs.hasMoreElements()) {
-          InetAddress a = addrs.nextElement();
-          if (!(a instanceof Inet4Address)) continue;
-          String ip = a.getHostAddress();
-          if (isPrivateV4(ip)) return ip;
-        }
-      }
-    } catch (SocketException ignored) {}
-    return null;
-  }
-
   private boolean isPrivateV4(String ip) {
     if (isBlank(ip)) return false;
     return ip.startsWith("10.") ||
@@ -0,0 +1,26 @@
+// src/main/java/com/sttweb/sttweb/logging/ActivityLogEvent.java
+package com.sttweb.sttweb.logging;
+
+import java.time.LocalDateTime;
+import lombok.Builder;
+
+/**
+ * 감사 로그 1건 (불변). ActivityLogAspect 가 만들고 ActivityLogWriter 가 tactivitylog 에 일괄 INSERT
+ */
+@Builder
+public record ActivityLogEvent(
+    String type,
+    String activity,
+    String contents,
+    String dir,
+    Integer branchSeq,
+    String companyName,
+    Integer memberSeq,
+    String userId,
+    Integer employeeId,
+    String pbIp,
+    String pvIp,
+    LocalDateTime crtime,
+    Integer workerSeq,
+    String workerId
+) {}
@@ -0,0 +1,332 @@
+// src/main/java/com/sttweb/sttweb/logging/ActivityLogWriter.java
+package com.sttweb.sttweb.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sttweb.sttweb.config.ActivityLogSchemaInitializer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 감사 로그 비동기 writer.
+ * 요청 스레드는 bounded 큐에 이벤트만 넣고, 전용 스레드가 N건 또는 N ms 마다 JDBC batch INSERT 한다.
+ * 큐가 가득 차면 overflow 정책(BLOCK / DROP_NEWEST / DROP_OLDEST / CALLER_RUNS)에 따른다.
+ * 기본 BLOCK 은 잠깐 기다렸다가 그래도 가득 차 있으면 요청 스레드에서 직접 INSERT (감사 로그를 버리지 않음).
+ * batch 가 실패하면 한 트랜잭션이라 전부 롤백 → 행 단위로 다시 넣고, 그래도 실패한 행은 dead-letter 파일(NDJSON)로.
+ * dead-letter 파일은 다음 기동 시 다시 넣어 보고, 모두 성공하면 삭제한다.
+ * crtime 은 초 단위로 자르고, 컬럼이 아직 VARCHAR(19) 면 문자열로 넣는다 (스키마 전환 전에도 기록 유지).
+ */
+@Slf4j
+@Component
+public class ActivityLogWriter {
+
+  public enum OverflowPolicy { BLOCK, DROP_NEWEST, DROP_OLDEST, CALLER_RUNS }
+
+  private static final String DEAD_LETTER_PREFIX = "deadletter-";
+  private static final String DEAD_LETTER_SUFFIX = ".ndjson";
+  private static final DateTimeFormatter CRTIME_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  private static final String INSERT_SQL =
+      "INSERT INTO tactivitylog (type, activity, contents, dir, branch_seq, companyname, member_seq, user_id, "
+          + "employeeid, pb_ip, pv_ip, crtime, worker_seq, worker_id) VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final ObjectMapper mapper;
+  private final ActivityLogSchemaInitializer schema;
+  private final BlockingQueue<ActivityLogEvent> queue;
+  private final int batchSize;
+  private final long flushIntervalMs;
+  private final OverflowPolicy overflowPolicy;
+  private final long offerTimeoutMs;
+  private final Path deadLetterDir;
+
+  private final LongAdder enqueued     = new LongAdder();
+  private final LongAdder written      = new LongAdder();
+  private final LongAdder dropped      = new LongAdder();
+  private final LongAdder callerRuns   = new LongAdder();
+  private final LongAdder batchFailed  = new LongAdder();
+  private final LongAdder retriedOk    = new LongAdder();
+  private final LongAdder failed       = new LongAdder();
+  private final LongAdder deadLettered = new LongAdder();
+  private final LongAdder lost         = new LongAdder();
+  private final LongAdder batches      = new LongAdder();
+  private final AtomicLong lastFlushMs = new AtomicLong();
+
+  private volatile boolean running;
+  private Thread worker;
+
+  public ActivityLogWriter(
+      DataSource dataSource,
+      ObjectMapper mapper,
+      ActivityLogSchemaInitializer schema,
+      @Value("${activitylog.writer.capacity:10000}") int capacity,
+      @Value("${activitylog.writer.batch-size:200}") int batchSize,
+      @Value("${activitylog.writer.flush-interval-ms:500}") long flushIntervalMs,
+      @Value("${activitylog.writer.overflow:BLOCK}") OverflowPolicy overflowPolicy,
+      @Value("${activitylog.writer.offer-timeout-ms:50}") long offerTimeoutMs,
+      @Value("${activitylog.writer.dead-letter-dir:logs/activitylog-deadletter}") String deadLetterDir
+  ) {
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    this.mapper = mapper;
+    this.schema = schema;
+    this.queue = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+    this.batchSize = Math.max(batchSize, 1);
+    this.flushIntervalMs = Math.max(flushIntervalMs, 10);
+    this.overflowPolicy = overflowPolicy;
+    this.offerTimeoutMs = Math.max(offerTimeoutMs, 0);
+    this.deadLetterDir = Paths.get(deadLetterDir).toAbsolutePath().normalize();
+  }
+
+  @PostConstruct
+  public void start() {
+    replayDeadLetters();
+    running = true;
+    worker = new Thread(this::drainLoop, "activitylog-writer");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /** 종료 시 큐에 남은 이벤트를 모두 기록 */
+  @PreDestroy
+  public void stop() {
+    running = false;
+    if (worker != null) {
+      worker.interrupt();
+      try {
+        worker.join(10_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    List<ActivityLogEvent> rest = new ArrayList<>();
+    queue.drainTo(rest);
+    if (!rest.isEmpty()) flush(rest);
+    log.info("[ActivityLogWriter] stopped (written={}, dropped={}, failed={}, deadLettered={}, lost={})",
+        written.sum(), dropped.sum(), failed.sum(), deadLettered.sum(), lost.sum());
+  }
+
+  /** 요청 스레드용: 큐에 적재 (가득 차면 overflow 정책) */
+  public void enqueue(ActivityLogEvent e) {
+    if (queue.offer(e)) {
+      enqueued.increment();
+      return;
+    }
+    switch (overflowPolicy) {
+      case BLOCK -> {
+        try {
+          if (offerTimeoutMs > 0 && queue.offer(e, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+            enqueued.increment();
+            return;
+          }
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+        }
+        enqueued.increment();
+        callerRuns.increment();
+        flush(List.of(e));
+      }
+      case DROP_OLDEST -> {
+        if (queue.poll() != null) dropped.increment();
+        if (queue.offer(e)) enqueued.increment();
+        else dropped.increment();
+      }
+      case CALLER_RUNS -> {
+        enqueued.increment();
+        callerRuns.increment();
+        flush(List.of(e));
+      }
+      default -> dropped.increment();
+    }
+  }
+
+  private void drainLoop() {
+    List<ActivityLogEvent> buf = new ArrayList<>(batchSize);
+    long deadline = System.currentTimeMillis() + flushIntervalMs;
+    while (running) {
+      try {
+        long wait = Math.max(deadline - System.currentTimeMillis(), 1);
+        ActivityLogEvent e = queue.poll(wait, TimeUnit.MILLISECONDS);
+        if (e != null) {
+          buf.add(e);
+          queue.drainTo(buf, batchSize - buf.size());
+        }
+        if (buf.size() >= batchSize || (System.currentTimeMillis() >= deadline && !buf.isEmpty())) {
+          flush(buf);
+          buf.clear();
+        }
+        if (System.currentTimeMillis() >= deadline) deadline = System.currentTimeMillis() + flushIntervalMs;
+      } catch (InterruptedException ie) {
+        break;
+      } catch (Exception ex) {
+        log.warn("[ActivityLogWriter] drain error: {}", ex.toString());
+      }
+    }
+    if (!buf.isEmpty()) flush(buf);
+  }
+
+  /** batch INSERT (한 트랜잭션) → 실패 시 행 단위 재시도 → 그래도 실패한 행은 dead-letter */
+  private void flush(List<ActivityLogEvent> events) {
+    long t0 = System.currentTimeMillis();
+    try {
+      tx.executeWithoutResult(s -> jdbc.batchUpdate(INSERT_SQL, events, events.size(), this::bind));
+      written.add(events.size());
+      batches.increment();
+    } catch (Exception ex) {
+      batchFailed.add(events.size());
+      log.warn("[ActivityLogWriter] batch insert failed ({} rows), retrying row by row: {}", events.size(), ex.toString());
+      retryRows(events);
+    } finally {
+      lastFlushMs.set(System.currentTimeMillis() - t0);
+    }
+  }
+
+  private void retryRows(List<ActivityLogEvent> events) {
+    List<ActivityLogEvent> rejected = new ArrayList<>();
+    for (int i = 0; i < events.size(); i++) {
+      ActivityLogEvent e = events.get(i);
+      try {
+        jdbc.update(INSERT_SQL, ps -> bind(ps, e));
+        written.increment();
+        retriedOk.increment();
+      } catch (TransientDataAccessException | DataAccessResourceFailureException down) {
+        // DB 자체가 안 되는 상황 → 남은 행은 재시도 없이 바로 보관
+        log.error("[ActivityLogWriter] database unavailable, spilling {} rows: {}", events.size() - i, down.toString());
+        rejected.addAll(events.subList(i, events.size()));
+        break;
+      } catch (Exception ex) {
+        log.error("[ActivityLogWriter] row insert failed ({} / {}): {}", e.type(), e.activity(), ex.toString());
+        rejected.add(e);
+      }
+    }
+    if (rejected.isEmpty()) return;
+    failed.add(rejected.size());
+    spill(rejected);
+  }
+
+  /** 실패 행을 날짜별 NDJSON 파일에 append (다음 기동 시 replayDeadLetters 가 다시 넣음) */
+  private synchronized void spill(List<ActivityLogEvent> events) {
+    Path file = deadLetterDir.resolve(DEAD_LETTER_PREFIX + LocalDate.now() + DEAD_LETTER_SUFFIX);
+    try {
+      Files.createDirectories(deadLetterDir);
+      try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        for (ActivityLogEvent e : events) {
+          w.write(mapper.writeValueAsString(e));
+          w.newLine();
+        }
+      }
+      deadLettered.add(events.size());
+    } catch (IOException ex) {
+      lost.add(events.size());
+      log.error("[ActivityLogWriter] dead-letter write failed, {} rows lost: {}", events.size(), ex.toString());
+    }
+  }
+
+  /** 기동 시 dead-letter 파일 재적재. 파일 단위로 모두 성공하면 삭제, 실패 행은 다시 dead-letter 로 */
+  private void replayDeadLetters() {
+    if (!Files.isDirectory(deadLetterDir)) return;
+    List<Path> files;
+    try (Stream<Path> s = Files.list(deadLetterDir)) {
+      files = s.filter(p -> p.getFileName().toString().startsWith(DEAD_LETTER_PREFIX)
+          && p.getFileName().toString().endsWith(DEAD_LETTER_SUFFIX)).sorted().toList();
+    } catch (IOException e) {
+      log.warn("[ActivityLogWriter] dead-letter dir unreadable: {}", e.toString());
+      return;
+    }
+    for (Path file : files) {
+      try {
+        List<ActivityLogEvent> events = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+          if (!line.isBlank()) events.add(mapper.readValue(line, ActivityLogEvent.class));
+        }
+        // 읽은 뒤 먼저 지우고 넣는다 → 다시 실패한 행은 새 dead-letter 파일로 (중복 적재 없음)
+        Files.delete(file);
+        for (int i = 0; i < events.size(); i += batchSize) {
+          flush(events.subList(i, Math.min(i + batchSize, events.size())));
+        }
+        log.info("[ActivityLogWriter] replayed dead-letter {} ({} rows)", file.getFileName(), events.size());
+      } catch (Exception e) {
+        log.warn("[ActivityLogWriter] dead-letter replay failed {}: {}", file.getFileName(), e.toString());
+      }
+    }
+  }
+
+  private void bind(PreparedStatement ps, ActivityLogEvent e) throws SQLException {
+    ps.setString(1, e.type());
+    ps.setString(2, e.activity());
+    ps.setString(3, e.contents());
+    ps.setString(4, e.dir());
+    setInt(ps, 5, e.branchSeq());
+    ps.setString(6, e.companyName());
+    setInt(ps, 7, e.memberSeq());
+    ps.setString(8, e.userId());
+    setInt(ps, 9, e.employeeId());
+    ps.setString(10, e.pbIp());
+    ps.setString(11, e.pvIp());
+    LocalDateTime crtime = e.crtime().truncatedTo(ChronoUnit.SECONDS);
+    if (schema.crtimeDatetime()) ps.setTimestamp(12, Timestamp.valueOf(crtime));
+    else ps.setString(12, CRTIME_FMT.format(crtime));
+    setInt(ps, 13, e.workerSeq());
+    ps.setString(14, e.workerId());
+  }
+
+  private static void setInt(PreparedStatement ps, int idx, Integer v) throws SQLException {
+    if (v == null) ps.setNull(idx, Types.INTEGER);
+    else ps.setInt(idx, v);
+  }
+
+  public Map<String, Object> stats() {
+    Map<String, Object> m = new LinkedHashMap<>();
+    m.put("queueDepth", queue.size());
+    m.put("queueCapacity", queue.size() + queue.remainingCapacity());
+    m.put("overflowPolicy", overflowPolicy.name());
+    m.put("enqueued", enqueued.sum());
+    m.put("written", written.sum());
+    m.put("dropped", dropped.sum());
+    m.put("callerRuns", callerRuns.sum());
+    m.put("batchFailedRows", batchFailed.sum());
+    m.put("retriedOk", retriedOk.sum());
+    m.put("failed", failed.sum());
+    m.put("deadLettered", deadLettered.sum());
+    m.put("lost", lost.sum());
+    m.put("deadLetterDir", deadLetterDir.toString());
+    m.put("batches", batches.sum());
+    m.put("lastFlushMs", lastFlushMs.get());
+    return m;
+  }
+}
@@ -0,0 +1,44 @@
+// src/main/java/com/sttweb/sttweb/logging/AuditAttributes.java
+package com.sttweb.sttweb.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 컨트롤러가 이미 해석한 값(파일명, 레코드 메타 등)을 감사 로그에 넘기는 요청 범위 저장소.
+ * @LogActivity 표현식에서는 #audit['filename'] 처럼 참조한다 — 서비스 재호출/파일 재탐색 없음.
+ */
+public final class AuditAttributes {
+
+  static final String ATTR = AuditAttributes.class.getName();
+
+  public static final String FILENAME = "filename";
+  public static final String RECORD   = "record";
+  public static final String SUMMARY  = "summary";
+
+  private AuditAttributes() {}
+
+  /** 현재 요청에 감사 속성 추가 (요청 컨텍스트 밖이면 무시) */
+  public static void put(String key, Object value) {
+    RequestAttributes ra = RequestContextHolder.getRequestAttributes();
+    if (ra == null || key == null) return;
+    @SuppressWarnings("unchecked")
+    Map<String, Object> m = (Map<String, Object>) ra.getAttribute(ATTR, RequestAttributes.SCOPE_REQUEST);
+    if (m == null) {
+      m = new LinkedHashMap<>();
+      ra.setAttribute(ATTR, m, RequestAttributes.SCOPE_REQUEST);
+    }
+    m.put(key, value);
+  }
+
+  /** 요청에 쌓인 감사 속성 (없으면 빈 맵) */
+  @SuppressWarnings("unchecked")
+  static Map<String, Object> from(HttpServletRequest req) {
+    Object v = req.getAttribute(ATTR);
+    return v instanceof Map<?, ?> m ? Collections.unmodifiableMap((Map<String, Object>) m) : Map.of();
+  }
+}
@@ -0,0 +1,222 @@
+// src/main/java/com/sttweb/sttweb/monitor/AlertDispatcher.java
+package com.sttweb.sttweb.monitor;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 알림 메일 비동기 발송.
+ * 모니터링 루프는 enqueue 만 하고, collector 스레드가 같은 수신자 묶음의 알림을 digest 창(window) 동안 모아
+ * 한 통으로 합친 뒤 worker 풀에서 발송한다. 실패 시 지수 backoff 로 재시도.
+ */
+@Slf4j
+@Component
+public class AlertDispatcher {
+
+  private static final DateTimeFormatter TS_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  /** 알림 1건 */
+  public record Alert(String[] to, String subject, String body, LocalDateTime raisedAt) {}
+
+  /** digest 대기 묶음 (수신자 동일) */
+  private static final class Pending {
+    final String[] to;
+    final long firstAt;
+    final List<Alert> alerts = new ArrayList<>();
+    Pending(String[] to, long firstAt) { this.to = to; this.firstAt = firstAt; }
+  }
+
+  private final JavaMailSender mailSender;
+  private final BlockingQueue<Alert> queue;
+  private final int  workerCount;
+  private final long digestWindowMs;
+  private final int  maxAttempts;
+  private final long backoffMs;
+  private final long maxBackoffMs;
+  private final long drainMs;
+
+  private final LongAdder enqueued = new LongAdder();
+  private final LongAdder dropped  = new LongAdder();
+  private final LongAdder sent     = new LongAdder();
+  private final LongAdder failed   = new LongAdder();
+  private final LongAdder retries  = new LongAdder();
+  private final LongAdder digests  = new LongAdder();
+  private final AtomicReference<String> lastError = new AtomicReference<>();
+
+  private ScheduledExecutorService workers;
+  private Thread collector;
+  private volatile boolean running;
+
+  public AlertDispatcher(
+      JavaMailSender mailSender,
+      @Value("${alert.queue-capacity:1000}") int capacity,
+      @Value("${alert.workers:2}") int workerCount,
+      @Value("${alert.digest-window-ms:30000}") long digestWindowMs,
+      @Value("${alert.max-attempts:4}") int maxAttempts,
+      @Value("${alert.backoff-ms:2000}") long backoffMs,
+      @Value("${alert.max-backoff-ms:60000}") long maxBackoffMs,
+      @Value("${alert.shutdown-drain-ms:10000}") long drainMs
+  ) {
+    this.mailSender = mailSender;
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    this.workerCount = Math.max(1, workerCount);
+    this.digestWindowMs = Math.max(0, digestWindowMs);
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.backoffMs = Math.max(100, backoffMs);
+    this.maxBackoffMs = Math.max(this.backoffMs, maxBackoffMs);
+    this.drainMs = drainMs;
+  }
+
+  @PostConstruct
+  void start() {
+    AtomicInteger seq = new AtomicInteger();
+    workers = Executors.newScheduledThreadPool(workerCount, r -> {
+      Thread t = new Thread(r, "alert-sender-" + seq.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+    running = true;
+    collector = new Thread(this::collectLoop, "alert-collector");
+    collector.setDaemon(true);
+    collector.start();
+  }
+
+  /** 종료 시 대기 중인 digest 즉시 발송, drain 시간까지만 기다린다 */
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    collector.join(drainMs);
+    workers.shutdown();
+    workers.awaitTermination(drainMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * 알림 적재. 큐가 가득 차면 버리고 false (호출 스레드는 절대 블록되지 않음)
+   */
+  public boolean enqueue(String[] to, String subject, String body) {
+    String[] rcpt = to == null ? new String[0] : Arrays.stream(to)
+        .filter(StringUtils::hasText).map(String::trim).distinct().sorted().toArray(String[]::new);
+    if (rcpt.length == 0) return false;
+    if (!queue.offer(new Alert(rcpt, subject, body, LocalDateTime.now()))) {
+      dropped.increment();
+      log.warn("[AlertDispatcher] 큐 가득 참 - 알림 버림: {}", subject);
+      return false;
+    }
+    enqueued.increment();
+    return true;
+  }
+
+  public Map<String, Object> stats() {
+    Map<String, Object> m = new LinkedHashMap<>();
+    m.put("queueDepth", queue.size());
+    m.put("queueCapacity", queue.size() + queue.remainingCapacity());
+    m.put("enqueued", enqueued.sum());
+    m.put("dropped", dropped.sum());
+    m.put("digests", digests.sum());
+    m.put("sent", sent.sum());
+    m.put("retries", retries.sum());
+    m.put("failed", failed.sum());
+    m.put("lastError", lastError.get());
+    m.put("digestWindowMs", digestWindowMs);
+    return m;
+  }
+
+  // ───────────────────────────── collector ─────────────────────────────
+
+  private void collectLoop() {
+    Map<String, Pending> pending = new LinkedHashMap<>();
+    while (running || !queue.isEmpty()) {
+      try {
+        long now = System.currentTimeMillis();
+        long wait = 1000;
+        for (Pending p : pending.values()) wait = Math.min(wait, p.firstAt + digestWindowMs - now);
+        Alert a = queue.poll(Math.max(1, wait), TimeUnit.MILLISECONDS);
+        if (a != null) {
+          long at = System.currentTimeMillis();
+          pending.computeIfAbsent(String.join(",", a.to()), k -> new Pending(a.to(), at)).alerts.add(a);
+        }
+        flushDue(pending, System.currentTimeMillis(), false);
+      } catch (InterruptedException e) {
+        break;
+      } catch (Exception e) {
+        log.error("[AlertDispatcher] collector 오류", e);
+      }
+    }
+    flushDue(pending, System.currentTimeMillis(), true);
+  }
+
+  private void flushDue(Map<String, Pending> pending, long now, boolean all) {
+    Iterator<Pending> it = pending.values().iterator();
+    while (it.hasNext()) {
+      Pending p = it.next();
+      if (!all && now - p.firstAt < digestWindowMs) continue;
+      it.remove();
+      SimpleMailMessage msg = toMessage(p);
+      workers.execute(() -> send(msg, 1));
+    }
+  }
+
+  private SimpleMailMessage toMessage(Pending p) {
+    SimpleMailMessage msg = new SimpleMailMessage();
+    msg.setTo(p.to);
+    if (p.alerts.size() == 1) {
+      Alert a = p.alerts.get(0);
+      msg.setSubject(a.subject());
+      msg.setText(a.body());
+      return msg;
+    }
+    digests.increment();
+    StringBuilder body = new StringBuilder();
+    for (Alert a : p.alerts) {
+      body.append("■ ").append(a.subject()).append(" (").append(a.raisedAt().format(TS_FMT)).append(")\n")
+          .append(a.body()).append("\n\n");
+    }
+    msg.setSubject(String.format("[서비스 알림] %d건 — %s 외", p.alerts.size(), p.alerts.get(0).subject()));
+    msg.setText(body.toString().trim());
+    return msg;
+  }
+
+  // ───────────────────────────── 발송 + 재시도 ─────────────────────────────
+
+  private void send(SimpleMailMessage msg, int attempt) {
+    try {
+      mailSender.send(msg);
+      sent.increment();
+      log.info("메일발송 {} → {}", msg.getSubject(), String.join(",", msg.getTo()));
+    } catch (MailException e) {
+      lastError.set(e.getMessage());
+      if (attempt < maxAttempts && !workers.isShutdown()) {
+        retries.increment();
+        long delay = Math.min(maxBackoffMs, backoffMs << (attempt - 1));
+        log.warn("메일 전송 실패({}회차), {}ms 후 재시도: {}", attempt, delay, e.getMessage());
+        workers.schedule(() -> send(msg, attempt + 1), delay, TimeUnit.MILLISECONDS);
+      } else {
+        failed.increment();
+        log.error("메일 전송 최종 실패: {} - {}", msg.getSubject(), e.getMessage(), e);
+      }
+    }
+  }
+}
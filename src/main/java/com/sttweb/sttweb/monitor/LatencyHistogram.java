@@ -0,0 +1,96 @@
+// src/main/java/com/sttweb/sttweb/monitor/LatencyHistogram.java
+package com.sttweb.sttweb.monitor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 고정 버킷(ms) 지연시간 히스토그램. lock-free 누적, 백분위는 버킷 상한으로 근사.
+ */
+public class LatencyHistogram {
+
+  private static final long[] DEFAULT_BOUNDS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+  private final long[] bounds;
+  private final LongAdder[] buckets;   // 마지막 칸 = 상한 초과
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sumMs = new LongAdder();
+  private final AtomicLong maxMs = new AtomicLong();
+
+  public LatencyHistogram() {
+    this(DEFAULT_BOUNDS_MS);
+  }
+
+  public LatencyHistogram(long[] boundsMs) {
+    this.bounds = boundsMs.clone();
+    this.buckets = new LongAdder[bounds.length + 1];
+    for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+  }
+
+  /** 기본 버킷 상한(ms) — 외부 저장소(ProbeHistoryStore)가 같은 버킷 구성을 쓰도록 공개 */
+  public static long[] defaultBounds() {
+    return DEFAULT_BOUNDS_MS.clone();
+  }
+
+  /** v 가 들어갈 버킷 index (bounds.length = 상한 초과 칸) */
+  public static int bucketIndex(long[] bounds, long v) {
+    int i = 0;
+    while (i < bounds.length && v > bounds[i]) i++;
+    return i;
+  }
+
+  /** 버킷 카운트로부터 q 백분위 근사 (상한 초과 칸은 maxMs) */
+  public static long percentile(long[] bounds, long[] counts, long maxMs, double q) {
+    long total = 0;
+    for (long c : counts) total += c;
+    if (total == 0) return 0;
+    long rank = (long) Math.ceil(q * total);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) return i < bounds.length ? bounds[i] : maxMs;
+    }
+    return maxMs;
+  }
+
+  public void record(long elapsedMs) {
+    long v = Math.max(elapsedMs, 0);
+    int i = bucketIndex(bounds, v);
+    buckets[i].increment();
+    count.increment();
+    sumMs.add(v);
+    maxMs.accumulateAndGet(v, Math::max);
+  }
+
+  public long count() {
+    return count.sum();
+  }
+
+  /** q(0~1) 백분위 근사값(ms). 기록이 없으면 0 */
+  public long percentile(double q) {
+    long[] counts = new long[buckets.length];
+    for (int i = 0; i < buckets.length; i++) counts[i] = buckets[i].sum();
+    return percentile(bounds, counts, maxMs.get(), q);
+  }
+
+  /** 통계 API 응답용 */
+  public Map<String, Object> snapshot() {
+    long total = count.sum();
+    Map<String, Object> m = new LinkedHashMap<>();
+    m.put("count", total);
+    m.put("avgMs", total == 0 ? 0 : sumMs.sum() / total);
+    m.put("maxMs", maxMs.get());
+    m.put("p50Ms", percentile(0.50));
+    m.put("p95Ms", percentile(0.95));
+    m.put("p99Ms", percentile(0.99));
+
+    Map<String, Long> b = new LinkedHashMap<>();
+    for (int i = 0; i < buckets.length; i++) {
+      b.put(i < bounds.length ? "le_" + bounds[i] : "gt_" + bounds[bounds.length - 1], buckets[i].sum());
+    }
+    m.put("buckets", b);
+    return m;
+  }
+}
@@ -0,0 +1,407 @@
+// src/main/java/com/sttweb/sttweb/monitor/ProbeEngine.java
+package com.sttweb.sttweb.monitor;
+
+import com.sttweb.sttweb.entity.TbranchEntity;
+import com.sttweb.sttweb.scheduler.JobCancellation;
+import com.sttweb.sttweb.scheduler.SchedulerLanes;
+import com.sttweb.sttweb.service.BranchTopology;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 지점 앱 / 지점 호스트 서비스(Apache, Tomcat, STT) 공용 probe 엔진.
+ *  - 짧은 tick 마다 "due" 인 엔드포인트만 bounded 풀에서 병렬 점검 (probe 별 connect/read timeout + probe 별 마감,
+ *    마감을 넘긴 probe 는 DOWN 으로 기록)
+ *  - 다음 점검 간격은 엔드포인트별로 조정: 최근 상태가 바뀐(flapping) 곳은 빠르게,
+ *    오래 죽어 있는 곳은 지수 backoff, 모두 jitter 적용
+ *  - tick 결과는 ProbeListener(지점 is_alive 반영, 알림 debounce)에 한 번에 전달
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProbeEngine {
+
+  /** 호스트 서비스 점검 대상 (OpenSearch 는 기존 정책대로 알림 대상 아님) */
+  private static final ProbeKind[] HOST_SERVICES = { ProbeKind.APACHE, ProbeKind.TOMCAT, ProbeKind.STT };
+
+  private final BranchTopology branchTopology;
+  private final ObjectProvider<ProbeListener> listeners;
+
+  @Value("${probe.interval-ms:${monitor.fixedRate:60000}}")
+  private long intervalMs;
+  @Value("${probe.fast-interval-ms:10000}")
+  private long fastIntervalMs;
+  @Value("${probe.flap-window-ms:300000}")
+  private long flapWindowMs;
+  @Value("${probe.backoff-after:3}")
+  private int backoffAfter;
+  @Value("${probe.max-backoff-ms:600000}")
+  private long maxBackoffMs;
+  @Value("${probe.jitter:0.1}")
+  private double jitter;
+  @Value("${probe.timeout-ms:2000}")
+  private int timeoutMs;
+  @Value("${probe.parallelism:16}")
+  private int parallelism;
+
+  private ExecutorService probePool;
+  private final Map<String, EndpointState> states = new ConcurrentHashMap<>();
+  private final AtomicLong lastTickMs    = new AtomicLong();
+  private final AtomicLong skippedProbes = new AtomicLong();
+  private final AtomicLong timedOutProbes = new AtomicLong();
+
+  /** 엔드포인트별 스케줄/상태 (tick 스레드에서만 갱신) */
+  private static final class EndpointState {
+    volatile ProbeTarget target;
+    volatile long nextDueAt;
+    volatile Boolean lastUp;
+    volatile int  consecutiveFails;
+    volatile long lastFlipAt;
+    volatile ProbeResult last;
+    final LatencyHistogram latency = new LatencyHistogram();
+  }
+
+  @PostConstruct
+  void init() {
+    AtomicInteger seq = new AtomicInteger();
+    probePool = Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+      Thread t = new Thread(r, "probe-" + seq.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  @PreDestroy
+  void shutdown() {
+    probePool.shutdownNow();
+  }
+
+  @Scheduled(fixedDelayString = "${probe.tick-ms:5000}",
+      initialDelayString = "${monitor.initialDelay:30000}", scheduler = SchedulerLanes.MONITORING)
+  @SchedulerLock(
+      name           = "ProbeEngine_tick",
+      lockAtMostFor  = "PT1M",
+      lockAtLeastFor = "PT0S"
+  )
+  public void tick() {
+    long t0 = System.currentTimeMillis();
+
+    Map<String, ProbeTarget> targets = buildTargets();
+    states.keySet().retainAll(targets.keySet());
+
+    List<EndpointState> due = new ArrayList<>();
+    for (ProbeTarget t : targets.values()) {
+      EndpointState st = states.computeIfAbsent(t.key(), k -> new EndpointState());
+      st.target = t;
+      if (st.nextDueAt <= t0) due.add(st);
+    }
+    if (due.isEmpty()) return;
+
+    // probe 별 마감: 시작 시점부터 probeBudgetMs. 풀보다 대상이 많으면 대기열에서 기다리므로
+    // 전체 대기는 ceil(n / 풀 크기) * probeBudgetMs 까지 허용 (뒤쪽 probe 가 일괄 취소되지 않게)
+    int pool = Math.max(1, parallelism);
+    long budget = probeBudgetMs();
+    long waves = (due.size() + pool - 1) / pool;
+    long batchDeadline = System.currentTimeMillis() + waves * budget;
+
+    AtomicLongArray startedAt = new AtomicLongArray(due.size());
+    List<Future<ProbeResult>> futures = new ArrayList<>(due.size());
+    for (int i = 0; i < due.size(); i++) {
+      int idx = i;
+      ProbeTarget t = due.get(i).target;
+      futures.add(probePool.submit(() -> {
+        startedAt.set(idx, System.currentTimeMillis());
+        return probe(t);
+      }));
+    }
+
+    List<ProbeResult> results = new ArrayList<>(due.size());
+    for (int i = 0; i < due.size(); i++) {
+      EndpointState st = due.get(i);
+      ProbeResult r;
+      if (JobCancellation.isCancelled()) {
+        // lane 실행시간 초과 → 남은 probe 는 취소하고 받은 결과만 반영
+        futures.get(i).cancel(true);
+        skippedProbes.incrementAndGet();
+        st.nextDueAt = System.currentTimeMillis() + jittered(fastIntervalMs);
+        continue;
+      }
+      try {
+        r = await(st.target, futures.get(i), startedAt, i, batchDeadline, budget);
+      } catch (InterruptedException e) {
+        futures.forEach(f -> f.cancel(true));
+        Thread.currentThread().interrupt();
+        return;
+      }
+      long now = System.currentTimeMillis();
+      if (r == null) {
+        // 마감까지 시작도 못 함 → 점검 못 한 것이므로 상태는 그대로 두고 곧 다시
+        skippedProbes.incrementAndGet();
+        st.nextDueAt = now + jittered(fastIntervalMs);
+        continue;
+      }
+      apply(st, r, now);
+      results.add(r);
+    }
+
+    for (ProbeListener l : listeners.orderedStream().toList()) {
+      if (JobCancellation.isCancelled()) {
+        log.warn("ProbeEngine tick 취소 요청 - {} 이후 리스너 생략", l.getClass().getSimpleName());
+        break;
+      }
+      try {
+        l.onProbeResults(results);
+      } catch (Exception e) {
+        log.error("ProbeListener {} 처리 실패", l.getClass().getSimpleName(), e);
+      }
+    }
+    lastTickMs.set(System.currentTimeMillis() - t0);
+  }
+
+  /** 통계 API 응답용: 엔드포인트별 상태, 다음 점검까지 남은 시간, 지연시간 분포 */
+  public Map<String, Object> snapshot() {
+    long now = System.currentTimeMillis();
+    Map<String, Object> m = new LinkedHashMap<>();
+    m.put("lastTickMs", lastTickMs.get());
+    m.put("skippedProbes", skippedProbes.get());
+    m.put("timedOutProbes", timedOutProbes.get());
+    m.put("parallelism", parallelism);
+
+    Map<String, Object> eps = new LinkedHashMap<>();
+    states.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .forEach(en -> {
+          EndpointState st = en.getValue();
+          Map<String, Object> e = new LinkedHashMap<>();
+          ProbeTarget t = st.target;
+          if (t != null) {
+            e.put("branchSeq", t.branchSeq());
+            e.put("branchName", t.branchName());
+            e.put("kind", t.kind().name());
+            e.put("address", t.ip() + ":" + t.port());
+          }
+          ProbeResult last = st.last;
+          if (last != null) {
+            e.put("up", last.up());
+            e.put("lastRtMs", last.responseTimeMs());
+            e.put("lastError", last.error());
+            e.put("checkedAt", last.checkedAt());
+          }
+          e.put("consecutiveFails", st.consecutiveFails);
+          e.put("nextCheckInMs", Math.max(0, st.nextDueAt - now));
+          e.put("latency", st.latency.snapshot());
+          eps.put(en.getKey(), e);
+        });
+    m.put("endpoints", eps);
+    return m;
+  }
+
+  /**
+   * probe 1건 한도: socket-first 종류는 connect 실패 후 HTTP connect + read 까지 하므로 timeout 3번 + 여유
+   */
+  private long probeBudgetMs() {
+    return 3L * timeoutMs + 500;
+  }
+
+  /**
+   * probe 결과 대기. 시작한 probe 는 시작 시점 + budget 에서, 아직 대기열인 probe 는 batchDeadline 에서 끊는다.
+   * 시간 초과는 DOWN 결과로, 마감까지 시작도 못 한 경우는 null.
+   */
+  private ProbeResult await(ProbeTarget t, Future<ProbeResult> f, AtomicLongArray startedAt, int idx,
+      long batchDeadline, long budget) throws InterruptedException {
+    while (true) {
+      long started = startedAt.get(idx);
+      long deadline = started > 0 ? Math.min(batchDeadline, started + budget) : batchDeadline;
+      long wait = deadline - System.currentTimeMillis();
+      if (wait <= 0) break;
+      try {
+        // 대기열에 있는 동안은 budget 단위로 끊어 시작 여부를 다시 확인
+        return f.get(started > 0 ? wait : Math.min(wait, budget), TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        // 마감 다시 계산
+      } catch (ExecutionException e) {
+        return failed(t, startedAt.get(idx), e.getCause() == null ? e : e.getCause());
+      } catch (CancellationException e) {
+        return null;
+      }
+    }
+    if (!f.cancel(true) && f.isDone()) {
+      try {
+        return f.get();
+      } catch (ExecutionException e) {
+        return failed(t, startedAt.get(idx), e.getCause() == null ? e : e.getCause());
+      } catch (CancellationException e) {
+        return null;
+      }
+    }
+    long started = startedAt.get(idx);
+    if (started == 0) return null;
+    timedOutProbes.incrementAndGet();
+    log.debug("{} DOWN: {}:{} (probe timeout {}ms)", t.kind(), t.ip(), t.port(), budget);
+    return new ProbeResult(t, false, elapsed(started), "probe timeout " + budget + "ms", LocalDateTime.now());
+  }
+
+  private static ProbeResult failed(ProbeTarget t, long startedAt, Throwable c) {
+    return new ProbeResult(t, false, elapsed(startedAt), c.getClass().getSimpleName() + ":" + c.getMessage(), LocalDateTime.now());
+  }
+
+  private static long elapsed(long startedAt) {
+    return startedAt > 0 ? System.currentTimeMillis() - startedAt : 0;
+  }
+
+  // ───────────────────────────── 스케줄 ─────────────────────────────
+
+  private void apply(EndpointState st, ProbeResult r, long now) {
+    st.latency.record(r.responseTimeMs());
+    st.last = r;
+    Boolean prev = st.lastUp;
+    if (prev != null && prev != r.up()) st.lastFlipAt = now;
+    st.lastUp = r.up();
+    st.consecutiveFails = r.up() ? 0 : st.consecutiveFails + 1;
+    st.nextDueAt = now + jittered(nextInterval(st, now));
+  }
+
+  private long nextInterval(EndpointState st, long now) {
+    if (st.lastFlipAt > 0 && now - st.lastFlipAt < flapWindowMs) return fastIntervalMs;
+    int over = st.consecutiveFails - backoffAfter;
+    if (over > 0) return Math.min(maxBackoffMs, intervalMs << Math.min(over, 10));
+    return intervalMs;
+  }
+
+  private long jittered(long ms) {
+    if (jitter <= 0) return ms;
+    double f = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+    return Math.max(1000, (long) (ms * f));
+  }
+
+  // ───────────────────────────── 대상 ─────────────────────────────
+
+  private Map<String, ProbeTarget> buildTargets() {
+    Set<String> localIps = branchTopology.localIps();
+    Map<String, ProbeTarget> out = new LinkedHashMap<>();
+    for (TbranchEntity b : branchTopology.all()) {
+      Integer seq = b.getBranchSeq();
+
+      // 지점 앱: 사설IP가 내 NIC 에 있으면 로컬 모드(pb_ip/pb_port)
+      boolean runningOnBranch = localIps.contains(b.getPbIp());
+      String ip   = runningOnBranch ? b.getPbIp()  : b.getPIp();
+      String port = runningOnBranch ? b.getPbPort() : b.getPPort();
+      Integer p = parsePort(port);
+      if (StringUtils.hasText(ip) && p != null) {
+        String key = ProbeKind.BRANCH_APP.name() + ":" + seq;
+        out.put(key, new ProbeTarget(key, ProbeKind.BRANCH_APP, seq, b.getCompanyName(), ip.trim(), p));
+      }
+
+      // 호스트 서비스: p_ip 기준, 루프백 제외
+      String pIp = b.getPIp();
+      if (StringUtils.hasText(pIp) && !pIp.startsWith("127.")) {
+        for (ProbeKind k : HOST_SERVICES) {
+          String key = k.name() + ":" + seq;
+          out.put(key, new ProbeTarget(key, k, seq, b.getCompanyName(), pIp.trim(), k.port));
+        }
+      }
+    }
+    return out;
+  }
+
+  private static Integer parsePort(String s) {
+    if (!StringUtils.hasText(s)) return null;
+    try {
+      return Integer.parseInt(s.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  // ───────────────────────────── probe ─────────────────────────────
+
+  private ProbeResult probe(ProbeTarget t) {
+    long start = System.currentTimeMillis();
+    String portErr = connect(t.ip(), t.port());
+    ProbeKind k = t.kind();
+
+    boolean up;
+    String err;
+    if (k.socketFirst) {
+      // 포트가 열려 있으면 정상, 아니면 HTTP 200 으로 재확인
+      if (portErr == null) { up = true; err = null; }
+      else {
+        int code = httpStatus(url(t));
+        up = code == 200;
+        err = up ? null : (code < 0 ? portErr : "HTTP " + code);
+      }
+    } else if (portErr != null) {
+      up = false; err = portErr;
+    } else if (k.healthPath == null) {
+      up = true; err = null;
+    } else {
+      // 2xx/4xx 는 서버가 응답한 것이므로 정상, 5xx/연결 실패는 비정상
+      int code = httpStatus(url(t));
+      up = (code >= 200 && code < 300) || (code >= 400 && code < 500);
+      err = up ? null : (code < 0 ? "HTTP 연결 실패" : "HTTP " + code);
+    }
+    if (!up) log.debug("{} DOWN: {}:{} ({})", k, t.ip(), t.port(), err);
+    return new ProbeResult(t, up, System.currentTimeMillis() - start, err, LocalDateTime.now());
+  }
+
+  private static String url(ProbeTarget t) {
+    return "http://" + t.ip() + ":" + t.port() + t.kind().healthPath;
+  }
+
+  /** null = 연결 성공, 그 외 오류 메시지 */
+  private String connect(String ip, int port) {
+    try (Socket s = new Socket()) {
+      s.connect(new InetSocketAddress(ip, port), timeoutMs);
+      return null;
+    } catch (IOException e) {
+      return e.getClass().getSimpleName() + ":" + e.getMessage();
+    }
+  }
+
+  /** HTTP 상태 코드, 연결/읽기 실패 시 -1 */
+  private int httpStatus(String url) {
+    HttpURLConnection c = null;
+    try {
+      c = (HttpURLConnection) new URL(url).openConnection();
+      c.setRequestMethod("GET");
+      c.setConnectTimeout(timeoutMs);
+      c.setReadTimeout(timeoutMs);
+      return c.getResponseCode();
+    } catch (IOException e) {
+      return -1;
+    } finally {
+      if (c != null) c.disconnect();
+    }
+  }
+}
@@ -0,0 +1,298 @@
+// src/main/java/com/sttweb/sttweb/monitor/ProbeHistoryStore.java
+package com.sttweb.sttweb.monitor;
+
+import com.sttweb.sttweb.config.SchemaScripts;
+import com.sttweb.sttweb.scheduler.SchedulerLanes;
+import jakarta.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * probe 결과 시계열 저장소.
+ *  - tprobe_stat_minute : (지점, 종류, 1분) 단위 표본/정상 수, 정상/장애 시간(ms), 지연시간 합/최대, 히스토그램 버킷 카운트
+ *  - tprobe_stat_hour   : 위를 1시간 단위로 다운샘플 (긴 구간 조회용)
+ *  - tprobe_outage      : 상태 전이로 기록한 장애 구간 (시작/종료)
+ * 히스토그램 버킷은 LatencyHistogram 기본 버킷과 같아서 구간 합산 후 백분위를 근사할 수 있다.
+ * 점검 간격이 상태에 따라 달라지므로(흔들림 시 짧게, 장애 지속 시 backoff 로 길게) 가용률은 표본 수가 아니라
+ * 각 표본이 덮는 시간(직전 점검 이후 경과, 직전 상태로 계산 — 장애 구간 기록과 같은 기준)으로 낸다.
+ */
+@Slf4j
+@Component
+public class ProbeHistoryStore implements ProbeListener {
+
+  private static final String MINUTE = "tprobe_stat_minute";
+  private static final String HOUR   = "tprobe_stat_hour";
+  private static final String OUTAGE = "tprobe_outage";
+
+  /** 이보다 긴 구간은 시간 단위 테이블 사용 */
+  private static final long HOURLY_THRESHOLD_HOURS = 6;
+
+  private static final long[] BOUNDS = LatencyHistogram.defaultBounds();
+  private static final int    NB     = BOUNDS.length + 1;
+  private static final String BUCKET_COLS = IntStream.range(0, NB).mapToObj(i -> "b" + i).collect(Collectors.joining(", "));
+
+  private final JdbcTemplate jdbc;
+  private final int minuteRetentionDays;
+  private final int hourRetentionDays;
+  /** 이보다 긴 점검 공백(재기동, 엔진 정지)은 정상/장애 어느 쪽에도 넣지 않는다 */
+  private final long maxGapMs;
+  private final SchemaScripts schema;
+  private volatile boolean ready;
+
+  /** 엔드포인트별 마지막 상태 (장애 구간 시작/종료 판정) */
+  private final Map<String, Boolean> lastUp = new HashMap<>();
+  /** 엔드포인트별 마지막 점검 시각 (표본이 덮는 시간 계산) */
+  private final Map<String, LocalDateTime> lastAt = new HashMap<>();
+
+  public ProbeHistoryStore(
+      DataSource dataSource,
+      SchemaScripts schema,
+      @Value("${probe.history.minute-retention-days:7}") int minuteRetentionDays,
+      @Value("${probe.history.hour-retention-days:400}") int hourRetentionDays,
+      @Value("${probe.max-backoff-ms:600000}") long maxBackoffMs
+  ) {
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.schema = schema;
+    this.minuteRetentionDays = minuteRetentionDays;
+    this.hourRetentionDays = hourRetentionDays;
+    this.maxGapMs = 2 * Math.max(maxBackoffMs, 60_000);
+  }
+
+  /** 테이블은 db/probe-history.sql 로 만든다 (없으면 기록/조회를 끄고 경고만) */
+  @PostConstruct
+  void checkSchema() {
+    List<String> stat = List.of("samples", "up_count", "up_ms", "down_ms", "rt_sum", "rt_max", "b" + (NB - 1));
+    ready = schema.ensure("probe-history.sql",
+        Map.of(MINUTE, stat, HOUR, stat, OUTAGE, List.of("started_at", "ended_at")));
+  }
+
+  // ───────────────────────────── 기록 ─────────────────────────────
+
+  /** tick 결과를 분 버킷으로 합쳐 한 번의 batch upsert, 상태 전이는 장애 구간으로 기록 */
+  @Override
+  public synchronized void onProbeResults(List<ProbeResult> results) {
+    if (!ready) return;
+    Map<String, long[]> acc = new LinkedHashMap<>();   // samples, up, rtSum, rtMax, upMs, downMs, b0..bN
+    Map<String, Object[]> keys = new HashMap<>();
+    for (ProbeResult r : results) {
+      ProbeTarget t = r.target();
+      LocalDateTime minute = r.checkedAt().truncatedTo(ChronoUnit.MINUTES);
+      String k = t.branchSeq() + "|" + t.kind() + "|" + minute;
+      long[] a = acc.computeIfAbsent(k, x -> new long[6 + NB]);
+      keys.putIfAbsent(k, new Object[]{ Timestamp.valueOf(minute), t.branchSeq(), t.kind().name() });
+      a[0]++;
+      if (r.up()) a[1]++;
+      a[2] += r.responseTimeMs();
+      a[3] = Math.max(a[3], r.responseTimeMs());
+      a[6 + LatencyHistogram.bucketIndex(BOUNDS, r.responseTimeMs())]++;
+
+      // 직전 점검 이후 구간은 직전 상태였던 것으로 본다
+      Boolean prevUp = lastUp.get(t.key());
+      LocalDateTime prevAt = lastAt.put(t.key(), r.checkedAt());
+      if (prevUp != null && prevAt != null) {
+        long gap = Duration.between(prevAt, r.checkedAt()).toMillis();
+        if (gap > 0 && gap <= maxGapMs) a[prevUp ? 4 : 5] += gap;
+      }
+      trackOutage(r);
+    }
+    if (acc.isEmpty()) return;
+
+    String ph = String.join(",", Collections.nCopies(9 + NB, "?"));
+    String upd = IntStream.range(0, NB).mapToObj(i -> "b" + i + " = b" + i + " + VALUES(b" + i + ")")
+        .collect(Collectors.joining(", "));
+    List<Object[]> rows = new ArrayList<>(acc.size());
+    acc.forEach((k, a) -> {
+      Object[] key = keys.get(k);
+      Object[] row = new Object[9 + NB];
+      row[0] = key[0]; row[1] = key[1]; row[2] = key[2];
+      row[3] = a[0]; row[4] = a[1]; row[5] = a[4]; row[6] = a[5]; row[7] = a[2]; row[8] = a[3];
+      for (int i = 0; i < NB; i++) row[9 + i] = a[6 + i];
+      rows.add(row);
+    });
+    jdbc.batchUpdate("INSERT INTO " + MINUTE + " (bucket, branch_seq, kind, samples, up_count, up_ms, down_ms, "
+        + "rt_sum, rt_max, " + BUCKET_COLS + ") VALUES (" + ph + ") ON DUPLICATE KEY UPDATE "
+        + "samples = samples + VALUES(samples), up_count = up_count + VALUES(up_count), "
+        + "up_ms = up_ms + VALUES(up_ms), down_ms = down_ms + VALUES(down_ms), "
+        + "rt_sum = rt_sum + VALUES(rt_sum), rt_max = GREATEST(rt_max, VALUES(rt_max)), " + upd, rows);
+  }
+
+  private void trackOutage(ProbeResult r) {
+    ProbeTarget t = r.target();
+    Boolean prev = lastUp.put(t.key(), r.up());
+    Timestamp at = Timestamp.valueOf(r.checkedAt());
+    if (prev == null) {
+      // 재기동 직후: DB 의 열린 구간과 현재 상태를 맞춘다
+      Integer open = jdbc.queryForObject("SELECT COUNT(*) FROM " + OUTAGE
+          + " WHERE branch_seq = ? AND kind = ? AND ended_at IS NULL", Integer.class, t.branchSeq(), t.kind().name());
+      boolean hasOpen = open != null && open > 0;
+      if (r.up() && hasOpen) closeOutage(t, at);
+      else if (!r.up() && !hasOpen) openOutage(t, at, r.error());
+      return;
+    }
+    if (prev && !r.up()) openOutage(t, at, r.error());
+    else if (!prev && r.up()) closeOutage(t, at);
+  }
+
+  private void openOutage(ProbeTarget t, Timestamp at, String error) {
+    String err = error != null && error.length() > 200 ? error.substring(0, 200) : error;
+    jdbc.update("INSERT INTO " + OUTAGE + " (branch_seq, kind, started_at, error) VALUES (?,?,?,?)",
+        t.branchSeq(), t.kind().name(), at, err);
+  }
+
+  private void closeOutage(ProbeTarget t, Timestamp at) {
+    jdbc.update("UPDATE " + OUTAGE + " SET ended_at = ? WHERE branch_seq = ? AND kind = ? AND ended_at IS NULL",
+        at, t.branchSeq(), t.kind().name());
+  }
+
+  // ───────────────────────────── 다운샘플 / 정리 ─────────────────────────────
+
+  /** 매시 5분: 끝난 시간대를 시간 테이블로 합산하고 보존기간 지난 행 삭제 */
+  @Scheduled(cron = "${probe.history.downsample-cron:0 5 * * * *}", scheduler = SchedulerLanes.MAINTENANCE)
+  @SchedulerLock(name = "ProbeHistory_downsample", lockAtMostFor = "PT30M", lockAtLeastFor = "PT1M")
+  public void downsample() {
+    if (!ready) return;
+    LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    Timestamp last = jdbc.queryForObject("SELECT MAX(bucket) FROM " + HOUR, Timestamp.class);
+    LocalDateTime from = last != null
+        ? last.toLocalDateTime().plusHours(1)
+        : currentHour.minusDays(minuteRetentionDays);
+
+    if (from.isBefore(currentHour)) {
+      String sums = IntStream.range(0, NB).mapToObj(i -> "SUM(b" + i + ")").collect(Collectors.joining(", "));
+      int n = jdbc.update("INSERT INTO " + HOUR + " (bucket, branch_seq, kind, samples, up_count, up_ms, down_ms, "
+          + "rt_sum, rt_max, " + BUCKET_COLS + ") "
+          + "SELECT DATE_FORMAT(bucket, '%Y-%m-%d %H:00:00'), branch_seq, kind, "
+          + "SUM(samples), SUM(up_count), SUM(up_ms), SUM(down_ms), SUM(rt_sum), MAX(rt_max), " + sums
+          + " FROM " + MINUTE + " WHERE bucket >= ? AND bucket < ? "
+          + "GROUP BY DATE_FORMAT(bucket, '%Y-%m-%d %H:00:00'), branch_seq, kind "
+          + "ON DUPLICATE KEY UPDATE samples = VALUES(samples), up_count = VALUES(up_count), "
+          + "up_ms = VALUES(up_ms), down_ms = VALUES(down_ms), rt_sum = VALUES(rt_sum), rt_max = VALUES(rt_max), "
+          + IntStream.range(0, NB).mapToObj(i -> "b" + i + " = VALUES(b" + i + ")").collect(Collectors.joining(", ")),
+          Timestamp.valueOf(from), Timestamp.valueOf(currentHour));
+      log.debug("[ProbeHistory] 시간 다운샘플 {} ~ {}: {}행", from, currentHour, n);
+    }
+
+    purge(MINUTE, "bucket", currentHour.minusDays(minuteRetentionDays));
+    purge(HOUR, "bucket", currentHour.minusDays(hourRetentionDays));
+    purge(OUTAGE, "ended_at", currentHour.minusDays(hourRetentionDays));
+  }
+
+  private void purge(String table, String col, LocalDateTime before) {
+    int n;
+    do {
+      n = jdbc.update("DELETE FROM " + table + " WHERE " + col + " < ? LIMIT 5000", Timestamp.valueOf(before));
+    } while (n == 5000);
+  }
+
+  // ───────────────────────────── 조회 ─────────────────────────────
+
+  /**
+   * [from, to) 구간의 지점/종류별 가용률, 지연시간 백분위, 장애 구간.
+   * 6시간을 넘는 구간은 온전한 시간대를 시간 테이블에서, 양 끝 자투리만 분 테이블에서 읽는다.
+   */
+  public List<Map<String, Object>> summarize(LocalDateTime from, LocalDateTime to, Integer branchSeq, ProbeKind kind) {
+    if (!ready) return List.of();
+    StringBuilder filter = new StringBuilder();
+    List<Object> filterArgs = new ArrayList<>();
+    if (branchSeq != null) { filter.append(" AND branch_seq = ?"); filterArgs.add(branchSeq); }
+    if (kind != null)      { filter.append(" AND kind = ?");       filterArgs.add(kind.name()); }
+
+    List<String> parts = new ArrayList<>();
+    List<Object> args = new ArrayList<>();
+    LocalDateTime hFrom = from.truncatedTo(ChronoUnit.HOURS);
+    if (hFrom.isBefore(from)) hFrom = hFrom.plusHours(1);
+    LocalDateTime hTo = to.truncatedTo(ChronoUnit.HOURS);
+    // 아직 다운샘플 안 된 시간대는 분 테이블에서
+    Timestamp lastHour = jdbc.queryForObject("SELECT MAX(bucket) FROM " + HOUR, Timestamp.class);
+    LocalDateTime covered = lastHour != null ? lastHour.toLocalDateTime().plusHours(1) : hFrom;
+    if (hTo.isAfter(covered)) hTo = covered;
+
+    if (ChronoUnit.HOURS.between(from, to) > HOURLY_THRESHOLD_HOURS && hFrom.isBefore(hTo)) {
+      addPart(parts, args, HOUR, hFrom, hTo, filter, filterArgs);
+      if (from.isBefore(hFrom)) addPart(parts, args, MINUTE, from, hFrom, filter, filterArgs);
+      if (hTo.isBefore(to))     addPart(parts, args, MINUTE, hTo, to, filter, filterArgs);
+    } else {
+      addPart(parts, args, MINUTE, from, to, filter, filterArgs);
+    }
+
+    String sums = IntStream.range(0, NB).mapToObj(i -> "SUM(b" + i + ") b" + i).collect(Collectors.joining(", "));
+    String sql = "SELECT branch_seq, kind, SUM(samples) samples, SUM(up_count) up_count, "
+        + "SUM(up_ms) up_ms, SUM(down_ms) down_ms, SUM(rt_sum) rt_sum, "
+        + "MAX(rt_max) rt_max, " + sums + " FROM (" + String.join(" UNION ALL ", parts) + ") x "
+        + "GROUP BY branch_seq, kind ORDER BY branch_seq, kind";
+
+    Map<String, Map<String, Object>> out = new LinkedHashMap<>();
+    jdbc.query(sql, rs -> {
+      long samples = rs.getLong("samples");
+      long up = rs.getLong("up_count");
+      long upMs = rs.getLong("up_ms");
+      long observedMs = upMs + rs.getLong("down_ms");
+      long max = rs.getLong("rt_max");
+      long[] counts = new long[NB];
+      for (int i = 0; i < NB; i++) counts[i] = rs.getLong("b" + i);
+
+      Map<String, Object> m = new LinkedHashMap<>();
+      m.put("branchSeq", rs.getInt("branch_seq"));
+      m.put("kind", rs.getString("kind"));
+      m.put("samples", samples);
+      // 시간 가중 가용률. 덮는 시간이 없으면(구간 내 첫 표본뿐 등) 표본 비율로 대신한다
+      m.put("uptimePct", observedMs > 0 ? Math.round(upMs * 10000.0 / observedMs) / 100.0
+          : samples == 0 ? null : Math.round(up * 10000.0 / samples) / 100.0);
+      m.put("observedMs", observedMs);
+      m.put("avgMs", samples == 0 ? 0 : rs.getLong("rt_sum") / samples);
+      m.put("maxMs", max);
+      m.put("p50Ms", LatencyHistogram.percentile(BOUNDS, counts, max, 0.50));
+      m.put("p95Ms", LatencyHistogram.percentile(BOUNDS, counts, max, 0.95));
+      m.put("p99Ms", LatencyHistogram.percentile(BOUNDS, counts, max, 0.99));
+      m.put("outages", new ArrayList<Map<String, Object>>());
+      out.put(rs.getInt("branch_seq") + "|" + rs.getString("kind"), m);
+    }, args.toArray());
+
+    List<Object> oArgs = new ArrayList<>();
+    oArgs.add(Timestamp.valueOf(to));
+    oArgs.add(Timestamp.valueOf(from));
+    oArgs.addAll(filterArgs);
+    jdbc.query("SELECT branch_seq, kind, started_at, ended_at, error FROM " + OUTAGE
+        + " WHERE started_at < ? AND (ended_at IS NULL OR ended_at > ?)" + filter
+        + " ORDER BY started_at", rs -> {
+      Map<String, Object> m = out.get(rs.getInt("branch_seq") + "|" + rs.getString("kind"));
+      if (m == null) return;
+      Timestamp end = rs.getTimestamp("ended_at");
+      Map<String, Object> o = new LinkedHashMap<>();
+      o.put("start", rs.getTimestamp("started_at").toLocalDateTime());
+      o.put("end", end != null ? end.toLocalDateTime() : null);
+      o.put("error", rs.getString("error"));
+      @SuppressWarnings("unchecked")
+      List<Map<String, Object>> list = (List<Map<String, Object>>) m.get("outages");
+      list.add(o);
+    }, oArgs.toArray());
+
+    return new ArrayList<>(out.values());
+  }
+
+  private static void addPart(List<String> parts, List<Object> args, String table,
+      LocalDateTime from, LocalDateTime to, StringBuilder filter, List<Object> filterArgs) {
+    parts.add("SELECT branch_seq, kind, samples, up_count, up_ms, down_ms, rt_sum, rt_max, " + BUCKET_COLS
+        + " FROM " + table + " WHERE bucket >= ? AND bucket < ?" + filter);
+    args.add(Timestamp.valueOf(from));
+    args.add(Timestamp.valueOf(to));
+    args.addAll(filterArgs);
+  }
+}
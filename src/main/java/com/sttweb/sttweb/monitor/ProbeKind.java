@@ -0,0 +1,27 @@
+// src/main/java/com/sttweb/sttweb/monitor/ProbeKind.java
+package com.sttweb.sttweb.monitor;
+
+/**
+ * ProbeEngine 이 점검하는 대상 종류.
+ * BRANCH_APP 은 지점 웹앱(tbranch p_port/pb_port), 나머지는 지점 호스트의 고정 포트 서비스.
+ */
+public enum ProbeKind {
+  BRANCH_APP(0, "Branch App", "/actuator/health", true),
+  APACHE(39080, "XAMPP(Apache)", "/server-status?auto", false),
+  TOMCAT(39090, "Tomcat", "/actuator/health", false),
+  STT(39500, "STT Service", "/health", false);
+
+  /** 고정 포트 (BRANCH_APP 은 지점별 포트 사용) */
+  public final int port;
+  public final String label;
+  public final String healthPath;
+  /** true: 포트가 열려 있으면 HTTP 확인 없이 정상 / 포트 실패 시에만 HTTP 200 재확인 (기존 지점 헬스체크 방식) */
+  public final boolean socketFirst;
+
+  ProbeKind(int port, String label, String healthPath, boolean socketFirst) {
+    this.port = port;
+    this.label = label;
+    this.healthPath = healthPath;
+    this.socketFirst = socketFirst;
+  }
+}
@@ -0,0 +1,12 @@
+// src/main/java/com/sttweb/sttweb/monitor/ProbeListener.java
+package com.sttweb.sttweb.monitor;
+
+import java.util.List;
+
+/**
+ * ProbeEngine 결과 구독자. 한 tick 에 완료된 결과를 묶어서 전달한다 (engine 스레드에서 호출).
+ * 구현체: BranchHealthCheckService(is_alive 반영), ServiceMonitor(장애/복구 알림 debounce)
+ */
+public interface ProbeListener {
+  void onProbeResults(List<ProbeResult> results);
+}
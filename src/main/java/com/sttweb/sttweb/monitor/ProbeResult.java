@@ -0,0 +1,13 @@
+// src/main/java/com/sttweb/sttweb/monitor/ProbeResult.java
+package com.sttweb.sttweb.monitor;
+
+import java.time.LocalDateTime;
+
+/** probe 1회 결과 */
+public record ProbeResult(
+    ProbeTarget target,
+    boolean up,
+    long responseTimeMs,
+    String error,
+    LocalDateTime checkedAt
+) {}
@@ -0,0 +1,12 @@
+// src/main/java/com/sttweb/sttweb/monitor/ProbeTarget.java
+package com.sttweb.sttweb.monitor;
+
+/** 점검 대상 1개 (지점 + 종류 + 주소). key 는 상태 추적용 식별자 */
+public record ProbeTarget(
+    String key,
+    ProbeKind kind,
+    Integer branchSeq,
+    String branchName,
+    String ip,
+    int port
+) {}
@@ -1,8 +1,12 @@
 package com.sttweb.sttweb.repository;
 
 import com.sttweb.sttweb.entity.TactivitylogEntity;
+import java.time.LocalDateTime;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -10,4 +14,14 @@ public interface TactivitylogRepository
     extends JpaRepository<TactivitylogEntity, Integer>,
     JpaSpecificationExecutor<TactivitylogEntity> {
 
+  /**
+   * contents FULLTEXT 만으로 id 수집 ("전체" 검색에서 짧은 컬럼 LIKE 와 분리해 인덱스를 타게 함).
+   * limit 건까지만 — 넘치면 호출측이 LIKE 로 대체.
+   */
+  @Query(value = "SELECT activity_seq FROM tactivitylog "
+      + "WHERE MATCH(contents) AGAINST(:q IN BOOLEAN MODE) "
+      + "AND (:from IS NULL OR crtime >= :from) AND (:to IS NULL OR crtime <= :to) "
+      + "LIMIT :limit", nativeQuery = true)
+  List<Integer> findIdsByContentsMatch(@Param("q") String booleanQuery,
+      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("limit") int limit);
 }
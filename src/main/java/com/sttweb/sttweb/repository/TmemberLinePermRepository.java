@@ -2,7 +2,9 @@
 package com.sttweb.sttweb.repository;
 
 import com.sttweb.sttweb.entity.TmemberLinePermEntity;
+import java.util.Collection;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -30,5 +32,31 @@ public interface TmemberLinePermRepository extends JpaRepository<TmemberLinePerm
   @Query("SELECT t.role.roleSeq FROM TmemberLinePermEntity t WHERE t.member.memberSeq = :memberSeq AND t.line.id = :lineId")
   Integer findRoleSeqByMemberSeqAndLineId(@Param("memberSeq") Integer memberSeq, @Param("lineId") Integer lineId);
 
+  // ── DTO 변환용 조회: 회원·회선·권한을 같은 SELECT 에서 join (행마다 lazy 로딩 없음) ──
+
+  /** 전체 매핑 */
+  @EntityGraph(TmemberLinePermEntity.GRAPH_DETAIL)
+  @Query("SELECT p FROM TmemberLinePermEntity p")
+  List<TmemberLinePermEntity> findAllWithDetail();
+
+  /** 특정 회원의 매핑 */
+  @EntityGraph(TmemberLinePermEntity.GRAPH_DETAIL)
+  @Query("SELECT p FROM TmemberLinePermEntity p WHERE p.member.memberSeq = :memberSeq")
+  List<TmemberLinePermEntity> findWithDetailByMemberSeq(@Param("memberSeq") Integer memberSeq);
+
+  /** 특정 회선의 매핑 */
+  @EntityGraph(TmemberLinePermEntity.GRAPH_DETAIL)
+  @Query("SELECT p FROM TmemberLinePermEntity p WHERE p.line.id = :lineId")
+  List<TmemberLinePermEntity> findWithDetailByLineId(@Param("lineId") Integer lineId);
+
+  /** 권한 매트릭스용: 지정 회원들의 매핑 (회선/권한 fetch join, 회원·회선 순) */
+  @Query("SELECT p FROM TmemberLinePermEntity p JOIN FETCH p.line l JOIN FETCH p.role "
+      + "WHERE p.member.memberSeq IN :memberSeqs ORDER BY p.member.memberSeq, l.id")
+  List<TmemberLinePermEntity> findMatrixByMemberSeqIn(@Param("memberSeqs") Collection<Integer> memberSeqs);
+
+  /** 권한 매트릭스용: 전체 매핑 (회선/권한 fetch join, 회원·회선 순) */
+  @Query("SELECT p FROM TmemberLinePermEntity p JOIN FETCH p.line l JOIN FETCH p.role "
+      + "ORDER BY p.member.memberSeq, l.id")
+  List<TmemberLinePermEntity> findMatrixAll();
 
 }
@@ -37,6 +37,10 @@ public interface TmemberRepository extends JpaRepository<TmemberEntity, Integer>
   // ==== 지사 관리자 전용 페이징 조회/검색 ====
   Page<TmemberEntity> findByBranchSeq(Integer branchSeq, Pageable pageable);
 
+  /** 지사 소속 회원 내선번호만 (엔티티 로딩 없음) */
+  @Query("SELECT e.number FROM TmemberEntity e WHERE e.branchSeq = :branchSeq AND e.number IS NOT NULL AND e.number <> ''")
+  List<String> findNumbersByBranchSeq(@Param("branchSeq") Integer branchSeq);
+
   @Query("SELECT e FROM TmemberEntity e "
       + "WHERE e.branchSeq = :branchSeq "
       + "  AND (e.userId LIKE %:kw% OR e.number LIKE %:kw%)")
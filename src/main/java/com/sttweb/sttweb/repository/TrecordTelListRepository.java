@@ -2,7 +2,9 @@
 package com.sttweb.sttweb.repository;
 
 import com.sttweb.sttweb.entity.TrecordTelListEntity;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -15,4 +17,11 @@ public interface TrecordTelListRepository extends JpaRepository<TrecordTelListEn
    * callNum(내선번호)로 단일 레코드 조회 (중복 검사 용도)
    */
   Optional<TrecordTelListEntity> findByCallNum(String callNum);
+
+  /** 활성 회선만 (INI 에서 빠져 removed_at 이 찍힌 회선 제외) */
+  List<TrecordTelListEntity> findByRemovedAtIsNull();
+
+  List<TrecordTelListEntity> findByRemovedAtIsNull(Sort sort);
+
+  Optional<TrecordTelListEntity> findByCallNumAndRemovedAtIsNull(String callNum);
 }
@@ -0,0 +1,42 @@
+package com.sttweb.sttweb.scheduler;
+
+import com.sttweb.sttweb.logging.ActivityLogArchiver;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "activitylog.retention.enabled", havingValue = "true")
+public class ActivityLogRetentionScheduler {
+
+  private final ActivityLogArchiver archiver;
+
+  /** 켜져 있는데 아카이브 폴더가 없거나 상대 경로면 기동 실패 (행 삭제 전에 막음) */
+  @PostConstruct
+  void checkArchiveDir() {
+    archiver.validateArchiveDir();
+  }
+
+  /** 매일 새벽 보존기간 지난 감사 로그를 월별 gzip 으로 옮기고 삭제 */
+  @Scheduled(cron = "${activitylog.retention.cron:0 30 3 * * *}", scheduler = SchedulerLanes.MAINTENANCE)
+  @SchedulerLock(
+      name = "activityLogRetention",
+      lockAtLeastFor = "PT1M",
+      lockAtMostFor  = "PT2H"
+  )
+  public void archiveExpired() {
+    log.info("==> 감사 로그 보존 처리 시작 (cutoff={})", archiver.cutoff());
+    try {
+      int moved = archiver.runOnce();
+      log.info("==> 감사 로그 보존 처리 완료 (아카이브: {}건)", moved);
+    } catch (Exception e) {
+      log.error("감사 로그 보존 처리 중 오류 발생", e);
+    }
+  }
+}
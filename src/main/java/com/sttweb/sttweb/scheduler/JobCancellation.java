@@ -0,0 +1,35 @@
+// src/main/java/com/sttweb/sttweb/scheduler/JobCancellation.java
+package com.sttweb.sttweb.scheduler;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 스케줄 작업의 협조적 취소.
+ * JobRunAspect 가 실행 스레드에 토큰을 걸어 두고, max-duration 초과(CANCEL 정책) 시 표시만 한다.
+ * 작업은 DB 작업 사이 안전한 지점에서 isCancelled() 를 확인해 스스로 멈춘다
+ * (스레드 interrupt 는 JDBC 드라이버가 진행 중인 커넥션을 닫아 버릴 수 있어 쓰지 않음).
+ */
+public final class JobCancellation {
+
+  private static final ThreadLocal<AtomicBoolean> CURRENT = new ThreadLocal<>();
+
+  private JobCancellation() {}
+
+  /** 현재 스레드에 토큰 설정, 이전 토큰 반환 (end 에 넘겨 복원) */
+  static AtomicBoolean begin(AtomicBoolean token) {
+    AtomicBoolean prev = CURRENT.get();
+    CURRENT.set(token);
+    return prev;
+  }
+
+  static void end(AtomicBoolean prev) {
+    if (prev == null) CURRENT.remove();
+    else CURRENT.set(prev);
+  }
+
+  /** 현재 스케줄 작업에 취소가 요청됐는지 (스케줄 작업 밖에서는 항상 false) */
+  public static boolean isCancelled() {
+    AtomicBoolean t = CURRENT.get();
+    return t != null && t.get();
+  }
+}
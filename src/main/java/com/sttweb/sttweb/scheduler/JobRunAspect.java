@@ -0,0 +1,116 @@
+// src/main/java/com/sttweb/sttweb/scheduler/JobRunAspect.java
+package com.sttweb.sttweb.scheduler;
+
+import com.sttweb.sttweb.config.SchedulerProperties;
+import com.sttweb.sttweb.config.SchedulerProperties.OverrunPolicy;
+import com.sttweb.sttweb.scheduler.JobRunHistory.Outcome;
+import jakarta.annotation.PreDestroy;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * @Scheduled 메서드 실행 감시.
+ *  - ShedLock 안쪽에서 돈다 (락을 못 얻은 노드의 실행은 기록하지 않음)
+ *  - 같은 작업이 이 JVM 에서 이미 실행 중이면 SKIPPED (예: 수동 호출과 겹침)
+ *  - lane 의 max-duration 초과 시 overrun 표시, CANCEL 정책이면 JobCancellation 으로 취소 요청
+ *    (스레드 interrupt 는 하지 않음 — 작업이 DB 작업 사이에서 확인하고 스스로 멈춤)
+ *  - 시작/종료/소요시간/결과를 JobRunHistory 에 기록
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class JobRunAspect {
+
+  private final JobRunHistory history;
+  private final SchedulerProperties props;
+  private final Set<String> running = ConcurrentHashMap.newKeySet();
+  private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread t = new Thread(r, "job-watchdog");
+    t.setDaemon(true);
+    return t;
+  });
+
+  public JobRunAspect(JobRunHistory history, SchedulerProperties props) {
+    this.history = history;
+    this.props = props;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    watchdog.shutdownNow();
+  }
+
+  @Around("@annotation(scheduled)")
+  public Object around(ProceedingJoinPoint pjp, Scheduled scheduled) throws Throwable {
+    Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+    String job  = jobName(pjp, method);
+    String lane = SchedulerLanes.laneOf(scheduled.scheduler());
+    LocalDateTime startedAt = LocalDateTime.now();
+
+    if (!running.add(job)) {
+      log.warn("[Job] {} 이전 실행이 아직 진행 중 - 이번 실행 건너뜀", job);
+      history.record(job, lane, startedAt, 0, Outcome.SKIPPED, false, null);
+      return null;
+    }
+
+    SchedulerProperties.Lane cfg = props.lane(lane);
+    AtomicBoolean overrun = new AtomicBoolean();
+    AtomicBoolean cancelled = new AtomicBoolean();
+    AtomicBoolean finished = new AtomicBoolean();
+    ScheduledFuture<?> guard = cfg.getMaxDurationMs() <= 0 ? null : watchdog.schedule(() -> {
+      synchronized (finished) {
+        if (finished.get()) return;
+        overrun.set(true);
+        log.warn("[Job] {} 실행시간 초과 ({}ms, lane={}, policy={})", job, cfg.getMaxDurationMs(), lane, cfg.getOverrun());
+        if (cfg.getOverrun() != OverrunPolicy.WARN) cancelled.set(true);
+      }
+    }, cfg.getMaxDurationMs(), TimeUnit.MILLISECONDS);
+
+    long t0 = System.nanoTime();
+    Outcome outcome = Outcome.SUCCESS;
+    Throwable error = null;
+    AtomicBoolean prevToken = JobCancellation.begin(cancelled);
+    try {
+      return pjp.proceed();
+    } catch (Throwable t) {
+      outcome = Outcome.FAILED;
+      error = t;
+      throw t;
+    } finally {
+      synchronized (finished) {
+        finished.set(true);
+      }
+      JobCancellation.end(prevToken);
+      if (guard != null) guard.cancel(false);
+      if (cancelled.get() && outcome == Outcome.SUCCESS) outcome = Outcome.CANCELLED;
+      running.remove(job);
+      history.record(job, lane, startedAt, (System.nanoTime() - t0) / 1_000_000, outcome, overrun.get(), error);
+    }
+  }
+
+  /** ShedLock 이름이 있으면 그것, 없으면 클래스.메서드 */
+  private static String jobName(ProceedingJoinPoint pjp, Method method) {
+    SchedulerLock lock = method.getAnnotation(SchedulerLock.class);
+    if (lock != null && StringUtils.hasText(lock.name())) return lock.name();
+    return pjp.getTarget().getClass().getSimpleName() + "." + method.getName();
+  }
+}
@@ -0,0 +1,176 @@
+// src/main/java/com/sttweb/sttweb/scheduler/JobRunHistory.java
+package com.sttweb.sttweb.scheduler;
+
+import com.sttweb.sttweb.config.SchedulerProperties;
+import com.sttweb.sttweb.config.SchemaScripts;
+import com.sttweb.sttweb.monitor.LatencyHistogram;
+import jakarta.annotation.PostConstruct;
+import java.net.InetAddress;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 스케줄 작업 실행 이력(tjob_run) + 작업별 메트릭.
+ * 기록은 JobRunAspect 가 하고, ShedLock 을 얻어 실제로 실행된 경우만 남는다.
+ * 테이블은 db/job-run.sql 로 만든다 (없으면 메트릭만 유지하고 이력 저장/조회는 끔).
+ */
+@Slf4j
+@Component
+public class JobRunHistory {
+
+  private static final String TABLE = "tjob_run";
+
+  /** 작업 실행시간 버킷(ms) — 수 초 ~ 수십 분 */
+  private static final long[] JOB_BOUNDS_MS =
+      {100, 500, 1_000, 5_000, 10_000, 30_000, 60_000, 300_000, 600_000, 1_800_000};
+
+  public enum Outcome { SUCCESS, FAILED, SKIPPED, CANCELLED }
+
+  /** 이력 1건 (조회용) */
+  public record JobRun(long id, String job, String lane, String node, LocalDateTime startedAt,
+                       LocalDateTime endedAt, long durationMs, String outcome, boolean overrun, String error) {}
+
+  /** 작업별 누적 메트릭 */
+  private static final class JobMetrics {
+    final String lane;
+    final LongAdder runs = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder skipped = new LongAdder();
+    final LongAdder overruns = new LongAdder();
+    final LatencyHistogram duration = new LatencyHistogram(JOB_BOUNDS_MS);
+    final AtomicReference<String> lastOutcome = new AtomicReference<>();
+    volatile LocalDateTime lastStartedAt;
+    volatile long lastDurationMs;
+    volatile String lastError;
+    JobMetrics(String lane) { this.lane = lane; }
+  }
+
+  private final JdbcTemplate jdbc;
+  private final SchedulerProperties props;
+  private final Map<String, JobMetrics> metrics = new ConcurrentHashMap<>();
+  private final String node;
+  private final SchemaScripts schema;
+  private volatile boolean ready;
+
+  public JobRunHistory(DataSource dataSource, SchedulerProperties props, SchemaScripts schema) {
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.props = props;
+    this.schema = schema;
+    String host;
+    try {
+      host = InetAddress.getLocalHost().getHostName();
+    } catch (Exception e) {
+      host = "unknown";
+    }
+    this.node = host.length() > 64 ? host.substring(0, 64) : host;
+  }
+
+  @PostConstruct
+  void checkSchema() {
+    ready = schema.ensure("job-run.sql", Map.of(TABLE,
+        List.of("job_name", "lane", "node", "started_at", "ended_at", "duration_ms", "outcome", "overrun", "error")));
+  }
+
+  /**
+   * 실행 1건 기록 (DB 실패는 작업 결과에 영향 주지 않음).
+   * 메트릭은 항상 갱신, tjob_run 은 lane 의 record-success 가 false 면 정상 성공 실행은 생략.
+   */
+  void record(String job, String lane, LocalDateTime startedAt, long durationMs,
+              Outcome outcome, boolean overrun, Throwable error) {
+    JobMetrics m = metrics.computeIfAbsent(job, k -> new JobMetrics(lane));
+    String err = error == null ? null : abbreviate(error.getClass().getSimpleName() + ": " + error.getMessage());
+    switch (outcome) {
+      case SKIPPED -> m.skipped.increment();
+      case FAILED, CANCELLED -> { m.runs.increment(); m.failures.increment(); }
+      default -> m.runs.increment();
+    }
+    if (overrun) m.overruns.increment();
+    if (outcome != Outcome.SKIPPED) {
+      m.duration.record(durationMs);
+      m.lastStartedAt = startedAt;
+      m.lastDurationMs = durationMs;
+    }
+    m.lastOutcome.set(outcome.name());
+    if (err != null) m.lastError = err;
+    if (!ready) return;
+    if (outcome == Outcome.SUCCESS && !overrun && !props.lane(lane).isRecordSuccess()) return;
+
+    try {
+      jdbc.update("INSERT INTO " + TABLE
+              + " (job_name, lane, node, started_at, ended_at, duration_ms, outcome, overrun, error)"
+              + " VALUES (?,?,?,?,?,?,?,?,?)",
+          job, lane, node, Timestamp.valueOf(startedAt), Timestamp.valueOf(startedAt.plusNanos(durationMs * 1_000_000)),
+          durationMs, outcome.name(), overrun, err);
+    } catch (Exception e) {
+      log.warn("[JobRunHistory] 이력 저장 실패 ({}): {}", job, e.getMessage());
+    }
+  }
+
+  /** 작업별 메트릭 (작업명 순) */
+  public Map<String, Object> stats() {
+    Map<String, Object> out = new TreeMap<>();
+    metrics.forEach((job, m) -> {
+      Map<String, Object> s = new LinkedHashMap<>();
+      s.put("lane", m.lane);
+      s.put("runs", m.runs.sum());
+      s.put("failures", m.failures.sum());
+      s.put("skipped", m.skipped.sum());
+      s.put("overruns", m.overruns.sum());
+      s.put("lastOutcome", m.lastOutcome.get());
+      s.put("lastStartedAt", m.lastStartedAt);
+      s.put("lastDurationMs", m.lastDurationMs);
+      s.put("lastError", m.lastError);
+      s.put("durationMs", m.duration.snapshot());
+      out.put(job, s);
+    });
+    return out;
+  }
+
+  /** 최근 실행 이력 (job 이 비면 전체) */
+  public List<JobRun> recent(String job, int limit) {
+    if (!ready) return List.of();
+    int n = Math.min(Math.max(limit, 1), 500);
+    List<Object> args = new ArrayList<>();
+    String where = "";
+    if (StringUtils.hasText(job)) {
+      where = " WHERE job_name = ?";
+      args.add(job.trim());
+    }
+    args.add(n);
+    return jdbc.query("SELECT * FROM " + TABLE + where + " ORDER BY started_at DESC LIMIT ?",
+        (rs, i) -> new JobRun(
+            rs.getLong("run_seq"), rs.getString("job_name"), rs.getString("lane"), rs.getString("node"),
+            rs.getTimestamp("started_at").toLocalDateTime(), rs.getTimestamp("ended_at").toLocalDateTime(),
+            rs.getLong("duration_ms"), rs.getString("outcome"), rs.getBoolean("overrun"), rs.getString("error")),
+        args.toArray());
+  }
+
+  /** 매일 04:10 보존기간 지난 이력 삭제 */
+  @Scheduled(cron = "${scheduler.history-purge-cron:0 10 4 * * *}", scheduler = SchedulerLanes.MAINTENANCE)
+  @SchedulerLock(name = "JobRunHistory_purge", lockAtMostFor = "PT30M", lockAtLeastFor = "PT1M")
+  public void purge() {
+    if (!ready) return;
+    LocalDateTime cutoff = LocalDateTime.now().minusDays(Math.max(1, props.getHistoryRetentionDays()));
+    int n = jdbc.update("DELETE FROM " + TABLE + " WHERE started_at < ?", Timestamp.valueOf(cutoff));
+    if (n > 0) log.info("[JobRunHistory] {}건 삭제 (cutoff={})", n, cutoff);
+  }
+
+  private static String abbreviate(String s) {
+    return s.length() > 500 ? s.substring(0, 500) : s;
+  }
+}
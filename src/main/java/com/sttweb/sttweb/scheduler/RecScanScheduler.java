@@ -15,7 +15,7 @@ public class RecScanScheduler {
   private final TrecordScanService scanSvc;
 
   /** 5분마다 RecOnData 폴더 스캔 + 길이/종료시각 백필 */
-  @Scheduled(fixedDelayString = "PT5M")
+  @Scheduled(fixedDelayString = "PT5M", scheduler = SchedulerLanes.INGEST)
   @SchedulerLock(
       name = "recScanTask",
       lockAtLeastFor = "PT4M",
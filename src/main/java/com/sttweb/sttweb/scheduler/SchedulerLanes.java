@@ -0,0 +1,27 @@
+// src/main/java/com/sttweb/sttweb/scheduler/SchedulerLanes.java
+package com.sttweb.sttweb.scheduler;
+
+/**
+ * 스케줄 작업 lane (= TaskScheduler 빈 이름). @Scheduled(scheduler = ...) 에 지정.
+ *  - INGEST      : 녹취 폴더 스캔처럼 오래 걸리는 적재 작업
+ *  - MONITORING  : 헬스체크/알림 (긴 작업에 밀리면 안 됨)
+ *  - MAINTENANCE : 야간 정리/다운샘플 등. lane 미지정 작업도 여기(taskScheduler 별칭)로 간다.
+ */
+public final class SchedulerLanes {
+
+  public static final String INGEST      = "ingestScheduler";
+  public static final String MONITORING  = "monitoringScheduler";
+  public static final String MAINTENANCE = "maintenanceScheduler";
+
+  /** @Scheduled 에 scheduler 미지정 시 Spring 이 찾는 기본 빈 이름 */
+  public static final String DEFAULT     = "taskScheduler";
+
+  private SchedulerLanes() {}
+
+  /** 빈 이름 → lane 이름 (ingest / monitoring / maintenance) */
+  public static String laneOf(String schedulerBean) {
+    if (INGEST.equals(schedulerBean)) return "ingest";
+    if (MONITORING.equals(schedulerBean)) return "monitoring";
+    return "maintenance";
+  }
+}
@@ -1,140 +1,98 @@
 package com.sttweb.sttweb.service;
 
 import com.sttweb.sttweb.entity.TbranchEntity;
+import com.sttweb.sttweb.monitor.ProbeKind;
+import com.sttweb.sttweb.monitor.ProbeListener;
+import com.sttweb.sttweb.monitor.ProbeResult;
 import com.sttweb.sttweb.repository.TbranchRepository;
-import jakarta.transaction.Transactional;
-import java.net.Inet4Address;
-import java.net.InetAddress;
-import java.net.NetworkInterface;
-import java.net.SocketException;
+import jakarta.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
-
-import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.InetSocketAddress;
-import java.net.Socket;
-import java.net.URL;
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Objects;
 
+/**
+ * 지점 생존 상태(tbranch.is_alive) 반영.
+ * 점검 자체는 ProbeEngine 이 하고, 여기서는 BRANCH_APP 결과를 받아
+ * 상태가 바뀐 행만 JDBC batch 로 갱신, 나머지는 last_health_check 만 한 문장으로 갱신한다.
+ */
 @Service
 @RequiredArgsConstructor
-public class BranchHealthCheckService {
+public class BranchHealthCheckService implements ProbeListener {
 
   private static final Logger log = LoggerFactory.getLogger(BranchHealthCheckService.class);
-  private static final int TIMEOUT_MS = 2_000;
 
   private final TbranchRepository branchRepo;
+  private final DataSource        dataSource;
 
-  @Scheduled(cron = "0 * * * * *")
-  @Transactional
-  public void checkAllBranchesHealth() {
-    LocalDateTime now = LocalDateTime.now();
+  private JdbcTemplate jdbc;
 
-    // 1) 오늘 나의 호스트 IP 리스트를 미리 수집
-    Set<String> localIps = detectLocalIpv4Addresses();
-
-    for (TbranchEntity b : branchRepo.findAll()) {
-      // 2) 사설IP가 내 호스트 NIC에 바인딩되어 있으면 로컬 모드
-      boolean runningOnBranch = localIps.contains(b.getPbIp());
+  /** DB 의 is_alive 사본 (모르는 지점이 나오면 DB 에서 다시 적재) */
+  private final Map<Integer, Boolean> knownAlive = new ConcurrentHashMap<>();
 
-      String ip  = runningOnBranch ? b.getPbIp()  : b.getPIp();
-      String port = runningOnBranch ? b.getPbPort() : b.getPPort();
+  @PostConstruct
+  void init() {
+    jdbc = new JdbcTemplate(dataSource);
+  }
 
-      if (!StringUtils.hasText(ip) || !StringUtils.hasText(port)) {
-        log.debug("Branch {}: IP/포트 미설정, 스킵", b.getBranchSeq());
+  @Override
+  public void onProbeResults(List<ProbeResult> results) {
+    List<ProbeResult> apps = results.stream()
+        .filter(r -> r.target().kind() == ProbeKind.BRANCH_APP)
+        .toList();
+    if (apps.isEmpty()) return;
+
+    if (apps.stream().anyMatch(r -> !knownAlive.containsKey(r.target().branchSeq()))) reloadKnown();
+
+    List<Object[]> changed   = new ArrayList<>();
+    List<Integer>  unchanged = new ArrayList<>();
+
+    for (ProbeResult r : apps) {
+      Integer seq = r.target().branchSeq();
+      Timestamp ts = Timestamp.valueOf(r.checkedAt());
+      boolean prevAlive = Boolean.TRUE.equals(knownAlive.get(seq));
+      boolean currAlive = r.up();
+      if (prevAlive == currAlive) {
+        unchanged.add(seq);
         continue;
       }
-
-      boolean prevAlive = Boolean.TRUE.equals(b.getIsAlive());
-      PingResult result = socketPing(ip, Integer.parseInt(port));
-
-      if (!result.alive) {
-        result = actuatorHealthCheck(ip, port);
-      }
-      boolean currAlive = result.alive;
-
-      // 3) 엔티티 업데이트
-      b.setLastHealthCheck(now);
-      b.setIsAlive(currAlive);
-      if (prevAlive && !currAlive) {
-        b.setLastDowntime(now);
+      if (prevAlive) {
         log.warn("DOWN ▶ {}({}:{}), err={}, rt={}ms",
-            b.getCompanyName(), ip, port,
-            result.errorMessage, result.responseTimeMs);
-      } else if (!prevAlive && currAlive) {
-        log.info("RECOVER ▶ {}({}:{})", b.getCompanyName(), ip, port);
+            r.target().branchName(), r.target().ip(), r.target().port(), r.error(), r.responseTimeMs());
+      } else {
+        log.info("RECOVER ▶ {}({}:{})", r.target().branchName(), r.target().ip(), r.target().port());
       }
-
-      branchRepo.save(b);
+      changed.add(new Object[]{ currAlive, ts, prevAlive ? ts : null, seq });
+      knownAlive.put(seq, currAlive);
     }
-  }
 
-  /** 내 호스트에 바인딩된 IPv4 주소 전부 수집 */
-  private Set<String> detectLocalIpv4Addresses() {
-    Set<String> ips = new HashSet<>();
-    try {
-      for (NetworkInterface nif : Collections.list(NetworkInterface.getNetworkInterfaces())) {
-        if (nif.isLoopback() || !nif.isUp()) continue;
-        for (InetAddress addr : Collections.list(nif.getInetAddresses())) {
-          if (addr instanceof Inet4Address) {
-            ips.add(addr.getHostAddress());
-          }
-        }
-      }
-    } catch (SocketException e) {
-      log.error("로컬 IP 감지 실패", e);
+    // 상태 변경 행만 batch 갱신, 나머지는 점검 시각만 한 번에
+    if (!changed.isEmpty()) {
+      jdbc.batchUpdate(
+          "UPDATE tbranch SET is_alive = ?, last_health_check = ?, "
+              + "last_downtime = COALESCE(?, last_downtime) WHERE branch_seq = ?",
+          changed);
     }
-    return ips;
-  }
-
-  private PingResult socketPing(String ip, int port) {
-    long start = System.currentTimeMillis();
-    try (Socket s = new Socket()) {
-      s.connect(new InetSocketAddress(ip, port), TIMEOUT_MS);
-      return new PingResult(true, (int)(System.currentTimeMillis() - start), null);
-    } catch (IOException e) {
-      return new PingResult(false, (int)(System.currentTimeMillis() - start),
-          e.getClass().getSimpleName() + ":" + e.getMessage());
+    if (!unchanged.isEmpty()) {
+      String in = String.join(",", Collections.nCopies(unchanged.size(), "?"));
+      List<Object> args = new ArrayList<>(unchanged.size() + 1);
+      args.add(Timestamp.valueOf(apps.get(0).checkedAt()));
+      args.addAll(unchanged);
+      jdbc.update("UPDATE tbranch SET last_health_check = ? WHERE branch_seq IN (" + in + ")", args.toArray());
     }
   }
 
-  private PingResult actuatorHealthCheck(String ip, String port) {
-    String url = "http://" + ip + ":" + port + "/actuator/health";
-    long start = System.currentTimeMillis();
-    try {
-      HttpURLConnection c = (HttpURLConnection) new URL(url).openConnection();
-      c.setRequestMethod("GET");
-      c.setConnectTimeout(TIMEOUT_MS);
-      c.setReadTimeout(TIMEOUT_MS);
-      int code = c.getResponseCode();
-      c.disconnect();
-      return new PingResult(code == 200,
-          (int)(System.currentTimeMillis() - start),
-          code == 200 ? null : "HTTP " + code);
-    } catch (IOException e) {
-      return new PingResult(false, (int)(System.currentTimeMillis() - start),
-          e.getClass().getSimpleName() + ":" + e.getMessage());
-    }
-  }
-
-  private static class PingResult {
-    final boolean alive;
-    final Integer responseTimeMs;
-    final String  errorMessage;
-    PingResult(boolean a, Integer rt, String err) {
-      this.alive = a; this.responseTimeMs = rt; this.errorMessage = err;
+  private void reloadKnown() {
+    for (TbranchEntity b : branchRepo.findAll()) {
+      knownAlive.put(b.getBranchSeq(), Boolean.TRUE.equals(b.getIsAlive()));
     }
   }
 }
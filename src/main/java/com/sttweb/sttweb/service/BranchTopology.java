@@ -0,0 +1,213 @@
+// src/main/java/com/sttweb/sttweb/service/BranchTopology.java
+package com.sttweb.sttweb.service;
+
+import com.sttweb.sttweb.entity.TbranchEntity;
+import com.sttweb.sttweb.event.BranchChangedEvent;
+import com.sttweb.sttweb.repository.TbranchRepository;
+import com.sttweb.sttweb.scheduler.SchedulerLanes;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 지점/서버 토폴로지 메모리 스냅샷.
+ * - 로컬 NIC IPv4 목록
+ * - tbranch 전체 (branchSeq / (ip,port) / p_ip / pb_ip 인덱스)
+ * 지점 변경 이벤트와 주기 타이머로 통째로 교체하므로 요청 경로에서는 NIC 조회/DB 조회가 없다.
+ * 반환되는 엔티티는 스냅샷 공유 객체이므로 수정하지 말 것.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BranchTopology {
+
+  private final TbranchRepository repo;
+
+  private volatile Snapshot snapshot;
+
+  private record Snapshot(
+      Set<String> localIps,
+      String localPrivateIp,
+      Map<Integer, TbranchEntity> bySeq,
+      Map<String, List<TbranchEntity>> byIpPort,
+      Map<String, TbranchEntity> byPIp,
+      Map<String, TbranchEntity> byPbIp,
+      TbranchEntity hq
+  ) {}
+
+  // ───────── refresh ─────────
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBranchChanged(BranchChangedEvent e) {
+    refresh();
+  }
+
+  @Scheduled(fixedDelayString = "${branch.topology.refresh-ms:300000}",
+      initialDelayString = "${branch.topology.refresh-ms:300000}", scheduler = SchedulerLanes.MONITORING)
+  public void scheduledRefresh() {
+    refresh();
+  }
+
+  public synchronized void refresh() {
+    Set<String> localIps = detectLocalIpv4();
+    String privateIp = localIps.stream().filter(BranchTopology::isSiteLocal).findFirst().orElse(null);
+
+    Map<Integer, TbranchEntity> bySeq = new LinkedHashMap<>();
+    Map<String, List<TbranchEntity>> byIpPort = new LinkedHashMap<>();
+    Map<String, TbranchEntity> byPIp = new LinkedHashMap<>();
+    Map<String, TbranchEntity> byPbIp = new LinkedHashMap<>();
+    TbranchEntity hq = null;
+
+    for (TbranchEntity b : repo.findAll()) {
+      bySeq.put(b.getBranchSeq(), b);
+      String pIp = trim(b.getPIp());
+      String pbIp = trim(b.getPbIp());
+      if (pIp != null) {
+        byPIp.putIfAbsent(pIp, b);
+        if (trim(b.getPPort()) != null)
+          byIpPort.computeIfAbsent(key(pIp, b.getPPort()), k -> new ArrayList<>()).add(b);
+      }
+      if (pbIp != null) {
+        byPbIp.putIfAbsent(pbIp, b);
+        if (trim(b.getPbPort()) != null) {
+          List<TbranchEntity> l = byIpPort.computeIfAbsent(key(pbIp, b.getPbPort()), k -> new ArrayList<>());
+          if (!l.contains(b)) l.add(b);
+        }
+      }
+      if (hq == null && "0".equals(b.getHqYn())) hq = b;
+    }
+
+    byIpPort.replaceAll((k, v) -> List.copyOf(v));
+    snapshot = new Snapshot(Collections.unmodifiableSet(localIps), privateIp,
+        Collections.unmodifiableMap(bySeq), Collections.unmodifiableMap(byIpPort),
+        Collections.unmodifiableMap(byPIp), Collections.unmodifiableMap(byPbIp), hq);
+    log.debug("[BranchTopology] refreshed: branches={}, localIps={}", bySeq.size(), localIps);
+  }
+
+  private Snapshot snap() {
+    Snapshot s = snapshot;
+    if (s == null) {
+      refresh();
+      s = snapshot;
+    }
+    return s;
+  }
+
+  // ───────── 조회 ─────────
+
+  /** 루프백 제외 로컬 IPv4 */
+  public Set<String> localIps() {
+    return snap().localIps();
+  }
+
+  /** 사설 대역 로컬 IPv4 (없으면 null) */
+  public String localPrivateIp() {
+    return snap().localPrivateIp();
+  }
+
+  /** 전체 지점 (branch_seq 순) */
+  public Collection<TbranchEntity> all() {
+    return snap().bySeq().values();
+  }
+
+  public TbranchEntity bySeq(Integer branchSeq) {
+    return branchSeq == null ? null : snap().bySeq().get(branchSeq);
+  }
+
+  public Optional<TbranchEntity> byPIp(String ip) {
+    return Optional.ofNullable(ip == null ? null : snap().byPIp().get(ip.trim()));
+  }
+
+  public Optional<TbranchEntity> byPbIp(String ip) {
+    return Optional.ofNullable(ip == null ? null : snap().byPbIp().get(ip.trim()));
+  }
+
+  /** (p_ip,p_port) 또는 (pb_ip,pb_port) 일치 지점 — TbranchRepository.findByIpAndPort 와 동일 조건 */
+  public List<TbranchEntity> byIpAndPort(String ip, String port) {
+    if (ip == null || port == null) return List.of();
+    return snap().byIpPort().getOrDefault(key(ip, port), List.of());
+  }
+
+  /** 본사(hqYn=0) 지점 */
+  public Optional<TbranchEntity> hq() {
+    return Optional.ofNullable(snap().hq());
+  }
+
+  /** 이 서버(로컬 NIC IP + 서비스 포트)에 해당하는 지점 */
+  public Optional<TbranchEntity> localBranch(int serverPort) {
+    Snapshot s = snap();
+    String port = String.valueOf(serverPort);
+    for (TbranchEntity b : s.bySeq().values()) {
+      String pip = trim(b.getPIp());
+      String pbip = trim(b.getPbIp());
+      if ((pip != null && s.localIps().contains(pip) && port.equals(trim(b.getPPort())))
+          || (pbip != null && s.localIps().contains(pbip) && port.equals(trim(b.getPbPort())))) {
+        return Optional.of(b);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** 로컬 NIC IP 중 지점(p_ip/pb_ip)으로 등록된 첫 IP */
+  public String localBranchIp() {
+    Snapshot s = snap();
+    return s.localIps().stream()
+        .filter(ip -> s.byPIp().containsKey(ip) || s.byPbIp().containsKey(ip))
+        .findFirst()
+        .orElse(null);
+  }
+
+  // ───────── helpers ─────────
+
+  private static String key(String ip, String port) {
+    return ip.trim() + ":" + port.trim();
+  }
+
+  private static String trim(String s) {
+    if (s == null) return null;
+    String t = s.trim();
+    return t.isEmpty() ? null : t;
+  }
+
+  private static boolean isSiteLocal(String ip) {
+    try {
+      return InetAddress.getByName(ip).isSiteLocalAddress();
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  private static Set<String> detectLocalIpv4() {
+    Set<String> ips = new LinkedHashSet<>();
+    try {
+      Enumeration<NetworkInterface> nics = NetworkInterface.getNetworkInterfaces();
+      while (nics.hasMoreElements()) {
+        NetworkInterface ni = nics.nextElement();
+        if (!ni.isUp() || ni.isLoopback()) continue;
+        Enumeration<InetAddress> addrs = ni.getInetAddresses();
+        while (addrs.hasMoreElements()) {
+          InetAddress a = addrs.nextElement();
+          if (a instanceof Inet4Address && !a.isLoopbackAddress()) ips.add(a.getHostAddress());
+        }
+      }
+    } catch (Exception e) {
+      log.warn("[BranchTopology] NIC 조회 실패: {}", e.getMessage());
+    }
+    return ips;
+  }
+}
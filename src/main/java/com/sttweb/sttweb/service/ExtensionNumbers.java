@@ -0,0 +1,20 @@
+// src/main/java/com/sttweb/sttweb/service/ExtensionNumbers.java
+package com.sttweb.sttweb.service;
+
+/**
+ * 내선번호 정규화 공통 헬퍼
+ */
+public final class ExtensionNumbers {
+
+  private ExtensionNumbers() {}
+
+  /** 숫자만 남겨 4자리로 (3자리 → 앞에 0, 5자리 이상 → 뒤 4자리). 그 외는 null */
+  public static String normalizeToFourDigit(String raw) {
+    if (raw == null) return null;
+    String d = raw.replaceAll("[^0-9]", "");
+    if (d.length() == 4) return d;
+    if (d.length() == 3) return "0" + d;
+    if (d.length() > 4) return d.substring(d.length() - 4);
+    return null;
+  }
+}
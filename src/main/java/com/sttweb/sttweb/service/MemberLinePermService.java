@@ -12,9 +12,13 @@ import com.sttweb.sttweb.repository.TmemberRepository;
 import com.sttweb.sttweb.repository.TmemberRoleRepository;
 import com.sttweb.sttweb.repository.TrecordTelListRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -95,7 +99,7 @@ public class MemberLinePermService {
    */
   @Transactional(readOnly = true)
   public List<MemberLinePermDto> getAllMappings() {
-    return permRepository.findAll().stream()
+    return permRepository.findAllWithDetail().stream()
         .map(this::entityToDto)
         .collect(Collectors.toList());
   }
@@ -105,7 +109,7 @@ public class MemberLinePermService {
    */
   @Transactional(readOnly = true)
   public List<MemberLinePermDto> getPermissionsByMember(Integer memberSeq) {
-    return permRepository.findByMemberMemberSeq(memberSeq).stream()
+    return permRepository.findWithDetailByMemberSeq(memberSeq).stream()
         .map(this::entityToDto)
         .collect(Collectors.toList());
   }
@@ -115,7 +119,7 @@ public class MemberLinePermService {
    */
   @Transactional(readOnly = true)
   public List<MemberLinePermDto> getPermissionsByLine(Integer lineId) {
-    return permRepository.findByLineId(lineId).stream()
+    return permRepository.findWithDetailByLineId(lineId).stream()
         .map(this::entityToDto)
         .collect(Collectors.toList());
   }
@@ -180,7 +184,7 @@ public class MemberLinePermService {
   public List<MemberLinePermDto> getAllLinesWithPerm(Integer memberSeq) {
     // (1) 해당 회원이 이미 부여받은 매핑 목록
     List<TmemberLinePermEntity> existingPerms =
-        permRepository.findByMemberMemberSeq(memberSeq);
+        permRepository.findWithDetailByMemberSeq(memberSeq);
 
     // (2) lineId → 매핑 엔티티 맵핑
     Map<Integer, TmemberLinePermEntity> permByLineId = existingPerms.stream()
@@ -190,7 +194,7 @@ public class MemberLinePermService {
         ));
 
     // (3) 전체 회선 목록
-    List<TrecordTelListEntity> allLines = telListRepository.findAll();
+    List<TrecordTelListEntity> allLines = telListRepository.findByRemovedAtIsNull();
 
     // (4) “권한 조회를 요청한” 회원 정보 (회원이 없을 수 있으므로 null 체크)
     TmemberEntity requestMemberEntity = memberRepository.findById(memberSeq).orElse(null);
@@ -249,17 +253,140 @@ public class MemberLinePermService {
   }
 
   /**
-   * 6) 모든 회원 × 모든 회선 권한 조회
+   * 6) 모든 회원 × 모든 회선 권한 매트릭스.
+   * 회원(페이지) / 전체 회선 / 매핑(회선·권한 fetch join) 3개 쿼리로 읽고, 행 DTO 는 forEachRow 에서 그때그때 만든다.
+   * page 가 null 이면 전체 회원.
    */
   @Transactional(readOnly = true)
-  public List<MemberLinePermDto> getAllMembersAllLinesPerm() {
-    List<MemberLinePermDto> combined = new ArrayList<>();
-    List<TmemberEntity>     allMembers = memberRepository.findAll();
+  public PermMatrix loadPermMatrix(Integer page, int size) {
+    List<TmemberEntity> members;
+    long totalMembers;
+    if (page == null) {
+      members = memberRepository.findAll(Sort.by("memberSeq"));
+      totalMembers = members.size();
+    } else {
+      Page<TmemberEntity> p = memberRepository.findAll(
+          PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 500), Sort.by("memberSeq")));
+      members = p.getContent();
+      totalMembers = p.getTotalElements();
+    }
+    List<TrecordTelListEntity> lines = telListRepository.findByRemovedAtIsNull(Sort.by("id"));
+
+    List<TmemberLinePermEntity> perms;
+    if (members.isEmpty() || lines.isEmpty()) {
+      perms = List.of();
+    } else if (page == null) {
+      perms = permRepository.findMatrixAll();
+    } else {
+      perms = permRepository.findMatrixByMemberSeqIn(
+          members.stream().map(TmemberEntity::getMemberSeq).toList());
+    }
+    return new PermMatrix(members, lines, perms, totalMembers);
+  }
+
+  /** 행 1개씩 받아 쓰는 쪽 (스트리밍 응답) */
+  @FunctionalInterface
+  public interface RowSink {
+    void accept(MemberLinePermDto row) throws IOException;
+  }
+
+  /**
+   * 회원 × 회선 권한 매트릭스 (DB 조회 끝난 상태, 트랜잭션 밖에서 사용 가능).
+   * 회원/회선은 PK 오름차순 int[] 로 index 를 잡고, 회원별 매핑은 회선 index 오름차순 배열로 들고 있다가
+   * 회선 순회와 나란히 걸어가며 행을 만든다 (해시 조회 없음).
+   */
+  public static final class PermMatrix {
+
+    private static final int[] NO_IDX = new int[0];
+    private static final TmemberLinePermEntity[] NO_PERM = new TmemberLinePermEntity[0];
+
+    private final List<TmemberEntity>        members;
+    private final List<TrecordTelListEntity> lines;
+    private final int[][]                    lineIdxByMember;
+    private final TmemberLinePermEntity[][]  permsByMember;
+    private final long                       totalMembers;
+
+    PermMatrix(List<TmemberEntity> members, List<TrecordTelListEntity> lines,
+               List<TmemberLinePermEntity> perms, long totalMembers) {
+      this.members = members;
+      this.lines = lines;
+      this.totalMembers = totalMembers;
+
+      int[] memberSeqs = members.stream().mapToInt(TmemberEntity::getMemberSeq).toArray();
+      int[] lineIds    = lines.stream().mapToInt(TrecordTelListEntity::getId).toArray();
+
+      // 회원별 개수 → 배열 할당 → 채우기 (perms 는 회원, 회선 id 순으로 정렬되어 옴)
+      int[] counts = new int[memberSeqs.length];
+      int[] mIdx = new int[perms.size()];
+      int[] lIdx = new int[perms.size()];
+      for (int i = 0; i < perms.size(); i++) {
+        TmemberLinePermEntity p = perms.get(i);
+        mIdx[i] = Arrays.binarySearch(memberSeqs, p.getMember().getMemberSeq());
+        lIdx[i] = Arrays.binarySearch(lineIds, p.getLine().getId());
+        if (mIdx[i] >= 0 && lIdx[i] >= 0) counts[mIdx[i]]++;
+      }
+      lineIdxByMember = new int[memberSeqs.length][];
+      permsByMember = new TmemberLinePermEntity[memberSeqs.length][];
+      for (int m = 0; m < memberSeqs.length; m++) {
+        lineIdxByMember[m] = counts[m] == 0 ? NO_IDX : new int[counts[m]];
+        permsByMember[m] = counts[m] == 0 ? NO_PERM : new TmemberLinePermEntity[counts[m]];
+        counts[m] = 0;
+      }
+      for (int i = 0; i < perms.size(); i++) {
+        int m = mIdx[i];
+        if (m < 0 || lIdx[i] < 0) continue;
+        lineIdxByMember[m][counts[m]] = lIdx[i];
+        permsByMember[m][counts[m]++] = perms.get(i);
+      }
+    }
+
+    public long totalMembers() {
+      return totalMembers;
+    }
 
-    for (TmemberEntity member : allMembers) {
-      Integer memberSeq = member.getMemberSeq();
-      combined.addAll(getAllLinesWithPerm(memberSeq));
+    public int memberCount() {
+      return members.size();
+    }
+
+    public int lineCount() {
+      return lines.size();
+    }
+
+    /** 회원 순 → 회선 순으로 전체 행 전달 (매핑 없으면 NONE 행) */
+    public void forEachRow(RowSink sink) throws IOException {
+      for (int m = 0; m < members.size(); m++) {
+        TmemberEntity member = members.get(m);
+        String userId = member.getUserId() == null ? "" : member.getUserId();
+        int[] idx = lineIdxByMember[m];
+        TmemberLinePermEntity[] perms = permsByMember[m];
+        int cursor = 0;
+
+        for (int l = 0; l < lines.size(); l++) {
+          TrecordTelListEntity line = lines.get(l);
+          MemberLinePermDto.MemberLinePermDtoBuilder b = MemberLinePermDto.builder()
+              .memberSeq     (member.getMemberSeq())
+              .userId        (userId)
+              .userName      (userId)
+              .branchSeq     (member.getBranchSeq())
+              .lineId        (line.getId())
+              .callNum       (line.getCallNum())
+              .callOwnerName (line.getUserName() == null ? "" : line.getUserName());
+
+          if (cursor < idx.length && idx[cursor] == l) {
+            TmemberLinePermEntity perm = perms[cursor++];
+            b.roleSeq        (perm.getRole().getRoleSeq())
+             .roleCode       (perm.getRole().getRoleCode())
+             .roleDescription(perm.getRole().getDescription())
+             .regtime        (perm.getRegtime());
+          } else {
+            b.roleSeq        (1)                    // NONE
+             .roleCode       ("NONE")
+             .roleDescription("권한 없음")
+             .regtime        (null);
+          }
+          sink.accept(b.build());
+        }
+      }
     }
-    return combined;
   }
 }
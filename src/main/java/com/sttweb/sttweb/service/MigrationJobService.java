@@ -0,0 +1,492 @@
+// src/main/java/com/sttweb/sttweb/service/MigrationJobService.java
+package com.sttweb.sttweb.service;
+
+import com.sttweb.sttweb.config.SchemaScripts;
+import com.sttweb.sttweb.service.SqliteMigrationService.TableResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.File;
+import java.net.InetAddress;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * SQLite 마이그레이션 비동기 작업.
+ * 업로드 요청은 작업 등록 후 바로 반환하고, 복사는 백그라운드에서 한 번에 하나씩.
+ * 진행 상황은 메모리 + tmigration_job(주기적 저장) → 새로고침/재시작 후에도 조회 가능.
+ * 작업 행에는 실행 인스턴스(owner_id)와 heartbeat 를 남겨, 재시작 시 자기 작업이나 lease 가 끊긴 작업만 정리한다.
+ * 테이블은 db/migration-job.sql 로 만든다. 없으면 작업은 그대로 돌고, 끝난 작업은 최근 몇 건만 메모리에 남는다
+ * (재시작 후 조회 불가).
+ */
+@Slf4j
+@Service
+public class MigrationJobService {
+
+  public enum Status { QUEUED, RUNNING, DONE, FAILED, CANCELLED }
+
+  private static final String TABLE = "tmigration_job";
+  private static final int LOG_TAIL_LINES = 200;
+  /** 테이블이 없을 때 메모리에 남겨 두는 끝난 작업 수 */
+  private static final int KEEP_FINISHED = 20;
+
+  /** 작업 상태 스냅샷 */
+  @Getter
+  @Builder
+  public static class JobStatus {
+    private final String        jobId;
+    private final String        sourceName;
+    private final Status        status;
+    private final String        operatorId;
+    private final int           tablesTotal;
+    private final int           tablesDone;
+    private final long          rowsEstimated;
+    private final long          rowsCopied;
+    private final long          rowsPerSec;
+    private final Long          etaSec;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+    private final String        error;
+  }
+
+  /** 진행 중 작업 (메모리) */
+  private final class Job implements SqliteMigrationService.Listener {
+    final String jobId = UUID.randomUUID().toString();
+    final File file;
+    final String sourceName;
+    final boolean restart;
+    final String operatorId;
+    final LocalDateTime createdAt = LocalDateTime.now();
+    final Map<String, Long> estimated = new ConcurrentHashMap<>();
+    final Map<String, Long> copied = new ConcurrentHashMap<>();
+    final Deque<String> tail = new ArrayDeque<>();
+    final AtomicLong logSeq = new AtomicLong();
+    volatile int tablesDone;
+    volatile Status status = Status.QUEUED;
+    volatile boolean cancelRequested;
+    volatile LocalDateTime startedAt;
+    volatile LocalDateTime finishedAt;
+    volatile String error;
+    volatile long lastSavedAt;
+    volatile Future<?> future;
+
+    Job(File file, String sourceName, boolean restart, String operatorId) {
+      this.file = file;
+      this.sourceName = sourceName;
+      this.restart = restart;
+      this.operatorId = operatorId;
+    }
+
+    @Override
+    public void log(String line) {
+      synchronized (tail) {
+        tail.addLast(line);
+        while (tail.size() > LOG_TAIL_LINES) tail.removeFirst();
+        logSeq.incrementAndGet();
+      }
+    }
+
+    @Override
+    public void planned(String table, long estimatedRows) {
+      estimated.put(table, estimatedRows);
+    }
+
+    @Override
+    public void rows(String table, long n) {
+      copied.put(table, n);
+      saveThrottled(this);
+    }
+
+    @Override
+    public synchronized void tableDone(String table, boolean success) {
+      tablesDone++;
+      saveThrottled(this);
+    }
+
+    @Override
+    public boolean cancelled() {
+      return cancelRequested;
+    }
+
+    long rowsCopied() {
+      return copied.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /** seq 이후 추가된 로그 줄 (tail 밖으로 밀려난 줄은 생략) */
+    List<String> linesSince(long seq) {
+      synchronized (tail) {
+        int n = (int) Math.min(tail.size(), Math.max(0, logSeq.get() - seq));
+        List<String> all = new ArrayList<>(tail);
+        return all.subList(all.size() - n, all.size());
+      }
+    }
+
+    String tailText() {
+      synchronized (tail) {
+        return String.join("\n", tail);
+      }
+    }
+
+    JobStatus snapshot() {
+      long rows = rowsCopied();
+      long est = estimated.values().stream().mapToLong(Long::longValue).sum();
+      LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+      long ms = startedAt == null ? 0 : Duration.between(startedAt, end).toMillis();
+      long rps = ms <= 0 ? 0 : rows * 1000 / ms;
+      Long eta = status != Status.RUNNING || rps <= 0 ? null : Math.max(0, est - rows) / rps;
+      return JobStatus.builder()
+          .jobId(jobId).sourceName(sourceName).status(status).operatorId(operatorId)
+          .tablesTotal(estimated.size()).tablesDone(tablesDone)
+          .rowsEstimated(est).rowsCopied(rows).rowsPerSec(rps).etaSec(eta)
+          .createdAt(createdAt).startedAt(startedAt).finishedAt(finishedAt).error(error)
+          .build();
+    }
+  }
+
+  private final SqliteMigrationService migrationService;
+  private final JdbcTemplate jdbc;
+  private final long saveIntervalMs;
+  private final long sseIntervalMs;
+  private final long leaseMs;
+  private final String instanceId;
+  private final SchemaScripts schema;
+  private volatile boolean ready;
+  private final Map<String, Job> active = new ConcurrentHashMap<>();
+  /** 테이블이 없을 때만 사용 (오래된 것부터 제거) */
+  private final Map<String, Job> finished = Collections.synchronizedMap(new LinkedHashMap<>() {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Job> eldest) {
+      return size() > KEEP_FINISHED;
+    }
+  });
+  private final ScheduledExecutorService sseTicker = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread t = new Thread(r, "migration-sse");
+    t.setDaemon(true);
+    return t;
+  });
+  private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+    Thread t = new Thread(r, "migration-job");
+    t.setDaemon(true);
+    return t;
+  });
+
+  public MigrationJobService(
+      SqliteMigrationService migrationService,
+      DataSource dataSource,
+      SchemaScripts schema,
+      @Value("${migration.job.save-interval-ms:2000}") long saveIntervalMs,
+      @Value("${migration.job.sse-interval-ms:1000}") long sseIntervalMs,
+      @Value("${migration.job.lease-ms:60000}") long leaseMs,
+      @Value("${migration.job.instance-id:}") String instanceId,
+      @Value("${server.port:8080}") int serverPort
+  ) {
+    this.migrationService = migrationService;
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.schema = schema;
+    this.saveIntervalMs = Math.max(200, saveIntervalMs);
+    this.sseIntervalMs = Math.max(200, sseIntervalMs);
+    this.leaseMs = Math.max(3000, leaseMs);
+    if (instanceId == null || instanceId.isBlank()) {
+      String host;
+      try {
+        host = InetAddress.getLocalHost().getHostName();
+      } catch (Exception e) {
+        host = "unknown";
+      }
+      instanceId = host + ":" + serverPort;
+    }
+    this.instanceId = instanceId.length() > 128 ? instanceId.substring(0, 128) : instanceId;
+  }
+
+  @PostConstruct
+  void init() {
+    ready = schema.ensure("migration-job.sql", Map.of(TABLE, List.of(
+        "job_id", "status", "rows_copied", "log_tail", "owner_id", "heartbeat_at")));
+    // 이 인스턴스가 돌리다 끝내지 못한 작업 + heartbeat 가 끊긴 작업 정리 (다른 인스턴스의 진행 중 작업은 건드리지 않음)
+    int n = ready ? failOrphans(true) : 0;
+    if (n > 0) log.warn("[Migration] 중단된 작업 {}건을 FAILED 로 정리 (instance {})", n, instanceId);
+    long beat = Math.max(1000, leaseMs / 3);
+    sseTicker.scheduleWithFixedDelay(this::heartbeat, beat, beat, TimeUnit.MILLISECONDS);
+  }
+
+  /** 진행 중 작업 heartbeat 갱신 + 다른 인스턴스가 남긴 lease 만료 작업 정리 */
+  private void heartbeat() {
+    if (!ready) return;
+    try {
+      active.values().forEach(this::beat);
+      int n = failOrphans(false);
+      if (n > 0) log.warn("[Migration] heartbeat 가 끊긴 작업 {}건을 FAILED 로 정리", n);
+    } catch (Exception e) {
+      log.warn("[Migration] heartbeat 실패: {}", e.getMessage());
+    }
+  }
+
+  private int failOrphans(boolean includeOwn) {
+    Timestamp staleBefore = new Timestamp(System.currentTimeMillis() - leaseMs);
+    String ownerCond = includeOwn ? "owner_id = ? OR " : "";
+    List<Object> args = new ArrayList<>(List.of(Status.FAILED.name(), Status.QUEUED.name(), Status.RUNNING.name()));
+    if (includeOwn) args.add(instanceId);
+    args.add(staleBefore);
+    return jdbc.update("UPDATE " + TABLE + " SET status = ?, finished_at = NOW(), "
+            + "error = '서버 재시작으로 중단됨 (같은 파일로 다시 실행하면 이어서 복사)' WHERE status IN (?, ?) "
+            + "AND (" + ownerCond + "owner_id IS NULL OR heartbeat_at IS NULL OR heartbeat_at < ?)",
+        args.toArray());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    active.values().forEach(j -> j.cancelRequested = true);
+    runner.shutdownNow();
+    sseTicker.shutdownNow();
+  }
+
+  /** 작업 등록. file 은 작업이 끝나면 삭제된다 */
+  public JobStatus submit(File file, String sourceName, boolean restart, String operatorId) {
+    Job job = new Job(file, sourceName, restart, operatorId);
+    active.put(job.jobId, job);
+    save(job);
+    job.future = runner.submit(() -> run(job));
+    log.info("[Migration] 작업 등록 {} ({}, by {})", job.jobId, sourceName, operatorId);
+    return job.snapshot();
+  }
+
+  /** 취소 요청. 진행 중 배치까지는 commit 되고 체크포인트가 남으므로 재실행 시 이어서 복사 */
+  public JobStatus cancel(String jobId) {
+    Job job = active.get(jobId);
+    if (job == null) return status(jobId);
+    job.cancelRequested = true;
+    if (job.status == Status.QUEUED && job.future != null && job.future.cancel(false)) {
+      finish(job, Status.CANCELLED, null);
+    }
+    return job.snapshot();
+  }
+
+  /** 작업 상태 (진행 중이면 메모리, 아니면 DB). 없으면 null */
+  public JobStatus status(String jobId) {
+    Job job = active.get(jobId);
+    if (job == null && !ready) job = finished.get(jobId);
+    if (job != null) return job.snapshot();
+    if (!ready) return null;
+    List<JobStatus> rows = jdbc.query("SELECT * FROM " + TABLE + " WHERE job_id = ?", STATUS_MAPPER, jobId);
+    return rows.isEmpty() ? null : rows.get(0);
+  }
+
+  /** 로그 tail (진행 중이면 메모리, 아니면 DB) */
+  public String logTail(String jobId) {
+    Job job = active.get(jobId);
+    if (job == null && !ready) job = finished.get(jobId);
+    if (job != null) return job.tailText();
+    if (!ready) return "";
+    List<String> rows = jdbc.queryForList("SELECT log_tail FROM " + TABLE + " WHERE job_id = ?", String.class, jobId);
+    return rows.isEmpty() || rows.get(0) == null ? "" : rows.get(0);
+  }
+
+  /** 로그 변경 감지용 카운터 (진행 중 작업만, 아니면 -1) */
+  public long logSeq(String jobId) {
+    Job job = active.get(jobId);
+    return job == null ? -1 : job.logSeq.get();
+  }
+
+  /**
+   * 진행 상황 SSE: 1초마다 "progress"(상태 스냅샷), 새 로그가 있으면 "log"(추가된 줄).
+   * 작업이 끝나면 마지막 상태를 보내고 종료.
+   */
+  public SseEmitter subscribe(String jobId) {
+    JobStatus first = status(jobId);
+    if (first == null) return null;
+    SseEmitter emitter = new SseEmitter(0L);
+    long[] seen = { 0 };
+    ScheduledFuture<?>[] tick = new ScheduledFuture<?>[1];
+    Runnable push = () -> {
+      try {
+        Job job = active.get(jobId);
+        if (job == null) {
+          emitter.send(SseEmitter.event().name("log").data(logTail(jobId)));
+          emitter.send(SseEmitter.event().name("progress").data(status(jobId)));
+          emitter.complete();
+          if (tick[0] != null) tick[0].cancel(false);
+          return;
+        }
+        long seq = job.logSeq.get();
+        if (seq != seen[0]) {
+          List<String> lines = job.linesSince(seen[0]);
+          seen[0] = seq;
+          if (!lines.isEmpty()) emitter.send(SseEmitter.event().name("log").data(String.join("\n", lines)));
+        }
+        emitter.send(SseEmitter.event().name("progress").data(job.snapshot()));
+      } catch (Exception e) {
+        // 클라이언트 연결 끊김
+        if (tick[0] != null) tick[0].cancel(false);
+        emitter.completeWithError(e);
+      }
+    };
+    tick[0] = sseTicker.scheduleWithFixedDelay(push, 0, sseIntervalMs, TimeUnit.MILLISECONDS);
+    emitter.onCompletion(() -> tick[0].cancel(false));
+    emitter.onTimeout(() -> tick[0].cancel(false));
+    return emitter;
+  }
+
+  public List<JobStatus> recent(int limit) {
+    int n = Math.max(1, Math.min(limit, 100));
+    if (!ready) {
+      List<Job> jobs = new ArrayList<>(active.values());
+      synchronized (finished) {
+        jobs.addAll(finished.values());
+      }
+      return jobs.stream().map(Job::snapshot)
+          .sorted(Comparator.comparing(JobStatus::getCreatedAt).reversed()).limit(n).toList();
+    }
+    List<JobStatus> rows = jdbc.query("SELECT * FROM " + TABLE + " ORDER BY created_at DESC LIMIT ?", STATUS_MAPPER, n);
+    List<JobStatus> out = new ArrayList<>(rows.size());
+    for (JobStatus r : rows) {
+      Job live = active.get(r.getJobId());
+      out.add(live != null ? live.snapshot() : r);
+    }
+    return out;
+  }
+
+  // ───────────────────────────── 실행 ─────────────────────────────
+
+  private void run(Job job) {
+    if (job.cancelRequested) {
+      finish(job, Status.CANCELLED, null);
+      return;
+    }
+    job.status = Status.RUNNING;
+    job.startedAt = LocalDateTime.now();
+    job.log("마이그레이션 시작! (파일: " + job.sourceName + ")");
+    save(job);
+    try {
+      List<TableResult> results = migrationService.migrate(job.file, job.restart, job);
+      long failed = results.stream().filter(r -> r.getError() != null).count();
+      JobStatus s = job.snapshot();
+      job.log("총 " + s.getRowsCopied() + "개 행, " + s.getRowsPerSec() + " rows/s");
+      if (failed > 0) {
+        finish(job, Status.FAILED, failed + "개 테이블 실패 — 같은 파일로 다시 실행하면 이어서 복사합니다.");
+      } else {
+        job.log("마이그레이션 완료! XAMPP를 재시작 해주세요.");
+        finish(job, Status.DONE, null);
+      }
+    } catch (CancellationException | InterruptedException e) {
+      job.log("취소됨 — 같은 파일로 다시 실행하면 이어서 복사합니다.");
+      finish(job, Status.CANCELLED, null);
+    } catch (Exception e) {
+      log.error("[Migration] 작업 실패 {}", job.jobId, e);
+      job.log("[마이그레이션 오류] " + e.getMessage());
+      finish(job, Status.FAILED, String.valueOf(e.getMessage()));
+    }
+  }
+
+  private void finish(Job job, Status status, String error) {
+    job.status = status;
+    job.error = error;
+    job.finishedAt = LocalDateTime.now();
+    save(job);
+    if (!ready) finished.put(job.jobId, job);
+    active.remove(job.jobId);
+    if (job.file != null && !job.file.delete()) log.warn("[Migration] 임시 파일 삭제 실패: {}", job.file);
+  }
+
+  private void saveThrottled(Job job) {
+    long now = System.currentTimeMillis();
+    if (now - job.lastSavedAt < saveIntervalMs) return;
+    job.lastSavedAt = now;
+    beat(job);
+  }
+
+  /** DB 반영 (실패는 작업 진행에 영향 주지 않음) */
+  private void save(Job job) {
+    if (!ready) return;
+    JobStatus s = job.snapshot();
+    String err = s.getError() == null ? null : s.getError().substring(0, Math.min(500, s.getError().length()));
+    try {
+      jdbc.update("INSERT INTO " + TABLE + " (job_id, source_name, status, operator_id, tables_total, tables_done, "
+              + "rows_estimated, rows_copied, rows_per_sec, created_at, started_at, finished_at, error, log_tail, "
+              + "owner_id, heartbeat_at) "
+              + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW()) "
+              + "ON DUPLICATE KEY UPDATE status = VALUES(status), tables_total = VALUES(tables_total), "
+              + "tables_done = VALUES(tables_done), rows_estimated = VALUES(rows_estimated), "
+              + "rows_copied = VALUES(rows_copied), rows_per_sec = VALUES(rows_per_sec), "
+              + "started_at = VALUES(started_at), finished_at = VALUES(finished_at), error = VALUES(error), "
+              + "log_tail = VALUES(log_tail), heartbeat_at = NOW()",
+          s.getJobId(), s.getSourceName(), s.getStatus().name(), s.getOperatorId(), s.getTablesTotal(),
+          s.getTablesDone(), s.getRowsEstimated(), s.getRowsCopied(), s.getRowsPerSec(), ts(s.getCreatedAt()),
+          ts(s.getStartedAt()), ts(s.getFinishedAt()), err, job.tailText(), instanceId);
+    } catch (Exception e) {
+      log.warn("[Migration] 작업 상태 저장 실패 {}: {}", job.jobId, e.getMessage());
+    }
+  }
+
+  /**
+   * 진행 상황 갱신 (heartbeat, 복사 스레드의 주기 저장). 다른 스레드의 finish() 와 겹칠 수 있으므로 이미 끝난 행은 건드리지 않는다
+   * (조건부 UPDATE — 종료 직전 스냅샷이 늦게 도착해도 DONE/FAILED/CANCELLED 가 RUNNING 으로 되돌아가지 않음).
+   * 상태 전이(QUEUED → RUNNING → 종료)는 save() 로만 기록하고 여기서는 status 를 쓰지 않는다.
+   */
+  private void beat(Job job) {
+    if (!ready) return;
+    JobStatus s = job.snapshot();
+    if (s.getStatus() != Status.QUEUED && s.getStatus() != Status.RUNNING) return;
+    try {
+      jdbc.update("UPDATE " + TABLE + " SET tables_total = ?, tables_done = ?, rows_estimated = ?, "
+              + "rows_copied = ?, rows_per_sec = ?, started_at = ?, log_tail = ?, heartbeat_at = NOW() "
+              + "WHERE job_id = ? AND status NOT IN (?, ?, ?)",
+          s.getTablesTotal(), s.getTablesDone(), s.getRowsEstimated(), s.getRowsCopied(),
+          s.getRowsPerSec(), ts(s.getStartedAt()), job.tailText(), s.getJobId(),
+          Status.DONE.name(), Status.FAILED.name(), Status.CANCELLED.name());
+    } catch (Exception e) {
+      log.warn("[Migration] 진행 상황 저장 실패 {}: {}", job.jobId, e.getMessage());
+    }
+  }
+
+  private static Timestamp ts(LocalDateTime t) {
+    return t == null ? null : Timestamp.valueOf(t);
+  }
+
+  private static LocalDateTime ldt(Timestamp t) {
+    return t == null ? null : t.toLocalDateTime();
+  }
+
+  private static final RowMapper<JobStatus> STATUS_MAPPER = (rs, i) -> JobStatus.builder()
+      .jobId(rs.getString("job_id"))
+      .sourceName(rs.getString("source_name"))
+      .status(Status.valueOf(rs.getString("status")))
+      .operatorId(rs.getString("operator_id"))
+      .tablesTotal(rs.getInt("tables_total"))
+      .tablesDone(rs.getInt("tables_done"))
+      .rowsEstimated(rs.getLong("rows_estimated"))
+      .rowsCopied(rs.getLong("rows_copied"))
+      .rowsPerSec(rs.getLong("rows_per_sec"))
+      .createdAt(ldt(rs.getTimestamp("created_at")))
+      .startedAt(ldt(rs.getTimestamp("started_at")))
+      .finishedAt(ldt(rs.getTimestamp("finished_at")))
+      .error(rs.getString("error"))
+      .build();
+}
@@ -0,0 +1,187 @@
+// src/main/java/com/sttweb/sttweb/service/OpenSearchGuard.java
+package com.sttweb.sttweb.service;
+
+import com.sttweb.sttweb.config.OpenSearchProperties;
+import com.sttweb.sttweb.exception.ServiceUnavailableException;
+import com.sttweb.sttweb.monitor.LatencyHistogram;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.OpenSearchStatusException;
+import org.springframework.stereotype.Component;
+
+/**
+ * OpenSearch 호출 보호: circuit breaker + bulkhead(동시 호출 제한) + 지연시간 히스토그램 + 조회 재시도.
+ * 차단/포화 시 즉시 503 을 던져 톰캣 요청 스레드가 검색에 묶이지 않게 한다.
+ * breaker 는 서버 장애(연결 실패/타임아웃, 5xx, 429)만 센다 — 잘못된 쿼리(4xx)나 없는 인덱스(404)는
+ * 서버가 정상 응답한 것이므로 한 사용자의 잘못된 검색이 전체 검색을 막지 않는다.
+ */
+@Slf4j
+@Component
+public class OpenSearchGuard {
+
+  @FunctionalInterface
+  public interface SearchCall<T> {
+    T call() throws Exception;
+  }
+
+  public enum State { CLOSED, OPEN, HALF_OPEN }
+
+  private final OpenSearchProperties props;
+  private final Semaphore bulkhead;
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private final AtomicLong openedAt = new AtomicLong(0);      // 0 = CLOSED
+  private final AtomicInteger halfOpenTrial = new AtomicInteger();
+
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder rejectedOpen = new LongAdder();
+  private final LongAdder rejectedBulkhead = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+
+  public OpenSearchGuard(OpenSearchProperties props) {
+    this.props = props;
+    this.bulkhead = new Semaphore(Math.max(props.getMaxConcurrentSearches(), 1));
+  }
+
+  /**
+   * 멱등 조회(search/get)용 보호 호출. 일시적 실패(연결 실패, 429/502/503/504)는 retry-max 회까지
+   * backoff(2배씩) 후 다시 시도한다. 읽기 타임아웃은 다시 해도 같은 시간만큼 요청 스레드를 잡으므로 재시도 안 함.
+   */
+  public <T> T executeRead(String op, SearchCall<T> call) throws Exception {
+    int attempt = 0;
+    while (true) {
+      try {
+        return execute(op, call);
+      } catch (ServiceUnavailableException e) {
+        throw e;                                   // 차단/포화는 바로 503
+      } catch (Exception e) {
+        if (attempt >= props.getRetryMax() || !retryable(e)) throw e;
+        long backoff = Math.max(0, props.getRetryBackoffMs()) << Math.min(attempt, 10);
+        attempt++;
+        retries.increment();
+        log.debug("[OpenSearch] {} 재시도 {}/{} ({}ms 후): {}", op, attempt, props.getRetryMax(), backoff, e.toString());
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+      }
+    }
+  }
+
+  /** 보호된 호출. 서버 장애로 볼 수 있는 예외만 실패로 집계하고 예외는 그대로 전파 */
+  public <T> T execute(String op, SearchCall<T> call) throws Exception {
+    boolean trial = acquirePermission(op);
+    boolean acquired;
+    try {
+      acquired = bulkhead.tryAcquire(props.getBulkheadWaitMs(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    if (!acquired) {
+      if (trial) halfOpenTrial.set(0);
+      rejectedBulkhead.increment();
+      throw new ServiceUnavailableException("검색 요청이 많습니다. 잠시 후 다시 시도하세요.");
+    }
+
+    long t0 = System.nanoTime();
+    calls.increment();
+    try {
+      T result = call.call();
+      onSuccess();
+      return result;
+    } catch (Exception e) {
+      if (countsAsFailure(e)) onFailure(op, e);
+      else onSuccess();                            // 서버는 응답함 (4xx 등)
+      throw e;
+    } finally {
+      latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0));
+      bulkhead.release();
+      if (trial) halfOpenTrial.set(0);
+    }
+  }
+
+  public State state() {
+    long opened = openedAt.get();
+    if (opened == 0) return State.CLOSED;
+    return System.currentTimeMillis() - opened >= props.getBreakerOpenMs() ? State.HALF_OPEN : State.OPEN;
+  }
+
+  public Map<String, Object> snapshot() {
+    Map<String, Object> m = new LinkedHashMap<>();
+    m.put("state", state().name());
+    m.put("consecutiveFailures", consecutiveFailures.get());
+    m.put("calls", calls.sum());
+    m.put("failures", failures.sum());
+    m.put("rejectedOpen", rejectedOpen.sum());
+    m.put("rejectedBulkhead", rejectedBulkhead.sum());
+    m.put("retries", retries.sum());
+    m.put("inFlight", Math.max(props.getMaxConcurrentSearches(), 1) - bulkhead.availablePermits());
+    m.put("latency", latency.snapshot());
+    return m;
+  }
+
+  // ───────── breaker ─────────
+
+  /** 연결 실패/타임아웃, 5xx, 429 만 서버 장애 */
+  static boolean countsAsFailure(Exception e) {
+    if (e instanceof IOException) return true;
+    if (e instanceof OpenSearchStatusException se) {
+      int code = se.status().getStatus();
+      return code >= 500 || code == 429;
+    }
+    return false;
+  }
+
+  /** 다시 시도해 볼 만한 실패: 연결 실패(읽기 타임아웃 제외), 429/502/503/504 */
+  static boolean retryable(Exception e) {
+    if (e instanceof SocketTimeoutException) return false;
+    if (e instanceof IOException) return true;
+    if (e instanceof OpenSearchStatusException se) {
+      int code = se.status().getStatus();
+      return code == 429 || code == 502 || code == 503 || code == 504;
+    }
+    return false;
+  }
+
+  /** @return HALF_OPEN 시험 호출이면 true */
+  private boolean acquirePermission(String op) {
+    switch (state()) {
+      case CLOSED:
+        return false;
+      case HALF_OPEN:
+        // 시험 호출은 1건만 통과
+        if (halfOpenTrial.compareAndSet(0, 1)) return true;
+        // fallthrough
+      default:
+        rejectedOpen.increment();
+        throw new ServiceUnavailableException("검색 서버 응답이 없어 일시적으로 차단되었습니다. (" + op + ")");
+    }
+  }
+
+  private void onSuccess() {
+    consecutiveFailures.set(0);
+    if (openedAt.getAndSet(0) != 0) log.info("[OpenSearch] circuit CLOSED");
+  }
+
+  private void onFailure(String op, Exception e) {
+    failures.increment();
+    int n = consecutiveFailures.incrementAndGet();
+    if (n >= props.getBreakerFailureThreshold() || state() == State.HALF_OPEN) {
+      openedAt.set(System.currentTimeMillis());
+      log.warn("[OpenSearch] circuit OPEN after {} failures (op={}, cause={})", n, op, e.toString());
+    }
+  }
+}
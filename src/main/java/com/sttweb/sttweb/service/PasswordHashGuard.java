@@ -0,0 +1,131 @@
+// src/main/java/com/sttweb/sttweb/service/PasswordHashGuard.java
+package com.sttweb.sttweb.service;
+
+import com.sttweb.sttweb.exception.ServiceUnavailableException;
+import com.sttweb.sttweb.monitor.LatencyHistogram;
+import jakarta.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대화형 BCrypt 작업(로그인/재인증/비밀번호 변경) 보호.
+ * 코어 수 크기 풀 + 대기열 상한으로 동시 해시를 제한하고, 대기열이 가득 차면 즉시 503.
+ * 출근 시간 로그인 몰림에 CPU 가 포화되어 전체 응답이 느려지는 것을 막는다.
+ */
+@Slf4j
+@Component
+public class PasswordHashGuard {
+
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor pool;
+  private final int queueLimit;
+  private final long waitTimeoutMs;
+
+  private final LatencyHistogram hashLatency  = new LatencyHistogram();
+  private final LatencyHistogram loginLatency = new LatencyHistogram();
+  private final LongAdder hashes      = new LongAdder();
+  private final LongAdder rejected    = new LongAdder();
+  private final LongAdder timedOut    = new LongAdder();
+  private final LongAdder loginOk     = new LongAdder();
+  private final LongAdder loginFailed = new LongAdder();
+
+  public PasswordHashGuard(
+      PasswordEncoder passwordEncoder,
+      @Value("${password-hash.threads:0}") int threads,
+      @Value("${password-hash.queue-limit:32}") int queueLimit,
+      @Value("${password-hash.wait-timeout-ms:5000}") long waitTimeoutMs
+  ) {
+    this.passwordEncoder = passwordEncoder;
+    int n = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    this.queueLimit = Math.max(1, queueLimit);
+    this.waitTimeoutMs = Math.max(100, waitTimeoutMs);
+    AtomicInteger seq = new AtomicInteger();
+    this.pool = new ThreadPoolExecutor(n, n, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(this.queueLimit),
+        r -> {
+          Thread t = new Thread(r, "pwhash-" + seq.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    pool.shutdownNow();
+  }
+
+  public boolean matches(CharSequence raw, String encoded) {
+    return run(() -> passwordEncoder.matches(raw, encoded));
+  }
+
+  public String encode(CharSequence raw) {
+    return run(() -> passwordEncoder.encode(raw));
+  }
+
+  /** 로그인 처리 시간 기록 — 비밀번호 검증이 실제로 수행된 경우만 (과부하 거절/타임아웃은 호출하지 않음) */
+  public void recordLogin(long elapsedMs, boolean success) {
+    loginLatency.record(elapsedMs);
+    (success ? loginOk : loginFailed).increment();
+  }
+
+  public Map<String, Object> stats() {
+    Map<String, Object> m = new LinkedHashMap<>();
+    m.put("threads", pool.getMaximumPoolSize());
+    m.put("active", pool.getActiveCount());
+    m.put("queued", pool.getQueue().size());
+    m.put("queueLimit", queueLimit);
+    m.put("hashes", hashes.sum());
+    m.put("rejected", rejected.sum());
+    m.put("timedOut", timedOut.sum());
+    m.put("hashLatency", hashLatency.snapshot());
+    m.put("loginOk", loginOk.sum());
+    m.put("loginFailed", loginFailed.sum());
+    m.put("loginLatency", loginLatency.snapshot());
+    return m;
+  }
+
+  private <T> T run(Callable<T> work) {
+    long t0 = System.nanoTime();
+    Future<T> f;
+    try {
+      f = pool.submit(work);
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      log.warn("[PasswordHash] 대기열 가득 참({}) - 요청 거절", queueLimit);
+      throw new ServiceUnavailableException("로그인 요청이 많습니다. 잠시 후 다시 시도하세요.");
+    }
+    try {
+      return f.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      f.cancel(true);
+      timedOut.increment();
+      throw new ServiceUnavailableException("로그인 요청이 많습니다. 잠시 후 다시 시도하세요.");
+    } catch (InterruptedException e) {
+      f.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException("요청이 중단되었습니다.");
+    } catch (ExecutionException e) {
+      Throwable c = e.getCause();
+      if (c instanceof RuntimeException re) throw re;
+      throw new IllegalStateException(c);
+    } finally {
+      hashes.increment();
+      hashLatency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0));
+    }
+  }
+}
@@ -0,0 +1,232 @@
+// src/main/java/com/sttweb/sttweb/service/PasswordResetJobService.java
+package com.sttweb.sttweb.service;
+
+import com.sttweb.sttweb.event.MemberChangedEvent;
+import com.sttweb.sttweb.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import java.nio.CharBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 비밀번호 일괄 초기화 비동기 작업.
+ *  - 같은 원문이라도 회원마다 salt 가 달라 BCrypt 는 회원 수만큼 돌려야 함 → CPU 코어 수 크기 풀에서 병렬 해시
+ *  - 해시하는 동안에는 DB 트랜잭션/커넥션을 잡지 않고, 청크 단위로 JDBC batch UPDATE 만 짧은 트랜잭션으로
+ *  - 작업은 한 번에 하나씩 (뒤 요청은 QUEUED), 진행률은 status() 로 조회
+ */
+@Slf4j
+@Service
+public class PasswordResetJobService {
+
+  public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+  /** 작업 진행 상황 (조회 시점 스냅샷) */
+  @Getter
+  @Builder
+  public static class JobStatus {
+    private final String        jobId;
+    private final Status        status;
+    private final String        operatorId;
+    private final int           total;
+    private final int           hashed;
+    private final int           updated;
+    private final LocalDateTime requestedAt;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+    private final String        error;
+  }
+
+  private static final class Job {
+    final String jobId = UUID.randomUUID().toString();
+    final String operatorId;
+    final List<Integer> memberSeqs;
+    /** 해시가 끝나거나 실패하면 0 으로 덮어씀 (완료 작업 목록에 평문이 남지 않게) */
+    final char[] rawPassword;
+    final boolean all;
+    final LocalDateTime requestedAt = LocalDateTime.now();
+    final AtomicInteger hashed = new AtomicInteger();
+    final AtomicInteger updated = new AtomicInteger();
+    volatile Status status = Status.QUEUED;
+    volatile LocalDateTime startedAt;
+    volatile LocalDateTime finishedAt;
+    volatile String error;
+
+    Job(String operatorId, List<Integer> memberSeqs, String rawPassword, boolean all) {
+      this.operatorId = operatorId;
+      this.memberSeqs = memberSeqs;
+      this.rawPassword = rawPassword.toCharArray();
+      this.all = all;
+    }
+
+    JobStatus snapshot() {
+      return JobStatus.builder()
+          .jobId(jobId).status(status).operatorId(operatorId)
+          .total(memberSeqs.size()).hashed(hashed.get()).updated(updated.get())
+          .requestedAt(requestedAt).startedAt(startedAt).finishedAt(finishedAt).error(error)
+          .build();
+    }
+  }
+
+  /** 최근 작업 몇 개만 보관 */
+  private static final int KEEP_JOBS = 20;
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final PasswordEncoder passwordEncoder;
+  private final ApplicationEventPublisher events;
+  private final int parallelism;
+  private final int batchSize;
+
+  private final ExecutorService jobRunner = Executors.newSingleThreadExecutor(r -> {
+    Thread t = new Thread(r, "pwreset-job");
+    t.setDaemon(true);
+    return t;
+  });
+  private final ExecutorService hashPool;
+  private final Map<String, Job> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Job> eldest) {
+      return size() > KEEP_JOBS;
+    }
+  });
+
+  public PasswordResetJobService(
+      DataSource dataSource,
+      PlatformTransactionManager txManager,
+      PasswordEncoder passwordEncoder,
+      ApplicationEventPublisher events,
+      @Value("${password-reset.parallelism:0}") int parallelism,
+      @Value("${password-reset.batch-size:200}") int batchSize
+  ) {
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.tx = new TransactionTemplate(txManager);
+    this.passwordEncoder = passwordEncoder;
+    this.events = events;
+    this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    this.batchSize = Math.max(1, batchSize);
+    AtomicInteger seq = new AtomicInteger();
+    this.hashPool = Executors.newFixedThreadPool(this.parallelism, r -> {
+      Thread t = new Thread(r, "pwreset-hash-" + seq.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  @PreDestroy
+  void shutdown() {
+    jobRunner.shutdownNow();
+    hashPool.shutdownNow();
+  }
+
+  /** 지정 회원 초기화 작업 등록 (없는 회원이 있으면 404, 작업 등록 안 함) */
+  public JobStatus submit(List<Integer> memberSeqs, String rawPassword, String operatorId) {
+    Set<Integer> requested = new LinkedHashSet<>(memberSeqs == null ? List.of() : memberSeqs);
+    requested.remove(null);
+    if (requested.isEmpty()) throw new ResourceNotFoundException("초기화할 사용자가 없습니다.");
+
+    String in = String.join(",", Collections.nCopies(requested.size(), "?"));
+    List<Integer> found = jdbc.queryForList(
+        "SELECT member_seq FROM tmember WHERE member_seq IN (" + in + ")", Integer.class, requested.toArray());
+    Set<Integer> missing = new LinkedHashSet<>(requested);
+    found.forEach(missing::remove);
+    if (!missing.isEmpty()) throw new ResourceNotFoundException("사용자를 찾을 수 없습니다: " + missing);
+
+    return enqueue(new Job(operatorId, new ArrayList<>(requested), rawPassword, false));
+  }
+
+  /** 전체 회원 초기화 작업 등록 */
+  public JobStatus submitAll(String rawPassword, String operatorId) {
+    List<Integer> all = jdbc.queryForList("SELECT member_seq FROM tmember ORDER BY member_seq", Integer.class);
+    return enqueue(new Job(operatorId, all, rawPassword, true));
+  }
+
+  /** 작업 상태 (없으면 null) */
+  public JobStatus status(String jobId) {
+    Job j = jobs.get(jobId);
+    return j == null ? null : j.snapshot();
+  }
+
+  private JobStatus enqueue(Job job) {
+    jobs.put(job.jobId, job);
+    jobRunner.execute(() -> run(job));
+    log.info("[PasswordReset] 작업 등록 {} ({}명, by {})", job.jobId, job.memberSeqs.size(), job.operatorId);
+    return job.snapshot();
+  }
+
+  private void run(Job job) {
+    job.status = Status.RUNNING;
+    job.startedAt = LocalDateTime.now();
+    try {
+      List<Integer> seqs = job.memberSeqs;
+      for (int from = 0; from < seqs.size(); from += batchSize) {
+        List<Integer> chunk = seqs.subList(from, Math.min(from + batchSize, seqs.size()));
+        List<Object[]> rows = hashChunk(job, chunk);
+        tx.executeWithoutResult(s -> {
+          int[] counts = jdbc.batchUpdate("UPDATE tmember SET user_pass = ?, must_change_pw = 1 WHERE member_seq = ?", rows);
+          job.updated.addAndGet(counts.length);
+        });
+      }
+      job.status = Status.DONE;
+      log.info("[PasswordReset] 작업 완료 {} ({}명)", job.jobId, job.updated.get());
+    } catch (Exception e) {
+      job.status = Status.FAILED;
+      job.error = e.getMessage();
+      log.error("[PasswordReset] 작업 실패 {} ({}/{}명 반영)", job.jobId, job.updated.get(), job.memberSeqs.size(), e);
+    } finally {
+      Arrays.fill(job.rawPassword, '\0');
+      job.finishedAt = LocalDateTime.now();
+      if (job.updated.get() > 0) {
+        if (job.all) {
+          events.publishEvent(MemberChangedEvent.all());
+        } else {
+          job.memberSeqs.forEach(seq -> events.publishEvent(new MemberChangedEvent(seq)));
+        }
+      }
+    }
+  }
+
+  /** 청크를 풀 크기만큼 나눠 병렬 해시 → (hash, memberSeq) 행 */
+  private List<Object[]> hashChunk(Job job, List<Integer> chunk) throws Exception {
+    int slices = Math.min(parallelism, chunk.size());
+    int per = (chunk.size() + slices - 1) / slices;
+    List<Callable<List<Object[]>>> tasks = new ArrayList<>(slices);
+    for (int i = 0; i < chunk.size(); i += per) {
+      List<Integer> slice = chunk.subList(i, Math.min(i + per, chunk.size()));
+      tasks.add(() -> {
+        List<Object[]> out = new ArrayList<>(slice.size());
+        for (Integer seq : slice) {
+          out.add(new Object[]{ passwordEncoder.encode(CharBuffer.wrap(job.rawPassword)), seq });
+          job.hashed.incrementAndGet();
+        }
+        return out;
+      });
+    }
+    List<Object[]> rows = new ArrayList<>(chunk.size());
+    for (Future<List<Object[]>> f : hashPool.invokeAll(tasks)) rows.addAll(f.get());
+    return rows;
+  }
+}
@@ -1,19 +1,34 @@
 package com.sttweb.sttweb.service;
 
+import com.sttweb.sttweb.dto.BulkLinePermDto;
 import com.sttweb.sttweb.dto.GrantDto;
 import com.sttweb.sttweb.entity.TmemberLinePermEntity;
 import com.sttweb.sttweb.entity.UserPermission;
 import com.sttweb.sttweb.entity.TmemberEntity;
+import com.sttweb.sttweb.event.PermissionChangedEvent;
 import com.sttweb.sttweb.repository.TmemberLinePermRepository;
 import com.sttweb.sttweb.repository.TmemberRoleRepository;
 import com.sttweb.sttweb.repository.TrecordTelListRepository;
 import com.sttweb.sttweb.repository.UserPermissionRepository;
 import com.sttweb.sttweb.repository.TmemberRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
@@ -26,6 +41,18 @@ public class PermissionService {
   private final TmemberRoleRepository roleRepo;
   private final TrecordTelListRepository lineRepo;
   private final TmemberRepository memberRepo;
+  private final DataSource dataSource;
+  private final ApplicationEventPublisher events;
+
+  /** 일괄 변경 1회 최대 건수 */
+  private static final int BULK_MAX = 5000;
+
+  private JdbcTemplate jdbc;
+
+  @PostConstruct
+  void init() {
+    jdbc = new JdbcTemplate(dataSource);
+  }
 
   @Transactional
   public void grantAndSyncLinePerm(GrantDto req) {
@@ -42,6 +69,7 @@ public class PermissionService {
       return created;
     });
     permRepo.save(up);
+    events.publishEvent(PermissionChangedEvent.of(req.getMemberSeq()));
 
     // 2) tmember_line_perm 동기화
     int roleSeq = permLevelToRoleSeq(req.getPermLevel()); // 1~4 매핑
@@ -87,6 +115,110 @@ public class PermissionService {
     // 2. tmember_line_perm 삭제 (Optional 처리)
     Optional<TmemberLinePermEntity> linePermOpt = memberLinePermRepo.findByMemberMemberSeqAndLineId(memberSeq, lineId);
     linePermOpt.ifPresent(memberLinePermRepo::delete);
+    events.publishEvent(PermissionChangedEvent.of(memberSeq));
+  }
+
+
+  /**
+   * 회선 권한 일괄 부여/회수 (한 트랜잭션).
+   *  - 회원/회선/권한 존재 여부는 IN 조회 3번으로 한꺼번에 검증 (하나라도 없으면 400, 아무것도 반영 안 함)
+   *  - tuser_permission 은 기존 행을 한 번에 읽어 INSERT / UPDATE / DELETE batch 로 나눠 반영
+   *  - tmember_line_perm 은 (member_seq, line_id) 유니크 키로 upsert batch, 회수는 DELETE batch
+   *  - 캐시 무효화 이벤트는 마지막에 한 번
+   */
+  @Transactional
+  public BulkLinePermDto.Result applyBulk(List<BulkLinePermDto.Change> changes) {
+    if (changes == null || changes.isEmpty())
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "changes 가 비어 있습니다.");
+    if (changes.size() > BULK_MAX)
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "한 번에 최대 " + BULK_MAX + "건까지 가능합니다.");
+
+    // 0) (memberSeq, lineId) 기준 중복 제거, 마지막 값 우선
+    Map<Long, BulkLinePermDto.Change> byKey = new LinkedHashMap<>();
+    for (BulkLinePermDto.Change c : changes) {
+      if (c == null || c.getMemberSeq() == null || c.getLineId() == null || c.getPermLevel() == null)
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "memberSeq, lineId, permLevel 은 필수입니다.");
+      if (c.getPermLevel() > 4)
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid permLevel: " + c.getPermLevel());
+      byKey.remove(key(c.getMemberSeq(), c.getLineId()));
+      byKey.put(key(c.getMemberSeq(), c.getLineId()), c);
+    }
+    Collection<BulkLinePermDto.Change> distinct = byKey.values();
+
+    // 1) 존재 검증 (set 조회)
+    Set<Integer> memberSeqs = distinct.stream().map(BulkLinePermDto.Change::getMemberSeq).collect(Collectors.toSet());
+    Set<Integer> lineIds    = distinct.stream().map(BulkLinePermDto.Change::getLineId).collect(Collectors.toSet());
+    Set<Integer> roleSeqs   = distinct.stream().map(c -> permLevelToRoleSeq(c.getPermLevel()))
+        .filter(r -> r != 1).collect(Collectors.toSet());
+
+    Set<Integer> missingMembers = new TreeSet<>(memberSeqs);
+    memberRepo.findAllById(memberSeqs).forEach(m -> missingMembers.remove(m.getMemberSeq()));
+    Set<Integer> missingLines = new TreeSet<>(lineIds);
+    lineRepo.findAllById(lineIds).forEach(l -> missingLines.remove(l.getId()));
+    Set<Integer> missingRoles = new TreeSet<>(roleSeqs);
+    if (!roleSeqs.isEmpty()) roleRepo.findAllById(roleSeqs).forEach(r -> missingRoles.remove(r.getRoleSeq()));
+    if (!missingMembers.isEmpty() || !missingLines.isEmpty() || !missingRoles.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format(
+          "존재하지 않는 대상 - member: %s, line: %s, role: %s", missingMembers, missingLines, missingRoles));
+    }
+
+    // 2) 기존 tuser_permission (대상 회원 전체를 한 번에)
+    Map<Long, Integer> current = new HashMap<>();
+    String in = String.join(",", Collections.nCopies(memberSeqs.size(), "?"));
+    jdbc.query("SELECT member_seq, line_id, perm_level FROM tuser_permission WHERE member_seq IN (" + in + ")",
+        rs -> {
+          current.merge(key(rs.getInt("member_seq"), rs.getInt("line_id")), rs.getInt("perm_level"), Math::max);
+        },
+        memberSeqs.toArray());
+
+    List<Object[]> inserts = new ArrayList<>();
+    List<Object[]> updates = new ArrayList<>();
+    List<Object[]> upserts = new ArrayList<>();
+    List<Object[]> deletes = new ArrayList<>();
+    int unchanged = 0;
+    int revoked = 0;
+
+    for (BulkLinePermDto.Change c : distinct) {
+      int roleSeq = permLevelToRoleSeq(c.getPermLevel());
+      Integer cur = current.get(key(c.getMemberSeq(), c.getLineId()));
+      if (roleSeq == 1) {
+        deletes.add(new Object[]{ c.getMemberSeq(), c.getLineId() });
+        if (cur != null) revoked++;
+        continue;
+      }
+      if (cur == null) inserts.add(new Object[]{ c.getMemberSeq(), c.getLineId(), c.getPermLevel() });
+      else if (cur.intValue() != c.getPermLevel()) updates.add(new Object[]{ c.getPermLevel(), c.getMemberSeq(), c.getLineId() });
+      else unchanged++;
+      upserts.add(new Object[]{ c.getMemberSeq(), c.getLineId(), roleSeq });
+    }
+
+    // 3) batch 반영
+    if (!inserts.isEmpty())
+      jdbc.batchUpdate("INSERT INTO tuser_permission (member_seq, line_id, perm_level, crtime) VALUES (?, ?, ?, NOW())", inserts);
+    if (!updates.isEmpty())
+      jdbc.batchUpdate("UPDATE tuser_permission SET perm_level = ? WHERE member_seq = ? AND line_id = ?", updates);
+    if (!upserts.isEmpty())
+      jdbc.batchUpdate("INSERT INTO tmember_line_perm (member_seq, line_id, role_seq, regtime) VALUES (?, ?, ?, NOW()) "
+          + "ON DUPLICATE KEY UPDATE role_seq = VALUES(role_seq)", upserts);
+    if (!deletes.isEmpty()) {
+      jdbc.batchUpdate("DELETE FROM tuser_permission WHERE member_seq = ? AND line_id = ?", deletes);
+      jdbc.batchUpdate("DELETE FROM tmember_line_perm WHERE member_seq = ? AND line_id = ?", deletes);
+    }
+
+    events.publishEvent(new PermissionChangedEvent(memberSeqs));
+
+    return BulkLinePermDto.Result.builder()
+        .requested(changes.size())
+        .distinct(distinct.size())
+        .inserted(inserts.size())
+        .updated(updates.size())
+        .unchanged(unchanged)
+        .revoked(revoked)
+        .build();
+  }
+
+  private static long key(int memberSeq, int lineId) {
+    return ((long) memberSeq << 32) | (lineId & 0xffffffffL);
   }
 
 
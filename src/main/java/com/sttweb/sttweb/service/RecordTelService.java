@@ -3,26 +3,85 @@ package com.sttweb.sttweb.service;
 
 import com.sttweb.sttweb.dto.IniNameExtDto;
 import com.sttweb.sttweb.entity.TrecordTelListEntity;
+import com.sttweb.sttweb.event.PermissionChangedEvent;
+import com.sttweb.sttweb.event.TelLinesRemovedEvent;
+import com.sttweb.sttweb.event.TelListChangedEvent;
+import com.sttweb.sttweb.logging.ActivityLogEvent;
+import com.sttweb.sttweb.logging.ActivityLogWriter;
+import com.sttweb.sttweb.monitor.AlertDispatcher;
 import com.sttweb.sttweb.repository.TrecordTelListRepository;
+import jakarta.annotation.PostConstruct;
+import javax.sql.DataSource;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.DefaultLockingTaskExecutor;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.LockingTaskExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
 import java.io.*;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RecordTelService {
 
   private final TrecordTelListRepository repository;
+  private final DataSource dataSource;
+  private final ApplicationEventPublisher events;
+  private final ActivityLogWriter activityLogWriter;
+  private final AlertDispatcher alertDispatcher;
+  private final LockProvider lockProvider;
+  private final PlatformTransactionManager txManager;
+  private JdbcTemplate jdbc;
+  private LockingTaskExecutor lockExecutor;
+  private TransactionTemplate tx;
+
+  @Value("${monitor.admin.emails}")
+  private String adminEmailCsv;
+  /** 한 번에 제거할 수 있는 활성 회선 비율 / 비율과 무관하게 허용하는 건수 */
+  @Value("${telsync.max-remove-ratio:0.2}")
+  private double maxRemoveRatio;
+  @Value("${telsync.min-remove-allowed:3}")
+  private int minRemoveAllowed;
+  /** INI 를 두 번 읽는 간격 / 안정될 때까지 재시도 횟수 */
+  @Value("${telsync.stable-read-ms:500}")
+  private long stableReadMs;
+  @Value("${telsync.stable-attempts:5}")
+  private int stableAttempts;
 
   // 순차 탐색할 드라이브 목록 (Windows)
   private static final String[] DRIVES = { "C:", "D:", "E:" };
   private static final String SUB_PATH = "\\RecOnData\\RecOnLineInfo.ini";
 
+  // 노드 간 동기화 잠금 (INI 안정 읽기 + 반영은 보통 수 초)
+  private static final String SYNC_LOCK = "TelList_syncFromIni";
+  private static final Duration SYNC_LOCK_AT_MOST = Duration.ofMinutes(5);
+  public static final String SYNC_BUSY = "다른 노드에서 회선 목록 동기화 중";
+
+  @PostConstruct
+  void init() {
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.lockExecutor = new DefaultLockingTaskExecutor(lockProvider);
+    this.tx = new TransactionTemplate(txManager);
+  }
+
   /**
    * 1) C:, D:, E: 드라이브 순으로
    *    RecOnLineInfo.ini 파일을 찾아 반환 (없으면 null)
@@ -45,20 +104,41 @@ public class RecordTelService {
    *
    *    - id, critime은 이 단계에선 알 수 없으므로 null로 둡니다.
    *    - 인코딩이 ANSI(MS949)인 경우에도 한글이 깨지지 않도록 Charset.forName("MS949")로 읽습니다.
+   *    - 저장 도중의 반쯤 쓰인 파일을 읽지 않도록, 두 번 읽은 내용이 같아질 때까지 다시 읽습니다.
    *
    * @return 파싱된 DTO 목록 (INI 파일이 없으면 빈 리스트)
-   * @throws IOException 파일 읽기/파싱 중 예외 발생 시
+   * @throws IOException 파일 읽기/파싱 중 예외 발생 시 (계속 바뀌는 중이면 포함)
    */
   public List<IniNameExtDto> parseIniNameExt() throws IOException {
-    List<IniNameExtDto> result = new ArrayList<>();
     File iniFile = findIniFile();
     if (iniFile == null) {
       // 파일이 없으면 빈 리스트 반환
-      return result;
+      return new ArrayList<>();
     }
+    return parseIniNameExt(readStable(iniFile));
+  }
 
+  /** 일정 간격으로 두 번 읽어 내용이 같으면 반환, stableAttempts 번 안에 안정되지 않으면 IOException */
+  private byte[] readStable(File iniFile) throws IOException {
+    byte[] prev = Files.readAllBytes(iniFile.toPath());
+    for (int i = 0; i < stableAttempts; i++) {
+      try {
+        Thread.sleep(stableReadMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("INI 읽기 중단");
+      }
+      byte[] cur = Files.readAllBytes(iniFile.toPath());
+      if (Arrays.equals(prev, cur)) return cur;
+      prev = cur;
+    }
+    throw new IOException("INI 파일이 계속 변경되는 중이라 동기화를 미룹니다: " + iniFile.getAbsolutePath());
+  }
+
+  private List<IniNameExtDto> parseIniNameExt(byte[] content) throws IOException {
+    List<IniNameExtDto> result = new ArrayList<>();
     try (BufferedReader reader = new BufferedReader(
-        new InputStreamReader(new FileInputStream(iniFile), Charset.forName("MS949"))
+        new InputStreamReader(new ByteArrayInputStream(content), Charset.forName("MS949"))
     )) {
       String line;
       boolean inSection = false;
@@ -110,51 +190,192 @@ public class RecordTelService {
   }
 
   /**
-   * 3) parseIniNameExt()로 파싱한 결과를 순회하면서,
-   *    DB(trecord_tel_list)에 “중복 검사(callNum)” → “신규 INSERT” 를 수행합니다.
-   *    이때, 엔티티를 저장하면 자동으로 critime이 채워집니다.
+   * INI 동기화 결과
+   * @param removed  INI 에서 빠져 removed_at 표시한 회선 수 (행/권한 매핑은 보존)
+   * @param restored 다시 INI 에 나타나 removed_at 을 지운 회선 수
+   * @param skipped  제거 비율 초과로 반영하지 않았으면 사유, 아니면 null
+   */
+  public record SyncResult(List<IniNameExtDto> inserted, int updated, int removed, int restored, String skipped) {
+    public boolean changed() {
+      return !inserted.isEmpty() || updated > 0 || removed > 0 || restored > 0;
+    }
+
+    /** 다른 노드가 동기화 중이라 건너뛴 경우 */
+    public boolean busy() {
+      return SYNC_BUSY.equals(skipped);
+    }
+  }
+
+  /**
+   * 3) parseIniNameExt()로 파싱한 결과와 DB(trecord_tel_list)를 비교해 한 번에 반영합니다.
+   *    - 기존 행은 한 번만 읽고, 메모리에서 INSERT / UPDATE(이름 변경) / 제거(INI 에서 빠진 내선) 를 계산
+   *    - 제거는 행을 지우지 않고 removed_at 만 표시 → 권한 매핑(tmember_line_perm, tuser_permission)은 line id 그대로 보존,
+   *      같은 내선이 다시 나타나면 removed_at 을 지워 권한까지 복구. 제거 건마다 커밋 이후 감사 로그를 남김
+   *    - 한 번에 활성 회선의 maxRemoveRatio 를 넘게 제거하려 하면(잘린 INI 등) 아무것도 반영하지 않고 관리자에게 알림.
+   *      force=true 면 확인된 변경으로 보고 그대로 반영
+   *    - 변경이 있으면 커밋 이후 TelListCache / 권한 캐시가 갱신되도록 이벤트 발행
+   *    INI 가 없거나 파싱 결과가 비어 있으면(쓰는 도중 등) 제거는 하지 않습니다.
+   *    - 노드마다 watcher 가 돌므로 ShedLock(TelList_syncFromIni)으로 한 번에 한 노드만 반영.
+   *      다른 노드가 동기화 중이면 SYNC_BUSY 사유로 건너뜀 (INI 읽기는 잠금 안, 트랜잭션 밖)
    *
-   * @return 실제 INSERT된 레코드의 DTO 리스트
+   * @return 신규 INSERT 된 레코드 + 수정/제거/복구 건수 (건너뛴 경우 skipped 사유)
    * @throws IOException 파일 읽기/파싱 중 예외 발생 시
    */
-  @Transactional
-  public List<IniNameExtDto> syncFromIni() throws IOException {
-    List<IniNameExtDto> parsedList = parseIniNameExt();
-    List<IniNameExtDto> insertedDtos = new ArrayList<>();
-
-    for (IniNameExtDto dto : parsedList) {
-      String callNum = dto.getCallNum();
-      String userName = dto.getUserName();
-
-      // 이미중복 검사
-      Optional<TrecordTelListEntity> existing = repository.findByCallNum(callNum);
-      if (existing.isEmpty()) {
-        TrecordTelListEntity entity = TrecordTelListEntity.builder()
-            .callNum(callNum)
-            .userName(userName)
-            .build();
-        TrecordTelListEntity saved = repository.save(entity);
-
-        // 방금 저장된 엔티티의 id, critime까지 포함하여 DTO 생성
-        insertedDtos.add(IniNameExtDto.builder()
-            .id(saved.getId())
-            .callNum(saved.getCallNum())
-            .userName(saved.getUserName())
-            .critime(saved.getCritime())
-            .build()
-        );
+  public SyncResult syncFromIni(boolean force) throws IOException {
+    LockingTaskExecutor.TaskResult<SyncResult> r;
+    try {
+      r = lockExecutor.executeWithLock(() -> {
+        List<IniNameExtDto> parsed = parseIniNameExt();
+        return tx.execute(status -> apply(parsed, force));
+      }, new LockConfiguration(Instant.now(), SYNC_LOCK, SYNC_LOCK_AT_MOST, Duration.ZERO));
+    } catch (IOException | RuntimeException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new IllegalStateException(t);
+    }
+    if (!r.wasExecuted()) {
+      log.info("[TelListSync] 다른 노드에서 동기화 중 - 건너뜀");
+      return new SyncResult(List.of(), 0, 0, 0, SYNC_BUSY);
+    }
+    return r.getResult();
+  }
+
+  private SyncResult apply(List<IniNameExtDto> parsed, boolean force) {
+    // 같은 내선이 여러 줄이면 마지막 줄 기준
+    Map<String, String> ini = new LinkedHashMap<>();
+    for (IniNameExtDto dto : parsed) {
+      if (dto.getCallNum() == null || dto.getCallNum().isBlank()) continue;
+      ini.put(dto.getCallNum().trim(), dto.getUserName());
+    }
+
+    // 기존 행 한 번에 (callNum → {id, userName, removed})
+    Map<String, Object[]> existing = new HashMap<>();
+    jdbc.query("SELECT id, call_num, user_name, removed_at FROM trecord_tel_list", rs -> {
+      existing.put(rs.getString(2), new Object[]{ rs.getInt(1), rs.getString(3), rs.getTimestamp(4) != null });
+    });
+
+    List<Object[]> inserts = new ArrayList<>();
+    List<Object[]> updates = new ArrayList<>();
+    List<Object[]> restores = new ArrayList<>();
+    for (Map.Entry<String, String> e : ini.entrySet()) {
+      Object[] cur = existing.get(e.getKey());
+      if (cur == null) {
+        inserts.add(new Object[]{ e.getKey(), e.getValue() });
+        continue;
       }
+      if ((Boolean) cur[2]) restores.add(new Object[]{ cur[0] });
+      if (!Objects.equals(cur[1], e.getValue())) updates.add(new Object[]{ e.getValue(), cur[0] });
+    }
+    Map<String, Object[]> removes = new LinkedHashMap<>();
+    int active = 0;
+    for (Map.Entry<String, Object[]> e : existing.entrySet()) {
+      if ((Boolean) e.getValue()[2]) continue;
+      active++;
+      if (!ini.isEmpty() && !ini.containsKey(e.getKey())) removes.put(e.getKey(), e.getValue());
+    }
+
+    // 제거 비율 가드: 잘리거나 잘못된 INI 로 회선이 대량 제거되는 것을 막음
+    int removeLimit = Math.max(minRemoveAllowed, (int) Math.floor(active * maxRemoveRatio));
+    if (!force && removes.size() > removeLimit) {
+      String reason = String.format("INI 에서 빠진 회선 %d건이 허용치(%d건, 활성 %d건의 %.0f%%)를 넘어 동기화를 건너뜀",
+          removes.size(), removeLimit, active, maxRemoveRatio * 100);
+      log.error("[TelListSync] {} — 제거 대상: {}", reason, removes.keySet());
+      alertRemoveGuard(reason, removes.keySet());
+      return new SyncResult(List.of(), 0, 0, 0, reason);
+    }
+
+    if (!inserts.isEmpty()) {
+      jdbc.batchUpdate("INSERT INTO trecord_tel_list (call_num, user_name, critime) VALUES (?, ?, NOW())", inserts);
+    }
+    if (!updates.isEmpty()) {
+      jdbc.batchUpdate("UPDATE trecord_tel_list SET user_name = ? WHERE id = ?", updates);
+    }
+    if (!restores.isEmpty()) {
+      jdbc.batchUpdate("UPDATE trecord_tel_list SET removed_at = NULL WHERE id = ?", restores);
+    }
+    if (!removes.isEmpty()) {
+      List<Object[]> ids = removes.values().stream().map(cur -> new Object[]{ cur[0] }).collect(Collectors.toList());
+      jdbc.batchUpdate("UPDATE trecord_tel_list SET removed_at = NOW() WHERE id = ?", ids);
+      // 감사 로그는 커밋된 제거만 남도록 이벤트로 넘김 (롤백되면 기록 안 함)
+      events.publishEvent(new TelLinesRemovedEvent(removes.entrySet().stream()
+          .map(e -> new TelLinesRemovedEvent.Line(e.getKey(), (String) e.getValue()[1], (Integer) e.getValue()[0]))
+          .collect(Collectors.toList()), force));
+    }
+
+    List<IniNameExtDto> inserted = findByCallNums(inserts.stream().map(r -> (String) r[0]).collect(Collectors.toList()));
+
+    SyncResult result = new SyncResult(inserted, updates.size(), removes.size(), restores.size(), null);
+    if (result.changed()) {
+      events.publishEvent(new TelListChangedEvent(inserts.size(), updates.size(), removes.size()));
+      if (!removes.isEmpty() || !restores.isEmpty()) events.publishEvent(PermissionChangedEvent.all());
+      log.info("[TelListSync] INI 반영: 추가 {}, 수정 {}, 제거 {}, 복구 {}",
+          inserts.size(), updates.size(), removes.size(), restores.size());
     }
-    return insertedDtos;
+    return result;
+  }
+
+  public SyncResult syncFromIni() throws IOException {
+    return syncFromIni(false);
+  }
+
+  /** 방금 INSERT 한 내선만 call_num(UNIQUE) 으로 다시 조회해 id/critime 채움 */
+  private List<IniNameExtDto> findByCallNums(List<String> callNums) {
+    List<IniNameExtDto> out = new ArrayList<>(callNums.size());
+    for (int from = 0; from < callNums.size(); from += 500) {
+      List<String> chunk = callNums.subList(from, Math.min(from + 500, callNums.size()));
+      String in = String.join(",", Collections.nCopies(chunk.size(), "?"));
+      jdbc.query("SELECT id, call_num, user_name, critime FROM trecord_tel_list WHERE call_num IN (" + in + ")",
+          rs -> {
+            out.add(IniNameExtDto.builder()
+                .id(rs.getInt(1))
+                .callNum(rs.getString(2))
+                .userName(rs.getString(3))
+                .critime(rs.getTimestamp(4) == null ? null : rs.getTimestamp(4).toLocalDateTime())
+                .build());
+          }, chunk.toArray());
+    }
+    return out;
+  }
+
+  /** 회선 제거 감사 로그 (tactivitylog). 동기화 트랜잭션 커밋 이후 기록 */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onLinesRemoved(TelLinesRemovedEvent e) {
+    e.lines().forEach(l -> auditRemoval(l.callNum(), l.userName(), l.lineId(), e.force()));
+  }
+
+  private void auditRemoval(String callNum, String userName, Integer lineId, boolean force) {
+    log.warn("[TelListSync] 회선 제거: {} ({}) line_id={}{}", callNum, userName, lineId, force ? " [강제]" : "");
+    activityLogWriter.enqueue(ActivityLogEvent.builder()
+        .type("tellist")
+        .activity("회선 제거")
+        .contents("INI 동기화" + (force ? "(강제)" : "") + ": 내선 " + callNum
+            + (userName == null ? "" : " (" + userName + ")") + " 제거, line_id=" + lineId + " 권한 매핑 보존")
+        .dir("INI")
+        .userId("system")
+        .employeeId(0)
+        .crtime(LocalDateTime.now())
+        .workerId("system")
+        .build());
+  }
+
+  private void alertRemoveGuard(String reason, Set<String> callNums) {
+    String[] to = Arrays.stream(adminEmailCsv.split(","))
+        .map(String::trim).filter(StringUtils::hasText)
+        .distinct().toArray(String[]::new);
+    if (to.length == 0) return;
+    String sample = callNums.stream().limit(50).collect(Collectors.joining(", "));
+    alertDispatcher.enqueue(to, "[서비스 알림] 회선 목록 동기화 보류",
+        reason + "\n제거 대상(최대 50건): " + sample
+            + "\nINI 파일을 확인한 뒤 의도한 변경이면 POST /api/ini/sync?force=true 로 반영하세요.");
   }
 
   /**
-   * 4) trecord_tel_list 테이블의 모든 행을 조회한 뒤
+   * 4) trecord_tel_list 테이블의 활성 행(removed_at 없음)을 조회한 뒤
    *    각각의 엔티티를 DTO로 변환하여 List<DTO>로 반환합니다.
    */
   @Transactional(readOnly = true)
   public List<IniNameExtDto> getAll() {
-    return repository.findAll().stream()
+    return repository.findByRemovedAtIsNull().stream()
         .map(this::entityToDto)
         .collect(Collectors.toList());
   }
@@ -165,7 +386,7 @@ public class RecordTelService {
    */
   @Transactional(readOnly = true)
   public IniNameExtDto getByCallNum(String callNum) {
-    return repository.findByCallNum(callNum)
+    return repository.findByCallNumAndRemovedAtIsNull(callNum)
         .map(this::entityToDto)
         .orElse(null);
   }
@@ -0,0 +1,472 @@
+// src/main/java/com/sttweb/sttweb/service/SqliteMigrationService.java
+package com.sttweb.sttweb.service;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * SQLite(RecOnData) → MariaDB 스트리밍 마이그레이션.
+ *  - forward-only 커서 + fetch size 로 읽고, N 행 단위 batch INSERT IGNORE + 배치마다 commit
+ *  - 테이블별 진행(last rowid)을 tmigration_checkpoint 에 같은 트랜잭션으로 기록 → 중단 후 같은 파일(내용 SHA-256 일치)로 재실행하면 이어서 복사
+ *  - 스키마(CREATE/ALTER)는 순차로 맞춘 뒤, 테이블 간 복사는 병렬
+ */
+@Slf4j
+@Service
+public class SqliteMigrationService {
+
+  /** 대상 스키마명 (기존과 동일) */
+  private static final String TARGET_SCHEMA = "recordon";
+
+  // SQLite 타입 → MySQL 타입 매핑 표
+  private static final Map<String, String> TYPE_MAP = new HashMap<>();
+
+  static {
+    TYPE_MAP.put("INTEGER", "INT(11)");
+    TYPE_MAP.put("REAL", "DOUBLE");
+    TYPE_MAP.put("TEXT", "TEXT");
+    TYPE_MAP.put("BLOB", "BLOB");
+  }
+
+  /** 테이블별 복사 결과 */
+  @Getter
+  public static class TableResult {
+    private final String table;
+    private final long resumedFrom;
+    private final long rows;
+    private final long elapsedMs;
+    private final String error;
+
+    TableResult(String table, long resumedFrom, long rows, long elapsedMs, String error) {
+      this.table = table;
+      this.resumedFrom = resumedFrom;
+      this.rows = rows;
+      this.elapsedMs = elapsedMs;
+      this.error = error;
+    }
+
+    public long getRowsPerSec() {
+      return elapsedMs <= 0 ? rows : rows * 1000 / elapsedMs;
+    }
+  }
+
+  /** 복사 진행 알림 (로그 한 줄, 테이블별 예상/누적 행 수, 취소 여부) */
+  public interface Listener {
+    void log(String line);
+    default void planned(String table, long estimatedRows) {}
+    default void rows(String table, long copied) {}
+    default void tableDone(String table, boolean success) {}
+    default boolean cancelled() { return false; }
+  }
+
+  private final String mysqlUrl;
+  private final String mysqlUser;
+  private final String mysqlPass;
+  private final int batchSize;
+  private final int fetchSize;
+  private final int parallelism;
+
+  public SqliteMigrationService(
+      @Value("${migration.mysql.url}") String mysqlUrl,
+      @Value("${migration.mysql.user}") String mysqlUser,
+      @Value("${migration.mysql.pass}") String mysqlPass,
+      @Value("${migration.batch-size:1000}") int batchSize,
+      @Value("${migration.fetch-size:1000}") int fetchSize,
+      @Value("${migration.parallelism:4}") int parallelism
+  ) {
+    this.mysqlUrl = mysqlUrl;
+    this.mysqlUser = mysqlUser;
+    this.mysqlPass = mysqlPass;
+    this.batchSize = Math.max(1, batchSize);
+    this.fetchSize = Math.max(1, fetchSize);
+    this.parallelism = Math.max(1, parallelism);
+  }
+
+  /** 같은 파일인지 식별 — 파일 내용 SHA-256 (이름/크기가 같아도 내용이 다르면 다른 키) */
+  public static String sourceKey(File file) throws IOException {
+    MessageDigest md;
+    try {
+      md = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    byte[] buf = new byte[1 << 16];
+    try (InputStream in = new FileInputStream(file)) {
+      int n;
+      while ((n = in.read(buf)) > 0) md.update(buf, 0, n);
+    }
+    return "sha256:" + HexFormat.of().formatHex(md.digest());
+  }
+
+  /**
+   * 마이그레이션 실행. restart=true 면 체크포인트를 지우고 처음부터.
+   * 다른 파일로 진행하다 멈춘 테이블이 있으면 이어쓰지 않고 거부 (restart 로만 진행).
+   * @return 테이블별 결과 (실패한 테이블은 error 채움, 나머지는 계속 진행)
+   */
+  public List<TableResult> migrate(File sqliteFile, boolean restart, Listener listener)
+      throws Exception {
+    Class.forName("org.sqlite.JDBC");
+    String srcUrl = "jdbc:sqlite:" + sqliteFile.getAbsolutePath();
+    String sourceKey = sourceKey(sqliteFile);
+    listener.log("원본 식별키: " + sourceKey);
+
+    // 1) 스키마 맞추기 + 체크포인트 준비 (순차)
+    Map<String, List<String>> columns = new LinkedHashMap<>();
+    Map<String, Long> resumeFrom = new HashMap<>();
+    Map<String, Boolean> hasRowid = new HashMap<>();
+    try (Connection src = DriverManager.getConnection(srcUrl);
+         Connection dst = openTarget()) {
+      ensureCheckpointTable(dst);
+      if (restart) {
+        clearCheckpoints(dst, sourceKey);
+      } else {
+        List<String> foreign = unfinishedFromOtherSource(dst, sourceKey);
+        if (!foreign.isEmpty()) {
+          throw new IllegalStateException("다른 파일로 진행하다 중단된 테이블이 있어 이어서 복사할 수 없습니다: "
+              + foreign + " (처음부터 다시 실행하세요)");
+        }
+      }
+      Map<String, long[]> cps = loadCheckpoints(dst, sourceKey);
+
+      List<String> tables = getSqliteTables(src);
+      listener.log("총 " + tables.size() + "개 테이블 발견: " + tables);
+      for (String tbl : tables) {
+        long[] cp = cps.get(tbl);
+        if (cp != null && cp[1] == 1) {
+          listener.log(">>> " + tbl + ": 이전 실행에서 완료됨. PASS.");
+          continue;
+        }
+        List<String> cols = prepareSchema(src, dst, tbl, listener);
+        if (cols == null) continue;
+        columns.put(tbl, cols);
+        boolean rowid = hasRowid(src, tbl);
+        long from = cp == null ? 0L : cp[0];
+        hasRowid.put(tbl, rowid);
+        resumeFrom.put(tbl, from);
+        listener.planned(tbl, estimateRows(src, tbl, rowid, from));
+      }
+    }
+    if (listener.cancelled()) throw new CancellationException("마이그레이션이 취소되었습니다.");
+
+    // 2) 테이블 간 병렬 복사
+    AtomicInteger seq = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, columns.size())), r -> {
+      Thread t = new Thread(r, "migrate-" + seq.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+    try {
+      List<Future<TableResult>> futures = new ArrayList<>();
+      for (Map.Entry<String, List<String>> e : columns.entrySet()) {
+        String tbl = e.getKey();
+        futures.add(pool.submit(() -> copyTable(srcUrl, sourceKey, tbl, e.getValue(),
+            hasRowid.get(tbl), resumeFrom.get(tbl), listener)));
+      }
+      List<TableResult> results = new ArrayList<>();
+      for (Future<TableResult> f : futures) results.add(f.get());
+      if (listener.cancelled()) throw new CancellationException("마이그레이션이 취소되었습니다.");
+      return results;
+    } finally {
+      pool.shutdownNow();
+      pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  // ───────────────────────────── 테이블 복사 ─────────────────────────────
+
+  private TableResult copyTable(String srcUrl, String sourceKey, String tbl, List<String> cols,
+      boolean rowid, long fromRowid, Listener listener) {
+    long t0 = System.currentTimeMillis();
+    long copied = 0;
+    try (Connection src = DriverManager.getConnection(srcUrl);
+         Connection dst = openTarget()) {
+      src.setAutoCommit(false);      // sqlite: 읽기 스냅샷 유지
+      dst.setAutoCommit(false);
+
+      String colList = "`" + String.join("`, `", cols) + "`";
+      String insertSql = "INSERT IGNORE INTO `" + tbl + "` (" + colList + ") VALUES ("
+          + String.join(", ", Collections.nCopies(cols.size(), "?")) + ")";
+      // rowid 가 있으면 rowid 순으로 이어 읽기, 없으면(WITHOUT ROWID) 처음부터 (INSERT IGNORE 로 중복 무시)
+      String selectSql = rowid
+          ? "SELECT rowid, " + colList.replace('`', '"') + " FROM \"" + tbl + "\" WHERE rowid > ? ORDER BY rowid"
+          : "SELECT " + colList.replace('`', '"') + " FROM \"" + tbl + "\"";
+      int off = rowid ? 2 : 1;
+
+      if (fromRowid > 0) listener.log("  ~ " + tbl + ": rowid " + fromRowid + " 이후부터 이어서 복사");
+
+      try (PreparedStatement sel = src.prepareStatement(selectSql,
+               ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+           PreparedStatement ins = dst.prepareStatement(insertSql)) {
+        sel.setFetchSize(fetchSize);
+        if (rowid) sel.setLong(1, fromRowid);
+        try (ResultSet rs = sel.executeQuery()) {
+          int inBatch = 0;
+          long lastRowid = fromRowid;
+          while (rs.next()) {
+            if (Thread.currentThread().isInterrupted() || listener.cancelled()) {
+              throw new InterruptedException("중단됨");
+            }
+            if (rowid) lastRowid = rs.getLong(1);
+            for (int i = 0; i < cols.size(); i++) ins.setObject(i + 1, rs.getObject(i + off));
+            ins.addBatch();
+            if (++inBatch >= batchSize) {
+              copied += flush(dst, ins, sourceKey, tbl, lastRowid, inBatch, false);
+              inBatch = 0;
+              listener.rows(tbl, copied);
+            }
+          }
+          copied += flush(dst, ins, sourceKey, tbl, lastRowid, inBatch, true);
+          listener.rows(tbl, copied);
+        }
+      }
+      long ms = System.currentTimeMillis() - t0;
+      TableResult r = new TableResult(tbl, fromRowid, copied, ms, null);
+      listener.log("  * " + tbl + ": " + copied + "개 행 (중복 무시), " + ms + "ms, " + r.getRowsPerSec() + " rows/s");
+      listener.tableDone(tbl, true);
+      return r;
+    } catch (Exception e) {
+      long ms = System.currentTimeMillis() - t0;
+      log.error("[Migration] {} 복사 실패 ({}행 반영)", tbl, copied, e);
+      listener.log("  ! " + tbl + ": 실패 (" + copied + "행 반영, 재실행 시 이어서 복사) - " + e.getMessage());
+      listener.tableDone(tbl, false);
+      return new TableResult(tbl, fromRowid, copied, ms, String.valueOf(e.getMessage()));
+    }
+  }
+
+  /** 배치 실행 + 체크포인트 갱신을 한 트랜잭션으로 commit */
+  private int flush(Connection dst, PreparedStatement ins, String sourceKey, String tbl,
+      long lastRowid, int pending, boolean done) throws SQLException {
+    if (pending > 0) ins.executeBatch();
+    try (PreparedStatement ps = dst.prepareStatement(
+        "INSERT INTO tmigration_checkpoint (source_key, table_name, last_rowid, rows_copied, done, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, NOW()) "
+            + "ON DUPLICATE KEY UPDATE last_rowid = VALUES(last_rowid), "
+            + "rows_copied = rows_copied + VALUES(rows_copied), done = VALUES(done), updated_at = NOW()")) {
+      ps.setString(1, sourceKey);
+      ps.setString(2, tbl);
+      ps.setLong(3, lastRowid);
+      ps.setLong(4, pending);
+      ps.setBoolean(5, done);
+      ps.executeUpdate();
+    }
+    dst.commit();
+    return pending;
+  }
+
+  private Connection openTarget() throws SQLException {
+    Properties p = new Properties();
+    p.setProperty("user", mysqlUser);
+    p.setProperty("password", mysqlPass);
+    // batch INSERT 를 multi-row 문장으로 (드라이버가 모르는 옵션은 무시)
+    p.setProperty("rewriteBatchedStatements", "true");
+    p.setProperty("useBulkStmts", "true");
+    return DriverManager.getConnection(mysqlUrl, p);
+  }
+
+  // ───────────────────────────── 체크포인트 ─────────────────────────────
+
+  private void ensureCheckpointTable(Connection dst) throws SQLException {
+    try (Statement st = dst.createStatement()) {
+      st.execute("CREATE TABLE IF NOT EXISTS tmigration_checkpoint ("
+          + " source_key VARCHAR(255) NOT NULL,"
+          + " table_name VARCHAR(128) NOT NULL,"
+          + " last_rowid BIGINT NOT NULL DEFAULT 0,"
+          + " rows_copied BIGINT NOT NULL DEFAULT 0,"
+          + " done TINYINT(1) NOT NULL DEFAULT 0,"
+          + " updated_at DATETIME NOT NULL,"
+          + " PRIMARY KEY (source_key, table_name)"
+          + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4");
+    }
+  }
+
+  /** 이 파일의 체크포인트 + 다른 파일이 남긴 미완료 체크포인트 삭제 */
+  private void clearCheckpoints(Connection dst, String sourceKey) throws SQLException {
+    try (PreparedStatement ps = dst.prepareStatement(
+        "DELETE FROM tmigration_checkpoint WHERE source_key = ? OR done = 0")) {
+      ps.setString(1, sourceKey);
+      ps.executeUpdate();
+    }
+  }
+
+  /** 다른 원본으로 진행하다 끝나지 않은 테이블 목록 */
+  private List<String> unfinishedFromOtherSource(Connection dst, String sourceKey) throws SQLException {
+    List<String> out = new ArrayList<>();
+    try (PreparedStatement ps = dst.prepareStatement(
+        "SELECT DISTINCT table_name FROM tmigration_checkpoint WHERE source_key <> ? AND done = 0")) {
+      ps.setString(1, sourceKey);
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) out.add(rs.getString(1));
+      }
+    }
+    return out;
+  }
+
+  /** table → {last_rowid, done} */
+  private Map<String, long[]> loadCheckpoints(Connection dst, String sourceKey) throws SQLException {
+    Map<String, long[]> m = new HashMap<>();
+    try (PreparedStatement ps = dst.prepareStatement(
+        "SELECT table_name, last_rowid, done FROM tmigration_checkpoint WHERE source_key = ?")) {
+      ps.setString(1, sourceKey);
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) m.put(rs.getString(1), new long[]{ rs.getLong(2), rs.getInt(3) });
+      }
+    }
+    return m;
+  }
+
+  // ───────────────────────────── 스키마 ─────────────────────────────
+
+  /** 대상 테이블/컬럼 생성. DDL 이 없으면 null (건너뜀) */
+  private List<String> prepareSchema(Connection src, Connection dst, String tbl, Listener listener)
+      throws SQLException {
+    listener.log(">>> 테이블 처리: " + tbl);
+    if (!mysqlTableExists(dst, tbl)) {
+      String ddl = getSqliteDDL(src, tbl);
+      if (ddl == null) {
+        listener.log("  ! " + tbl + " 테이블 DDL 없음. PASS.");
+        return null;
+      }
+      ddl = convertSqliteDDLtoMysql(ddl);
+      listener.log("  + CREATE SQL: " + ddl);
+      try (Statement st = dst.createStatement()) {
+        st.execute(ddl);
+      }
+    } else {
+      listener.log("  - 기존 테이블 사용: " + tbl);
+    }
+    List<String[]> sqliteCols = getSqliteColumns(src, tbl);
+    Set<String> mysqlCols = getMysqlColumns(dst, tbl);
+    List<String> names = new ArrayList<>();
+    for (String[] col : sqliteCols) {
+      String colName = col[0];
+      names.add(colName);
+      if (!mysqlCols.contains(colName.toLowerCase())) {
+        String mysqlType = TYPE_MAP.getOrDefault(col[1], "TEXT");
+        String sql = "ALTER TABLE `" + tbl + "` ADD COLUMN `" + colName + "` " + mysqlType + " NULL";
+        listener.log("  + 컬럼 추가: " + sql);
+        try (Statement st = dst.createStatement()) {
+          st.execute(sql);
+        }
+        mysqlCols.add(colName.toLowerCase());
+      }
+    }
+    return names;
+  }
+
+  /** 남은 행 수 추정 (rowid 테이블은 MAX(rowid) 로 전체 스캔 없이) */
+  private long estimateRows(Connection src, String tbl, boolean rowid, long fromRowid) {
+    String sql = rowid
+        ? "SELECT COALESCE(MAX(rowid), 0) FROM \"" + tbl + "\""
+        : "SELECT COUNT(*) FROM \"" + tbl + "\"";
+    try (Statement st = src.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+      long n = rs.next() ? rs.getLong(1) : 0;
+      return rowid ? Math.max(0, n - fromRowid) : n;
+    } catch (SQLException e) {
+      return 0;
+    }
+  }
+
+  private boolean hasRowid(Connection src, String tbl) {
+    try (Statement st = src.createStatement();
+         ResultSet rs = st.executeQuery("SELECT rowid FROM \"" + tbl + "\" LIMIT 0")) {
+      return true;
+    } catch (SQLException e) {
+      return false;   // WITHOUT ROWID 테이블
+    }
+  }
+
+  private List<String> getSqliteTables(Connection src) throws SQLException {
+    List<String> tables = new ArrayList<>();
+    try (Statement st = src.createStatement();
+        ResultSet rs = st.executeQuery("SELECT name FROM sqlite_master WHERE type='table' AND name NOT LIKE 'sqlite_%';")) {
+      while (rs.next()) tables.add(rs.getString(1));
+    }
+    return tables;
+  }
+
+  private boolean mysqlTableExists(Connection dst, String tbl) throws SQLException {
+    try (PreparedStatement ps = dst.prepareStatement(
+        "SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA=? AND TABLE_NAME=?")) {
+      ps.setString(1, TARGET_SCHEMA);
+      ps.setString(2, tbl);
+      try (ResultSet rs = ps.executeQuery()) {
+        return rs.next() && rs.getInt(1) > 0;
+      }
+    }
+  }
+
+  private String getSqliteDDL(Connection src, String tbl) throws SQLException {
+    try (PreparedStatement ps = src.prepareStatement(
+        "SELECT sql FROM sqlite_master WHERE type='table' AND name=?")) {
+      ps.setString(1, tbl);
+      try (ResultSet rs = ps.executeQuery()) {
+        if (rs.next()) return rs.getString(1);
+      }
+    }
+    return null;
+  }
+
+  private String convertSqliteDDLtoMysql(String ddl) {
+    ddl = ddl.replaceAll("AUTOINCREMENT", "AUTO_INCREMENT");
+    ddl = ddl.replaceAll("\\bINTEGER\\b", "INT(11)");
+    ddl = ddl.replaceAll("\\bREAL\\b", "DOUBLE");
+    ddl = ddl.replaceAll("\\bTEXT\\b", "TEXT");
+    ddl = ddl.replaceAll("\\bBLOB\\b", "BLOB");
+    ddl = ddl.replaceAll("\"([A-Za-z0-9_]+)\"", "`$1`");
+    ddl = ddl.replaceAll("\\);?$", ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;");
+    return ddl;
+  }
+
+  private List<String[]> getSqliteColumns(Connection src, String tbl) throws SQLException {
+    List<String[]> cols = new ArrayList<>();
+    try (Statement st = src.createStatement();
+        ResultSet rs = st.executeQuery("PRAGMA table_info('" + tbl + "');")) {
+      while (rs.next()) {
+        cols.add(new String[]{rs.getString("name"), rs.getString("type").toUpperCase()});
+      }
+    }
+    return cols;
+  }
+
+  private Set<String> getMysqlColumns(Connection dst, String tbl) throws SQLException {
+    Set<String> cols = new HashSet<>();
+    try (PreparedStatement ps = dst.prepareStatement(
+        "SELECT COLUMN_NAME FROM information_schema.COLUMNS WHERE TABLE_SCHEMA=? AND TABLE_NAME=?")) {
+      ps.setString(1, TARGET_SCHEMA);
+      ps.setString(2, tbl);
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) cols.add(rs.getString(1).toLowerCase());
+      }
+    }
+    return cols;
+  }
+}
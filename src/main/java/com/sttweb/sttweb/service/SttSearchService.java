@@ -1,7 +1,16 @@
 package com.sttweb.sttweb.service;
 
+import com.sttweb.sttweb.dto.SttSearchDtos.FileHits;
+import com.sttweb.sttweb.dto.SttSearchDtos.Sentence;
+import com.sttweb.sttweb.dto.SttSearchDtos.SentenceHit;
+import com.sttweb.sttweb.dto.SttSearchDtos.Transcript;
+import com.sttweb.sttweb.exception.BadGatewayException;
+import com.sttweb.sttweb.exception.ServiceUnavailableException;
 import lombok.RequiredArgsConstructor;
 import org.apache.lucene.search.join.ScoreMode;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.client.RequestOptions;
@@ -12,8 +21,12 @@ import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.search.collapse.CollapseBuilder;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.search.fetch.subphase.highlight.HighlightBuilder;
+import org.opensearch.search.fetch.subphase.highlight.HighlightField;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,8 +35,34 @@ import java.util.stream.Collectors;
 public class SttSearchService {
 
   private final RestHighLevelClient esClient;
+  private final OpenSearchGuard guard;
   private static final String INDEX = "record-stt";
 
+  // 하이라이트 대상 문장 필드 (channel → field)
+  private static final String RX_FIELD     = "result.rx.hypothesis.sentences.text";
+  private static final String TX_FIELD     = "result.tx.hypothesis.sentences.text";
+  private static final String MERGED_FIELD = "result.merged.text";
+  /** merged 하이라이트 조각 길이(문자) / 개수 */
+  private static final int MERGED_FRAGMENT_SIZE = 150;
+  private static final int MERGED_FRAGMENTS = 3;
+  private static final String PRE_TAG  = "<em>";
+  private static final String POST_TAG = "</em>";
+  private static final int MAX_SENTENCES_PER_FILE = 50;
+
+  // transcript 조회 시 필요한 필드만 (단어/대안 hypothesis 등 대용량 필드 제외)
+  private static final String[] TRANSCRIPT_INCLUDES = {
+      "filename",
+      "result.rx.hypothesis.sentences.text",
+      "result.rx.hypothesis.sentences.start",
+      "result.rx.hypothesis.sentences.end",
+      "result.tx.hypothesis.sentences.text",
+      "result.tx.hypothesis.sentences.start",
+      "result.tx.hypothesis.sentences.end"
+  };
+  private static final String[] TRANSCRIPT_EXCLUDES = {
+      "result.*.hypothesis.sentences.words"
+  };
+
   /** 공통: 텍스트(q)를 현 매핑(object) 기준으로 검색하는 BoolQuery */
   private BoolQueryBuilder buildTextQuery(String q) {
     BoolQueryBuilder bool = QueryBuilders.boolQuery();
@@ -46,40 +85,57 @@ public class SttSearchService {
     return bool;
   }
 
+  /**
+   * OpenSearch 호출 공통 — guard(breaker/bulkhead/조회 재시도) 를 거치고 오류를 HTTP 상태로 변환한다.
+   *  - 차단/포화(ServiceUnavailableException) → 그대로 503
+   *  - 연결 실패/타임아웃(IOException) → 503
+   *  - 그 외 오류 응답/예외 → 502
+   *  - 인덱스 없음(404) → null (호출부에서 빈 결과/없음 처리)
+   * 검색 장애를 빈 결과나 404 로 숨기지 않는다.
+   */
+  private <T> T call(String op, OpenSearchGuard.SearchCall<T> call) {
+    try {
+      return guard.executeRead(op, call);
+    } catch (ServiceUnavailableException e) {
+      throw e;
+    } catch (OpenSearchStatusException e) {
+      if (e.status() == RestStatus.NOT_FOUND) return null;
+      throw new BadGatewayException("검색 서버 오류 (" + op + "): " + e.status(), e);
+    } catch (IOException e) {
+      throw new ServiceUnavailableException("검색 서버에 연결할 수 없습니다. (" + op + ")");
+    } catch (Exception e) {
+      throw new BadGatewayException("검색 서버 오류 (" + op + ")", e);
+    }
+  }
+
   /** 텍스트 매칭된 filename 유니크만 반환 (collapse 사용) */
   public Map<String, Object> searchFilenames(String q, int page, int size) {
     int from = Math.max(page, 0) * Math.max(size, 1);
     int sz   = Math.max(size, 1);
 
-    try {
-      SearchSourceBuilder source = new SearchSourceBuilder()
-          .query(buildTextQuery(q))
-          .from(from)
-          .size(sz)
-          .trackTotalHits(true)
-          .fetchSource(new String[] { "filename" }, new String[] {})
-          // filename.keyword 로 유니크
-          .collapse(new CollapseBuilder("filename.keyword"));
-
-      SearchResponse resp = esClient.search(new SearchRequest(INDEX).source(source), RequestOptions.DEFAULT);
-      if (resp.status() != RestStatus.OK) {
-        return Map.of("page", page, "size", sz, "total", 0, "filenames", List.of());
-      }
+    SearchSourceBuilder source = new SearchSourceBuilder()
+        .query(buildTextQuery(q))
+        .from(from)
+        .size(sz)
+        .trackTotalHits(true)
+        .fetchSource(new String[] { "filename" }, new String[] {})
+        // filename.keyword 로 유니크
+        .collapse(new CollapseBuilder("filename.keyword"));
 
-      List<String> filenames = Arrays.stream(resp.getHits().getHits())
-          .map(SearchHit::getSourceAsMap)
-          .filter(Objects::nonNull)
-          .map(m -> Objects.toString(m.getOrDefault("filename", ""), ""))
-          .filter(s -> !s.isBlank())
-          .collect(Collectors.toList());
+    SearchResponse resp = call("searchFilenames", () ->
+        esClient.search(new SearchRequest(INDEX).source(source), RequestOptions.DEFAULT));
+    if (resp == null) return Map.of("page", page, "size", sz, "total", 0, "filenames", List.of());
 
-      long total = resp.getHits().getTotalHits().value; // collapse 시 실제 유니크 건수와 다를 수 있음(참고)
+    List<String> filenames = Arrays.stream(resp.getHits().getHits())
+        .map(SearchHit::getSourceAsMap)
+        .filter(Objects::nonNull)
+        .map(m -> Objects.toString(m.getOrDefault("filename", ""), ""))
+        .filter(s -> !s.isBlank())
+        .collect(Collectors.toList());
 
-      return Map.of("page", page, "size", sz, "total", total, "filenames", filenames);
+    long total = resp.getHits().getTotalHits().value; // collapse 시 실제 유니크 건수와 다를 수 있음(참고)
 
-    } catch (Exception e) {
-      return Map.of("page", page, "size", sz, "total", 0, "filenames", List.of());
-    }
+    return Map.of("page", page, "size", sz, "total", total, "filenames", filenames);
   }
 
   /** s 배열(OR) → filename 유니크 페이징 */
@@ -87,63 +143,220 @@ public class SttSearchService {
     int from = Math.max(page, 0) * Math.max(size, 1);
     int sz   = Math.max(size, 1);
 
-    try {
-      BoolQueryBuilder root = QueryBuilders.boolQuery();
-
-      if (queries == null || queries.isEmpty()) {
-        root.must(QueryBuilders.matchAllQuery());
-      } else {
-        BoolQueryBuilder orQueries = QueryBuilders.boolQuery();
-        for (String q : queries) {
-          if (q == null || q.isBlank()) continue;
-          orQueries.should(buildTextQuery(q));
+    BoolQueryBuilder root = QueryBuilders.boolQuery();
+
+    if (queries == null || queries.isEmpty()) {
+      root.must(QueryBuilders.matchAllQuery());
+    } else {
+      BoolQueryBuilder orQueries = QueryBuilders.boolQuery();
+      for (String q : queries) {
+        if (q == null || q.isBlank()) continue;
+        orQueries.should(buildTextQuery(q));
+      }
+      orQueries.minimumShouldMatch(1);
+      root.must(orQueries);
+    }
+
+    SearchSourceBuilder source = new SearchSourceBuilder()
+        .query(root)
+        .from(from)
+        .size(sz)
+        .trackTotalHits(true)
+        .fetchSource(new String[]{"filename"}, new String[]{})
+        .collapse(new CollapseBuilder("filename.keyword"));
+
+    SearchResponse resp = call("searchFilenamesArray", () ->
+        esClient.search(new SearchRequest(INDEX).source(source), RequestOptions.DEFAULT));
+    if (resp == null) return Map.of("page", page, "size", sz, "total", 0, "filenames", List.of());
+
+    List<String> filenames = Arrays.stream(resp.getHits().getHits())
+        .map(SearchHit::getSourceAsMap)
+        .filter(Objects::nonNull)
+        .map(m -> Objects.toString(m.getOrDefault("filename", ""), ""))
+        .filter(s -> !s.isBlank())
+        .collect(Collectors.toList());
+
+    long total = resp.getHits().getTotalHits().value;
+
+    return Map.of("page", page, "size", sz, "total", total, "filenames", filenames);
+  }
+
+  /**
+   * filename 별로 검색어가 걸린 문장만 반환 (rx/tx 문장 + merged 텍스트).
+   * 전체 _source 대신 문장 text/start/end 만 가져오고, 하이라이트 조각을 문장과 매칭해 오프셋을 붙인다.
+   */
+  public Map<String, FileHits> searchHitSentences(List<String> queries, Collection<String> filenames) {
+    if (filenames == null || filenames.isEmpty()) return Map.of();
+    List<String> qs = queries == null ? List.of()
+        : queries.stream().filter(q -> q != null && !q.isBlank()).map(String::trim).toList();
+    if (qs.isEmpty()) return Map.of();
+
+    BoolQueryBuilder text = QueryBuilders.boolQuery();
+    for (String q : qs) {
+      text.should(QueryBuilders.matchPhrasePrefixQuery(MERGED_FIELD, q));
+      text.should(QueryBuilders.matchPhrasePrefixQuery(RX_FIELD, q));
+      text.should(QueryBuilders.matchPhrasePrefixQuery(TX_FIELD, q));
+    }
+    text.minimumShouldMatch(1);
+
+    BoolQueryBuilder root = QueryBuilders.boolQuery()
+        .must(text)
+        .filter(QueryBuilders.termsQuery("filename.keyword", filenames));
+
+    // rx/tx: numOfFragments(0) 으로 배열 원소(문장) 단위로 통째로 하이라이트
+    // merged 는 통짜 문자열이라 0 이면 전사 전체가 한 조각으로 옴 → 짧은 조각 몇 개로 제한
+    HighlightBuilder hl = new HighlightBuilder()
+        .preTags(PRE_TAG).postTags(POST_TAG)
+        .field(new HighlightBuilder.Field(RX_FIELD).numOfFragments(0))
+        .field(new HighlightBuilder.Field(TX_FIELD).numOfFragments(0))
+        .field(new HighlightBuilder.Field(MERGED_FIELD)
+            .fragmentSize(MERGED_FRAGMENT_SIZE).numOfFragments(MERGED_FRAGMENTS));
+
+    SearchSourceBuilder source = new SearchSourceBuilder()
+        .query(root)
+        .size(filenames.size())
+        .highlighter(hl)
+        .fetchSource(new String[] {
+            "filename",
+            "result.rx.hypothesis.sentences.text",
+            "result.rx.hypothesis.sentences.start",
+            "result.rx.hypothesis.sentences.end",
+            "result.tx.hypothesis.sentences.text",
+            "result.tx.hypothesis.sentences.start",
+            "result.tx.hypothesis.sentences.end"
+        }, new String[] {});
+
+    SearchResponse resp = call("searchHitSentences", () ->
+        esClient.search(new SearchRequest(INDEX).source(source), RequestOptions.DEFAULT));
+    if (resp == null) return Map.of();
+
+    Map<String, FileHits> out = new LinkedHashMap<>();
+    for (SearchHit hit : resp.getHits().getHits()) {
+      Map<String, Object> src = hit.getSourceAsMap();
+      if (src == null) continue;
+      String filename = Objects.toString(src.get("filename"), "");
+      if (filename.isBlank() || out.containsKey(filename)) continue;
+
+      Map<String, HighlightField> hf = hit.getHighlightFields();
+      List<SentenceHit> sentences = new ArrayList<>();
+      collectSentenceHits("rx", hf.get(RX_FIELD), sentencesOf(src, "rx", false), sentences);
+      collectSentenceHits("tx", hf.get(TX_FIELD), sentencesOf(src, "tx", false), sentences);
+      // merged 는 오프셋을 붙일 수 없으므로 rx/tx 문장이 하나도 안 걸렸을 때만 사용
+      if (sentences.isEmpty()) collectSentenceHits("merged", hf.get(MERGED_FIELD), List.of(), sentences);
+
+      out.put(filename, new FileHits(filename, sentences));
+    }
+    return out;
+  }
+
+  /** 하이라이트 조각 → 원본 문장(start/end) 매칭. 동일 문장이 반복되면 앞에서부터 순서대로 소비 */
+  private void collectSentenceHits(String channel, HighlightField field,
+      List<Map<String, Object>> sentences, List<SentenceHit> out) {
+    if (field == null || field.fragments() == null) return;
+
+    int cursor = 0;
+    for (var frag : field.fragments()) {
+      if (out.size() >= MAX_SENTENCES_PER_FILE) return;
+      String highlighted = frag.string();
+      String plain = highlighted.replace(PRE_TAG, "").replace(POST_TAG, "").trim();
+
+      Map<String, Object> matched = null;
+      for (int n = 0; n < sentences.size(); n++) {
+        int idx = (cursor + n) % sentences.size();
+        Map<String, Object> sen = sentences.get(idx);
+        if (plain.equals(Objects.toString(sen.get("text"), "").trim())) {
+          matched = sen;
+          cursor = idx + 1;
+          break;
         }
-        orQueries.minimumShouldMatch(1);
-        root.must(orQueries);
       }
 
-      SearchSourceBuilder source = new SearchSourceBuilder()
-          .query(root)
-          .from(from)
-          .size(sz)
-          .trackTotalHits(true)
-          .fetchSource(new String[]{"filename"}, new String[]{})
-          .collapse(new CollapseBuilder("filename.keyword"));
-
-      SearchResponse resp = esClient.search(new SearchRequest(INDEX).source(source), RequestOptions.DEFAULT);
-      if (resp.status() != RestStatus.OK) {
-        return Map.of("page", page, "size", sz, "total", 0, "filenames", List.of());
+      out.add(new SentenceHit(
+          channel,
+          plain,
+          highlighted,
+          matched == null ? null : toDouble(matched.get("start")),
+          matched == null ? null : toDouble(matched.get("end"))
+      ));
+    }
+  }
+
+  /**
+   * result.{channel}.hypothesis.sentences — hypothesis 가 객체/배열 어느 쪽이든 평탄화.
+   * bestOnly 이면 첫 번째(최종) hypothesis 만 사용
+   */
+  @SuppressWarnings("unchecked")
+  private List<Map<String, Object>> sentencesOf(Map<String, Object> src, String channel, boolean bestOnly) {
+    Object result = src.get("result");
+    if (!(result instanceof Map<?, ?> r)) return List.of();
+    Object ch = r.get(channel);
+    if (!(ch instanceof Map<?, ?> c)) return List.of();
+
+    Object hyp = c.get("hypothesis");
+    List<Object> hyps = hyp instanceof List<?> l ? (List<Object>) l : hyp == null ? List.of() : List.of(hyp);
+    if (bestOnly && hyps.size() > 1) hyps = hyps.subList(0, 1);
+
+    List<Map<String, Object>> out = new ArrayList<>();
+    for (Object h : hyps) {
+      if (!(h instanceof Map<?, ?> hm)) continue;
+      if (hm.get("sentences") instanceof List<?> sl) {
+        for (Object o : sl) {
+          if (o instanceof Map<?, ?> m) out.add((Map<String, Object>) m);
+        }
       }
+    }
+    return out;
+  }
 
-      List<String> filenames = Arrays.stream(resp.getHits().getHits())
-          .map(SearchHit::getSourceAsMap)
-          .filter(Objects::nonNull)
-          .map(m -> Objects.toString(m.getOrDefault("filename", ""), ""))
-          .filter(s -> !s.isBlank())
-          .collect(Collectors.toList());
+  private static Double toDouble(Object v) {
+    if (v instanceof Number n) return n.doubleValue();
+    if (v == null) return null;
+    try {
+      return Double.valueOf(v.toString().trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
 
-      long total = resp.getHits().getTotalHits().value;
+  /** 문서 버전만 조회 (_source 미전송) — ETag 재검증용. 없으면 null */
+  public Long getVersion(String id) {
+    GetResponse resp = call("getVersion", () -> esClient.get(
+        new GetRequest(INDEX, id).fetchSourceContext(FetchSourceContext.DO_NOT_FETCH_SOURCE),
+        RequestOptions.DEFAULT));
+    return resp != null && resp.isExists() ? resp.getVersion() : null;
+  }
 
-      return Map.of("page", page, "size", sz, "total", total, "filenames", filenames);
+  /** 최종 문장만 projection 해서 경량 DTO 로 반환 (start 순 정렬). 없으면 null */
+  public Transcript getTranscript(String id) {
+    GetResponse resp = call("getTranscript", () -> esClient.get(
+        new GetRequest(INDEX, id)
+            .fetchSourceContext(new FetchSourceContext(true, TRANSCRIPT_INCLUDES, TRANSCRIPT_EXCLUDES)),
+        RequestOptions.DEFAULT));
+    if (resp == null || !resp.isExists()) return null;
 
-    } catch (Exception e) {
-      return Map.of("page", page, "size", sz, "total", 0, "filenames", List.of());
+    Map<String, Object> src = Optional.ofNullable(resp.getSourceAsMap()).orElse(Map.of());
+    List<Sentence> sentences = new ArrayList<>();
+    for (String ch : List.of("rx", "tx")) {
+      for (Map<String, Object> sen : sentencesOf(src, ch, true)) {
+        sentences.add(new Sentence(ch, toDouble(sen.get("start")), toDouble(sen.get("end")),
+            Objects.toString(sen.get("text"), "")));
+      }
     }
+    sentences.sort(Comparator.comparing(Sentence::start, Comparator.nullsLast(Comparator.naturalOrder())));
+
+    return new Transcript(resp.getId(), Objects.toString(src.get("filename"), ""), resp.getVersion(), sentences);
   }
 
   /** 단건 원본 문서 */
   public Map<String, Object> getById(String id) {
-    try {
-      var source = new SearchSourceBuilder()
-          .query(QueryBuilders.idsQuery().addIds(id))
-          .size(1);
+    var source = new SearchSourceBuilder()
+        .query(QueryBuilders.idsQuery().addIds(id))
+        .size(1);
 
-      var resp = esClient.search(new SearchRequest(INDEX).source(source), RequestOptions.DEFAULT);
-      if (resp.getHits().getHits().length == 0) return Map.of();
+    SearchResponse resp = call("getById", () ->
+        esClient.search(new SearchRequest(INDEX).source(source), RequestOptions.DEFAULT));
+    if (resp == null || resp.getHits().getHits().length == 0) return Map.of();
 
-      return resp.getHits().getHits()[0].getSourceAsMap();
-    } catch (Exception e) {
-      return Map.of();
-    }
+    return resp.getHits().getHits()[0].getSourceAsMap();
   }
 }
@@ -1,16 +1,27 @@
 package com.sttweb.sttweb.service;
 
+import com.sttweb.sttweb.config.ActivityLogSchemaInitializer;
 import com.sttweb.sttweb.dto.TactivitylogDto;
 import com.sttweb.sttweb.entity.TactivitylogEntity;
 import com.sttweb.sttweb.exception.ResourceNotFoundException;
 import com.sttweb.sttweb.repository.TactivitylogRepository;
 import com.sttweb.sttweb.specification.ActivityLogSpecification;
 import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 @RequiredArgsConstructor
@@ -18,15 +29,23 @@ import org.springframework.stereotype.Service;
 public class TactivitylogServiceImpl implements TactivitylogService {
 
   private static final String HIDDEN_USER = "IQ200admin";
-  private final TactivitylogRepository repository;
+  private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  private final TactivitylogRepository       repository;
+  private final ActivityLogSchemaInitializer schema;
+
+  /** "전체" 검색에서 FULLTEXT 로 먼저 뽑을 id 상한 */
+  @Value("${activitylog.search.fulltext-id-cap:5000}")
+  private int fulltextIdCap;
 
   /* ---------- CREATE ---------- */
   @Override
   public TactivitylogDto createLog(TactivitylogDto dto) {
     TactivitylogEntity ent = new TactivitylogEntity();
-    BeanUtils.copyProperties(dto, ent);
-    BeanUtils.copyProperties(repository.save(ent), dto);
-    return dto;
+    BeanUtils.copyProperties(dto, ent, "crtime");
+    LocalDateTime cr = parseCrtime(dto.getCrtime(), false);
+    ent.setCrtime((cr != null ? cr : LocalDateTime.now()).truncatedTo(ChronoUnit.SECONDS));
+    return toDto(repository.save(ent));
   }
 
   /* ---------- READ (단건) ---------- */
@@ -78,53 +97,102 @@ public class TactivitylogServiceImpl implements TactivitylogService {
     else if (!"0".equals(userLevel))
       spec = spec.and(ActivityLogSpecification.hasUserId(userId));
 
-    /* 2) 기간 */
-    if (startCr!=null && endCr!=null)
-      spec = spec.and(ActivityLogSpecification.betweenCrtime(startCr,endCr));
+    /* 2) 기간 — DATETIME 컬럼, (branch_seq|user_id, crtime) 인덱스 사용 */
+    LocalDateTime from = parseCrtime(startCr, false);
+    LocalDateTime to   = parseCrtime(endCr, true);
+    spec = spec.and(ActivityLogSpecification.betweenCrtime(from, to));
 
     /* 3) 활동 타입 */
     if (type!=null && !type.isBlank() && !"전체".equals(type))
       spec = spec.and(ActivityLogSpecification.containsField("activity",type));
 
-    /* 4) 키워드 검색 */
+    /* 4) 키워드 검색 — contents 는 FULLTEXT(단어 접두 일치), 나머지는 짧은 VARCHAR LIKE.
+     *    contentsLike 는 단어 중간까지 찾는 부분일치 (인덱스 없이 스캔) */
     if (keyword!=null && !keyword.isBlank()){
       String q = keyword.trim();
-      if (field==null || field.isBlank() || "전체".equals(field)){
-        spec = spec.and(
-            ActivityLogSpecification.containsField("userId",q)
-                .or(ActivityLogSpecification.containsField("activity",q))
-                .or(ActivityLogSpecification.containsField("contents",q))
-                .or(ActivityLogSpecification.containsField("companyName",q))
-                .or(ActivityLogSpecification.containsField("pbIp",q))
-                .or(ActivityLogSpecification.containsField("pvIp",q))
-        );
-      } else switch(field){
-        case "userId"   -> spec = spec.and(ActivityLogSpecification.containsField("userId",q));
-        case "ip"       -> spec = spec.and(ActivityLogSpecification.ipLike(q));
-        case "pbIp"     -> spec = spec.and(ActivityLogSpecification.containsField("pbIp",q));
-        case "pvIp"     -> spec = spec.and(ActivityLogSpecification.containsField("pvIp",q));
-        case "activity" -> spec = spec.and(ActivityLogSpecification.containsField("activity",q));
-        case "contents" -> spec = spec.and(ActivityLogSpecification.containsField("contents",q));
-        case "branch","지점" ->
-            spec = spec.and(ActivityLogSpecification.containsField("companyName",q));
-        default -> spec = spec.and(
-            ActivityLogSpecification.containsField("userId",q)
-                .or(ActivityLogSpecification.containsField("activity",q))
-                .or(ActivityLogSpecification.containsField("contents",q))
-                .or(ActivityLogSpecification.containsField("companyName",q))
-                .or(ActivityLogSpecification.containsField("pbIp",q))
-                .or(ActivityLogSpecification.containsField("pvIp",q))
-        );
-      }
+      String f = (field==null || field.isBlank()) ? "전체" : field;
+      spec = spec.and(switch(f){
+        case "userId"   -> ActivityLogSpecification.containsField("userId",q);
+        case "ip"       -> ActivityLogSpecification.ipLike(q);
+        case "pbIp"     -> ActivityLogSpecification.containsField("pbIp",q);
+        case "pvIp"     -> ActivityLogSpecification.containsField("pvIp",q);
+        case "activity" -> ActivityLogSpecification.containsField("activity",q);
+        case "contents" -> contentsKeyword(q);
+        case "contentsLike" -> ActivityLogSpecification.containsField("contents",q);
+        case "branch","지점" -> ActivityLogSpecification.containsField("companyName",q);
+        default -> allFieldsKeyword(q, from, to);
+      });
     }
 
     return repository.findAll(spec,pageable).map(this::toDto);
   }
 
+  /**
+   * contents 키워드: FULLTEXT 가능하면 MATCH, 토큰이 최소 길이 미만이거나 인덱스 없으면 LIKE.
+   * 기본 파서의 "+term*" 는 <b>단어 접두</b> 일치 — "로그" 는 "로그인" 은 찾지만 "에러로그" 는 못 찾는다
+   * (ngram 파서는 부분 문자열도 찾음). 단어 중간 검색은 field=contentsLike 로.
+   */
+  private Specification<TactivitylogEntity> contentsKeyword(String q){
+    String bq = schema.fulltextReady() ? toBooleanQuery(q) : null;
+    return bq != null
+        ? ActivityLogSpecification.matchContents(bq)
+        : ActivityLogSpecification.containsField("contents", q);
+  }
+
+  /**
+   * "전체" 검색: MATCH 와 LIKE 를 한 WHERE 에 OR 로 묶으면 FULLTEXT 인덱스를 못 타므로
+   * contents 는 FULLTEXT 로 id 만 따로 뽑고(기간 조건 포함), 짧은 컬럼 LIKE 와 id IN 으로 합친다.
+   * id 가 상한 이상이면 결과 누락을 막기 위해 contents LIKE 로 대체.
+   */
+  private Specification<TactivitylogEntity> allFieldsKeyword(String q, LocalDateTime from, LocalDateTime to){
+    Specification<TactivitylogEntity> shortCols = ActivityLogSpecification.containsField("userId",q)
+        .or(ActivityLogSpecification.containsField("activity",q))
+        .or(ActivityLogSpecification.containsField("companyName",q))
+        .or(ActivityLogSpecification.containsField("pbIp",q))
+        .or(ActivityLogSpecification.containsField("pvIp",q));
+
+    String bq = schema.fulltextReady() ? toBooleanQuery(q) : null;
+    if (bq != null) {
+      List<Integer> ids = repository.findIdsByContentsMatch(bq, from, to, fulltextIdCap);
+      if (ids.size() < fulltextIdCap) return shortCols.or(ActivityLogSpecification.idIn(ids));
+    }
+    return shortCols.or(ActivityLogSpecification.containsField("contents", q));
+  }
+
+  /** "a b" → "+a* +b*" (ngram 파서면 "+\"a\" +\"b\"") — 연산자 문자는 제거 */
+  String toBooleanQuery(String q){
+    StringBuilder sb = new StringBuilder();
+    for (String tok : q.split("\\s+")) {
+      String t = tok.replaceAll("[+\\-<>()~*\"@]", "");
+      if (t.isEmpty()) continue;
+      if (t.codePointCount(0, t.length()) < schema.minTokenSize()) return null;
+      if (sb.length() > 0) sb.append(' ');
+      sb.append('+').append(schema.ngram() ? "\"" + t + "\"" : t + "*");
+    }
+    return sb.length() == 0 ? null : sb.toString();
+  }
+
+  /** yyyy-MM-dd HH:mm:ss / yyyy-MM-ddTHH:mm[:ss] / yyyy-MM-dd (날짜만이면 종료값은 그날 끝) */
+  private LocalDateTime parseCrtime(String s, boolean end){
+    if (s == null || s.isBlank()) return null;
+    String v = s.trim();
+    try {
+      if (v.length() == 10) {
+        LocalDate d = LocalDate.parse(v);
+        return end ? d.atTime(LocalTime.MAX.withNano(0)) : d.atStartOfDay();
+      }
+      if (v.indexOf('T') > 0) return LocalDateTime.parse(v);
+      return LocalDateTime.parse(v, FMT);
+    } catch (DateTimeParseException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 날짜 형식입니다: " + s);
+    }
+  }
+
   /* ---------- Entity→DTO ---------- */
   private TactivitylogDto toDto(TactivitylogEntity e){
     TactivitylogDto d = new TactivitylogDto();
-    BeanUtils.copyProperties(e,d);
+    BeanUtils.copyProperties(e,d, "crtime");
+    if (e.getCrtime() != null) d.setCrtime(e.getCrtime().format(FMT));
     return d;
   }
 }
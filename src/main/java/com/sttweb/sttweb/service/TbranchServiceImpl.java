@@ -2,11 +2,13 @@ package com.sttweb.sttweb.service;
 
 import com.sttweb.sttweb.dto.TbranchDto;
 import com.sttweb.sttweb.entity.TbranchEntity;
+import com.sttweb.sttweb.event.BranchChangedEvent;
 import com.sttweb.sttweb.repository.TbranchRepository;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -25,6 +27,7 @@ public class TbranchServiceImpl implements TbranchService {
   private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
   private final TbranchRepository branchRepository;
   private final TbranchRepository repository;
+  private final ApplicationEventPublisher events;
 
   private TbranchDto toDto(TbranchEntity e) {
     return TbranchDto.builder()
@@ -135,7 +138,9 @@ public class TbranchServiceImpl implements TbranchService {
     e.setPbPort(dto.getPbPort());
     e.setHqYn(dto.getHqYn());
     e.setDiscd(0);
-    return toDto(repo.save(e));
+    TbranchEntity saved = repo.save(e);
+    events.publishEvent(new BranchChangedEvent(saved.getBranchSeq()));
+    return toDto(saved);
   }
 
   /**
@@ -164,7 +169,9 @@ public class TbranchServiceImpl implements TbranchService {
     e.setPbIp(dto.getPbIp());
     e.setPbPort(dto.getPbPort());
     e.setHqYn(dto.getHqYn());
-    return toDto(repo.save(e));
+    TbranchEntity saved = repo.save(e);
+    events.publishEvent(new BranchChangedEvent(branchSeq));
+    return toDto(saved);
   }
 
   /**
@@ -177,6 +184,7 @@ public class TbranchServiceImpl implements TbranchService {
         .orElseThrow(() -> new IllegalStateException("지점을 찾을 수 없습니다: " + branchSeq));
     e.setDiscd(active ? 0 : 1);
     repo.save(e);
+    events.publishEvent(new BranchChangedEvent(branchSeq));
   }
 
   /**
@@ -0,0 +1,179 @@
+// src/main/java/com/sttweb/sttweb/service/TelListIniWatcher.java
+package com.sttweb.sttweb.service;
+
+import com.sttweb.sttweb.service.RecordTelService.SyncResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.File;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * RecOnLineInfo.ini 변경 감시 → trecord_tel_list 자동 동기화.
+ *  - INI 폴더를 WatchService 로 감시, 변경 이벤트가 debounce 시간 동안 잠잠해지면 동기화
+ *  - 이벤트 누락 대비로 rescan 주기마다 수정시각/크기를 비교
+ *  - INI 가 아직 없으면 rescan 주기로 다시 찾는다
+ */
+@Slf4j
+@Component
+public class TelListIniWatcher {
+
+  private final RecordTelService telService;
+  private final boolean enabled;
+  private final long debounceMs;
+  private final long rescanMs;
+
+  private volatile boolean running;
+  private Thread thread;
+  private volatile WatchService watchService;
+
+  private volatile String lastFingerprint;
+  private volatile LocalDateTime lastSyncAt;
+  private volatile Map<String, Object> lastResult;
+  private volatile String lastError;
+
+  public TelListIniWatcher(
+      RecordTelService telService,
+      @Value("${telsync.watch.enabled:true}") boolean enabled,
+      @Value("${telsync.watch.debounce-ms:2000}") long debounceMs,
+      @Value("${telsync.watch.rescan-ms:60000}") long rescanMs
+  ) {
+    this.telService = telService;
+    this.enabled = enabled;
+    this.debounceMs = Math.max(100, debounceMs);
+    this.rescanMs = Math.max(1000, rescanMs);
+  }
+
+  @PostConstruct
+  void start() {
+    if (!enabled) return;
+    running = true;
+    thread = new Thread(this::loop, "telsync-watcher");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @PreDestroy
+  void stop() throws Exception {
+    running = false;
+    WatchService ws = watchService;
+    if (ws != null) ws.close();
+    if (thread != null) {
+      thread.interrupt();
+      thread.join(2000);
+    }
+  }
+
+  /** 마지막 동기화 상태 */
+  public Map<String, Object> status() {
+    Map<String, Object> m = new LinkedHashMap<>();
+    m.put("enabled", enabled);
+    File ini = telService.findIniFile();
+    m.put("iniFile", ini == null ? null : ini.getAbsolutePath());
+    m.put("lastSyncAt", lastSyncAt);
+    m.put("lastResult", lastResult);
+    m.put("lastError", lastError);
+    return m;
+  }
+
+  private void loop() {
+    while (running) {
+      File ini = telService.findIniFile();
+      if (ini == null) {
+        if (!sleep(rescanMs)) return;
+        continue;
+      }
+      try (WatchService ws = FileSystems.getDefault().newWatchService()) {
+        watchService = ws;
+        Path dir = ini.getAbsoluteFile().getParentFile().toPath();
+        dir.register(ws, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        log.info("[TelListSync] INI 감시 시작: {}", ini.getAbsolutePath());
+        syncIfChanged(ini);
+
+        while (running && ini.exists()) {
+          WatchKey key = ws.poll(rescanMs, TimeUnit.MILLISECONDS);
+          if (key == null) {
+            syncIfChanged(ini);          // 이벤트 누락 대비
+            continue;
+          }
+          boolean hit = touches(key, ini);
+          if (!key.reset()) break;       // 폴더가 사라짐 → 다시 찾기
+          if (!hit) continue;
+
+          // debounce: 저장 중 연속 이벤트가 잠잠해질 때까지 대기
+          WatchKey more;
+          while ((more = ws.poll(debounceMs, TimeUnit.MILLISECONDS)) != null) {
+            more.pollEvents();
+            if (!more.reset()) break;
+          }
+          syncIfChanged(ini);
+        }
+      } catch (InterruptedException | ClosedWatchServiceException e) {
+        return;
+      } catch (Exception e) {
+        lastError = e.getMessage();
+        log.warn("[TelListSync] INI 감시 오류, {}ms 후 재시도: {}", rescanMs, e.getMessage());
+        if (!sleep(rescanMs)) return;
+      } finally {
+        watchService = null;
+      }
+    }
+  }
+
+  private boolean touches(WatchKey key, File ini) {
+    boolean hit = false;
+    for (WatchEvent<?> ev : key.pollEvents()) {
+      if (ev.kind() == StandardWatchEventKinds.OVERFLOW) {
+        hit = true;
+      } else if (ev.context() instanceof Path p && p.getFileName().toString().equalsIgnoreCase(ini.getName())) {
+        hit = true;
+      }
+    }
+    return hit;
+  }
+
+  /** 수정시각/크기가 바뀐 경우에만 동기화 */
+  private void syncIfChanged(File ini) {
+    String fp = ini.lastModified() + ":" + ini.length();
+    if (fp.equals(lastFingerprint)) return;
+    try {
+      SyncResult r = telService.syncFromIni();
+      // 다른 노드가 반영 중이면 지문을 남기지 않아 다음 재검사 때 다시 확인
+      if (r.busy()) return;
+      lastFingerprint = fp;
+      lastSyncAt = LocalDateTime.now();
+      lastError = r.skipped();
+      Map<String, Object> m = new LinkedHashMap<>();
+      m.put("inserted", r.inserted().size());
+      m.put("updated", r.updated());
+      m.put("removed", r.removed());
+      m.put("restored", r.restored());
+      m.put("skipped", r.skipped());
+      lastResult = m;
+    } catch (Exception e) {
+      lastError = e.getMessage();
+      log.warn("[TelListSync] INI 동기화 실패: {}", e.getMessage(), e);
+    }
+  }
+
+  private boolean sleep(long ms) {
+    try {
+      Thread.sleep(ms);
+      return running;
+    } catch (InterruptedException e) {
+      return false;
+    }
+  }
+}
@@ -33,6 +33,8 @@ public interface TmemberService {
 
     // 지사 관리자 전용
     Page<Info> listUsersInBranch(Integer branchSeq, Pageable pageable);
+    /** 지사 소속 회원 내선번호 (4자리 정규화, 중복 제거, 캐시) */
+    List<String> listExtensionNumbersInBranch(Integer branchSeq);
     Page<Info> searchUsersInBranch(String keyword, Integer branchSeq, Pageable pageable);
 
     boolean existsUserInBranch(String userId, Integer branchSeq);
@@ -44,10 +46,12 @@ public interface TmemberService {
 
     void changePassword(Integer memberSeq, String oldPassword, String newPassword);
 
+    /** 초기화 시 설정되는 기본 비밀번호 */
+    String DEFAULT_PASSWORD = "1234";
+
     // 추가: 비밀번호 초기화
     void resetPassword(Integer memberSeq, String rawPassword, String operatorId);
-    void resetPasswords(List<Integer> memberSeqs, String rawPassword, String operatorId);
-    void resetAllPasswords(String rawPassword, String operatorId);
+    // 여러 명/전체 초기화는 PasswordResetJobService (비동기 작업)
 
     // 추가: branchSeq → branchName 조회
     String getBranchNameBySeq(Integer branchSeq);
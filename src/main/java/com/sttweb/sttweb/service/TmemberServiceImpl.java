@@ -1,17 +1,21 @@
 package com.sttweb.sttweb.service;
 
+import com.sttweb.sttweb.cache.BranchNumbersCache;
+import com.sttweb.sttweb.cache.MemberInfoCache;
 import com.sttweb.sttweb.dto.TmemberDto.Info;
 import com.sttweb.sttweb.dto.TmemberDto.LoginRequest;
 import com.sttweb.sttweb.dto.TmemberDto.SignupRequest;
 import com.sttweb.sttweb.dto.TmemberDto.StatusChangeRequest;
 import com.sttweb.sttweb.dto.TmemberDto.UpdateRequest;
 import com.sttweb.sttweb.entity.TmemberEntity;
+import com.sttweb.sttweb.event.MemberChangedEvent;
 import com.sttweb.sttweb.exception.ResourceNotFoundException;
 import com.sttweb.sttweb.repository.TmemberRepository;
 import com.sttweb.sttweb.dto.TbranchDto;
 import com.sttweb.sttweb.service.TbranchService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -25,7 +29,9 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,6 +45,10 @@ public class TmemberServiceImpl implements TmemberService {
   private final TbranchService branchSvc;
   private final TmemberRepository memberRepo;
   private final TmemberRepository tmemberRepository;
+  private final MemberInfoCache infoCache;
+  private final BranchNumbersCache branchNumbersCache;
+  private final ApplicationEventPublisher events;
+  private final PasswordHashGuard hashGuard;
 
   private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
   private static final String PASSWORD_PATTERN = "^(?=.*[a-z])(?=.*\\d)(?=.*\\W).{8,}$";
@@ -114,6 +124,7 @@ public class TmemberServiceImpl implements TmemberService {
     TmemberEntity e = new TmemberEntity();
     e.setUserId(req.getUserId());
     e.setUserPass(hashPass);
+    e.setMustChangePassword(false);
     e.setBranchSeq(req.getBranchSeq());
     e.setEmployeeId(req.getEmployeeId());
     e.setNumber(req.getNumber());
@@ -132,19 +143,29 @@ public class TmemberServiceImpl implements TmemberService {
         ? req.getDepartment().trim() : null);
 
     repo.save(e);
+    events.publishEvent(new MemberChangedEvent(e.getMemberSeq()));
   }
 
   /** 로그인 */
   @Override
   public TmemberEntity login(LoginRequest req) {
+    long t0 = System.nanoTime();
     TmemberEntity user = repo.findByUserId(req.getUserId())
         .orElseThrow(() -> new IllegalArgumentException("아이디 또는 비밀번호가 틀립니다."));
     if (user.getDiscd() != null && user.getDiscd() == 1) {
       throw new IllegalStateException("비활성 사용자입니다. 관리자에게 문의하세요.");
     }
-    if (!passwordEncoder.matches(req.getUserPass(), user.getUserPass())) {
+    // BCrypt 는 로그인당 한 번만 (한정된 풀에서, 포화 시 503 — 거절은 로그인 실패로 집계하지 않음)
+    boolean matched = hashGuard.matches(req.getUserPass(), user.getUserPass());
+    hashGuard.recordLogin(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0), matched);
+    if (!matched) {
       throw new IllegalArgumentException("아이디 또는 비밀번호가 틀립니다.");
     }
+    // 플래그 없는 기존 계정: 검증된 원문으로 기본 비밀번호 여부를 한 번만 채움 (추가 해시 없음)
+    if (user.getMustChangePassword() == null) {
+      user.setMustChangePassword(DEFAULT_PASSWORD.equals(req.getUserPass()));
+      repo.save(user);
+    }
     session.setAttribute("memberSeq", user.getMemberSeq());
     return user;
   }
@@ -163,9 +184,13 @@ public class TmemberServiceImpl implements TmemberService {
     return (b != null) ? b.getCompanyName() : null;
   }
 
-  /** 내 정보 조회 (memberSeq) */
+  /** 내 정보 조회 (memberSeq) — 캐시 스냅샷 */
   @Override
   public Info getMyInfoByMemberSeq(Integer memberSeq) {
+    return infoCache.getByMemberSeq(memberSeq, this::loadInfoByMemberSeq);
+  }
+
+  private Info loadInfoByMemberSeq(Integer memberSeq) {
     TmemberEntity e = repo.findById(memberSeq)
         .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다: " + memberSeq));
     Info dto = Info.fromEntity(e);
@@ -182,9 +207,13 @@ public class TmemberServiceImpl implements TmemberService {
     return getMyInfoByMemberSeq(memberSeq);
   }
 
-  /** 내 정보 조회 (userId) */
+  /** 내 정보 조회 (userId) — 캐시 스냅샷 */
   @Override
   public Info getMyInfoByUserId(String userId) {
+    return infoCache.getByUserId(userId, this::loadInfoByUserId);
+  }
+
+  private Info loadInfoByUserId(String userId) {
     TmemberEntity e = repo.findByUserId(userId)
         .orElseThrow(() -> new ResourceNotFoundException("사용자 정보를 찾을 수 없습니다."));
     Info dto = Info.fromEntity(e);
@@ -216,6 +245,16 @@ public class TmemberServiceImpl implements TmemberService {
         .map(this::toDtoWithBranchNameAndPosition);
   }
 
+  @Override
+  public List<String> listExtensionNumbersInBranch(Integer branchSeq) {
+    if (branchSeq == null) return List.of();
+    return branchNumbersCache.get(branchSeq, bs -> repo.findNumbersByBranchSeq(bs).stream()
+        .map(ExtensionNumbers::normalizeToFourDigit)
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList());
+  }
+
   /** 지사 관리자: 지사+키워드 검색 */
   @Override
   public Page<Info> searchUsersInBranch(String keyword, Integer branchSeq, Pageable pageable) {
@@ -254,6 +293,7 @@ public class TmemberServiceImpl implements TmemberService {
         .orElseThrow(() -> new ResourceNotFoundException("사용자 정보를 찾을 수 없습니다."));
     e.setDiscd(req.isActive() ? 0 : 1);
     repo.save(e);
+    events.publishEvent(new MemberChangedEvent(memberSeq));
   }
 
   /** 역할 Seq 조회 */
@@ -272,6 +312,7 @@ public class TmemberServiceImpl implements TmemberService {
     if (updated == 0) {
       throw new IllegalArgumentException("사용자를 찾을 수 없습니다: " + memberSeq);
     }
+    events.publishEvent(new MemberChangedEvent(memberSeq));
   }
 
   /** 모든 멤버 목록 */
@@ -328,6 +369,7 @@ public class TmemberServiceImpl implements TmemberService {
     e.setReguserId(updaterId);
     e.setUdtime(LocalDateTime.now().format(FMT));
     TmemberEntity saved = repo.save(e);
+    events.publishEvent(new MemberChangedEvent(memberSeq));
 
     Info dto = Info.fromEntity(saved);
     dto.setBranchName(getBranchNameBySeq(dto.getBranchSeq()));
@@ -345,7 +387,7 @@ public class TmemberServiceImpl implements TmemberService {
         .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다: " + memberSeq));
 
     // 1) 현재 비밀번호 검증
-    if (!passwordEncoder.matches(oldPassword, e.getUserPass())) {
+    if (!hashGuard.matches(oldPassword, e.getUserPass())) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "현재 비밀번호가 일치하지 않습니다.");
     }
     // 2) 정책 검증
@@ -354,8 +396,10 @@ public class TmemberServiceImpl implements TmemberService {
           "새 비밀번호는 최소 8자 이상이며, 영어 소문자·숫자·특수문자를 포함해야 합니다.");
     }
     // 3) 변경
-    e.setUserPass(passwordEncoder.encode(newPassword));
+    e.setUserPass(hashGuard.encode(newPassword));
+    e.setMustChangePassword(false);
     repo.save(e);
+    events.publishEvent(new MemberChangedEvent(memberSeq));
   }
 
 
@@ -389,29 +433,9 @@ public class TmemberServiceImpl implements TmemberService {
     TmemberEntity e = repo.findById(memberSeq)
         .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다: " + memberSeq));
     e.setUserPass(passwordEncoder.encode(rawPassword));
+    e.setMustChangePassword(true);
     repo.save(e);
-  }
-
-  /** 비밀번호 초기화 */
-  @Override
-  @Transactional
-  public void resetPasswords(List<Integer> memberSeqs, String rawPassword, String operatorId) {
-    for (Integer seq : memberSeqs) {
-      TmemberEntity e = repo.findById(seq)
-          .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다: " + seq));
-      e.setUserPass(passwordEncoder.encode(rawPassword));
-      repo.save(e);
-    }
-  }
-
-  @Override
-  @Transactional
-  public void resetAllPasswords(String rawPassword, String operatorId) {
-    List<TmemberEntity> all = repo.findAll();
-    for (TmemberEntity e : all) {
-      e.setUserPass(passwordEncoder.encode(rawPassword));
-    }
-    repo.saveAll(all);
+    events.publishEvent(new MemberChangedEvent(memberSeq));
   }
 
   /**
@@ -435,6 +459,7 @@ public class TmemberServiceImpl implements TmemberService {
     TmemberEntity member = memberRepo.findById(memberSeq)
         .orElseThrow(() -> new IllegalArgumentException("해당 회원이 없습니다. memberSeq=" + memberSeq));
     member.setMaskFlag(maskFlag);
+    events.publishEvent(new MemberChangedEvent(memberSeq));
   }
 
   @Override
@@ -5,6 +5,7 @@ import com.sttweb.sttweb.dto.TrecordDto;
 import com.sttweb.sttweb.dto.TmemberDto.Info;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -40,6 +41,9 @@ public interface TrecordService {
 
   TrecordDto findById(Integer recordSeq);
 
+  /** 없으면 empty (요청을 실패시키지 않아야 하는 감사 로그 등) */
+  Optional<TrecordDto> findOptionalById(Integer recordSeq);
+
   Page<TrecordDto> findAllByBranch(Integer branchSeq, Pageable pageable);
 
   TrecordDto create(TrecordDto dto);
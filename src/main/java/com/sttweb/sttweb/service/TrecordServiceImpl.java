@@ -142,7 +142,7 @@ public class TrecordServiceImpl implements TrecordService {
 
       // q 해석
       String digits = StringUtils.hasText(q) ? q.replaceAll("[^0-9]", "") : null;
-      String ext    = normalizeToFourDigit(digits);
+      String ext    = ExtensionNumbers.normalizeToFourDigit(digits);
 
       if ("EXT".equalsIgnoreCase(numberKind)) {
         if (ext != null) {
@@ -182,8 +182,8 @@ public class TrecordServiceImpl implements TrecordService {
 
   private TrecordDto toDto(TrecordEntity e, Map<String, TmemberEntity> numberMap, Map<Integer, String> branchNameMap) {
     Integer bs = null;
-    String ext1 = normalizeToFourDigit(e.getNumber1());
-    String ext2 = normalizeToFourDigit(e.getNumber2());
+    String ext1 = ExtensionNumbers.normalizeToFourDigit(e.getNumber1());
+    String ext2 = ExtensionNumbers.normalizeToFourDigit(e.getNumber2());
     if (ext1 != null && numberMap.containsKey(ext1)) bs = numberMap.get(ext1).getBranchSeq();
     if (bs == null && ext2 != null && numberMap.containsKey(ext2)) bs = numberMap.get(ext2).getBranchSeq();
     if (bs == null && e.getBranchSeq() != null) bs = e.getBranchSeq();
@@ -207,19 +207,10 @@ public class TrecordServiceImpl implements TrecordService {
         .build();
   }
 
-  private String normalizeToFourDigit(String raw) {
-    if (raw == null) return null;
-    String d = raw.replaceAll("[^0-9]", "").trim();
-    if (d.length() == 4) return d;
-    if (d.length() == 3) return "0" + d;
-    if (d.length() > 4)  return d.substring(d.length() - 4);
-    return null;
-  }
-
   private TrecordDto toDto(TrecordEntity e) {
     Integer bs = null;
-    String ext1 = normalizeToFourDigit(e.getNumber1());
-    String ext2 = normalizeToFourDigit(e.getNumber2());
+    String ext1 = ExtensionNumbers.normalizeToFourDigit(e.getNumber1());
+    String ext2 = ExtensionNumbers.normalizeToFourDigit(e.getNumber2());
     if (ext1 != null && memberRepo.findByNumber(ext1).isPresent()) bs = memberRepo.findByNumber(ext1).get().getBranchSeq();
     if (bs == null && ext2 != null && memberRepo.findByNumber(ext2).isPresent()) bs = memberRepo.findByNumber(ext2).get().getBranchSeq();
     if (bs == null && e.getBranchSeq() != null) bs = e.getBranchSeq();
@@ -296,6 +287,11 @@ public class TrecordServiceImpl implements TrecordService {
     return toDto(e);
   }
 
+  @Override @Transactional(readOnly = true)
+  public Optional<TrecordDto> findOptionalById(Integer recordSeq) {
+    return repo.findById(recordSeq).map(this::toDto);
+  }
+
   @Override @Transactional(readOnly = true)
   public Page<TrecordDto> findAllByBranch(Integer branchSeq, Pageable pageable) {
     Page<TrecordEntity> page = repo.findAllByBranchSeq(branchSeq, pageable);
@@ -532,7 +528,7 @@ public class TrecordServiceImpl implements TrecordService {
 
       // q 해석
       String digits = StringUtils.hasText(q) ? q.replaceAll("[^0-9]", "") : null;
-      String ext    = normalizeToFourDigit(digits);
+      String ext    = ExtensionNumbers.normalizeToFourDigit(digits);
 
       if ("EXT".equalsIgnoreCase(numberKind)) {
         // 내선 모드: q가 있으면 정확히 해당 내선만, 없으면 내선(4자리) 전체
@@ -633,7 +629,7 @@ public class TrecordServiceImpl implements TrecordService {
       String number, LocalDateTime start, LocalDateTime end, Pageable pageable) {
     if (basenames == null || basenames.isEmpty()) return Page.empty(pageable);
     String digits = (number == null) ? null : number.replaceAll("[^0-9]", "");
-    String ext = normalizeToFourDigit(digits);
+    String ext = ExtensionNumbers.normalizeToFourDigit(digits);
     String phoneEnd = digits;
 
     Page<TrecordEntity> page = repo.findByBasenamesAndFilters(basenames, direction, numberKind, number, ext, phoneEnd, start, end, pageable);
@@ -645,7 +641,7 @@ public class TrecordServiceImpl implements TrecordService {
   @Override @Transactional(readOnly = true)
   public long countByFilters(String direction, String numberKind, String number, LocalDateTime start, LocalDateTime end) {
     String digits = (number == null) ? null : number.replaceAll("[^0-9]", "");
-    String ext = normalizeToFourDigit(digits);
+    String ext = ExtensionNumbers.normalizeToFourDigit(digits);
     String phoneEnd = digits;
     return repo.countByFilters(direction, numberKind, number, ext, phoneEnd, start, end);
   }
@@ -1,27 +1,36 @@
 package com.sttweb.sttweb.specification;
 
 import com.sttweb.sttweb.entity.TactivitylogEntity;
-import jakarta.persistence.criteria.Expression;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
-import java.util.Locale;
-
 public final class ActivityLogSpecification {
 
   private ActivityLogSpecification(){}
 
   /**
-   * ANY 문자열 필드에 대해 대소문자 무시 부분일치.
-   * CLOB/TEXT도 안전하게 처리하기 위해 CONCAT('', COALESCE(col, ''))로 문자열 캐스팅 유도 후 lower() 적용.
+   * 문자열 필드 부분일치.
+   * 컬럼이 VARCHAR/TEXT 이고 기본 collation 이 대소문자 무시이므로 lower()/concat() 없이 그대로 LIKE.
    */
   public static Specification<TactivitylogEntity> containsField(String field, String value){
     return (root, q, cb) -> {
       if (!StringUtils.hasText(value)) return null;
+      return cb.like(root.get(field), "%" + escapeLike(value) + "%", '\\');
+    };
+  }
 
-      // CLOB(TEXT) → VARCHAR 캐스팅 유도 + null 안전
-      Expression<String> casted = cb.concat("", cb.coalesce(root.get(field), ""));
-      return cb.like(cb.lower(casted), "%" + value.toLowerCase(Locale.ROOT) + "%");
+  /**
+   * contents FULLTEXT 검색 (MATCH ... AGAINST ... IN BOOLEAN MODE).
+   * booleanQuery 는 호출측에서 조립 (MariaDbFunctionContributor 의 match_against 사용).
+   */
+  public static Specification<TactivitylogEntity> matchContents(String booleanQuery){
+    return (root, q, cb) -> {
+      if (!StringUtils.hasText(booleanQuery)) return null;
+      return cb.greaterThan(
+          cb.function("match_against", Double.class, root.get("contents"), cb.literal(booleanQuery)),
+          0.0);
     };
   }
 
@@ -35,19 +44,27 @@ public final class ActivityLogSpecification {
     return (root, q, cb) -> seq == null ? null : cb.equal(root.get("branchSeq"), seq);
   }
 
-  /** 문자열 crtime BETWEEN (yyyy-MM-dd HH:mm:ss) */
-  public static Specification<TactivitylogEntity> betweenCrtime(String s, String e){
-    return (root, q, cb) -> (s != null && e != null) ? cb.between(root.get("crtime"), s, e) : null;
+  /** activity_seq IN (...) — 비어 있으면 아무것도 매칭하지 않음 */
+  public static Specification<TactivitylogEntity> idIn(Collection<Integer> ids){
+    return (root, q, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("activitySeq").in(ids);
   }
 
-  /** pbIp 또는 pvIp LIKE (IP는 보통 대소문자 이슈가 없지만 일관성 위해 캐스팅만 적용) */
+  /** crtime 범위 (from 이상, to 이하 — 한쪽만 주어져도 적용) */
+  public static Specification<TactivitylogEntity> betweenCrtime(LocalDateTime s, LocalDateTime e){
+    return (root, q, cb) -> {
+      if (s != null && e != null) return cb.between(root.get("crtime"), s, e);
+      if (s != null) return cb.greaterThanOrEqualTo(root.get("crtime"), s);
+      if (e != null) return cb.lessThanOrEqualTo(root.get("crtime"), e);
+      return null;
+    };
+  }
+
+  /** pbIp 또는 pvIp LIKE */
   public static Specification<TactivitylogEntity> ipLike(String ip){
     return (root, q, cb) -> {
       if (!StringUtils.hasText(ip)) return null;
-      Expression<String> pb = cb.concat("", cb.coalesce(root.get("pbIp"), ""));
-      Expression<String> pv = cb.concat("", cb.coalesce(root.get("pvIp"), ""));
-      String like = "%" + ip + "%";
-      return cb.or(cb.like(pb, like), cb.like(pv, like));
+      String like = "%" + escapeLike(ip) + "%";
+      return cb.or(cb.like(root.get("pbIp"), like, '\\'), cb.like(root.get("pvIp"), like, '\\'));
     };
   }
 
@@ -55,4 +72,8 @@ public final class ActivityLogSpecification {
   public static Specification<TactivitylogEntity> notUserId(String userId) {
     return (root, query, cb) -> cb.notEqual(root.get("userId"), userId);
   }
+
+  private static String escapeLike(String s) {
+    return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
 }
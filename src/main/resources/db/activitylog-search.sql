@@ -0,0 +1,21 @@
+-- tactivitylog 검색용 스키마 보정 (ActivityLogSchemaInitializer 가 activitylog.schema.auto-migrate=false 일 때 경고로 알려주는 DDL)
+-- 큰 테이블은 ALTER 중 재작성/잠금이 길다 → 점검 시간에 실행. 이미 적용된 문장은 건너뛰어도 된다.
+
+-- 1) crtime VARCHAR(19) -> DATETIME NOT NULL
+--    먼저 변환 불가/빈 값이 없는지 확인 (있으면 보정 후 진행, NOT NULL 변환 시 0000-00-00 으로 바뀌거나 실패함)
+SELECT COUNT(*) FROM tactivitylog
+ WHERE crtime IS NULL OR crtime = '' OR STR_TO_DATE(crtime, '%Y-%m-%d %H:%i:%s') IS NULL;
+ALTER TABLE tactivitylog MODIFY crtime DATETIME NOT NULL;
+
+-- 2) user_id TEXT -> VARCHAR(50) (50자 초과 값이 없을 때만)
+SELECT COALESCE(MAX(CHAR_LENGTH(user_id)), 0) FROM tactivitylog;
+ALTER TABLE tactivitylog MODIFY user_id VARCHAR(50) NULL;
+
+-- 3) 기간/지점/사용자 인덱스
+CREATE INDEX IF NOT EXISTS idx_actlog_branch_crtime ON tactivitylog (branch_seq, crtime);
+CREATE INDEX IF NOT EXISTS idx_actlog_crtime        ON tactivitylog (crtime);
+CREATE INDEX IF NOT EXISTS idx_actlog_user_crtime   ON tactivitylog (user_id, crtime);
+
+-- 4) contents FULLTEXT (MariaDB: 기본 파서 / MySQL: 아래 ngram 버전 사용)
+ALTER TABLE tactivitylog ADD FULLTEXT INDEX ft_actlog_contents (contents);
+-- ALTER TABLE tactivitylog ADD FULLTEXT INDEX ft_actlog_contents (contents) WITH PARSER ngram;
@@ -0,0 +1,17 @@
+-- 스케줄 작업 실행 이력 (JobRunHistory 가 schema.auto-migrate=false 일 때 경고로 알려주는 DDL)
+-- 새 테이블만 만들므로 운영 중 실행해도 된다. 이미 있으면 건너뛴다.
+
+CREATE TABLE IF NOT EXISTS tjob_run (
+  run_seq     BIGINT AUTO_INCREMENT PRIMARY KEY,
+  job_name    VARCHAR(100) NOT NULL,
+  lane        VARCHAR(16)  NOT NULL,
+  node        VARCHAR(64)  NOT NULL,
+  started_at  DATETIME(3)  NOT NULL,
+  ended_at    DATETIME(3)  NOT NULL,
+  duration_ms BIGINT       NOT NULL,
+  outcome     VARCHAR(12)  NOT NULL,
+  overrun     TINYINT(1)   NOT NULL DEFAULT 0,
+  error       VARCHAR(500) NULL,
+  KEY idx_job_run_job (job_name, started_at),
+  KEY idx_job_run_started (started_at)
+);
@@ -0,0 +1,26 @@
+-- SQLite 마이그레이션 작업 상태 (MigrationJobService 가 schema.auto-migrate=false 일 때 경고로 알려주는 DDL)
+-- 작은 테이블이라 운영 중 실행해도 된다. 이미 적용된 항목은 건너뛴다.
+
+CREATE TABLE IF NOT EXISTS tmigration_job (
+  job_id         VARCHAR(36)  PRIMARY KEY,
+  source_name    VARCHAR(255) NULL,
+  status         VARCHAR(12)  NOT NULL,
+  operator_id    VARCHAR(30)  NULL,
+  tables_total   INT          NOT NULL DEFAULT 0,
+  tables_done    INT          NOT NULL DEFAULT 0,
+  rows_estimated BIGINT       NOT NULL DEFAULT 0,
+  rows_copied    BIGINT       NOT NULL DEFAULT 0,
+  rows_per_sec   BIGINT       NOT NULL DEFAULT 0,
+  created_at     DATETIME     NOT NULL,
+  started_at     DATETIME     NULL,
+  finished_at    DATETIME     NULL,
+  error          VARCHAR(500) NULL,
+  log_tail       MEDIUMTEXT   NULL,
+  owner_id       VARCHAR(128) NULL,
+  heartbeat_at   DATETIME     NULL,
+  KEY idx_migration_job_created (created_at)
+);
+
+-- 이전 버전에서 만든 테이블에는 실행 인스턴스/heartbeat 컬럼 추가
+ALTER TABLE tmigration_job ADD COLUMN IF NOT EXISTS owner_id     VARCHAR(128) NULL;
+ALTER TABLE tmigration_job ADD COLUMN IF NOT EXISTS heartbeat_at DATETIME     NULL;
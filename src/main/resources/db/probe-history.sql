@@ -0,0 +1,55 @@
+-- probe 이력 테이블 (ProbeHistoryStore 가 schema.auto-migrate=false 일 때 경고로 알려주는 DDL)
+-- 새 테이블/작은 통계 테이블만 다루므로 운영 중 실행해도 된다. 이미 있는 항목은 건너뛴다.
+-- up_ms/down_ms: 표본이 덮는 시간(직전 점검 이후 경과)을 직전 상태로 합산 — 가용률은 이 비율로 계산.
+-- b0..b11 은 LatencyHistogram 기본 버킷(11개 경계 + 상한 초과 칸)과 개수가 같아야 한다.
+
+CREATE TABLE IF NOT EXISTS tprobe_stat_minute (
+  bucket     DATETIME    NOT NULL,
+  branch_seq INT         NOT NULL,
+  kind       VARCHAR(16) NOT NULL,
+  samples    INT         NOT NULL,
+  up_count   INT         NOT NULL,
+  up_ms      BIGINT      NOT NULL DEFAULT 0,
+  down_ms    BIGINT      NOT NULL DEFAULT 0,
+  rt_sum     BIGINT      NOT NULL,
+  rt_max     INT         NOT NULL,
+  b0 INT NOT NULL DEFAULT 0, b1 INT NOT NULL DEFAULT 0, b2  INT NOT NULL DEFAULT 0, b3  INT NOT NULL DEFAULT 0,
+  b4 INT NOT NULL DEFAULT 0, b5 INT NOT NULL DEFAULT 0, b6  INT NOT NULL DEFAULT 0, b7  INT NOT NULL DEFAULT 0,
+  b8 INT NOT NULL DEFAULT 0, b9 INT NOT NULL DEFAULT 0, b10 INT NOT NULL DEFAULT 0, b11 INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (branch_seq, kind, bucket),
+  KEY idx_tprobe_stat_minute_bucket (bucket)
+);
+
+CREATE TABLE IF NOT EXISTS tprobe_stat_hour (
+  bucket     DATETIME    NOT NULL,
+  branch_seq INT         NOT NULL,
+  kind       VARCHAR(16) NOT NULL,
+  samples    INT         NOT NULL,
+  up_count   INT         NOT NULL,
+  up_ms      BIGINT      NOT NULL DEFAULT 0,
+  down_ms    BIGINT      NOT NULL DEFAULT 0,
+  rt_sum     BIGINT      NOT NULL,
+  rt_max     INT         NOT NULL,
+  b0 INT NOT NULL DEFAULT 0, b1 INT NOT NULL DEFAULT 0, b2  INT NOT NULL DEFAULT 0, b3  INT NOT NULL DEFAULT 0,
+  b4 INT NOT NULL DEFAULT 0, b5 INT NOT NULL DEFAULT 0, b6  INT NOT NULL DEFAULT 0, b7  INT NOT NULL DEFAULT 0,
+  b8 INT NOT NULL DEFAULT 0, b9 INT NOT NULL DEFAULT 0, b10 INT NOT NULL DEFAULT 0, b11 INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (branch_seq, kind, bucket),
+  KEY idx_tprobe_stat_hour_bucket (bucket)
+);
+
+CREATE TABLE IF NOT EXISTS tprobe_outage (
+  outage_seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+  branch_seq INT          NOT NULL,
+  kind       VARCHAR(16)  NOT NULL,
+  started_at DATETIME     NOT NULL,
+  ended_at   DATETIME     NULL,
+  error      VARCHAR(200) NULL,
+  KEY idx_outage_target (branch_seq, kind, started_at),
+  KEY idx_outage_open (ended_at)
+);
+
+-- 이전 버전에서 만든 테이블에는 시간 가중 가용률 컬럼 추가
+ALTER TABLE tprobe_stat_minute ADD COLUMN IF NOT EXISTS up_ms   BIGINT NOT NULL DEFAULT 0 AFTER up_count;
+ALTER TABLE tprobe_stat_minute ADD COLUMN IF NOT EXISTS down_ms BIGINT NOT NULL DEFAULT 0 AFTER up_ms;
+ALTER TABLE tprobe_stat_hour   ADD COLUMN IF NOT EXISTS up_ms   BIGINT NOT NULL DEFAULT 0 AFTER up_count;
+ALTER TABLE tprobe_stat_hour   ADD COLUMN IF NOT EXISTS down_ms BIGINT NOT NULL DEFAULT 0 AFTER up_ms;
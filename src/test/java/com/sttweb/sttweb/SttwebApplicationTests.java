@@ -1,9 +1,11 @@
 package com.sttweb.sttweb;
 
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest
+@Tag("mariadb")
 class SttwebApplicationTests {
 
 	@Test
@@ -0,0 +1,146 @@
+package com.sttweb.sttweb.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * 배치 append 후 DELETE 전에 중단된 경우(.inflight 남음)의 복구.
+ *  - 행이 DB 에 남아 있으면 아카이브 파일을 append 전 길이로 잘라내고 다시 처리 → 중복 없음
+ *  - 행이 이미 지워졌으면(DELETE 커밋 후 중단) 파일은 그대로
+ */
+class ActivityLogArchiverTest {
+
+  /** 보존 기간(12개월)보다 오래된 달 */
+  private static final LocalDateTime OLD = LocalDateTime.now().minusYears(2).withDayOfMonth(10).withNano(0);
+
+  @TempDir Path archiveDir;
+
+  private JdbcTemplate jdbc;
+  private ActivityLogArchiver archiver;
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @BeforeEach
+  void setUp() {
+    DataSource ds = new DriverManagerDataSource(
+        "jdbc:h2:mem:archiver" + System.nanoTime() + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sa", "");
+    jdbc = new JdbcTemplate(ds);
+    jdbc.execute("CREATE TABLE tactivitylog (activity_seq INT AUTO_INCREMENT PRIMARY KEY, "
+        + "activity VARCHAR(20), contents VARCHAR(100), crtime DATETIME NOT NULL)");
+    archiver = new ActivityLogArchiver(ds, mapper, 12, archiveDir.toString(), 1000, 0, 200_000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbc.execute("SHUTDOWN");
+  }
+
+  @Test
+  void interruptedBeforeDelete_truncatesPartialAppendAndArchivesOnce() throws Exception {
+    List<Integer> first = insert("a", 3);
+    assertThat(archiver.runOnce()).isEqualTo(3);
+    Path file = monthFile();
+    long lengthBefore = Files.size(file);
+
+    // 두 번째 배치: .inflight 기록 + gzip 멤버 append 까지 하고 DELETE 전에 죽은 상태
+    List<Integer> second = insert("b", 2);
+    writeInflight(second, lengthBefore);
+    appendMember(file, "{\"activity_seq\":-1,\"contents\":\"partial\"}");
+    assertThat(Files.size(file)).isGreaterThan(lengthBefore);
+
+    assertThat(archiver.runOnce()).isEqualTo(2);
+
+    List<Integer> all = new ArrayList<>(first);
+    all.addAll(second);
+    assertThat(archivedIds(file)).containsExactlyElementsOf(all);
+    assertThat(remaining()).isZero();
+    assertThat(archiveDir.resolve(".inflight")).doesNotExist();
+  }
+
+  @Test
+  void interruptedAfterDelete_keepsArchiveAsIs() throws Exception {
+    List<Integer> first = insert("a", 2);
+    archiver.runOnce();
+    Path file = monthFile();
+    long lengthBefore = Files.size(file);
+
+    List<Integer> second = insert("b", 2);
+    archiver.runOnce();
+    long lengthAfter = Files.size(file);
+
+    // DELETE 커밋 뒤 .inflight 삭제 전에 죽은 상태
+    writeInflight(second, lengthBefore);
+    assertThat(archiver.runOnce()).isZero();
+
+    assertThat(Files.size(file)).isEqualTo(lengthAfter);
+    List<Integer> all = new ArrayList<>(first);
+    all.addAll(second);
+    assertThat(archivedIds(file)).containsExactlyElementsOf(all);
+    assertThat(archiveDir.resolve(".inflight")).doesNotExist();
+  }
+
+  private List<Integer> insert(String activity, int n) {
+    for (int i = 0; i < n; i++) {
+      jdbc.update("INSERT INTO tactivitylog (activity, contents, crtime) VALUES (?, ?, ?)",
+          activity, activity + i, Timestamp.valueOf(OLD.plusMinutes(i)));
+    }
+    return jdbc.queryForList("SELECT activity_seq FROM tactivitylog WHERE activity = ? ORDER BY activity_seq",
+        Integer.class, activity);
+  }
+
+  private int remaining() {
+    return jdbc.queryForObject("SELECT COUNT(*) FROM tactivitylog", Integer.class);
+  }
+
+  private Path monthFile() {
+    return archiveDir.resolve("activitylog-" + YearMonth.from(OLD) + ".ndjson.gz");
+  }
+
+  private void writeInflight(List<Integer> ids, long length) throws Exception {
+    Files.write(archiveDir.resolve(".inflight"), List.of(
+        ids.stream().map(String::valueOf).collect(Collectors.joining(",")),
+        YearMonth.from(OLD) + " " + length), StandardCharsets.UTF_8);
+  }
+
+  private static void appendMember(Path file, String line) throws Exception {
+    try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.APPEND);
+         GZIPOutputStream gz = new GZIPOutputStream(out)) {
+      gz.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  /** 연결된 gzip 멤버 전체를 읽어 activity_seq 순서대로 */
+  private List<Integer> archivedIds(Path file) throws Exception {
+    List<Integer> ids = new ArrayList<>();
+    try (BufferedReader r = new BufferedReader(new InputStreamReader(
+        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+      for (String line; (line = r.readLine()) != null; ) {
+        if (!line.isBlank()) ids.add(mapper.readTree(line).get("activity_seq").asInt());
+      }
+    }
+    return ids;
+  }
+}
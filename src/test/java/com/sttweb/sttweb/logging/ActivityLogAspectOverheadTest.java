@@ -0,0 +1,159 @@
+package com.sttweb.sttweb.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sttweb.sttweb.config.ActivityLogSchemaInitializer;
+import com.sttweb.sttweb.logging.ActivityLogWriter.OverflowPolicy;
+import com.sttweb.sttweb.repository.TbranchRepository;
+import com.sttweb.sttweb.service.BranchTopology;
+import com.sttweb.sttweb.service.TmemberService;
+import com.sttweb.sttweb.service.TrecordService;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * @LogActivity 호출당 오버헤드 측정 (JMH 대신 시간 루프).
+ *  - before: 표현식 캐시 도입 전 방식 — 호출마다 파라미터 이름 조회 + 파싱 + 새 컨텍스트/리졸버, 해석 실행
+ *  - after : 실제 ActivityLogAspect.around 전체 (Method 별 캐시 + MIXED 컴파일 + 공유 리졸버)
+ * after 는 IP/운영자 결정까지 포함한 전체 경로인데도 before 의 SpEL 부분보다 빨라야 한다.
+ * 시간 측정이라 기본 빌드에서는 제외, -Pperf 로 실행.
+ */
+@Tag("perf")
+class ActivityLogAspectOverheadTest {
+
+  private static final int WARMUP = 20_000;
+  private static final int CALLS  = 100_000;
+
+  /** 측정 대상 메서드 (실제 컨트롤러와 비슷한 템플릿 + 변수 참조) */
+  static class Sample {
+    @LogActivity(type = "member", activity = "'수정'",
+        contents = "#{#userId} 가 회원 #{#memberSeq} 수정: #{#dto.name} (#{#dto.name.length()}자)",
+        dir = "#{'/member/' + #memberSeq}")
+    public String update(Integer memberSeq, Dto dto) {
+      return "ok";
+    }
+  }
+
+  public record Dto(String name) {
+    public String getName() { return name; }
+  }
+
+  private ActivityLogAspect aspect;
+  private ProceedingJoinPoint jp;
+  private Method method;
+  private Object[] args;
+
+  @BeforeEach
+  void setUp() throws Throwable {
+    method = Sample.class.getMethod("update", Integer.class, Dto.class);
+    args = new Object[] { 42, new Dto("홍길동") };
+
+    // Mockito 는 호출당 수 µs 라 측정값을 덮어버림 → 동적 프록시/실객체로 최소 비용 스텁
+    DataSource unused = new DriverManagerDataSource("jdbc:h2:mem:unused");
+    ActivityLogWriter writer = new ActivityLogWriter(unused, new ObjectMapper(),
+        new ActivityLogSchemaInitializer(unused, false, false), 1, 1, 60_000, OverflowPolicy.DROP_NEWEST, 0,
+        System.getProperty("java.io.tmpdir"));
+    BranchTopology topology = new BranchTopology(stub(TbranchRepository.class, Map.of("findAll", List.of())));
+    aspect = new ActivityLogAspect(writer, stub(TmemberService.class, Map.of()), topology,
+        stub(TrecordService.class, Map.of()), null, new DefaultListableBeanFactory());
+
+    MethodSignature sig = stub(MethodSignature.class, Map.of("getMethod", method));
+    jp = stub(ProceedingJoinPoint.class, Map.of("getSignature", sig, "getArgs", args, "proceed", "ok"));
+
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken("hq", null, List.of()));
+  }
+
+  /** 메서드 이름 → 고정 반환값, 나머지는 null */
+  @SuppressWarnings("unchecked")
+  private static <T> T stub(Class<T> type, Map<String, Object> answers) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+        (proxy, m, a) -> answers.get(m.getName()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void cachedAspect_isCheaperThanPerCallParsing() throws Throwable {
+    LogActivity la = method.getAnnotation(LogActivity.class);
+    Baseline before = new Baseline(new DefaultListableBeanFactory());
+
+    for (int i = 0; i < WARMUP; i++) {
+      before.evaluate(method, args, la);
+      aspect.around(jp, la);
+    }
+
+    long t0 = System.nanoTime();
+    for (int i = 0; i < CALLS; i++) before.evaluate(method, args, la);
+    double beforeNs = (System.nanoTime() - t0) / (double) CALLS;
+
+    t0 = System.nanoTime();
+    for (int i = 0; i < CALLS; i++) aspect.around(jp, la);
+    double afterNs = (System.nanoTime() - t0) / (double) CALLS;
+
+    System.out.printf("[ActivityLogAspect] before(SpEL only) %.0f ns/call, after(full aspect) %.0f ns/call (%.1fx)%n",
+        beforeNs, afterNs, beforeNs / afterNs);
+    assertThat(afterNs).isLessThan(beforeNs);
+  }
+
+  /** 캐시 도입 전 평가 방식 재현 */
+  private static final class Baseline {
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final TemplateParserContext template = new TemplateParserContext();
+    private final DefaultParameterNameDiscoverer pd = new DefaultParameterNameDiscoverer();
+    private final DefaultListableBeanFactory beanFactory;
+
+    Baseline(DefaultListableBeanFactory beanFactory) {
+      this.beanFactory = beanFactory;
+    }
+
+    String evaluate(Method m, Object[] args, LogActivity la) {
+      String[] names = pd.getParameterNames(m);
+      Integer id = null;
+      for (int i = 0; names != null && i < names.length; i++) {
+        if ("memberSeq".equals(names[i]) && args[i] instanceof Integer v) { id = v; break; }
+      }
+      StandardEvaluationContext ctx = new StandardEvaluationContext();
+      ctx.setBeanResolver(new BeanFactoryResolver(beanFactory));
+      for (int i = 0; i < args.length; i++) ctx.setVariable("p" + i, args[i]);
+      for (int i = 0; names != null && i < names.length; i++) ctx.setVariable(names[i], args[i]);
+      ctx.setVariable("memberSeq", id);
+      ctx.setVariable("userId", "hq");
+      ctx.setVariable("dto", args[args.length - 1]);
+      return eval(la.contents(), ctx) + eval(la.dir(), ctx) + eval(la.type(), ctx) + eval(la.activity(), ctx);
+    }
+
+    private String eval(String s, StandardEvaluationContext ctx) {
+      if (s.contains("#{")) return parser.parseExpression(s, template).getValue(ctx, String.class);
+      if (s.startsWith("'") || s.contains("#")) return parser.parseExpression(s).getValue(ctx, String.class);
+      return s;
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package com.sttweb.sttweb.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sttweb.sttweb.config.ActivityLogSchemaInitializer;
+import com.sttweb.sttweb.logging.ActivityLogWriter.OverflowPolicy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * batch 실패 → 행 단위 재시도 → dead-letter, 그리고 기동 시 dead-letter 재적재.
+ * activity 컬럼을 짧게 만들어 특정 행만 실패하게 한다 (H2, MariaDB 모드).
+ */
+class ActivityLogWriterTest {
+
+  private static final String TOO_LONG = "x".repeat(50);
+
+  @TempDir Path deadLetterDir;
+
+  private DataSource dataSource;
+  private JdbcTemplate jdbc;
+  private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:actlog" + System.nanoTime() + ";MODE=MariaDB;DB_CLOSE_DELAY=-1", "sa", "");
+    jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("CREATE TABLE tactivitylog (activity_seq INT AUTO_INCREMENT PRIMARY KEY, "
+        + "type VARCHAR(50), activity VARCHAR(20), contents VARCHAR(1000), dir VARCHAR(50), branch_seq INT, "
+        + "companyname VARCHAR(100), member_seq INT, user_id VARCHAR(50), employeeid INT, pb_ip VARCHAR(50), "
+        + "pv_ip VARCHAR(50), crtime DATETIME NOT NULL, worker_seq INT, worker_id VARCHAR(50))");
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbc.execute("SHUTDOWN");
+  }
+
+  @Test
+  void failedBatch_isRetriedRowByRow_andOnlyBadRowsAreSpilled() throws Exception {
+    ActivityLogWriter writer = writer(dataSource);
+    writer.start();
+    writer.enqueue(event("ok-1"));
+    writer.enqueue(event(TOO_LONG));
+    writer.enqueue(event("ok-2"));
+    writer.stop();
+
+    assertThat(activities()).containsExactlyInAnyOrder("ok-1", "ok-2");
+    Map<String, Object> stats = writer.stats();
+    assertThat(stats.get("batchFailedRows")).isEqualTo(3L);
+    assertThat(stats.get("retriedOk")).isEqualTo(2L);
+    assertThat(stats.get("failed")).isEqualTo(1L);
+    assertThat(stats.get("deadLettered")).isEqualTo(1L);
+    assertThat(stats.get("lost")).isEqualTo(0L);
+
+    List<String> lines = deadLetterLines();
+    assertThat(lines).hasSize(1);
+    assertThat(mapper.readValue(lines.get(0), ActivityLogEvent.class).activity()).isEqualTo(TOO_LONG);
+  }
+
+  @Test
+  void deadLetters_areReplayedOnStart_andRemovedWhenInserted() throws Exception {
+    ActivityLogWriter first = writer(dataSource);
+    first.start();
+    first.enqueue(event(TOO_LONG));
+    first.stop();
+    assertThat(deadLetterLines()).hasSize(1);
+
+    // 원인 해소 후 재기동
+    jdbc.execute("ALTER TABLE tactivitylog ALTER COLUMN activity VARCHAR(100)");
+    ActivityLogWriter second = writer(dataSource);
+    second.start();
+    second.stop();
+
+    assertThat(activities()).containsExactly(TOO_LONG);
+    assertThat(deadLetterFiles()).isEmpty();
+  }
+
+  @Test
+  void replay_stillFailingRows_areSpilledAgainWithoutDuplicates() throws Exception {
+    ActivityLogWriter first = writer(dataSource);
+    first.start();
+    first.enqueue(event(TOO_LONG));
+    first.stop();
+
+    ActivityLogWriter second = writer(dataSource);
+    second.start();
+    second.stop();
+
+    assertThat(activities()).isEmpty();
+    assertThat(deadLetterLines()).hasSize(1);
+  }
+
+  @Test
+  void databaseDown_spillsRemainingRowsWithoutPerRowRetries() throws Exception {
+    DataSource down = new DriverManagerDataSource("jdbc:h2:tcp://127.0.0.1:1/none", "sa", "");
+    ActivityLogWriter writer = writer(down);
+    writer.start();
+    for (int i = 0; i < 3; i++) writer.enqueue(event("row-" + i));
+    writer.stop();
+
+    Map<String, Object> stats = writer.stats();
+    assertThat(stats.get("retriedOk")).isEqualTo(0L);
+    assertThat(stats.get("deadLettered")).isEqualTo(3L);
+    assertThat(deadLetterLines()).hasSize(3);
+  }
+
+  private ActivityLogWriter writer(DataSource ds) {
+    ActivityLogSchemaInitializer schema = new ActivityLogSchemaInitializer(ds, false, false);
+    // 큰 batch + 긴 flush 주기 → stop() 에서 한 batch 로 flush
+    return new ActivityLogWriter(ds, mapper, schema, 100, 100, 60_000, OverflowPolicy.BLOCK, 50,
+        deadLetterDir.toString());
+  }
+
+  private static ActivityLogEvent event(String activity) {
+    return ActivityLogEvent.builder()
+        .type("test").activity(activity).contents("c").dir("d")
+        .userId("u").crtime(LocalDateTime.now())
+        .build();
+  }
+
+  private List<String> activities() {
+    return jdbc.queryForList("SELECT activity FROM tactivitylog", String.class);
+  }
+
+  private List<Path> deadLetterFiles() throws Exception {
+    try (Stream<Path> s = Files.list(deadLetterDir)) {
+      return s.toList();
+    }
+  }
+
+  private List<String> deadLetterLines() throws Exception {
+    List<String> out = new ArrayList<>();
+    for (Path p : deadLetterFiles()) {
+      Files.readAllLines(p, StandardCharsets.UTF_8).stream().filter(l -> !l.isBlank()).forEach(out::add);
+    }
+    return out;
+  }
+}
@@ -0,0 +1,145 @@
+package com.sttweb.sttweb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sttweb.sttweb.dto.MemberLinePermDto;
+import com.sttweb.sttweb.entity.TmemberEntity;
+import com.sttweb.sttweb.entity.TmemberLinePermEntity;
+import com.sttweb.sttweb.entity.TmemberRoleEntity;
+import com.sttweb.sttweb.entity.TrecordTelListEntity;
+import com.sttweb.sttweb.repository.TmemberRoleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * 권한 DTO 조회 경로의 SQL 문 개수 회귀 테스트 (Hibernate statistics).
+ * 매핑 수와 무관하게 고정 개수여야 한다 — 행마다 member/line/role lazy 로딩이 생기면 실패.
+ * 운영 DB 없이 CI 에서 돌도록 JPA slice + H2(MariaDB 모드) 로 실행한다.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:permqc;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MemberLinePermQueryCountTest {
+
+  /** 애플리케이션 전체(스케줄러/OpenSearch/초기 스캔) 대신 권한 조회에 필요한 빈만 */
+  @SpringBootConfiguration
+  @EntityScan("com.sttweb.sttweb.entity")
+  @EnableJpaRepositories("com.sttweb.sttweb.repository")
+  @Import({MemberLinePermService.class, PermissionService.class})
+  static class Config {}
+
+  /** 서비스가 가정하는 역할 코드 (1=NONE, 2=READ ...) */
+  private static final int READ_ROLE = 2;
+
+  private static final int MEMBERS = 3;
+  private static final int LINES = 4;
+
+  @Autowired MemberLinePermService service;
+  @Autowired TmemberRoleRepository roleRepository;
+  @Autowired EntityManager em;
+  @Autowired EntityManagerFactory emf;
+
+  private Statistics stats;
+  private final List<TmemberEntity> members = new ArrayList<>();
+  private final List<TrecordTelListEntity> lines = new ArrayList<>();
+
+  @BeforeEach
+  void seed() {
+    String suffix = Long.toString(System.nanoTime() % 1_000_000_000L, 36);
+    // IDENTITY 라 persist 로는 id 를 정할 수 없음 → 서비스가 가정하는 id 로 직접 넣는다
+    seedRole(1, "NONE", "권한 없음");
+    seedRole(READ_ROLE, "READ", "조회");
+    TmemberRoleEntity role = roleRepository.findById(READ_ROLE).orElseThrow();
+
+    for (int i = 0; i < MEMBERS; i++) {
+      TmemberEntity m = TmemberEntity.builder()
+          .userId("qc" + suffix + i).userPass("x").number("9" + i).branchSeq(0).build();
+      em.persist(m);
+      members.add(m);
+    }
+    for (int i = 0; i < LINES; i++) {
+      TrecordTelListEntity l = TrecordTelListEntity.builder()
+          .callNum("q" + suffix + i).userName("line" + i).build();
+      em.persist(l);
+      lines.add(l);
+    }
+    for (TmemberEntity m : members) {
+      for (TrecordTelListEntity l : lines) {
+        em.persist(TmemberLinePermEntity.builder().member(m).line(l).role(role).build());
+      }
+    }
+    em.flush();
+    em.clear();
+
+    stats = emf.unwrap(SessionFactory.class).getStatistics();
+    stats.clear();
+  }
+
+  private void seedRole(int roleSeq, String code, String description) {
+    if (roleRepository.existsById(roleSeq)) return;
+    em.createNativeQuery("INSERT INTO tmember_role (role_seq, role_code, description) VALUES (?1, ?2, ?3)")
+        .setParameter(1, roleSeq).setParameter(2, code).setParameter(3, description)
+        .executeUpdate();
+  }
+
+  @Test
+  void permissionsByLine_isOneStatement() {
+    List<MemberLinePermDto> rows = service.getPermissionsByLine(lines.get(0).getId());
+    assertThat(rows).hasSize(MEMBERS);
+    assertThat(rows).allSatisfy(r -> assertThat(r.getRoleSeq()).isEqualTo(READ_ROLE));
+    assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void permissionsByMember_isOneStatement() {
+    List<MemberLinePermDto> rows = service.getPermissionsByMember(members.get(0).getMemberSeq());
+    assertThat(rows).hasSize(LINES);
+    assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void allMappings_isOneStatement() {
+    List<MemberLinePermDto> rows = service.getAllMappings();
+    assertThat(rows).hasSizeGreaterThanOrEqualTo(MEMBERS * LINES);
+    assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void allLinesWithPerm_isTwoStatements() {
+    // 매핑(회원 포함) 1 + 전체 회선 1, 회원 findById 는 영속성 컨텍스트에서 해결
+    List<MemberLinePermDto> rows = service.getAllLinesWithPerm(members.get(0).getMemberSeq());
+    assertThat(rows).hasSizeGreaterThanOrEqualTo(LINES);
+    assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  void permMatrix_isThreeStatements() throws Exception {
+    // 회원 1 + 회선 1 + 매핑(fetch join) 1
+    MemberLinePermService.PermMatrix matrix = service.loadPermMatrix(null, 0);
+    AtomicInteger count = new AtomicInteger();
+    matrix.forEachRow(r -> count.incrementAndGet());
+    assertThat(count.get()).isEqualTo(matrix.memberCount() * matrix.lineCount());
+    assertThat(stats.getPrepareStatementCount()).isEqualTo(3);
+  }
+}
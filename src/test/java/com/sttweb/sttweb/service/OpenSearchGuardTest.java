@@ -0,0 +1,95 @@
+package com.sttweb.sttweb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sttweb.sttweb.config.OpenSearchProperties;
+import com.sttweb.sttweb.exception.ServiceUnavailableException;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.core.rest.RestStatus;
+
+/**
+ * breaker 는 서버 장애만 세고, 조회 재시도는 일시적 실패에만 제한된 횟수로 한다.
+ */
+class OpenSearchGuardTest {
+
+  private OpenSearchProperties props;
+  private OpenSearchGuard guard;
+
+  @BeforeEach
+  void setUp() {
+    props = new OpenSearchProperties();
+    props.setBreakerFailureThreshold(3);
+    props.setBreakerOpenMs(60_000);
+    props.setRetryMax(2);
+    props.setRetryBackoffMs(1);
+    guard = new OpenSearchGuard(props);
+  }
+
+  @Test
+  void clientErrors_doNotOpenBreaker() {
+    for (int i = 0; i < 10; i++) {
+      assertThatThrownBy(() -> guard.executeRead("q", () -> {
+        throw new OpenSearchStatusException("bad query", RestStatus.BAD_REQUEST);
+      })).isInstanceOf(OpenSearchStatusException.class);
+      assertThatThrownBy(() -> guard.executeRead("q", () -> {
+        throw new OpenSearchStatusException("no index", RestStatus.NOT_FOUND);
+      })).isInstanceOf(OpenSearchStatusException.class);
+    }
+    assertThat(guard.state()).isEqualTo(OpenSearchGuard.State.CLOSED);
+    assertThat(guard.snapshot().get("failures")).isEqualTo(0L);
+    assertThat(guard.snapshot().get("retries")).isEqualTo(0L);
+  }
+
+  @Test
+  void serverErrors_openBreaker() {
+    props.setRetryMax(0);
+    for (int i = 0; i < 3; i++) {
+      assertThatThrownBy(() -> guard.executeRead("q", () -> {
+        throw new IOException("connection refused");
+      })).isInstanceOf(IOException.class);
+    }
+    assertThat(guard.state()).isEqualTo(OpenSearchGuard.State.OPEN);
+    assertThatThrownBy(() -> guard.executeRead("q", () -> "ok"))
+        .isInstanceOf(ServiceUnavailableException.class);
+  }
+
+  @Test
+  void transientFailure_isRetriedThenSucceeds() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    String r = guard.executeRead("q", () -> {
+      if (attempts.incrementAndGet() < 3) {
+        throw new OpenSearchStatusException("busy", RestStatus.SERVICE_UNAVAILABLE);
+      }
+      return "ok";
+    });
+    assertThat(r).isEqualTo("ok");
+    assertThat(attempts.get()).isEqualTo(3);
+    assertThat(guard.snapshot().get("retries")).isEqualTo(2L);
+  }
+
+  @Test
+  void retries_areBounded() {
+    AtomicInteger attempts = new AtomicInteger();
+    assertThatThrownBy(() -> guard.executeRead("q", () -> {
+      attempts.incrementAndGet();
+      throw new IOException("connection reset");
+    })).isInstanceOf(IOException.class);
+    assertThat(attempts.get()).isEqualTo(1 + props.getRetryMax());
+  }
+
+  @Test
+  void readTimeout_isNotRetried() {
+    AtomicInteger attempts = new AtomicInteger();
+    assertThatThrownBy(() -> guard.executeRead("q", () -> {
+      attempts.incrementAndGet();
+      throw new SocketTimeoutException("read timed out");
+    })).isInstanceOf(SocketTimeoutException.class);
+    assertThat(attempts.get()).isEqualTo(1);
+  }
+}
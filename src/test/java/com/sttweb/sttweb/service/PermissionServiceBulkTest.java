@@ -0,0 +1,181 @@
+package com.sttweb.sttweb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sttweb.sttweb.dto.BulkLinePermDto;
+import com.sttweb.sttweb.dto.BulkLinePermDto.Change;
+import com.sttweb.sttweb.entity.TmemberEntity;
+import com.sttweb.sttweb.entity.TrecordTelListEntity;
+import com.sttweb.sttweb.repository.TmemberRoleRepository;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 회선 권한 일괄 변경: (회원, 회선) 중복 제거(마지막 값 우선), INSERT/UPDATE/그대로/회수 분류, 입력·존재 검증.
+ * H2(MariaDB 모드)에서 실제 batch SQL 까지 실행한다.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:permbulk;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PermissionServiceBulkTest {
+
+  @SpringBootConfiguration
+  @EntityScan("com.sttweb.sttweb.entity")
+  @EnableJpaRepositories("com.sttweb.sttweb.repository")
+  @Import(PermissionService.class)
+  static class Config {}
+
+  @Autowired PermissionService service;
+  @Autowired TmemberRoleRepository roleRepository;
+  @Autowired EntityManager em;
+  @Autowired DataSource dataSource;
+
+  private JdbcTemplate jdbc;
+  private final List<Integer> members = new ArrayList<>();
+  private final List<Integer> lines = new ArrayList<>();
+
+  @BeforeEach
+  void seed() {
+    jdbc = new JdbcTemplate(dataSource);
+    String suffix = Long.toString(System.nanoTime() % 1_000_000_000L, 36);
+    // 서비스가 가정하는 role_seq (1=NONE, 2=조회, 3=청취, 4=다운로드)
+    String[] codes = { "NONE", "READ", "LISTEN", "DOWNLOAD" };
+    for (int i = 0; i < codes.length; i++) {
+      if (roleRepository.existsById(i + 1)) continue;
+      em.createNativeQuery("INSERT INTO tmember_role (role_seq, role_code, description) VALUES (?1, ?2, ?3)")
+          .setParameter(1, i + 1).setParameter(2, codes[i]).setParameter(3, codes[i])
+          .executeUpdate();
+    }
+    for (int i = 0; i < 2; i++) {
+      TmemberEntity m = TmemberEntity.builder()
+          .userId("bk" + suffix + i).userPass("x").number("8" + i).branchSeq(0).build();
+      em.persist(m);
+      members.add(m.getMemberSeq());
+      TrecordTelListEntity l = TrecordTelListEntity.builder().callNum("b" + suffix + i).userName("line" + i).build();
+      em.persist(l);
+      lines.add(l.getId());
+    }
+    em.flush();
+  }
+
+  @Test
+  void duplicatePairs_lastValueWins() {
+    BulkLinePermDto.Result r = service.applyBulk(List.of(
+        new Change(m(0), l(0), 2),
+        new Change(m(0), l(1), 3),
+        new Change(m(0), l(0), 4)));
+
+    assertThat(r.getRequested()).isEqualTo(3);
+    assertThat(r.getDistinct()).isEqualTo(2);
+    assertThat(r.getInserted()).isEqualTo(2);
+    assertThat(permLevels()).containsExactlyInAnyOrderEntriesOf(Map.of(
+        pair(0, 0), 4,
+        pair(0, 1), 3));
+    assertThat(roleSeqs()).containsExactlyInAnyOrderEntriesOf(Map.of(
+        pair(0, 0), 4,
+        pair(0, 1), 3));
+  }
+
+  @Test
+  void classifiesInsertUpdateUnchangedAndRevoke() {
+    service.applyBulk(List.of(
+        new Change(m(0), l(0), 2),
+        new Change(m(1), l(0), 2),
+        new Change(m(1), l(1), 3)));
+
+    BulkLinePermDto.Result r = service.applyBulk(List.of(
+        new Change(m(0), l(0), 2),     // 그대로
+        new Change(m(0), l(1), 3),     // 새로 부여
+        new Change(m(1), l(0), 4),     // 레벨 변경
+        new Change(m(1), l(1), 1)));   // 회수
+
+    assertThat(r.getUnchanged()).isEqualTo(1);
+    assertThat(r.getInserted()).isEqualTo(1);
+    assertThat(r.getUpdated()).isEqualTo(1);
+    assertThat(r.getRevoked()).isEqualTo(1);
+    assertThat(permLevels()).containsExactlyInAnyOrderEntriesOf(Map.of(
+        pair(0, 0), 2,
+        pair(0, 1), 3,
+        pair(1, 0), 4));
+    assertThat(roleSeqs()).containsExactlyInAnyOrderEntriesOf(Map.of(
+        pair(0, 0), 2,
+        pair(0, 1), 3,
+        pair(1, 0), 4));
+  }
+
+  @Test
+  void rejectsEmptyOversizedAndIncompleteRequests() {
+    assertBadRequest(null);
+    assertBadRequest(List.of());
+    assertBadRequest(Collections.nCopies(5001, new Change(m(0), l(0), 2)));
+    assertBadRequest(List.of(new Change(m(0), null, 2)));
+    assertBadRequest(Arrays.asList(new Change(m(0), l(0), 2), null));
+    assertBadRequest(List.of(new Change(m(0), l(0), 5)));
+  }
+
+  @Test
+  void unknownTargets_rejectWholeRequestWithoutChanges() {
+    assertThatThrownBy(() -> service.applyBulk(List.of(
+        new Change(m(0), l(0), 2),
+        new Change(-1, l(1), 2),
+        new Change(m(1), -2, 3))))
+        .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+          assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+          assertThat(e.getReason()).contains("member: [-1]").contains("line: [-2]");
+        });
+    assertThat(permLevels()).isEmpty();
+    assertThat(roleSeqs()).isEmpty();
+  }
+
+  private void assertBadRequest(List<Change> changes) {
+    assertThatThrownBy(() -> service.applyBulk(changes))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+  }
+
+  private Integer m(int i) { return members.get(i); }
+  private Integer l(int i) { return lines.get(i); }
+  private String pair(int mi, int li) { return m(mi) + ":" + l(li); }
+
+  private Map<String, Integer> permLevels() {
+    return pairs("SELECT member_seq, line_id, perm_level FROM tuser_permission");
+  }
+
+  private Map<String, Integer> roleSeqs() {
+    return pairs("SELECT member_seq, line_id, role_seq FROM tmember_line_perm");
+  }
+
+  /** 이 테스트가 만든 회원 것만 "member:line" → 값 */
+  private Map<String, Integer> pairs(String sql) {
+    Map<String, Integer> out = new HashMap<>();
+    jdbc.query(sql, rs -> {
+      if (members.contains(rs.getInt(1))) out.put(rs.getInt(1) + ":" + rs.getInt(2), rs.getInt(3));
+    });
+    return out;
+  }
+}
@@ -0,0 +1,140 @@
+package com.sttweb.sttweb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sttweb.sttweb.service.SqliteMigrationService.TableResult;
+import java.io.File;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * SQLite → 대상 DB 마이그레이션의 체크포인트: 중단 후 같은 파일이면 마지막 rowid 다음부터 이어 복사,
+ * 다른 파일이 남긴 미완료 체크포인트가 있으면 restart 없이는 거부.
+ * 대상은 H2(MariaDB 모드) 의 recordon 스키마.
+ */
+class SqliteMigrationServiceTest {
+
+  private static final String TARGET_URL = "jdbc:h2:mem:migration;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;"
+      + "DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS recordon\\;SET SCHEMA recordon";
+
+  @TempDir Path dir;
+
+  private SqliteMigrationService service;
+  private Connection target;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    service = new SqliteMigrationService(TARGET_URL, "sa", "", 3, 2, 1);
+    target = DriverManager.getConnection(TARGET_URL, "sa", "");
+    exec(target, "CREATE TABLE rec (id INT PRIMARY KEY, name VARCHAR(32))");
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    exec(target, "DROP ALL OBJECTS");
+    target.close();
+  }
+
+  @Test
+  void interruptedRun_resumesAfterLastCommittedRowid() throws Exception {
+    File src = sqlite("a.db", 10);
+
+    // 첫 배치(3행) commit 직후 취소
+    assertThatThrownBy(() -> service.migrate(src, false, new CancelAfterRows(3)))
+        .isInstanceOf(CancellationException.class);
+    assertThat(count("SELECT COUNT(*) FROM rec")).isEqualTo(3);
+    assertThat(count("SELECT last_rowid FROM tmigration_checkpoint WHERE table_name = 'rec' AND done = 0"))
+        .isEqualTo(3);
+
+    // 이어 읽는지 확인하려고 이미 옮긴 행을 지움 — 처음부터 읽으면 10행이 다시 들어온다
+    exec(target, "DELETE FROM rec");
+    List<TableResult> results = service.migrate(src, false, line -> {});
+
+    assertThat(results).singleElement().satisfies(r -> {
+      assertThat(r.getError()).isNull();
+      assertThat(r.getResumedFrom()).isEqualTo(3);
+      assertThat(r.getRows()).isEqualTo(7);
+    });
+    assertThat(count("SELECT MIN(id) FROM rec")).isEqualTo(4);
+    assertThat(count("SELECT rows_copied FROM tmigration_checkpoint WHERE table_name = 'rec' AND done = 1"))
+        .isEqualTo(10);
+
+    // 완료된 테이블은 다시 돌려도 건너뜀
+    assertThat(service.migrate(src, false, line -> {})).isEmpty();
+  }
+
+  @Test
+  void unfinishedCheckpointFromOtherFile_refusesUntilRestart() throws Exception {
+    File first = sqlite("first.db", 10);
+    File other = sqlite("other.db", 5);
+    assertThat(SqliteMigrationService.sourceKey(first)).isNotEqualTo(SqliteMigrationService.sourceKey(other));
+
+    assertThatThrownBy(() -> service.migrate(first, false, new CancelAfterRows(3)))
+        .isInstanceOf(CancellationException.class);
+
+    assertThatThrownBy(() -> service.migrate(other, false, line -> {}))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("[rec]");
+    assertThat(count("SELECT COUNT(*) FROM rec")).isEqualTo(3);
+
+    // restart 는 남의 미완료 체크포인트까지 지우고 처음부터
+    List<TableResult> results = service.migrate(other, true, line -> {});
+    assertThat(results).singleElement().satisfies(r -> {
+      assertThat(r.getResumedFrom()).isZero();
+      assertThat(r.getRows()).isEqualTo(5);
+    });
+    assertThat(count("SELECT COUNT(*) FROM tmigration_checkpoint")).isEqualTo(1);
+  }
+
+  /** rec(id, name) 에 rows 행, 이름으로 내용을 구분 */
+  private File sqlite(String name, int rows) throws Exception {
+    File f = dir.resolve(name).toFile();
+    try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + f.getAbsolutePath())) {
+      exec(c, "CREATE TABLE rec (id INTEGER PRIMARY KEY, name TEXT)");
+      try (PreparedStatement ps = c.prepareStatement("INSERT INTO rec (id, name) VALUES (?, ?)")) {
+        for (int i = 1; i <= rows; i++) {
+          ps.setInt(1, i);
+          ps.setString(2, name + "-" + i);
+          ps.executeUpdate();
+        }
+      }
+    }
+    return f;
+  }
+
+  private long count(String sql) throws Exception {
+    try (Statement st = target.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+      rs.next();
+      return rs.getLong(1);
+    }
+  }
+
+  private static void exec(Connection c, String sql) throws Exception {
+    try (Statement st = c.createStatement()) {
+      st.execute(sql);
+    }
+  }
+
+  /** 누적 복사 행 수가 threshold 에 닿으면 취소 */
+  private static final class CancelAfterRows implements SqliteMigrationService.Listener {
+    private final long threshold;
+    private volatile boolean cancelled;
+
+    CancelAfterRows(long threshold) { this.threshold = threshold; }
+
+    @Override public void log(String line) {}
+    @Override public void rows(String table, long copied) { if (copied >= threshold) cancelled = true; }
+    @Override public boolean cancelled() { return cancelled; }
+  }
+}
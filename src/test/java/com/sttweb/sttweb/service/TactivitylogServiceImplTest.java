@@ -0,0 +1,138 @@
+package com.sttweb.sttweb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sttweb.sttweb.config.ActivityLogSchemaInitializer;
+import com.sttweb.sttweb.dto.TactivitylogDto;
+import com.sttweb.sttweb.entity.TactivitylogEntity;
+import com.sttweb.sttweb.repository.TactivitylogRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 감사 로그 키워드 검색: FULLTEXT 불리언 질의 변환, "전체" 검색의 FULLTEXT id + 짧은 컬럼 LIKE 결합과 상한 초과 시 LIKE 대체.
+ * H2 에는 MATCH 가 없으므로 findIdsByContentsMatch 만 스텁하고 나머지 조회는 실제 JPA 로 실행한다.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:actlogsearch;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TactivitylogServiceImplTest {
+
+  @SpringBootConfiguration
+  @EntityScan("com.sttweb.sttweb.entity")
+  @EnableJpaRepositories("com.sttweb.sttweb.repository")
+  static class Config {}
+
+  @Autowired TactivitylogRepository jpaRepository;
+
+  private TactivitylogRepository repository;
+  private ActivityLogSchemaInitializer schema;
+  private TactivitylogServiceImpl service;
+
+  private Integer loginId;
+  private Integer errorLogId;
+
+  @BeforeEach
+  void setUp() {
+    loginId    = save("kim", "로그인 성공");
+    save("lee", "설정 변경");
+    errorLogId = save("park", "에러로그 확인");
+
+    repository = mock(TactivitylogRepository.class, delegatesTo(jpaRepository));
+    schema = mock(ActivityLogSchemaInitializer.class);
+    when(schema.fulltextReady()).thenReturn(true);
+    when(schema.minTokenSize()).thenReturn(2);
+    service = new TactivitylogServiceImpl(repository, schema);
+    ReflectionTestUtils.setField(service, "fulltextIdCap", 100);
+  }
+
+  @Test
+  void toBooleanQuery_prefixesEachTermAndStripsOperators() {
+    assertThat(service.toBooleanQuery("로그 에러")).isEqualTo("+로그* +에러*");
+    assertThat(service.toBooleanQuery("  +로그인  -(실패)* ")).isEqualTo("+로그인* +실패*");
+    assertThat(service.toBooleanQuery("\"@~<>\"")).isNull();
+  }
+
+  @Test
+  void toBooleanQuery_returnsNullWhenAnyTermIsShorterThanMinToken() {
+    when(schema.minTokenSize()).thenReturn(3);
+    assertThat(service.toBooleanQuery("로그인 성공")).isNull();
+    assertThat(service.toBooleanQuery("로그인 성공함")).isEqualTo("+로그인* +성공함*");
+  }
+
+  @Test
+  void toBooleanQuery_ngramUsesPhrases() {
+    when(schema.ngram()).thenReturn(true);
+    assertThat(service.toBooleanQuery("로그 에러")).isEqualTo("+\"로그\" +\"에러\"");
+  }
+
+  @Test
+  void allFields_combinesFulltextIdsWithShortColumnLike() {
+    // 기본 파서의 단어 접두 일치: "로그" → "로그인" 만, "에러로그" 는 아님
+    doReturn(List.of(loginId)).when(repository).findIdsByContentsMatch(anyString(), any(), any(), anyInt());
+
+    assertThat(ids(search("로그"))).containsExactly(loginId);
+    verify(repository).findIdsByContentsMatch("+로그*", null, null, 100);
+
+    doReturn(List.of()).when(repository).findIdsByContentsMatch(anyString(), any(), any(), anyInt());
+    assertThat(search("lee")).extracting(TactivitylogDto::getUserId).containsExactly("lee");
+  }
+
+  @Test
+  void allFields_fallsBackToLikeWhenIdsReachCap() {
+    ReflectionTestUtils.setField(service, "fulltextIdCap", 1);
+    doReturn(List.of(loginId)).when(repository).findIdsByContentsMatch(anyString(), any(), any(), anyInt());
+
+    // 상한에 걸리면 id 목록이 잘렸을 수 있으므로 contents LIKE (부분 일치) 로 대체
+    assertThat(ids(search("로그"))).containsExactlyInAnyOrder(loginId, errorLogId);
+  }
+
+  @Test
+  void allFields_usesLikeWithoutFulltextIndex() {
+    when(schema.fulltextReady()).thenReturn(false);
+
+    assertThat(ids(search("로그"))).containsExactlyInAnyOrder(loginId, errorLogId);
+    verify(repository, never()).findIdsByContentsMatch(anyString(), any(), any(), anyInt());
+  }
+
+  private List<TactivitylogDto> search(String keyword) {
+    return service.getLogsWithFilter("admin", "0", null, null, null, null, "전체", keyword, PageRequest.of(0, 20))
+        .getContent();
+  }
+
+  private static List<Integer> ids(List<TactivitylogDto> rows) {
+    return rows.stream().map(TactivitylogDto::getActivitySeq).toList();
+  }
+
+  private Integer save(String userId, String contents) {
+    return jpaRepository.save(TactivitylogEntity.builder()
+        .type("test").activity("조회").userId(userId).contents(contents)
+        .crtime(LocalDateTime.now().withNano(0)).workerSeq(0).workerId("system")
+        .build()).getActivitySeq();
+  }
+}